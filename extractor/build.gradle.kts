@@ -17,6 +17,7 @@ val lastCommitHash: String = providers.exec {
 
 plugins {
     alias(libs.plugins.google.protobuf)
+    alias(libs.plugins.champeau.jmh)
     checkstyle
     `maven-publish`
     signing
@@ -82,6 +83,18 @@ tasks.checkstyleTest {
     isEnabled = false // do not checkstyle test files
 }
 
+tasks.named<Checkstyle>("checkstyleJmh") {
+    isEnabled = false // do not checkstyle benchmarks, like test files
+}
+
+// Benchmarks are in src/jmh/java and are not run by the tests.
+// Run "./gradlew :extractor:jmh" to run them, the gc profiler reporting allocations.
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    includeTests = true // benchmarks reuse test fixtures and previous implementations
+    profilers = listOf("gc")
+}
+
 dependencies {
     implementation(libs.newpipe.nanojson)
     implementation(libs.jsoup)
@@ -0,0 +1,40 @@
+package org.schabi.newpipe.extractor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+/**
+ * Compare getting the services of the URLs of {@link UrlRouterTest} with the {@link UrlRouter}
+ * and with the previous implementation of {@link NewPipe#getServiceByUrl(String)}, which checked
+ * URLs against all the services.
+ */
+@State(Scope.Benchmark)
+public class UrlRouterBenchmark {
+    @Setup
+    public void setUp() {
+        // Bandcamp checks whether unknown domains are Bandcamp artists pages
+        NewPipe.init(new UrlRouterTest.EmptyDownloader());
+    }
+
+    @Benchmark
+    public void getServiceByUrlLegacy(final Blackhole blackhole) throws ExtractionException {
+        for (final String url : UrlRouterTest.URLS) {
+            blackhole.consume(UrlRouterTest.legacyGetServiceByUrl(url));
+        }
+    }
+
+    @Benchmark
+    public void getServiceByUrlRouter(final Blackhole blackhole) {
+        for (final String url : UrlRouterTest.URLS) {
+            try {
+                blackhole.consume(UrlRouter.getServiceByUrl(url));
+            } catch (final ExtractionException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+}
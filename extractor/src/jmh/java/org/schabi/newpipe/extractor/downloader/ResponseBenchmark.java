@@ -0,0 +1,44 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.schabi.newpipe.extractor.utils.JsonUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compare parsing recorded YouTube responses from their {@link String} body, as done before
+ * {@link Response#fromBytes(int, String, Map, byte[], String)} existed, and directly from their
+ * bytes. Run with the gc profiler to compare the memory allocated by both paths.
+ */
+@State(Scope.Benchmark)
+public class ResponseBenchmark {
+    private List<byte[]> bodies;
+
+    @Setup
+    public void setUp() throws Exception {
+        bodies = ResponseTest.getRecordedJsonResponses();
+    }
+
+    @Benchmark
+    public void parseFromString(final Blackhole blackhole) throws Exception {
+        for (final byte[] body : bodies) {
+            // What a downloader decoding the body to a String does
+            blackhole.consume(JsonUtils.toJsonObject(new Response(200, "OK", null,
+                    new String(body, StandardCharsets.UTF_8), ResponseTest.URL)));
+        }
+    }
+
+    @Benchmark
+    public void parseFromBytes(final Blackhole blackhole) throws Exception {
+        for (final byte[] body : bodies) {
+            blackhole.consume(JsonUtils.toJsonObject(
+                    Response.fromBytes(200, "OK", null, body, ResponseTest.URL)));
+        }
+    }
+}
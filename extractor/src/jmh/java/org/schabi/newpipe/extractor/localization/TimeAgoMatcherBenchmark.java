@@ -0,0 +1,60 @@
+package org.schabi.newpipe.extractor.localization;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.schabi.newpipe.extractor.timeago.PatternsHolder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compare matching the phrases of all the bundled locales with the compiled
+ * {@link TimeAgoMatcher}s and with the previous implementation of {@link TimeAgoParser}, which
+ * compiled a regular expression for each phrase on each call.
+ */
+@State(Scope.Benchmark)
+public class TimeAgoMatcherBenchmark {
+    private final Map<PatternsHolder, List<String>> textualDates = new LinkedHashMap<>();
+
+    @Setup
+    public void setUp() {
+        for (final PatternsHolder holder : TimeAgoMatcherTest.getAllPatternsHolders()) {
+            textualDates.put(holder, TimeAgoMatcherTest.getTextualDates(holder));
+            // Compile the matchers, so that only matching is measured
+            TimeAgoPatternsManager.getMatcherFor(holder);
+        }
+    }
+
+    @Benchmark
+    public int matchLegacy() {
+        int matches = 0;
+        for (final Map.Entry<PatternsHolder, List<String>> entry : textualDates.entrySet()) {
+            final PatternsHolder holder = entry.getKey();
+            for (final String textualDate : entry.getValue()) {
+                if (TimeAgoMatcherTest.legacyMatchSpecialCase(holder, textualDate) != null
+                        || TimeAgoMatcherTest.legacyMatchChronoUnit(holder, textualDate) != null) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int matchCompiled() {
+        int matches = 0;
+        for (final Map.Entry<PatternsHolder, List<String>> entry : textualDates.entrySet()) {
+            final TimeAgoMatcher matcher = TimeAgoPatternsManager.getMatcherFor(entry.getKey());
+            for (final String textualDate : entry.getValue()) {
+                if (matcher.matchSpecialCase(textualDate) != null
+                        || matcher.matchChronoUnit(textualDate) != null) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+}
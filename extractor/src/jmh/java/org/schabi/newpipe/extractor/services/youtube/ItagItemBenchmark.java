@@ -0,0 +1,31 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Compare getting the {@link ItagItem}s of the formats of a player response for each
+ * {@link ItagItem.ItagType}, as {@code YoutubeStreamExtractor} does when building its lists of
+ * streams, with the indexed itags and by scanning the previous list of itags.
+ */
+@State(Scope.Benchmark)
+public class ItagItemBenchmark {
+    @Setup
+    public void setUp() throws Exception {
+        ItagItemTest.setUp();
+    }
+
+    @Benchmark
+    public List<String> buildLegacyStreamLists() {
+        return ItagItemTest.buildLegacyStreamLists();
+    }
+
+    @Benchmark
+    public List<String> buildStreamLists() {
+        return ItagItemTest.buildStreamLists();
+    }
+}
@@ -0,0 +1,32 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeOtfDashManifestCreator;
+import org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubePostLiveStreamDvrDashManifestCreator;
+import org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeProgressiveDashManifestCreator;
+
+import java.util.Map;
+
+/**
+ * Measure the generation of the manifests of {@link YoutubeDashManifestGoldenTest}. The caches of
+ * the manifest creators are cleared before each generation, so that manifests are not only got
+ * from them.
+ */
+@State(Scope.Benchmark)
+public class YoutubeDashManifestBenchmark {
+    @Setup
+    public void setUp() {
+        YoutubeDashManifestGoldenTest.setUp();
+    }
+
+    @Benchmark
+    public Map<String, String> createManifests() {
+        YoutubeOtfDashManifestCreator.getCache().clear();
+        YoutubePostLiveStreamDvrDashManifestCreator.getCache().clear();
+        YoutubeProgressiveDashManifestCreator.getCache().clear();
+        return YoutubeDashManifestGoldenTest.createManifests();
+    }
+}
@@ -0,0 +1,38 @@
+package org.schabi.newpipe.extractor.utils;
+
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+
+/**
+ * Compare getting values with string paths, which are split on each call, and with compiled
+ * {@link JsonPath}s. Run with the gc profiler to compare the memory allocated by both.
+ */
+@State(Scope.Benchmark)
+public class JsonPathBenchmark {
+    private JsonObject obj;
+
+    @Setup
+    public void setUp() throws Exception {
+        obj = JsonParser.object().from(JsonUtilsTest.ITEM_JSON);
+    }
+
+    @Benchmark
+    public int getWithStringPaths() throws ParsingException {
+        return JsonUtils.getString(obj, "account.name").length()
+                + JsonUtils.getString(obj, "account.host").length()
+                + JsonUtils.getString(obj, "account.displayName").length();
+    }
+
+    @Benchmark
+    public int getWithJsonPaths() throws ParsingException {
+        return JsonUtils.getString(obj, JsonUtilsTest.ACCOUNT_NAME).length()
+                + JsonUtils.getString(obj, JsonUtilsTest.ACCOUNT_HOST).length()
+                + JsonUtils.getString(obj, JsonUtilsTest.ACCOUNT_DISPLAY_NAME).length();
+    }
+}
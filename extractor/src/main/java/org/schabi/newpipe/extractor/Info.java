@@ -2,16 +2,28 @@ package org.schabi.newpipe.extractor;
 
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.LinkHandler;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ExtractionSupplier;
 import org.schabi.newpipe.extractor.utils.ExtractorLogger;
+import org.schabi.newpipe.extractor.utils.SingleFlight;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
 
 public abstract class Info implements Serializable {
 
     private static final String TAG = "Info";
+
+    private static final SingleFlight<InfoKey, Info> SINGLE_FLIGHT = new SingleFlight<>();
+    private static volatile boolean coalesceConcurrentExtractions = false;
+
     private final int serviceId;
     /**
      * Id of this Info object <br>
@@ -111,4 +123,120 @@ public abstract class Info implements Serializable {
     public List<Throwable> getErrors() {
         return errors;
     }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Coalescing of concurrent extractions
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * Set whether concurrent extractions of the same {@link Info} should be coalesced.
+     *
+     * <p>
+     * When enabled, concurrent calls of the {@code getInfo(StreamingService, String)} methods of
+     * {@link org.schabi.newpipe.extractor.stream.StreamInfo StreamInfo},
+     * {@link org.schabi.newpipe.extractor.channel.ChannelInfo ChannelInfo} and
+     * {@link org.schabi.newpipe.extractor.playlist.PlaylistInfo PlaylistInfo} which target the
+     * same service, the same normalized URL, the same localization and the same content country
+     * share one extraction, and get its result or the exception it threw.
+     * </p>
+     *
+     * <p>
+     * The coalesced calls get the same {@link Info} instance, which must then not be modified by
+     * them. Its {@link #getOriginalUrl() original URL} is the one of the call which ran the
+     * extraction.
+     * </p>
+     *
+     * <p>
+     * It is disabled by default.
+     * </p>
+     *
+     * @param coalesceConcurrentExtractions whether concurrent extractions of the same info should
+     *                                      be coalesced
+     */
+    public static void setCoalesceConcurrentExtractions(
+            final boolean coalesceConcurrentExtractions) {
+        Info.coalesceConcurrentExtractions = coalesceConcurrentExtractions;
+    }
+
+    /**
+     * @return the number of extractions which have been run while coalescing was
+     * {@link #setCoalesceConcurrentExtractions(boolean) enabled}
+     */
+    public static long getCoalescingExtractionCount() {
+        return SINGLE_FLIGHT.getExecutionCount();
+    }
+
+    /**
+     * @return the number of calls which shared the extraction of another call instead of running
+     * their own, since coalescing has been
+     * {@link #setCoalesceConcurrentExtractions(boolean) enabled}
+     */
+    public static long getCoalescedExtractionCount() {
+        return SINGLE_FLIGHT.getCoalescedCount();
+    }
+
+    /**
+     * Run the extraction of an {@link Info}, sharing it with the concurrent calls extracting
+     * the same info if {@link #setCoalesceConcurrentExtractions(boolean) enabled}.
+     *
+     * @param infoClass  the class of the info extracted
+     * @param extractor  the extractor used by the extraction, whose page may not be fetched yet
+     * @param extraction the extraction to run
+     * @param <I>        the type of the info extracted
+     * @return the extracted info
+     */
+    protected static <I extends Info> I getCoalescedInfo(
+            @Nonnull final Class<I> infoClass,
+            @Nonnull final Extractor extractor,
+            @Nonnull final ExtractionSupplier<I> extraction)
+            throws IOException, ExtractionException {
+        if (!coalesceConcurrentExtractions) {
+            return extraction.get();
+        }
+
+        final InfoKey key = new InfoKey(infoClass, extractor.getServiceId(), extractor.getUrl(),
+                extractor.getExtractorLocalization(), extractor.getExtractorContentCountry());
+        return infoClass.cast(SINGLE_FLIGHT.execute(key, extraction::get));
+    }
+
+    private static final class InfoKey {
+        private final Class<? extends Info> infoClass;
+        private final int serviceId;
+        private final String url;
+        private final Localization localization;
+        private final ContentCountry contentCountry;
+
+        InfoKey(@Nonnull final Class<? extends Info> infoClass,
+                final int serviceId,
+                @Nonnull final String url,
+                @Nonnull final Localization localization,
+                @Nonnull final ContentCountry contentCountry) {
+            this.infoClass = infoClass;
+            this.serviceId = serviceId;
+            this.url = url;
+            this.localization = localization;
+            this.contentCountry = contentCountry;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final InfoKey infoKey = (InfoKey) o;
+            return serviceId == infoKey.serviceId
+                    && infoClass.equals(infoKey.infoClass)
+                    && url.equals(infoKey.url)
+                    && localization.equals(infoKey.localization)
+                    && contentCountry.equals(infoKey.contentCountry);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(infoClass, serviceId, url, localization, contentCountry);
+        }
+    }
 }
@@ -12,6 +12,7 @@ import javax.annotation.Nullable;
 
 /**
  * Base class to extractors that have a list (e.g. playlists, users).
+ * {@link ListItemsIterator} can be used to go through all the pages of a list.
  * @param <R> the info item type this list extractor provides
  */
 public abstract class ListExtractor<R extends InfoItem> extends Extractor {
@@ -0,0 +1,386 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Go through all the items of a list, such as a playlist or the videos of a channel, page by
+ * page.
+ *
+ * <p>
+ * Only the page being consumed and the pages fetched in advance are kept: memory usage doesn't
+ * depend on the number of items of the list. Up to {@link Builder#prefetchDepth(int)} next pages
+ * are fetched on an {@link Builder#executor(Executor) executor} while the current one is being
+ * consumed. As each page request needs the previous page, pages are still fetched one after
+ * another, and the {@link PageFetcher} is never called concurrently.
+ * </p>
+ *
+ * <p>
+ * The {@link InfoItemsPage#getErrors() errors of each page} are given to the
+ * {@link Builder#errorListener(Consumer) error listener} right before its first item is
+ * returned. An error preventing a page from being fetched is thrown by {@link #hasNext()} and
+ * {@link #next()} when this page is reached, and ends the iteration.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe and should be {@link #close() closed} if they are not consumed
+ * until their end, so that pages fetched in advance are discarded.
+ * </p>
+ *
+ * @param <T> the type of the items of the list
+ */
+public final class ListItemsIterator<T extends InfoItem> implements AutoCloseable {
+
+    /**
+     * Fetch a page of a list.
+     *
+     * @param <T> the type of the items of the list
+     * @see ListExtractor#getPage(Page)
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T extends InfoItem> {
+        InfoItemsPage<T> getPage(Page page) throws IOException, ExtractionException;
+    }
+
+    @Nonnull
+    private final ConcurrencyUtils.ExtractionSupplier<InfoItemsPage<T>> initialPageSupplier;
+    @Nonnull
+    private final PageFetcher<T> pageFetcher;
+    private final int prefetchDepth;
+    private final long maxItems;
+    @Nonnull
+    private final Executor executor;
+    @Nonnull
+    private final Consumer<Throwable> errorListener;
+
+    private final Object lock = new Object();
+    // The pages fetched in advance, or being fetched, in order. Guarded by lock.
+    private final ArrayDeque<CompletableFuture<InfoItemsPage<T>>> prefetchedPages =
+            new ArrayDeque<>();
+    // The next page which has not been fetched in advance because prefetchedPages was full.
+    // Guarded by lock.
+    @Nullable
+    private Page deferredPage;
+    // The number of items of all the pages fetched. Guarded by lock.
+    private long fetchedItemCount;
+    // Guarded by lock
+    private boolean closed;
+
+    private boolean started;
+    @Nullable
+    private List<T> currentItems;
+    private int currentIndex;
+    // The next page when pages are not fetched in advance
+    @Nullable
+    private Page nextPage;
+    private long returnedItemCount;
+
+    private ListItemsIterator(@Nonnull final Builder<T> builder) {
+        this.initialPageSupplier = builder.initialPageSupplier;
+        this.pageFetcher = builder.pageFetcher;
+        this.prefetchDepth = builder.prefetchDepth;
+        this.maxItems = builder.maxItems;
+        this.executor = builder.executor == null
+                ? ConcurrencyUtils.getDefaultExecutor() : builder.executor;
+        this.errorListener = builder.errorListener == null
+                ? error -> { } : builder.errorListener;
+    }
+
+    /**
+     * Create a builder of an iterator going through the items of a list extractor.
+     *
+     * <p>
+     * The page of the extractor must have been fetched. Its initial page is got when the
+     * iteration starts, and the next ones with {@link ListExtractor#getPage(Page)}.
+     * </p>
+     *
+     * @param extractor the extractor of the list
+     * @param <T>       the type of the items of the list
+     * @return a new {@link Builder}
+     */
+    @Nonnull
+    public static <T extends InfoItem> Builder<T> newBuilder(
+            @Nonnull final ListExtractor<T> extractor) {
+        return new Builder<>(extractor::getInitialPage, extractor::getPage);
+    }
+
+    /**
+     * Create a builder of an iterator going through the items of a list info.
+     *
+     * <p>
+     * The iteration starts with the {@link ListInfo#getRelatedItems() items of the info}, and
+     * continues with the pages fetched by the given {@link PageFetcher}, such as
+     * {@code page -> PlaylistInfo.getMoreItems(service, info.getUrl(), page)}.
+     * </p>
+     *
+     * @param info        the info of the list
+     * @param pageFetcher the {@link PageFetcher} used to fetch the next pages of the list
+     * @param <T>         the type of the items of the list
+     * @return a new {@link Builder}
+     */
+    @Nonnull
+    public static <T extends InfoItem> Builder<T> newBuilder(
+            @Nonnull final ListInfo<T> info,
+            @Nonnull final PageFetcher<T> pageFetcher) {
+        return new Builder<>(() -> new InfoItemsPage<>(
+                info.getRelatedItems() == null ? Collections.emptyList() : info.getRelatedItems(),
+                info.getNextPage(),
+                // Errors of the info are already available with Info.getErrors()
+                Collections.emptyList()), pageFetcher);
+    }
+
+    /**
+     * @return whether there are other items in the list
+     * @throws IOException         if the next page could not be fetched
+     * @throws ExtractionException if the next page could not be extracted
+     */
+    public boolean hasNext() throws IOException, ExtractionException {
+        if (returnedItemCount >= maxItems) {
+            close();
+            return false;
+        }
+
+        if (!started) {
+            started = true;
+            final InfoItemsPage<T> initialPage = initialPageSupplier.get();
+            if (prefetchDepth > 0) {
+                synchronized (lock) {
+                    fetchedItemCount += initialPage.getItems().size();
+                    prefetch(initialPage.getNextPage());
+                }
+            }
+            setCurrentPage(initialPage);
+        }
+
+        while (currentItems == null || currentIndex >= currentItems.size()) {
+            // Release the consumed page
+            currentItems = null;
+            final InfoItemsPage<T> page = fetchNextPage();
+            if (page == null) {
+                return false;
+            }
+            setCurrentPage(page);
+        }
+        return true;
+    }
+
+    /**
+     * @return the next item of the list
+     * @throws IOException            if the next page could not be fetched
+     * @throws ExtractionException    if the next page could not be extracted
+     * @throws NoSuchElementException if there is no other item in the list
+     */
+    @Nonnull
+    public T next() throws IOException, ExtractionException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        returnedItemCount++;
+        return Objects.requireNonNull(currentItems).get(currentIndex++);
+    }
+
+    /**
+     * Stop the iteration, discarding the pages fetched in advance.
+     *
+     * <p>
+     * Requests which already started are not interrupted, their results are just discarded.
+     * </p>
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            deferredPage = null;
+            ConcurrencyUtils.cancelAll(prefetchedPages.toArray(new CompletableFuture<?>[0]));
+            prefetchedPages.clear();
+        }
+        currentItems = null;
+        nextPage = null;
+    }
+
+    private void setCurrentPage(@Nonnull final InfoItemsPage<T> page) {
+        for (final Throwable error : page.getErrors()) {
+            errorListener.accept(error);
+        }
+        currentItems = page.getItems();
+        currentIndex = 0;
+        if (prefetchDepth == 0) {
+            nextPage = page.getNextPage();
+        }
+    }
+
+    @Nullable
+    private InfoItemsPage<T> fetchNextPage() throws IOException, ExtractionException {
+        if (prefetchDepth == 0) {
+            if (!Page.isValid(nextPage)) {
+                return null;
+            }
+            final Page page = nextPage;
+            nextPage = null;
+            return pageFetcher.getPage(page);
+        }
+
+        final CompletableFuture<InfoItemsPage<T>> future;
+        synchronized (lock) {
+            future = prefetchedPages.poll();
+            if (future == null) {
+                return null;
+            }
+            if (deferredPage != null) {
+                final Page page = deferredPage;
+                deferredPage = null;
+                prefetch(page);
+            }
+        }
+        return ConcurrencyUtils.await(future);
+    }
+
+    /**
+     * Start fetching the given page, if it exists, the iteration is not closed and the maximum
+     * number of items has not been fetched yet. If too many pages are already fetched in advance,
+     * it is fetched once one of them is consumed.
+     *
+     * <p>
+     * Must be called while holding {@link #lock}.
+     * </p>
+     */
+    private void prefetch(@Nullable final Page page) {
+        if (closed || !Page.isValid(page) || fetchedItemCount >= maxItems) {
+            return;
+        }
+        if (prefetchedPages.size() >= prefetchDepth) {
+            deferredPage = page;
+            return;
+        }
+
+        // Reserve the slot of the page before starting to fetch it: with an executor running
+        // tasks on the calling thread, the next pages are prefetched before execute() returns
+        final CompletableFuture<InfoItemsPage<T>> future = new CompletableFuture<>();
+        prefetchedPages.add(future);
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    // Cancelled before being started
+                    return;
+                }
+                try {
+                    final InfoItemsPage<T> fetchedPage = pageFetcher.getPage(page);
+                    synchronized (lock) {
+                        fetchedItemCount += fetchedPage.getItems().size();
+                        // Chain the next page before completing this one, so that the consumer
+                        // sees it
+                        prefetch(fetchedPage.getNextPage());
+                    }
+                    future.complete(fetchedPage);
+                } catch (final Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (final RuntimeException e) {
+            // The executor rejected the task
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Builder of {@link ListItemsIterator}s.
+     *
+     * @param <T> the type of the items of the list
+     */
+    public static final class Builder<T extends InfoItem> {
+        @Nonnull
+        private final ConcurrencyUtils.ExtractionSupplier<InfoItemsPage<T>> initialPageSupplier;
+        @Nonnull
+        private final PageFetcher<T> pageFetcher;
+        private int prefetchDepth = 1;
+        private long maxItems = Long.MAX_VALUE;
+        @Nullable
+        private Executor executor;
+        @Nullable
+        private Consumer<Throwable> errorListener;
+
+        private Builder(@Nonnull final ConcurrencyUtils.ExtractionSupplier<InfoItemsPage<T>>
+                                initialPageSupplier,
+                        @Nonnull final PageFetcher<T> pageFetcher) {
+            this.initialPageSupplier = initialPageSupplier;
+            this.pageFetcher = pageFetcher;
+        }
+
+        /**
+         * Set the maximum number of pages fetched in advance, while the current one is being
+         * consumed.
+         *
+         * @param depth the maximum number of pages fetched in advance, {@code 0} to fetch pages
+         *              only when they are needed, on the consumer thread; defaults to {@code 1}
+         * @return this builder
+         */
+        @Nonnull
+        public Builder<T> prefetchDepth(final int depth) {
+            if (depth < 0) {
+                throw new IllegalArgumentException("Prefetch depth must not be negative: "
+                        + depth);
+            }
+            this.prefetchDepth = depth;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of items returned. Pages are not fetched anymore once enough
+         * items have been fetched.
+         *
+         * @param max the maximum number of items returned; unlimited by default
+         * @return this builder
+         */
+        @Nonnull
+        public Builder<T> maxItems(final long max) {
+            if (max < 0) {
+                throw new IllegalArgumentException("Maximum number of items must not be "
+                        + "negative: " + max);
+            }
+            this.maxItems = max;
+            return this;
+        }
+
+        /**
+         * @param pageExecutor the {@link Executor} on which pages are fetched in advance, or
+         *                     {@code null} to use {@link ConcurrencyUtils#getDefaultExecutor()
+         *                     the default one}
+         * @return this builder
+         */
+        @Nonnull
+        public Builder<T> executor(@Nullable final Executor pageExecutor) {
+            this.executor = pageExecutor;
+            return this;
+        }
+
+        /**
+         * @param listener the listener to which the errors of each page are given, before its
+         *                 first item is returned; errors are ignored by default
+         * @return this builder
+         */
+        @Nonnull
+        public Builder<T> errorListener(@Nullable final Consumer<Throwable> listener) {
+            this.errorListener = listener;
+            return this;
+        }
+
+        @Nonnull
+        public ListItemsIterator<T> build() {
+            return new ListItemsIterator<>(this);
+        }
+    }
+}
@@ -90,13 +90,16 @@ public final class NewPipe {
                         "There's no service with the name = \"" + serviceName + "\""));
     }
 
+    /**
+     * Get the first service, in the order of {@link ServiceList#all()}, which can handle a URL.
+     *
+     * @param url the URL
+     * @return the service which can handle the URL
+     * @throws ExtractionException if no service can handle the URL
+     * @see UrlRouter#route(String)
+     */
     public static StreamingService getServiceByUrl(final String url) throws ExtractionException {
-        for (final StreamingService service : ServiceList.all()) {
-            if (service.getLinkTypeByUrl(url) != StreamingService.LinkType.NONE) {
-                return service;
-            }
-        }
-        throw new ExtractionException("No service can handle the url = \"" + url + "\"");
+        return UrlRouter.getServiceByUrl(url);
     }
 
     /*//////////////////////////////////////////////////////////////////////////
@@ -315,14 +315,39 @@ public abstract class StreamingService {
     // Utils
     //////////////////////////////////////////////////////////////////////////*/
 
+    /**
+     * Get the hosts of the URLs which can be accepted by the stream, channel and playlist link
+     * handler factories of this service.
+     *
+     * <p>
+     * This is used by {@link UrlRouter} to only check URLs against the services which can handle
+     * them. Services whose link handler factories may accept URLs of any host, for instance
+     * because they support many instances or custom domains, must return {@code null}, which is
+     * the default.
+     * </p>
+     *
+     * @return the lower case hosts of the URLs this service can handle, or {@code null} if it may
+     * handle URLs of any host
+     */
+    @Nullable
+    public Set<String> getSupportedUrlHosts() {
+        return null;
+    }
+
     /**
      * Figures out where the link is pointing to (a channel, a video, a playlist, etc.)
      * @param url the url on which it should be decided of which link type it is
      * @return the link type of url
      */
     public final LinkType getLinkTypeByUrl(final String url) throws ParsingException {
-        final String polishedUrl = Utils.followGoogleRedirectIfNeeded(url);
+        return getLinkTypeByPolishedUrl(Utils.followGoogleRedirectIfNeeded(url));
+    }
 
+    /**
+     * Same as {@link #getLinkTypeByUrl(String)}, for URLs on which
+     * {@link Utils#followGoogleRedirectIfNeeded(String)} has already been called.
+     */
+    final LinkType getLinkTypeByPolishedUrl(final String polishedUrl) throws ParsingException {
         final LinkHandlerFactory sH = getStreamLHFactory();
         final LinkHandlerFactory cH = getChannelLHFactory();
         final LinkHandlerFactory pH = getPlaylistLHFactory();
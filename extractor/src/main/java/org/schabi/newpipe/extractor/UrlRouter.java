@@ -0,0 +1,260 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.StreamingService.LinkType;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.linkhandler.LinkHandler;
+import org.schabi.newpipe.extractor.linkhandler.LinkHandlerFactory;
+import org.schabi.newpipe.extractor.utils.Utils;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Find the service which can handle a URL, and the type of content the URL points to.
+ *
+ * <p>
+ * Instead of checking a URL against the link handler factories of all the services, only the
+ * services which {@link StreamingService#getSupportedUrlHosts() support its host}, or which may
+ * support URLs of any host, are checked, in the order of {@link ServiceList#all()}. Currently,
+ * YouTube, SoundCloud and media.ccc.de declare their hosts, while PeerTube and Bandcamp are
+ * checked against all URLs.
+ * </p>
+ *
+ * <p>
+ * For URLs of the declared hosts, this gives the same results as checking all the services.
+ * A service declaring its hosts never gets URLs of other hosts though, even if the patterns of
+ * its link handler factories would accept them: for instance, SoundCloud patterns also match the
+ * {@code soundcloud-com} host, and media.ccc.de ones match any URL containing
+ * {@code media.ccc.de/v/}. Such URLs are not supported anymore, unless their host is
+ * {@link #registerHost(String, StreamingService) registered}.
+ * </p>
+ *
+ * <p>
+ * URLs whose host can't be parsed, such as {@code vnd.youtube:} ones, are checked against all the
+ * services.
+ * </p>
+ */
+public final class UrlRouter {
+    private static final List<StreamingService> ANY_HOST_SERVICES;
+    /**
+     * The services to check for each host, in the order of {@link ServiceList#all()}. Hosts which
+     * are not in this map are only checked against {@link #ANY_HOST_SERVICES}.
+     */
+    private static final Map<String, List<StreamingService>> SERVICES_BY_HOST =
+            new ConcurrentHashMap<>();
+
+    static {
+        final List<StreamingService> anyHostServices = new ArrayList<>();
+        for (final StreamingService service : ServiceList.all()) {
+            final Set<String> hosts = service.getSupportedUrlHosts();
+            if (hosts == null) {
+                anyHostServices.add(service);
+            }
+        }
+        ANY_HOST_SERVICES = Collections.unmodifiableList(anyHostServices);
+
+        for (final StreamingService service : ServiceList.all()) {
+            final Set<String> hosts = service.getSupportedUrlHosts();
+            if (hosts != null) {
+                for (final String host : hosts) {
+                    registerHost(host, service);
+                }
+            }
+        }
+    }
+
+    private UrlRouter() {
+    }
+
+    /**
+     * A URL with the service which can handle it and the type of content it points to.
+     */
+    public static final class Route {
+        @Nonnull
+        private final StreamingService service;
+        @Nonnull
+        private final LinkType linkType;
+        @Nonnull
+        private final LinkHandler linkHandler;
+
+        private Route(@Nonnull final StreamingService service,
+                      @Nonnull final LinkType linkType,
+                      @Nonnull final LinkHandler linkHandler) {
+            this.service = service;
+            this.linkType = linkType;
+            this.linkHandler = linkHandler;
+        }
+
+        @Nonnull
+        public StreamingService getService() {
+            return service;
+        }
+
+        /**
+         * @return the type of the URL, which is never {@link LinkType#NONE}
+         */
+        @Nonnull
+        public LinkType getLinkType() {
+            return linkType;
+        }
+
+        /**
+         * @return the link handler of the URL, created by the link handler factory of its
+         * {@link #getLinkType() type}
+         */
+        @Nonnull
+        public LinkHandler getLinkHandler() {
+            return linkHandler;
+        }
+    }
+
+    /**
+     * Make URLs of the given host be checked against the given service.
+     *
+     * <p>
+     * This is only needed for services which don't support URLs of any host, when their link
+     * handler factories accept a new host which is not returned by
+     * {@link StreamingService#getSupportedUrlHosts()}. Other services, such as PeerTube, whose
+     * link handler factories accept URLs of any instance, are already checked against all URLs.
+     * </p>
+     *
+     * @param host    the host
+     * @param service the service which may handle URLs of this host
+     */
+    public static void registerHost(@Nonnull final String host,
+                                    @Nonnull final StreamingService service) {
+        SERVICES_BY_HOST.compute(host.toLowerCase(Locale.ROOT), (key, services) -> {
+            final Set<StreamingService> hostServices = new HashSet<>(ANY_HOST_SERVICES);
+            if (services != null) {
+                hostServices.addAll(services);
+            }
+            hostServices.add(service);
+
+            final List<StreamingService> orderedServices = new ArrayList<>();
+            for (final StreamingService s : ServiceList.all()) {
+                if (hostServices.contains(s)) {
+                    orderedServices.add(s);
+                }
+            }
+            return Collections.unmodifiableList(orderedServices);
+        });
+    }
+
+    /**
+     * Stop checking URLs of the given host against the given service, undoing
+     * {@link #registerHost(String, StreamingService)}.
+     *
+     * <p>
+     * Services which may support URLs of any host are still checked against URLs of this host.
+     * </p>
+     *
+     * @param host    the host
+     * @param service the service which should not handle URLs of this host anymore
+     */
+    public static void unregisterHost(@Nonnull final String host,
+                                      @Nonnull final StreamingService service) {
+        SERVICES_BY_HOST.computeIfPresent(host.toLowerCase(Locale.ROOT), (key, services) -> {
+            if (ANY_HOST_SERVICES.contains(service)) {
+                return services;
+            }
+            final List<StreamingService> hostServices = new ArrayList<>(services);
+            hostServices.remove(service);
+            // Hosts of no service are checked against the services supporting any host anyway
+            return hostServices.equals(ANY_HOST_SERVICES)
+                    ? null : Collections.unmodifiableList(hostServices);
+        });
+    }
+
+    /**
+     * Get the service which can handle a URL.
+     *
+     * @param url the URL
+     * @return the first service, in the order of {@link ServiceList#all()}, which can handle the
+     * URL
+     * @throws ExtractionException if no service can handle the URL
+     * @see NewPipe#getServiceByUrl(String)
+     */
+    @Nonnull
+    public static StreamingService getServiceByUrl(final String url) throws ExtractionException {
+        final String polishedUrl = Utils.followGoogleRedirectIfNeeded(url);
+        for (final StreamingService service : getCandidateServices(polishedUrl)) {
+            if (service.getLinkTypeByPolishedUrl(polishedUrl) != LinkType.NONE) {
+                return service;
+            }
+        }
+        throw new ExtractionException("No service can handle the url = \"" + url + "\"");
+    }
+
+    /**
+     * Get the service which can handle a URL, the type of content the URL points to and its link
+     * handler.
+     *
+     * @param url the URL
+     * @return the route of the URL
+     * @throws ExtractionException if no service can handle the URL, or if its link handler could
+     *                             not be created
+     */
+    @Nonnull
+    public static Route route(final String url) throws ExtractionException {
+        final String polishedUrl = Utils.followGoogleRedirectIfNeeded(url);
+        for (final StreamingService service : getCandidateServices(polishedUrl)) {
+            final LinkType linkType = service.getLinkTypeByPolishedUrl(polishedUrl);
+            if (linkType != LinkType.NONE) {
+                return new Route(service, linkType, getLinkHandlerFactory(service, linkType)
+                        .fromUrl(url));
+            }
+        }
+        throw new ExtractionException("No service can handle the url = \"" + url + "\"");
+    }
+
+    @Nonnull
+    private static List<StreamingService> getCandidateServices(final String polishedUrl) {
+        final String host = getHost(polishedUrl);
+        if (host == null) {
+            return ServiceList.all();
+        }
+        return SERVICES_BY_HOST.getOrDefault(host, ANY_HOST_SERVICES);
+    }
+
+    @Nullable
+    private static String getHost(final String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            // Services use Utils.stringToURL too, so the hosts they see are the same
+            final String host = Utils.stringToURL(url).getHost();
+            return Utils.isNullOrEmpty(host) ? null : host.toLowerCase(Locale.ROOT);
+        } catch (final MalformedURLException e) {
+            return null;
+        }
+    }
+
+    @Nonnull
+    private static LinkHandlerFactory getLinkHandlerFactory(
+            @Nonnull final StreamingService service,
+            @Nonnull final LinkType linkType) throws ParsingException {
+        switch (linkType) {
+            case STREAM:
+                return service.getStreamLHFactory();
+            case CHANNEL:
+                return service.getChannelLHFactory();
+            case PLAYLIST:
+                return service.getPlaylistLHFactory();
+            default:
+                throw new ParsingException("Unexpected link type: " + linkType);
+        }
+    }
+}
@@ -49,8 +49,10 @@ public class ChannelInfo extends Info {
     public static ChannelInfo getInfo(final StreamingService service, final String url)
             throws IOException, ExtractionException {
         final ChannelExtractor extractor = service.getChannelExtractor(url);
-        extractor.fetchPage();
-        return getInfo(extractor);
+        return getCoalescedInfo(ChannelInfo.class, extractor, () -> {
+            extractor.fetchPage();
+            return getInfo(extractor);
+        });
     }
 
     public static ChannelInfo getInfo(final ChannelExtractor extractor)
@@ -7,6 +7,7 @@ import org.schabi.newpipe.extractor.Page;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 
 import java.io.IOException;
@@ -29,6 +30,23 @@ public final class CommentsInfo extends ListInfo<CommentsInfoItem> {
         return getInfo(service.getCommentsExtractor(url));
     }
 
+    /**
+     * Get the comments of a stream whose extractor has already been created.
+     *
+     * <p>
+     * Data already fetched by the stream extractor may be reused, which saves requests if its
+     * page has been fetched before calling this method. See
+     * {@link StreamExtractor#getCommentsExtractor()}.
+     * </p>
+     *
+     * @param streamExtractor the extractor of the stream to get the comments of
+     * @return the comments of the stream, or {@code null} if its service doesn't support comments
+     */
+    public static CommentsInfo getInfo(final StreamExtractor streamExtractor)
+            throws IOException, ExtractionException {
+        return getInfo(streamExtractor.getCommentsExtractor());
+    }
+
     public static CommentsInfo getInfo(final CommentsExtractor commentsExtractor)
             throws IOException, ExtractionException {
         // for services which do not have a comments extractor
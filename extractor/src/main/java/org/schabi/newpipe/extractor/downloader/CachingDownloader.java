@@ -0,0 +1,467 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.localization.Localization;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Downloader} which caches the responses of another {@link Downloader}.
+ *
+ * <p>
+ * Only successful ({@code 200}) responses to {@code GET} and {@code POST} requests are cached.
+ * They are stored in a least-recently-used cache whose number of entries is bounded, and are
+ * fresh during the time to live of the first {@link Builder#timeToLive(Pattern, Duration) policy}
+ * matching the URL of the request, or during the {@link Builder#defaultTimeToLive(Duration)
+ * default time to live} if no policy matches.
+ * </p>
+ *
+ * <p>
+ * Stale responses which have an {@code ETag} or a {@code Last-Modified} header are revalidated
+ * with a conditional request: if the server answers with {@code 304 Not Modified}, the cached
+ * response is returned and is fresh again. Responses with a {@code Cache-Control: no-store} header
+ * are never cached.
+ * </p>
+ *
+ * <p>
+ * Cached responses are keyed on the HTTP method, the URL, the headers (whose names are compared
+ * case-insensitively, except the {@link Builder#ignoreHeader(String) ignored ones}), the body and
+ * the localization of requests.
+ * </p>
+ *
+ * <p>
+ * Example, caching YouTube browse responses for 5 minutes and nothing else (apart from responses
+ * which can be revalidated):
+ * </p>
+ * <pre>{@code
+ * NewPipe.init(CachingDownloader.newBuilder(downloader)
+ *         .maximumSize(200)
+ *         .timeToLive(Pattern.compile("/youtubei/v1/browse"), Duration.ofMinutes(5))
+ *         .build());
+ * }</pre>
+ */
+public final class CachingDownloader extends Downloader {
+    public static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+    private final Downloader downloader;
+    private final int maximumSize;
+    private final Duration defaultTimeToLive;
+    private final List<TimeToLivePolicy> timeToLivePolicies;
+    private final Set<String> ignoredHeaders;
+    private final Clock clock;
+
+    // Guarded by itself, in access order so that the eldest entry is the least recently used one
+    private final LinkedHashMap<CacheKey, CacheEntry> cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong revalidationCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private CachingDownloader(@Nonnull final Builder builder) {
+        this.downloader = builder.downloader;
+        this.maximumSize = builder.maximumSize;
+        this.defaultTimeToLive = builder.defaultTimeToLive;
+        this.timeToLivePolicies = Collections.unmodifiableList(
+                new ArrayList<>(builder.timeToLivePolicies));
+        this.ignoredHeaders = Collections.unmodifiableSet(new HashSet<>(builder.ignoredHeaders));
+        this.clock = builder.clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<CacheKey, CacheEntry> eldest) {
+                if (size() > maximumSize) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Create a new {@link Builder} of a {@link CachingDownloader}.
+     *
+     * @param downloader the {@link Downloader} doing the actual requests
+     * @return a new {@link Builder}
+     */
+    @Nonnull
+    public static Builder newBuilder(@Nonnull final Downloader downloader) {
+        return new Builder(downloader);
+    }
+
+    @Override
+    public Response execute(@Nonnull final Request request)
+            throws IOException, ReCaptchaException {
+        if (!isCacheable(request)) {
+            return downloader.execute(request);
+        }
+
+        final CacheKey key = new CacheKey(request, ignoredHeaders);
+        final long now = clock.millis();
+        final CacheEntry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+
+        if (entry != null && entry.expiresAt > now) {
+            hitCount.incrementAndGet();
+            return entry.response;
+        }
+
+        if (entry != null && entry.hasValidators()) {
+            final Response response = downloader.execute(entry.getConditionalRequest(request));
+            if (response.responseCode() == 304) {
+                hitCount.incrementAndGet();
+                revalidationCount.incrementAndGet();
+                put(key, new CacheEntry(entry.response, getExpiryTime(request, now)));
+                return entry.response;
+            }
+            missCount.incrementAndGet();
+            store(key, request, response, now);
+            return response;
+        }
+
+        missCount.incrementAndGet();
+        final Response response = downloader.execute(request);
+        store(key, request, response, now);
+        return response;
+    }
+
+    /**
+     * Return fresh cached responses immediately and run the other requests with
+     * {@link Downloader#executeAsync(Request)} of the wrapped downloader, storing their responses
+     * when they complete.
+     *
+     * @param request the request to execute
+     * @return a {@link CompletableFuture} completed with the result of the request
+     */
+    @Nonnull
+    @Override
+    public CompletableFuture<Response> executeAsync(@Nonnull final Request request) {
+        if (!isCacheable(request)) {
+            return downloader.executeAsync(request);
+        }
+
+        final CacheKey key = new CacheKey(request, ignoredHeaders);
+        final long now = clock.millis();
+        final CacheEntry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+
+        if (entry != null && entry.expiresAt > now) {
+            hitCount.incrementAndGet();
+            return CompletableFuture.completedFuture(entry.response);
+        }
+
+        if (entry != null && entry.hasValidators()) {
+            return downloader.executeAsync(entry.getConditionalRequest(request))
+                    .thenApply(response -> {
+                        if (response.responseCode() == 304) {
+                            hitCount.incrementAndGet();
+                            revalidationCount.incrementAndGet();
+                            put(key, new CacheEntry(entry.response, getExpiryTime(request, now)));
+                            return entry.response;
+                        }
+                        missCount.incrementAndGet();
+                        store(key, request, response, now);
+                        return response;
+                    });
+        }
+
+        missCount.incrementAndGet();
+        return downloader.executeAsync(request).thenApply(response -> {
+            store(key, request, response, now);
+            return response;
+        });
+    }
+
+    /**
+     * @return the number of requests answered from the cache, including the revalidated ones
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of cacheable requests which could not be answered from the cache
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of stale cached responses which have been successfully revalidated with
+     * a conditional request
+     */
+    public long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    /**
+     * @return the number of cached responses evicted because the cache was full
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * @return the number of responses currently cached, including stale ones
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Remove all the cached responses. Hit and miss counters are not reset.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachingDownloader{downloader=" + downloader
+                + ", maximumSize=" + maximumSize
+                + ", hitCount=" + hitCount
+                + ", missCount=" + missCount
+                + ", revalidationCount=" + revalidationCount
+                + ", evictionCount=" + evictionCount + '}';
+    }
+
+    private static boolean isCacheable(@Nonnull final Request request) {
+        final String httpMethod = request.httpMethod();
+        return "GET".equals(httpMethod) || "POST".equals(httpMethod);
+    }
+
+    private long getExpiryTime(@Nonnull final Request request, final long now) {
+        for (final TimeToLivePolicy policy : timeToLivePolicies) {
+            if (policy.urlPattern.matcher(request.url()).find()) {
+                return now + policy.timeToLive.toMillis();
+            }
+        }
+        return now + defaultTimeToLive.toMillis();
+    }
+
+    private void store(@Nonnull final CacheKey key,
+                       @Nonnull final Request request,
+                       @Nonnull final Response response,
+                       final long now) {
+        final String cacheControl = response.getHeader("Cache-Control");
+        if (response.responseCode() != 200 || (cacheControl != null
+                && cacheControl.toLowerCase(Locale.ROOT).contains("no-store"))) {
+            synchronized (cache) {
+                cache.remove(key);
+            }
+            return;
+        }
+
+        final CacheEntry entry = new CacheEntry(response, getExpiryTime(request, now));
+        if (entry.expiresAt > now || entry.hasValidators()) {
+            put(key, entry);
+        } else {
+            synchronized (cache) {
+                cache.remove(key);
+            }
+        }
+    }
+
+    private void put(@Nonnull final CacheKey key, @Nonnull final CacheEntry entry) {
+        synchronized (cache) {
+            cache.put(key, entry);
+        }
+    }
+
+    private static final class TimeToLivePolicy {
+        private final Pattern urlPattern;
+        private final Duration timeToLive;
+
+        TimeToLivePolicy(@Nonnull final Pattern urlPattern, @Nonnull final Duration timeToLive) {
+            this.urlPattern = urlPattern;
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    private static final class CacheEntry {
+        private final Response response;
+        private final long expiresAt;
+        @Nullable
+        private final String eTag;
+        @Nullable
+        private final String lastModified;
+
+        CacheEntry(@Nonnull final Response response, final long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+            this.eTag = response.getHeader("ETag");
+            this.lastModified = response.getHeader("Last-Modified");
+        }
+
+        boolean hasValidators() {
+            return eTag != null || lastModified != null;
+        }
+
+        @Nonnull
+        Request getConditionalRequest(@Nonnull final Request request) {
+            final Request.Builder builder = Request.newBuilder()
+                    .httpMethod(request.httpMethod())
+                    .url(request.url())
+                    .headers(request.headers())
+                    .dataToSend(request.dataToSend())
+                    .localization(request.localization())
+                    // The localization headers are already in the headers of the request
+                    .automaticLocalizationHeader(false);
+            if (eTag != null) {
+                builder.setHeader("If-None-Match", eTag);
+            }
+            if (lastModified != null) {
+                builder.setHeader("If-Modified-Since", lastModified);
+            }
+            return builder.build();
+        }
+    }
+
+    private static final class CacheKey {
+        private final String httpMethod;
+        private final String url;
+        private final Map<String, List<String>> headers;
+        @Nullable
+        private final byte[] dataToSend;
+        @Nullable
+        private final Localization localization;
+        private final int hashCode;
+
+        CacheKey(@Nonnull final Request request, @Nonnull final Set<String> ignoredHeaders) {
+            this.httpMethod = request.httpMethod();
+            this.url = request.url();
+            this.dataToSend = request.dataToSend();
+            this.localization = request.localization();
+
+            final Map<String, List<String>> normalizedHeaders = new TreeMap<>();
+            for (final Map.Entry<String, List<String>> header : request.headers().entrySet()) {
+                final String name = header.getKey().toLowerCase(Locale.ROOT);
+                if (!ignoredHeaders.contains(name)) {
+                    normalizedHeaders.computeIfAbsent(name, k -> new ArrayList<>())
+                            .addAll(header.getValue());
+                }
+            }
+            this.headers = normalizedHeaders;
+
+            this.hashCode = 31 * Objects.hash(httpMethod, url, headers, localization)
+                    + Arrays.hashCode(dataToSend);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final CacheKey cacheKey = (CacheKey) o;
+            return httpMethod.equals(cacheKey.httpMethod)
+                    && url.equals(cacheKey.url)
+                    && headers.equals(cacheKey.headers)
+                    && Arrays.equals(dataToSend, cacheKey.dataToSend)
+                    && Objects.equals(localization, cacheKey.localization);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public static final class Builder {
+        private final Downloader downloader;
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Duration defaultTimeToLive = Duration.ZERO;
+        private final List<TimeToLivePolicy> timeToLivePolicies = new ArrayList<>();
+        private final Set<String> ignoredHeaders = new HashSet<>();
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(@Nonnull final Downloader downloader) {
+            this.downloader = Objects.requireNonNull(downloader, "downloader is null");
+        }
+
+        /**
+         * The maximum number of responses which can be cached, {@value #DEFAULT_MAXIMUM_SIZE} by
+         * default. When this number is exceeded, the least recently used response is evicted.
+         */
+        public Builder maximumSize(final int maximumSizeToSet) {
+            if (maximumSizeToSet < 1) {
+                throw new IllegalArgumentException("Invalid maximum size");
+            }
+            this.maximumSize = maximumSizeToSet;
+            return this;
+        }
+
+        /**
+         * The time during which responses to requests whose URL matches no
+         * {@link #timeToLive(Pattern, Duration) policy} are fresh. It is zero by default, so
+         * these responses are only cached if they can be revalidated.
+         */
+        public Builder defaultTimeToLive(@Nonnull final Duration timeToLiveToSet) {
+            this.defaultTimeToLive = Objects.requireNonNull(timeToLiveToSet);
+            return this;
+        }
+
+        /**
+         * Add a policy setting the time during which responses to requests whose URL contains a
+         * match of the given pattern are fresh. Policies are checked in the order they have been
+         * added, and the first matching one is used.
+         */
+        public Builder timeToLive(@Nonnull final Pattern urlPattern,
+                                  @Nonnull final Duration timeToLiveToSet) {
+            timeToLivePolicies.add(new TimeToLivePolicy(Objects.requireNonNull(urlPattern),
+                    Objects.requireNonNull(timeToLiveToSet)));
+            return this;
+        }
+
+        /**
+         * Do not take the given header into account when looking for a cached response. This
+         * should only be used for headers which do not change the response, such as tracing
+         * ones.
+         */
+        public Builder ignoreHeader(@Nonnull final String headerName) {
+            ignoredHeaders.add(headerName.toLowerCase(Locale.ROOT));
+            return this;
+        }
+
+        /**
+         * The {@link Clock} used to check the freshness of responses, the system one by default.
+         */
+        public Builder clock(@Nonnull final Clock clockToSet) {
+            this.clock = Objects.requireNonNull(clockToSet);
+            return this;
+        }
+
+        public CachingDownloader build() {
+            return new CachingDownloader(this);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.schabi.newpipe.extractor.downloader;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -11,6 +12,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A base for downloader implementations that NewPipe will use
@@ -244,6 +246,157 @@ public abstract class Downloader {
     public abstract Response execute(@Nonnull Request request)
             throws IOException, ReCaptchaException;
 
+    /**
+     * Do a request asynchronously using the specified {@link Request} object.
+     *
+     * <p>
+     * The default implementation is <b>not</b> non-blocking: it only offloads the call of
+     * {@link #execute(Request)} to the
+     * {@link ConcurrencyUtils#getDefaultExecutor() default executor of the extractor}, which
+     * blocks one of its threads for each request until the response has been received.
+     * Implementations backed by an HTTP client with a non-blocking API should override this
+     * method, so that no thread is blocked while waiting for responses.
+     * </p>
+     *
+     * <p>
+     * The returned future is completed exceptionally with the exceptions that
+     * {@link #execute(Request)} would have thrown.
+     * </p>
+     *
+     * @param request the request to execute
+     * @return a {@link CompletableFuture} completed with the result of the request
+     */
+    @Nonnull
+    public CompletableFuture<Response> executeAsync(@Nonnull final Request request) {
+        return ConcurrencyUtils.supplyAsync(() -> execute(request),
+                ConcurrencyUtils.getDefaultExecutor());
+    }
+
+    /**
+     * Do a GET request asynchronously to get the resource that the url is pointing to.
+     *
+     * @param url          the URL that is pointing to the wanted resource
+     * @param headers      a list of headers that will be used in the request.
+     *                     Any default headers <b>should</b> be overridden by these.
+     * @param localization the source of the value of the {@code Accept-Language} header
+     * @return a {@link CompletableFuture} completed with the result of the GET request
+     * @see #get(String, Map, Localization)
+     * @see #executeAsync(Request)
+     */
+    @Nonnull
+    public CompletableFuture<Response> getAsync(
+            final String url,
+            @Nullable final Map<String, List<String>> headers,
+            final Localization localization) {
+        return executeAsync(Request.newBuilder()
+                .get(url)
+                .headers(headers)
+                .localization(localization)
+                .build());
+    }
+
+    /**
+     * Do a GET request asynchronously with the specified headers.
+     *
+     * @param url     the URL that is pointing to the wanted resource
+     * @param headers a list of headers that will be used in the request.
+     *                Any default headers <b>should</b> be overridden by these.
+     * @return a {@link CompletableFuture} completed with the result of the GET request
+     * @see #get(String, Map)
+     * @see #executeAsync(Request)
+     */
+    @Nonnull
+    public CompletableFuture<Response> getAsync(
+            final String url,
+            @Nullable final Map<String, List<String>> headers) {
+        return getAsync(url, headers, NewPipe.getPreferredLocalization());
+    }
+
+    /**
+     * Do a GET request asynchronously to get the resource that the url is pointing to.
+     *
+     * @param url the URL that is pointing to the wanted resource
+     * @return a {@link CompletableFuture} completed with the result of the GET request
+     * @see #get(String)
+     * @see #executeAsync(Request)
+     */
+    @Nonnull
+    public CompletableFuture<Response> getAsync(final String url) {
+        return getAsync(url, null, NewPipe.getPreferredLocalization());
+    }
+
+    /**
+     * Do a HEAD request asynchronously with the specified headers.
+     *
+     * @param url     the URL that is pointing to the wanted resource
+     * @param headers a list of headers that will be used in the request.
+     *                Any default headers <b>should</b> be overridden by these.
+     * @return a {@link CompletableFuture} completed with the result of the HEAD request
+     * @see #head(String, Map)
+     * @see #executeAsync(Request)
+     */
+    @Nonnull
+    public CompletableFuture<Response> headAsync(
+            final String url,
+            @Nullable final Map<String, List<String>> headers) {
+        return executeAsync(Request.newBuilder()
+                .head(url)
+                .headers(headers)
+                .build());
+    }
+
+    /**
+     * Do a POST request asynchronously with the specified headers, sending the data array.
+     *
+     * @param url          the URL that is pointing to the wanted resource
+     * @param headers      a list of headers that will be used in the request.
+     *                     Any default headers <b>should</b> be overridden by these.
+     * @param dataToSend   byte array that will be sent when doing the request.
+     * @param localization the source of the value of the {@code Accept-Language} header
+     * @return a {@link CompletableFuture} completed with the result of the POST request
+     * @see #post(String, Map, byte[], Localization)
+     * @see #executeAsync(Request)
+     */
+    @Nonnull
+    public CompletableFuture<Response> postAsync(
+            final String url,
+            @Nullable final Map<String, List<String>> headers,
+            @Nullable final byte[] dataToSend,
+            final Localization localization) {
+        return executeAsync(Request.newBuilder()
+                .post(url, dataToSend)
+                .headers(headers)
+                .localization(localization)
+                .build());
+    }
+
+    /**
+     * Convenient method to send a POST request asynchronously using the JSON mime type as the
+     * value of the {@code Content-Type} header with a given {@link Localization}.
+     *
+     * @param url          the URL that is pointing to the wanted resource
+     * @param headers      a list of headers that will be used in the request.
+     *                     Any default headers <b>should</b> be overridden by these.
+     * @param dataToSend   byte array that will be sent when doing the request.
+     * @param localization the source of the value of the {@code Accept-Language} header
+     * @return a {@link CompletableFuture} completed with the result of the POST request
+     * @see #postWithContentTypeJson(String, Map, byte[], Localization)
+     * @see #executeAsync(Request)
+     */
+    @Nonnull
+    public CompletableFuture<Response> postWithContentTypeJsonAsync(
+            final String url,
+            @Nullable final Map<String, List<String>> headers,
+            @Nullable final byte[] dataToSend,
+            final Localization localization) {
+        final Map<String, List<String>> actualHeaders = new HashMap<>();
+        if (headers != null) {
+            actualHeaders.putAll(headers);
+        }
+        actualHeaders.put("Content-Type", Collections.singletonList("application/json"));
+        return postAsync(url, actualHeaders, dataToSend, localization);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName();
@@ -2,18 +2,35 @@ package org.schabi.newpipe.extractor.downloader;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * A Data class used to hold the results from requests made by the Downloader implementation.
+ *
+ * <p>
+ * The body of a response can be provided either as a {@link String} or as raw bytes with
+ * {@link #fromBytes(int, String, Map, byte[], String)}. When it is provided as bytes, the
+ * {@link String} returned by {@link #responseBody()} is only decoded when it is first requested,
+ * so that consumers reading the body with {@link #responseBodyStream()} never materialize it.
+ * </p>
  */
 public class Response {
     private final int responseCode;
     private final String responseMessage;
     private final Map<String, List<String>> responseHeaders;
-    private final String responseBody;
+    // Lazily decoded from responseBodyBytes when the response has been created from bytes
+    private String responseBody;
+    // Not serialized, so that recorded mocks only contain the String body
+    @Nullable
+    private final transient byte[] responseBodyBytes;
 
     private final String latestUrl;
 
@@ -22,14 +39,56 @@ public class Response {
                     @Nullable final Map<String, List<String>> responseHeaders,
                     @Nullable final String responseBody,
                     @Nullable final String latestUrl) {
+        this(responseCode, responseMessage, responseHeaders,
+                responseBody == null ? "" : responseBody, null, latestUrl);
+    }
+
+    private Response(final int responseCode,
+                     final String responseMessage,
+                     @Nullable final Map<String, List<String>> responseHeaders,
+                     @Nullable final String responseBody,
+                     @Nullable final byte[] responseBodyBytes,
+                     @Nullable final String latestUrl) {
         this.responseCode = responseCode;
         this.responseMessage = responseMessage;
         this.responseHeaders = responseHeaders == null ? Collections.emptyMap() : responseHeaders;
 
-        this.responseBody = responseBody == null ? "" : responseBody;
+        this.responseBody = responseBody;
+        this.responseBodyBytes = responseBodyBytes;
         this.latestUrl = latestUrl;
     }
 
+    /**
+     * Create a {@link Response} whose body is backed by the raw bytes received.
+     *
+     * <p>
+     * Downloader implementations should prefer this method over the {@link String} constructor,
+     * as it allows the extractor to parse large responses (e.g. JSON ones) directly from their
+     * bytes. The {@link String} body is then decoded lazily, using the charset of the
+     * {@code Content-Type} header or UTF-8 if there is none.
+     * </p>
+     *
+     * <p>
+     * The given array is not copied and must not be modified afterwards.
+     * </p>
+     *
+     * @param responseCode      the HTTP status code of the response
+     * @param responseMessage   the HTTP status message of the response
+     * @param responseHeaders   the headers of the response
+     * @param responseBodyBytes the raw body of the response
+     * @param latestUrl         the latest URL known right before the response was created
+     * @return a new {@link Response} backed by the given bytes
+     */
+    @Nonnull
+    public static Response fromBytes(final int responseCode,
+                                     final String responseMessage,
+                                     @Nullable final Map<String, List<String>> responseHeaders,
+                                     @Nullable final byte[] responseBodyBytes,
+                                     @Nullable final String latestUrl) {
+        return new Response(responseCode, responseMessage, responseHeaders, null,
+                responseBodyBytes == null ? new byte[0] : responseBodyBytes, latestUrl);
+    }
+
     public int responseCode() {
         return responseCode;
     }
@@ -42,9 +101,103 @@ public class Response {
         return responseHeaders;
     }
 
+    /**
+     * Get the body of this response as a {@link String}.
+     *
+     * <p>
+     * If this response has been created {@link #fromBytes(int, String, Map, byte[], String) from
+     * bytes}, the body is decoded on the first call of this method.
+     * </p>
+     *
+     * @return the body of this response
+     */
     @Nonnull
     public String responseBody() {
-        return responseBody;
+        String body = responseBody;
+        if (body == null) {
+            if (responseBodyBytes == null) {
+                // Response created by reflection, without calling any constructor
+                body = "";
+            } else {
+                body = new String(responseBodyBytes, responseBodyCharset());
+            }
+            responseBody = body;
+        }
+        return body;
+    }
+
+    /**
+     * @return whether this response has been created from the raw bytes of its body, in which
+     * case {@link #responseBodyStream()} and {@link #responseBodyBuffer()} do not need to encode
+     * the {@link String} body
+     */
+    public boolean hasResponseBodyBytes() {
+        return responseBodyBytes != null;
+    }
+
+    /**
+     * Get the raw bytes of the body of this response.
+     *
+     * <p>
+     * If this response has not been created from bytes, the {@link String} body is encoded with
+     * the {@link #responseBodyCharset() charset of the response}.
+     * </p>
+     *
+     * @return a read-only {@link ByteBuffer} of the body of this response
+     */
+    @Nonnull
+    public ByteBuffer responseBodyBuffer() {
+        return ByteBuffer.wrap(getResponseBodyBytes()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Get the raw bytes of the body of this response as an {@link InputStream}.
+     *
+     * <p>
+     * If this response has not been created from bytes, the {@link String} body is encoded with
+     * the {@link #responseBodyCharset() charset of the response}.
+     * </p>
+     *
+     * @return a new {@link InputStream} reading the body of this response
+     */
+    @Nonnull
+    public InputStream responseBodyStream() {
+        return new ByteArrayInputStream(getResponseBodyBytes());
+    }
+
+    /**
+     * @return the length of the body of this response, in bytes if this response has been
+     * created from bytes and in characters otherwise
+     */
+    public int responseBodyLength() {
+        return responseBodyBytes == null ? responseBody().length() : responseBodyBytes.length;
+    }
+
+    /**
+     * Get the charset of the body of this response, from the {@code charset} parameter of its
+     * {@code Content-Type} header.
+     *
+     * @return the charset of the body of this response, or UTF-8 if there is no such parameter
+     * or if it is not supported
+     */
+    @Nonnull
+    public Charset responseBodyCharset() {
+        final String contentType = getHeader("Content-Type");
+        if (contentType != null) {
+            for (final String parameter : contentType.split(";")) {
+                final String trimmedParameter = parameter.trim();
+                if (trimmedParameter.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                    final String charsetName = trimmedParameter.substring("charset=".length())
+                            .replace("\"", "");
+                    try {
+                        return Charset.forName(charsetName);
+                    } catch (final IllegalArgumentException ignored) {
+                        // Unknown or illegal charset, fall back to UTF-8
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
     }
 
     /**
@@ -80,4 +233,11 @@ public class Response {
 
         return null;
     }
+
+    @Nonnull
+    private byte[] getResponseBodyBytes() {
+        return responseBodyBytes == null
+                ? responseBody().getBytes(responseBodyCharset())
+                : responseBodyBytes;
+    }
 }
@@ -0,0 +1,169 @@
+package org.schabi.newpipe.extractor.localization;
+
+import org.schabi.newpipe.extractor.timeago.PatternsHolder;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The patterns of a {@link PatternsHolder}, compiled once so that they can be matched against
+ * many textual dates by {@link TimeAgoParser}s.
+ *
+ * <p>
+ * The phrases of each {@link ChronoUnit} are combined in a single regular expression, and each
+ * special case gets its own one. Instances are immutable and shared between parsers by
+ * {@link TimeAgoPatternsManager}.
+ * </p>
+ */
+final class TimeAgoMatcher {
+    // From JDK8 → \h - Treat horizontal spaces as a normal one
+    // (non-breaking space, thin space, etc.)
+    // Also split the string on numbers to be able to parse strings like "2wk"
+    private static final String SPACE_SEPARATOR =
+            "[ \\t\\xA0\\u1680\\u180e\\u2000-\\u200a\\u202f\\u205f\\u3000\\d]";
+
+    private final List<SpecialCase> specialCases;
+    private final List<UnitPhrases> unitPhrases;
+
+    TimeAgoMatcher(@Nonnull final PatternsHolder patternsHolder) {
+        final String wordSeparator = patternsHolder.wordSeparator();
+
+        final List<SpecialCase> cases = new ArrayList<>();
+        for (final var caseUnitEntry : patternsHolder.specialCases().entrySet()) {
+            for (final var caseMapToAmountEntry : caseUnitEntry.getValue().entrySet()) {
+                cases.add(new SpecialCase(caseUnitEntry.getKey(), caseMapToAmountEntry.getValue(),
+                        new Phrases(wordSeparator,
+                                List.of(caseMapToAmountEntry.getKey()))));
+            }
+        }
+        this.specialCases = Collections.unmodifiableList(cases);
+
+        final List<UnitPhrases> units = new ArrayList<>();
+        for (final Map.Entry<ChronoUnit, Collection<String>> entry
+                : patternsHolder.asMap().entrySet()) {
+            units.add(new UnitPhrases(entry.getKey(),
+                    new Phrases(wordSeparator, entry.getValue())));
+        }
+        this.unitPhrases = Collections.unmodifiableList(units);
+    }
+
+    /**
+     * @param textualDate the textual date to match
+     * @return the first special case matching the textual date, or {@code null}
+     */
+    @Nullable
+    SpecialCase matchSpecialCase(@Nonnull final String textualDate) {
+        final String lowerCaseDate = textualDate.toLowerCase();
+        for (final SpecialCase specialCase : specialCases) {
+            if (specialCase.phrases.matches(lowerCaseDate)) {
+                return specialCase;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param textualDate the textual date to match
+     * @return the first {@link ChronoUnit} which has a phrase matching the textual date, or
+     * {@code null}
+     */
+    @Nullable
+    ChronoUnit matchChronoUnit(@Nonnull final String textualDate) {
+        final String lowerCaseDate = textualDate.toLowerCase();
+        for (final UnitPhrases unit : unitPhrases) {
+            if (unit.phrases.matches(lowerCaseDate)) {
+                return unit.chronoUnit;
+            }
+        }
+        return null;
+    }
+
+    static final class SpecialCase {
+        private final ChronoUnit chronoUnit;
+        private final int amount;
+        private final Phrases phrases;
+
+        SpecialCase(@Nonnull final ChronoUnit chronoUnit,
+                    final int amount,
+                    @Nonnull final Phrases phrases) {
+            this.chronoUnit = chronoUnit;
+            this.amount = amount;
+            this.phrases = phrases;
+        }
+
+        ChronoUnit getChronoUnit() {
+            return chronoUnit;
+        }
+
+        int getAmount() {
+            return amount;
+        }
+    }
+
+    private static final class UnitPhrases {
+        private final ChronoUnit chronoUnit;
+        private final Phrases phrases;
+
+        UnitPhrases(@Nonnull final ChronoUnit chronoUnit, @Nonnull final Phrases phrases) {
+            this.chronoUnit = chronoUnit;
+            this.phrases = phrases;
+        }
+    }
+
+    /**
+     * A set of phrases, matched if any of them is in a textual date, surrounded by word
+     * separators or by the start or the end of the date.
+     */
+    private static final class Phrases {
+        // Used for languages without word separator, where phrases are matched anywhere, and
+        // when there is no phrase
+        @Nullable
+        private final List<String> lowerCasePhrases;
+        // (^|separator)(phrase1|phrase2|...)($|separator)
+        @Nullable
+        private final Pattern pattern;
+
+        Phrases(@Nonnull final String wordSeparator, @Nonnull final Collection<String> phrases) {
+            final List<String> lowerCase = phrases.stream()
+                    .map(String::toLowerCase)
+                    .collect(Collectors.toUnmodifiableList());
+
+            if (wordSeparator.isEmpty() || lowerCase.isEmpty()) {
+                this.lowerCasePhrases = lowerCase;
+                this.pattern = null;
+            } else {
+                final String escapedSeparator = wordSeparator.equals(" ")
+                        ? SPACE_SEPARATOR
+                        : Pattern.quote(wordSeparator);
+                final String escapedPhrases = lowerCase.stream()
+                        .map(Pattern::quote)
+                        .collect(Collectors.joining("|"));
+                this.lowerCasePhrases = null;
+                this.pattern = Pattern.compile("(^|" + escapedSeparator + ")(" + escapedPhrases
+                        + ")($|" + escapedSeparator + ")");
+            }
+        }
+
+        boolean matches(@Nonnull final String lowerCaseDate) {
+            if (pattern != null) {
+                return pattern.matcher(lowerCaseDate).find();
+            }
+
+            for (final String phrase : lowerCasePhrases) {
+                if (lowerCaseDate.contains(phrase)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
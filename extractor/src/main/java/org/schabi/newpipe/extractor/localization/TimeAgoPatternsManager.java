@@ -4,11 +4,20 @@ import org.schabi.newpipe.extractor.timeago.PatternsHolder;
 import org.schabi.newpipe.extractor.timeago.PatternsManager;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public final class TimeAgoPatternsManager {
+    /**
+     * The compiled patterns of each {@link PatternsHolder}, which are singletons, so that they
+     * are compiled only once and shared by all {@link TimeAgoParser}s.
+     */
+    private static final Map<PatternsHolder, TimeAgoMatcher> MATCHERS =
+            new ConcurrentHashMap<>();
+
     private TimeAgoPatternsManager() {
     }
 
@@ -27,6 +36,11 @@ public final class TimeAgoPatternsManager {
     public static TimeAgoParser getTimeAgoParserFor(@Nonnull final Localization localization,
                                                     @Nonnull final LocalDateTime now) {
         final PatternsHolder holder = getPatternsFor(localization);
-        return holder == null ? null : new TimeAgoParser(holder, now);
+        return holder == null ? null : new TimeAgoParser(getMatcherFor(holder), now);
+    }
+
+    @Nonnull
+    static TimeAgoMatcher getMatcherFor(@Nonnull final PatternsHolder holder) {
+        return MATCHERS.computeIfAbsent(holder, TimeAgoMatcher::new);
     }
 }
@@ -11,13 +11,17 @@ import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.stream.Description;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public final class PlaylistInfo extends ListInfo<StreamInfoItem> {
 
@@ -73,8 +77,10 @@ public final class PlaylistInfo extends ListInfo<StreamInfoItem> {
     public static PlaylistInfo getInfo(final StreamingService service, final String url)
             throws IOException, ExtractionException {
         final PlaylistExtractor extractor = service.getPlaylistExtractor(url);
-        extractor.fetchPage();
-        return getInfo(extractor);
+        return getCoalescedInfo(PlaylistInfo.class, extractor, () -> {
+            extractor.fetchPage();
+            return getInfo(extractor);
+        });
     }
 
     public static InfoItemsPage<StreamInfoItem> getMoreItems(final StreamingService service,
@@ -84,6 +90,140 @@ public final class PlaylistInfo extends ListInfo<StreamInfoItem> {
         return service.getPlaylistExtractor(url).getPage(page);
     }
 
+    /**
+     * Start fetching a page of a playlist on the given {@link Executor}, and each next page as
+     * soon as the previous one is {@link ReadAheadPage#getPage() got}, so that it is ready, or at
+     * least partially loaded, when the caller requests it.
+     *
+     * <p>
+     * The pages fetched in advance are owned by the returned {@link ReadAheadPage} and its
+     * {@link ReadAheadPage#getNext() next ones}: nothing is shared with other calls. The
+     * {@link org.schabi.newpipe.extractor.downloader.Downloader Downloader} used must be
+     * thread-safe.
+     * </p>
+     *
+     * <pre>{@code
+     * ReadAheadPage page = PlaylistInfo.readAhead(service, info.getUrl(), info.getNextPage(),
+     *         executor);
+     * while (page != null) {
+     *     consume(page.getPage().getItems());
+     *     page = page.getNext();
+     * }
+     * }</pre>
+     *
+     * @param service  the service of the playlist
+     * @param url      the URL of the playlist
+     * @param page     the page to fetch, usually the next page of a {@link PlaylistInfo}
+     * @param executor the {@link Executor} on which pages are fetched
+     * @return the page being fetched, or {@code null} if the given page is not
+     * {@link Page#isValid(Page) valid}
+     */
+    @Nullable
+    public static ReadAheadPage readAhead(@Nonnull final StreamingService service,
+                                          @Nonnull final String url,
+                                          @Nullable final Page page,
+                                          @Nonnull final Executor executor) {
+        if (!Page.isValid(page)) {
+            return null;
+        }
+        return new ReadAheadPage(service, url, executor, ConcurrencyUtils.supplyAsync(
+                () -> getMoreItems(service, url, page), executor));
+    }
+
+    /**
+     * A page of a playlist fetched in advance, returned by {@link #readAhead(StreamingService,
+     * String, Page, Executor)}.
+     *
+     * <p>
+     * This class is thread-safe.
+     * </p>
+     */
+    public static final class ReadAheadPage {
+        @Nonnull
+        private final StreamingService service;
+        @Nonnull
+        private final String url;
+        @Nonnull
+        private final Executor executor;
+        @Nonnull
+        private final CompletableFuture<InfoItemsPage<StreamInfoItem>> future;
+
+        private final Object lock = new Object();
+        // Guarded by lock
+        private boolean nextStarted;
+        // Guarded by lock
+        @Nullable
+        private ReadAheadPage next;
+        // Guarded by lock
+        private boolean cancelled;
+
+        private ReadAheadPage(
+                @Nonnull final StreamingService service,
+                @Nonnull final String url,
+                @Nonnull final Executor executor,
+                @Nonnull final CompletableFuture<InfoItemsPage<StreamInfoItem>> future) {
+            this.service = service;
+            this.url = url;
+            this.executor = executor;
+            this.future = future;
+        }
+
+        /**
+         * Wait for this page to be fetched, and start fetching the next one.
+         *
+         * @return the items of this page
+         * @throws IOException         if this page could not be fetched
+         * @throws ExtractionException if this page could not be extracted
+         */
+        @Nonnull
+        public InfoItemsPage<StreamInfoItem> getPage() throws IOException, ExtractionException {
+            final InfoItemsPage<StreamInfoItem> page = ConcurrencyUtils.await(future);
+            synchronized (lock) {
+                if (!nextStarted && !cancelled) {
+                    nextStarted = true;
+                    next = readAhead(service, url, page.getNextPage(), executor);
+                }
+            }
+            return page;
+        }
+
+        /**
+         * Get the next page, which has usually started being fetched when this one was
+         * {@link #getPage() got}.
+         *
+         * @return the next page, or {@code null} if this page is the last one
+         * @throws IOException         if this page could not be fetched
+         * @throws ExtractionException if this page could not be extracted
+         */
+        @Nullable
+        public ReadAheadPage getNext() throws IOException, ExtractionException {
+            getPage();
+            synchronized (lock) {
+                return next;
+            }
+        }
+
+        /**
+         * Stop fetching this page and the next one, if they are still being fetched.
+         *
+         * <p>
+         * Requests which already started are not interrupted, their results are just discarded.
+         * </p>
+         */
+        public void cancel() {
+            final ReadAheadPage nextPage;
+            synchronized (lock) {
+                cancelled = true;
+                nextPage = next;
+                next = null;
+            }
+            ConcurrencyUtils.cancelAll(future);
+            if (nextPage != null) {
+                nextPage.cancel();
+            }
+        }
+    }
+
     /**
      * Get PlaylistInfo from PlaylistExtractor
      *
@@ -0,0 +1,173 @@
+package org.schabi.newpipe.extractor.services.bandcamp.extractors;
+
+import org.schabi.newpipe.extractor.utils.LruCache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Cache of whether hosts are Bandcamp artist domains, used by
+ * {@link BandcampExtractorHelper#isArtistDomain(String)} to avoid downloading a page of custom
+ * domains each time one of their URLs is checked.
+ *
+ * <p>
+ * Both positive and negative verdicts are cached, negative ones for a shorter time, and the
+ * least recently used ones are evicted when the cache is full. The cache can also be
+ * {@link #seed(Collection) seeded} with artist domains known by the application, for instance
+ * the ones {@link #getArtistDomains() found} in a previous session. Seeded domains are kept until
+ * the cache is {@link #clear() cleared}: they never expire and are not evicted.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public final class BandcampArtistDomainCache {
+
+    /**
+     * The default maximum number of verdicts kept.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    /**
+     * The default time during which a host is known to be an artist domain.
+     */
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.DAYS.toMillis(30);
+
+    /**
+     * The default time during which a host is known not to be an artist domain.
+     */
+    public static final long DEFAULT_NEGATIVE_TTL_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    @Nonnull
+    private final LruCache<String, Boolean> verdicts = new LruCache<>();
+    private final Set<String> seededDomains = ConcurrentHashMap.newKeySet();
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    /**
+     * Create a cache keeping {@link #DEFAULT_MAXIMUM_SIZE} verdicts, with the default TTLs.
+     */
+    public BandcampArtistDomainCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+    }
+
+    /**
+     * Create a cache.
+     *
+     * @param maximumSize       the maximum number of verdicts kept
+     * @param ttlMillis         the time during which a host is known to be an artist domain, in
+     *                          milliseconds
+     * @param negativeTtlMillis the time during which a host is known not to be an artist domain,
+     *                          in milliseconds
+     */
+    public BandcampArtistDomainCache(final int maximumSize,
+                                     final long ttlMillis,
+                                     final long negativeTtlMillis) {
+        if (ttlMillis < 0 || negativeTtlMillis < 0) {
+            throw new IllegalArgumentException("TTLs must not be negative");
+        }
+        verdicts.setMaximumSize(maximumSize);
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+    }
+
+    /**
+     * Get the cached verdict of a host.
+     *
+     * @param host the host to check
+     * @return whether the host is an artist domain, or {@code null} if it is not known
+     */
+    @Nullable
+    public Boolean get(@Nonnull final String host) {
+        final String normalizedHost = normalize(host);
+        if (seededDomains.contains(normalizedHost)) {
+            return Boolean.TRUE;
+        }
+        return verdicts.get(normalizedHost);
+    }
+
+    /**
+     * Cache the verdict of a host.
+     *
+     * <p>
+     * A negative verdict replaces the host in the seeded artist domains.
+     * </p>
+     *
+     * @param host           the host checked
+     * @param isArtistDomain whether the host is an artist domain
+     */
+    public void put(@Nonnull final String host, final boolean isArtistDomain) {
+        final String normalizedHost = normalize(host);
+        final long ttl = isArtistDomain ? ttlMillis : negativeTtlMillis;
+        final long now = System.currentTimeMillis();
+        verdicts.put(normalizedHost, isArtistDomain,
+                ttl > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttl);
+        if (!isArtistDomain) {
+            seededDomains.remove(normalizedHost);
+        }
+    }
+
+    /**
+     * Cache hosts known to be artist domains, which never expire and are not evicted.
+     *
+     * @param hosts hosts known to be artist domains, such as ones returned by
+     *              {@link #getArtistDomains()}
+     */
+    public void seed(@Nonnull final Collection<String> hosts) {
+        for (final String host : hosts) {
+            seededDomains.add(normalize(host));
+        }
+    }
+
+    /**
+     * @return the hosts which have been seeded as artist domains and the ones found to be artist
+     * domains which are still cached, which can be persisted and passed to
+     * {@link #seed(Collection)} later
+     */
+    @Nonnull
+    public Set<String> getArtistDomains() {
+        final Set<String> artistDomains = new HashSet<>(seededDomains);
+        verdicts.snapshot().forEach((host, isArtistDomain) -> {
+            if (isArtistDomain) {
+                artistDomains.add(host);
+            }
+        });
+        return artistDomains;
+    }
+
+    /**
+     * Clear all verdicts.
+     */
+    public void clear() {
+        verdicts.clear();
+        seededDomains.clear();
+    }
+
+    /**
+     * @return the number of verdicts kept, not including seeded artist domains
+     */
+    public int size() {
+        return verdicts.size();
+    }
+
+    /**
+     * @return the statistics of the cache
+     */
+    @Nonnull
+    public LruCache.Stats getStats() {
+        return verdicts.getStats();
+    }
+
+    @Nonnull
+    private static String normalize(@Nonnull final String host) {
+        return host.toLowerCase(Locale.ROOT);
+    }
+}
@@ -16,6 +16,8 @@ import org.schabi.newpipe.extractor.services.bandcamp.extractors.streaminfoitem.
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class BandcampChannelTabExtractor extends ChannelTabExtractor {
     private JsonArray discography;
@@ -59,6 +61,7 @@ public class BandcampChannelTabExtractor extends ChannelTabExtractor {
     @Override
     public InfoItemsPage<InfoItem> getInitialPage() throws IOException, ExtractionException {
         final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
+        final List<JsonObject> discographs = new ArrayList<>();
 
         for (final Object discograph : discography) {
             // A discograph is as an item appears in a discography
@@ -69,11 +72,17 @@ public class BandcampChannelTabExtractor extends ChannelTabExtractor {
             final JsonObject discographJsonObject = (JsonObject) discograph;
             final String itemType = discographJsonObject.getString("item_type", "");
 
-            if (!itemType.equals(filter)) {
-                continue;
+            if (itemType.equals(filter)) {
+                discographs.add(discographJsonObject);
             }
+        }
+
+        // The URL of each item needs a request, resolve them concurrently before collecting
+        // items, whose URLs are then cached
+        BandcampExtractorHelper.resolveStreamUrls(discographs);
 
-            switch (itemType) {
+        for (final JsonObject discographJsonObject : discographs) {
+            switch (filter) {
                 case "track":
                     collector.commit(new BandcampDiscographStreamInfoItemExtractor(
                             discographJsonObject, getUrl()));
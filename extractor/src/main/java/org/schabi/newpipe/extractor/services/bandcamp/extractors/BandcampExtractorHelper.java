@@ -12,20 +12,31 @@ import org.jsoup.nodes.Element;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.Image.ResolutionLevel;
 import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.ImageSuffix;
+import org.schabi.newpipe.extractor.utils.LruCache;
+import org.schabi.newpipe.extractor.utils.SingleFlight;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
+import java.net.MalformedURLException;
 import java.nio.charset.StandardCharsets;
 import java.time.DateTimeException;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -85,24 +96,62 @@ public final class BandcampExtractorHelper {
     public static final String BASE_URL = "https://bandcamp.com";
     public static final String BASE_API_URL = BASE_URL + "/api";
 
+    private static final String CART_WRAPPER_CLASS = "cart-wrapper";
+    /**
+     * The number of characters after the {@code cart-wrapper} class name which are parsed to
+     * find the link of the cart footer, which is a small element.
+     */
+    private static final int CART_WRAPPER_FRAGMENT_LENGTH = 2048;
+
+    @Nullable
+    private static volatile BandcampArtistDomainCache artistDomainCache =
+            new BandcampArtistDomainCache();
+    private static volatile boolean customDomainProbingEnabled = true;
+    private static final SingleFlight<String, Boolean> CUSTOM_DOMAIN_PROBES = new SingleFlight<>();
+
+    /**
+     * The maximum number of album or track URLs resolved at the same time by
+     * {@link #resolveStreamUrls(List, Executor)}.
+     */
+    public static final int MAXIMUM_CONCURRENT_URL_RESOLUTIONS = 8;
+
+    /**
+     * URLs of albums and tracks, by band ID, item type and item ID.
+     */
+    private static final LruCache<String, String> STREAM_URLS = new LruCache<>();
+
     private BandcampExtractorHelper() {
     }
 
     /**
      * Translate all these parameters together to the URL of the corresponding album or track
      * using the mobile API
+     *
+     * <p>
+     * URLs are cached, so that each album or track is translated only once.
+     * </p>
      */
     public static String getStreamUrlFromIds(final long bandId,
                                              final long itemId,
                                              final String itemType) throws ParsingException {
+        final String key = bandId + "/" + itemType.charAt(0) + "/" + itemId;
+        final String cachedUrl = STREAM_URLS.get(key);
+        if (cachedUrl != null) {
+            return cachedUrl;
+        }
+
         try {
             final String jsonString = NewPipe.getDownloader().get(
                     BASE_API_URL + "/mobile/22/tralbum_details?band_id=" + bandId
                             + "&tralbum_id=" + itemId + "&tralbum_type=" + itemType.charAt(0))
                     .responseBody();
 
-            return replaceHttpWithHttps(JsonParser.object().from(jsonString)
+            final String url = replaceHttpWithHttps(JsonParser.object().from(jsonString)
                     .getString("bandcamp_url"));
+            if (!isNullOrEmpty(url)) {
+                STREAM_URLS.put(key, url);
+            }
+            return url;
 
         } catch (final JsonParserException | ReCaptchaException | IOException e) {
             throw new ParsingException("Ids could not be translated to URL", e);
@@ -110,6 +159,79 @@ public final class BandcampExtractorHelper {
 
     }
 
+    /**
+     * Resolve the URLs of albums or tracks of discographies concurrently, on the
+     * {@link ConcurrencyUtils#getDefaultExecutor() default executor}.
+     *
+     * @see #resolveStreamUrls(List, Executor)
+     */
+    @Nonnull
+    public static List<String> resolveStreamUrls(@Nonnull final List<JsonObject> items) {
+        return resolveStreamUrls(items, ConcurrencyUtils.getDefaultExecutor());
+    }
+
+    /**
+     * Resolve the URLs of albums or tracks of discographies concurrently.
+     *
+     * <p>
+     * URLs which are not cached yet are resolved with
+     * {@link #getStreamUrlFromIds(long, long, String)} on the given {@link Executor}, by up to
+     * {@link #MAXIMUM_CONCURRENT_URL_RESOLUTIONS} tasks. As URLs are cached, calling this method
+     * before collecting info items of the given items allows their {@code getUrl} methods to not
+     * make requests one after the other.
+     * </p>
+     *
+     * <p>
+     * The {@link org.schabi.newpipe.extractor.downloader.Downloader Downloader} used must be
+     * thread-safe.
+     * </p>
+     *
+     * @param items    albums or tracks of discographies, with their {@code band_id},
+     *                 {@code item_id} and {@code item_type}
+     * @param executor the {@link Executor} on which URLs are resolved
+     * @return the URLs of the items, in the order of {@code items}, with {@code null} for items
+     * whose URL could not be resolved
+     */
+    @Nonnull
+    public static List<String> resolveStreamUrls(@Nonnull final List<JsonObject> items,
+                                                 @Nonnull final Executor executor) {
+        final AtomicReferenceArray<String> urls = new AtomicReferenceArray<>(items.size());
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        final int taskCount = Math.min(items.size(), MAXIMUM_CONCURRENT_URL_RESOLUTIONS);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(ConcurrencyUtils.supplyAsync(() -> {
+                int index;
+                while ((index = nextIndex.getAndIncrement()) < items.size()) {
+                    final JsonObject item = items.get(index);
+                    try {
+                        urls.set(index, getStreamUrlFromIds(item.getLong("band_id"),
+                                item.getLong("item_id"), item.getString("item_type")));
+                    } catch (final ParsingException | RuntimeException ignored) {
+                        // The URL of this item could not be resolved
+                    }
+                }
+                return null;
+            }, executor));
+        }
+        for (final CompletableFuture<Void> task : tasks) {
+            ConcurrencyUtils.awaitOrNull(task);
+        }
+
+        final List<String> orderedUrls = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            orderedUrls.add(urls.get(i));
+        }
+        return orderedUrls;
+    }
+
+    /**
+     * Clear the cache of the URLs of albums and tracks.
+     */
+    public static void clearStreamUrlCache() {
+        STREAM_URLS.clear();
+    }
+
     /**
      * Fetch artist details from mobile endpoint.
      * <a href="https://notabug.org/fynngodau/bandcampDirect/wiki/rewindBandcamp+%E2%80%93+Fetching+artist+details">
@@ -155,6 +277,16 @@ public final class BandcampExtractorHelper {
     }
 
     /**
+     * Check whether the given URL looks like it comes from a Bandcamp custom domain or a
+     * {@code *.bandcamp.com} subdomain.
+     *
+     * <p>
+     * To know whether a host is a custom domain, a page of it is downloaded, unless the host is
+     * in the {@link #setArtistDomainCache(BandcampArtistDomainCache) artist domain cache} or
+     * {@link #setCustomDomainProbingEnabled(boolean) probing custom domains is disabled}.
+     * Concurrent checks of the same host share the same request.
+     * </p>
+     *
      * @return <code>true</code> if the given URL looks like it comes from a bandcamp custom domain
      * or a <code>*.bandcamp.com</code> subdomain
      */
@@ -170,27 +302,133 @@ public final class BandcampExtractorHelper {
             return false;
         }
 
+        final String host;
         try {
-            // Test other URLs for whether they contain a footer that links to bandcamp
-            return Jsoup.parse(
-                    NewPipe.getDownloader()
-                            .get(Utils.replaceHttpWithHttps(url))
-                            .responseBody()
-                    )
-                    .getElementsByClass("cart-wrapper")
-                    .get(0)
-                    .getElementsByTag("a")
-                    .get(0)
-                    .attr("href")
-                    .equals("https://bandcamp.com/cart");
-        } catch (final NullPointerException | IndexOutOfBoundsException e) {
+            host = Utils.stringToURL(url).getHost().toLowerCase(Locale.ROOT);
+        } catch (final MalformedURLException e) {
             return false;
-        } catch (final IOException | ReCaptchaException e) {
+        }
+
+        final BandcampArtistDomainCache cache = artistDomainCache;
+        final Boolean cachedVerdict = cache == null ? null : cache.get(host);
+        if (cachedVerdict != null) {
+            return cachedVerdict;
+        }
+        if (!customDomainProbingEnabled) {
+            return false;
+        }
+
+        try {
+            return CUSTOM_DOMAIN_PROBES.execute(host, () -> probeCustomDomain(url, host, cache));
+        } catch (final IOException | ExtractionException e) {
             throw new ParsingException("Could not determine whether URL is custom domain "
                     + "(not available? network error?)");
         }
     }
 
+    private static boolean probeCustomDomain(@Nonnull final String url,
+                                             @Nonnull final String host,
+                                             @Nullable final BandcampArtistDomainCache cache)
+            throws IOException, ReCaptchaException {
+        final Response response = NewPipe.getDownloader().get(Utils.replaceHttpWithHttps(url));
+        // Test other URLs for whether they contain a footer that links to bandcamp
+        final boolean isArtistDomain = hasBandcampCartFooter(response.responseBody());
+
+        // Error pages of artist domains may not have the footer, don't remember them
+        if (cache != null && (isArtistDomain
+                || (response.responseCode() >= 200 && response.responseCode() < 300))) {
+            cache.put(host, isArtistDomain);
+        }
+        return isArtistDomain;
+    }
+
+    /**
+     * Check whether the first element with the {@code cart-wrapper} class of a page contains a
+     * link to the Bandcamp cart, which is the footer of Bandcamp artist pages.
+     *
+     * <p>
+     * Only a fragment of the page around the class name is parsed, instead of the whole page.
+     * </p>
+     *
+     * @param html the HTML of a page
+     * @return whether the page has the footer of Bandcamp artist pages
+     */
+    static boolean hasBandcampCartFooter(@Nonnull final String html) {
+        int markerIndex = html.indexOf(CART_WRAPPER_CLASS);
+        while (markerIndex != -1) {
+            // The class name may appear in scripts or stylesheets, before the element itself
+            final int fragmentStart = Math.max(0, html.lastIndexOf('<', markerIndex));
+            final int fragmentEnd = Math.min(html.length(),
+                    markerIndex + CART_WRAPPER_FRAGMENT_LENGTH);
+            final Element cartWrapper = Jsoup.parseBodyFragment(
+                    html.substring(fragmentStart, fragmentEnd))
+                    .getElementsByClass(CART_WRAPPER_CLASS)
+                    .first();
+            if (cartWrapper != null) {
+                final Element link = cartWrapper.getElementsByTag("a").first();
+                return link != null && link.attr("href").equals("https://bandcamp.com/cart");
+            }
+            markerIndex = html.indexOf(CART_WRAPPER_CLASS, markerIndex + 1);
+        }
+        return false;
+    }
+
+    /**
+     * Set the {@link BandcampArtistDomainCache} in which the hosts found to be or not to be
+     * artist domains are kept.
+     *
+     * <p>
+     * By default, a {@link BandcampArtistDomainCache} with default parameters is used.
+     * </p>
+     *
+     * @param artistDomainCache the {@link BandcampArtistDomainCache} to use, or {@code null} to
+     *                          not cache verdicts
+     */
+    public static void setArtistDomainCache(
+            @Nullable final BandcampArtistDomainCache artistDomainCache) {
+        BandcampExtractorHelper.artistDomainCache = artistDomainCache;
+    }
+
+    /**
+     * @return the {@link BandcampArtistDomainCache} used, or {@code null} if verdicts are not
+     * cached
+     */
+    @Nullable
+    public static BandcampArtistDomainCache getArtistDomainCache() {
+        return artistDomainCache;
+    }
+
+    /**
+     * Set whether pages of unknown hosts are downloaded to know whether they are Bandcamp custom
+     * domains.
+     *
+     * <p>
+     * When disabled, URLs are classified without any network request: URLs of hosts which are
+     * not {@code *.bandcamp.com} subdomains nor artist domains of the
+     * {@link #setArtistDomainCache(BandcampArtistDomainCache) artist domain cache} are not
+     * accepted by Bandcamp link handlers. This is useful to classify a lot of URLs at once, for
+     * instance when importing them.
+     * </p>
+     *
+     * <p>
+     * Note that this changes the results of URL classification: {@link #isArtistDomain(String)}
+     * returns {@code false} for custom domains which have not been seeded in the artist domain
+     * cache nor probed before, so
+     * {@link org.schabi.newpipe.extractor.NewPipe#getServiceByUrl(String)} doesn't return the
+     * Bandcamp service for their URLs anymore, and may throw an exception if no other service
+     * accepts them.
+     * </p>
+     *
+     * <p>
+     * Probing custom domains is enabled by default.
+     * </p>
+     *
+     * @param customDomainProbingEnabled whether pages of unknown hosts are downloaded
+     */
+    public static void setCustomDomainProbingEnabled(final boolean customDomainProbingEnabled) {
+        BandcampExtractorHelper.customDomainProbingEnabled = customDomainProbingEnabled;
+    }
+
     /**
      * Whether the URL points to a radio kiosk.
      * @param url the URL to check
@@ -38,12 +38,21 @@ import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
 import org.schabi.newpipe.extractor.suggestion.SuggestionExtractor;
 
 import java.util.EnumSet;
+import java.util.Set;
 
 public class MediaCCCService extends StreamingService {
+    private static final Set<String> SUPPORTED_URL_HOSTS = Set.of("media.ccc.de",
+            "www.media.ccc.de", "api.media.ccc.de", "streaming.media.ccc.de");
+
     public MediaCCCService(final int id) {
         super(id, "media.ccc.de", EnumSet.of(AUDIO, VIDEO));
     }
 
+    @Override
+    public Set<String> getSupportedUrlHosts() {
+        return SUPPORTED_URL_HOSTS;
+    }
+
     @Override
     public SearchExtractor getSearchExtractor(final SearchQueryHandler query) {
         return new MediaCCCSearchExtractor(this, query);
@@ -13,6 +13,7 @@ import org.schabi.newpipe.extractor.comments.CommentsInfoItemExtractor;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
 import org.schabi.newpipe.extractor.stream.Description;
+import org.schabi.newpipe.extractor.utils.JsonPath;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 
 import javax.annotation.Nonnull;
@@ -25,6 +26,15 @@ import static org.schabi.newpipe.extractor.services.peertube.extractors.Peertube
 import static org.schabi.newpipe.extractor.services.peertube.PeertubeParsingHelper.getAvatarsFromOwnerAccountOrVideoChannelObject;
 
 public class PeertubeCommentsInfoItemExtractor implements CommentsInfoItemExtractor {
+
+    private static final JsonPath ACCOUNT_NAME = JsonPath.compile("account.name");
+    private static final JsonPath ACCOUNT_HOST = JsonPath.compile("account.host");
+    private static final JsonPath ACCOUNT_DISPLAY_NAME = JsonPath.compile("account.displayName");
+    private static final JsonPath CREATED_AT = JsonPath.compile("createdAt");
+    private static final JsonPath TEXT = JsonPath.compile("text");
+    private static final JsonPath THREAD_ID = JsonPath.compile("threadId");
+    private static final JsonPath TOTAL_REPLIES = JsonPath.compile("totalReplies");
+
     @Nonnull
     private final JsonObject item;
     @Nullable
@@ -62,12 +72,12 @@ public class PeertubeCommentsInfoItemExtractor implements CommentsInfoItemExtrac
 
     @Override
     public String getName() throws ParsingException {
-        return JsonUtils.getString(item, "account.displayName");
+        return JsonUtils.getString(item, ACCOUNT_DISPLAY_NAME);
     }
 
     @Override
     public String getTextualUploadDate() throws ParsingException {
-        return JsonUtils.getString(item, "createdAt");
+        return JsonUtils.getString(item, CREATED_AT);
     }
 
     @Override
@@ -78,7 +88,7 @@ public class PeertubeCommentsInfoItemExtractor implements CommentsInfoItemExtrac
     @Nonnull
     @Override
     public Description getCommentText() throws ParsingException {
-        final String htmlText = JsonUtils.getString(item, "text");
+        final String htmlText = JsonUtils.getString(item, TEXT);
         try {
             final Document doc = Jsoup.parse(htmlText);
             final var text = doc.body().text();
@@ -102,14 +112,14 @@ public class PeertubeCommentsInfoItemExtractor implements CommentsInfoItemExtrac
 
     @Override
     public String getUploaderName() throws ParsingException {
-        return JsonUtils.getString(item, "account.name") + "@"
-                + JsonUtils.getString(item, "account.host");
+        return JsonUtils.getString(item, ACCOUNT_NAME) + "@"
+                + JsonUtils.getString(item, ACCOUNT_HOST);
     }
 
     @Override
     public String getUploaderUrl() throws ParsingException {
-        final String name = JsonUtils.getString(item, "account.name");
-        final String host = JsonUtils.getString(item, "account.host");
+        final String name = JsonUtils.getString(item, ACCOUNT_NAME);
+        final String host = JsonUtils.getString(item, ACCOUNT_HOST);
         return ServiceList.PeerTube.getChannelLHFactory()
                 .fromId("accounts/" + name + "@" + host, baseUrl).getUrl();
     }
@@ -120,7 +130,7 @@ public class PeertubeCommentsInfoItemExtractor implements CommentsInfoItemExtrac
         if (getReplyCount() == 0) {
             return null;
         }
-        final String threadId = JsonUtils.getNumber(item, "threadId").toString();
+        final String threadId = JsonUtils.getNumber(item, THREAD_ID).toString();
         final String repliesUrl = url + "/" + threadId;
         if (isReply && children != null && !children.isEmpty()) {
             // Nested replies are already included in the original thread's request.
@@ -142,7 +152,7 @@ public class PeertubeCommentsInfoItemExtractor implements CommentsInfoItemExtrac
                 // although there are replies to that reply stored in children.
                 replyCount = children.size();
             } else {
-                replyCount = JsonUtils.getNumber(item, "totalReplies").intValue();
+                replyCount = JsonUtils.getNumber(item, TOTAL_REPLIES).intValue();
             }
         }
         return replyCount;
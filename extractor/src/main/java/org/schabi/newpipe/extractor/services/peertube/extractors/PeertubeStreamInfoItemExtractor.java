@@ -7,6 +7,7 @@ import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemExtractor;
 import org.schabi.newpipe.extractor.stream.StreamType;
+import org.schabi.newpipe.extractor.utils.JsonPath;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 
 import javax.annotation.Nonnull;
@@ -17,6 +18,13 @@ import static org.schabi.newpipe.extractor.services.peertube.PeertubeParsingHelp
 
 public class PeertubeStreamInfoItemExtractor implements StreamInfoItemExtractor {
 
+    private static final JsonPath UUID = JsonPath.compile("uuid");
+    private static final JsonPath NAME = JsonPath.compile("name");
+    private static final JsonPath ACCOUNT_NAME = JsonPath.compile("account.name");
+    private static final JsonPath ACCOUNT_HOST = JsonPath.compile("account.host");
+    private static final JsonPath ACCOUNT_DISPLAY_NAME = JsonPath.compile("account.displayName");
+    private static final JsonPath PUBLISHED_AT = JsonPath.compile("publishedAt");
+
     protected final JsonObject item;
     private String baseUrl;
 
@@ -27,7 +35,7 @@ public class PeertubeStreamInfoItemExtractor implements StreamInfoItemExtractor
 
     @Override
     public String getUrl() throws ParsingException {
-        final String uuid = JsonUtils.getString(item, "uuid");
+        final String uuid = JsonUtils.getString(item, UUID);
         return ServiceList.PeerTube.getStreamLHFactory().fromId(uuid, baseUrl).getUrl();
     }
 
@@ -39,7 +47,7 @@ public class PeertubeStreamInfoItemExtractor implements StreamInfoItemExtractor
 
     @Override
     public String getName() throws ParsingException {
-        return JsonUtils.getString(item, "name");
+        return JsonUtils.getString(item, NAME);
     }
 
     @Override
@@ -54,8 +62,8 @@ public class PeertubeStreamInfoItemExtractor implements StreamInfoItemExtractor
 
     @Override
     public String getUploaderUrl() throws ParsingException {
-        final String name = JsonUtils.getString(item, "account.name");
-        final String host = JsonUtils.getString(item, "account.host");
+        final String name = JsonUtils.getString(item, ACCOUNT_NAME);
+        final String host = JsonUtils.getString(item, ACCOUNT_HOST);
 
         return ServiceList.PeerTube.getChannelLHFactory()
                 .fromId("accounts/" + name + "@" + host, baseUrl).getUrl();
@@ -74,12 +82,12 @@ public class PeertubeStreamInfoItemExtractor implements StreamInfoItemExtractor
 
     @Override
     public String getUploaderName() throws ParsingException {
-        return JsonUtils.getString(item, "account.displayName");
+        return JsonUtils.getString(item, ACCOUNT_DISPLAY_NAME);
     }
 
     @Override
     public String getTextualUploadDate() throws ParsingException {
-        return JsonUtils.getString(item, "publishedAt");
+        return JsonUtils.getString(item, PUBLISHED_AT);
     }
 
     @Override
@@ -0,0 +1,212 @@
+package org.schabi.newpipe.extractor.services.soundcloud;
+
+import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+import org.schabi.newpipe.extractor.utils.Parser;
+import org.schabi.newpipe.extractor.utils.SingleFlight;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Manage the client ID required by the SoundCloud API.
+ *
+ * <p>
+ * The client ID is extracted from the scripts of the SoundCloud website, which are fetched in
+ * parallel. It is then kept for a {@link #setTimeToLive(Duration) time to live}, and refreshed in
+ * the background when it gets close to its expiration, so that requests don't have to wait for
+ * it. Reading the current client ID doesn't take any lock: only the threads needing a client ID
+ * while none is valid wait for its extraction, which is shared between them.
+ * </p>
+ *
+ * <p>
+ * When the API rejects a client ID, it should be {@link #invalidate(String) invalidated}, so that
+ * a new one is extracted on the next call of {@link #getClientId()}.
+ * </p>
+ */
+public final class SoundcloudClientIdManager {
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(6);
+    private static final Pattern CLIENT_ID_PATTERN = Pattern.compile(",client_id:\"(.*?)\"");
+    private static final Map<String, List<String>> SCRIPT_HEADERS =
+            Map.of("Range", List.of("bytes=0-50000"));
+    private static final String EXTRACTION_KEY = "clientId";
+
+    private static final AtomicReference<ClientId> CLIENT_ID = new AtomicReference<>();
+    private static final SingleFlight<String, ClientId> EXTRACTIONS = new SingleFlight<>();
+    private static final AtomicBoolean REFRESHING = new AtomicBoolean();
+
+    private static volatile long timeToLiveNanos = DEFAULT_TIME_TO_LIVE.toNanos();
+
+    private SoundcloudClientIdManager() {
+    }
+
+    /**
+     * Set how long an extracted client ID is used before being extracted again.
+     *
+     * <p>
+     * Once three quarters of this duration are elapsed, the client ID is refreshed in the
+     * background, while the current one keeps being returned. Once it is fully elapsed, callers
+     * of {@link #getClientId()} wait for a new client ID.
+     * </p>
+     *
+     * <p>
+     * The default time to live is 6 hours.
+     * </p>
+     *
+     * @param timeToLive the time to live of client IDs, which must be positive
+     */
+    public static void setTimeToLive(@Nonnull final Duration timeToLive) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+        }
+        timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    /**
+     * Get a valid client ID, extracting it if there is none.
+     *
+     * @return a client ID for the SoundCloud API
+     * @throws ExtractionException if the client ID could not be extracted
+     * @throws IOException         if the SoundCloud website could not be fetched
+     */
+    @Nonnull
+    public static String getClientId() throws ExtractionException, IOException {
+        final ClientId clientId = CLIENT_ID.get();
+        if (clientId != null) {
+            final long age = System.nanoTime() - clientId.extractionTime;
+            if (age < timeToLiveNanos) {
+                if (age >= timeToLiveNanos / 4 * 3) {
+                    refreshInBackground();
+                }
+                return clientId.id;
+            }
+        }
+        return extract(false).id;
+    }
+
+    /**
+     * Invalidate a client ID which has been rejected by the API.
+     *
+     * <p>
+     * This has no effect if the current client ID is not the given one, for instance if it has
+     * already been invalidated and replaced by another thread.
+     * </p>
+     *
+     * @param rejectedClientId the client ID rejected by the API
+     */
+    public static void invalidate(@Nonnull final String rejectedClientId) {
+        final ClientId clientId = CLIENT_ID.get();
+        if (clientId != null && clientId.id.equals(rejectedClientId)) {
+            CLIENT_ID.compareAndSet(clientId, null);
+        }
+    }
+
+    /**
+     * Clear the current client ID, so that a new one is extracted on the next call of
+     * {@link #getClientId()}.
+     */
+    public static void clearCache() {
+        CLIENT_ID.set(null);
+    }
+
+    /**
+     * Extract a new client ID, sharing the extraction with the other threads which need one at
+     * the same time.
+     *
+     * @param refresh whether the client ID should be extracted even if the current one has not
+     *                expired
+     * @return the new client ID, or the current one if it has been extracted by another thread
+     * and if a refresh is not requested
+     */
+    @Nonnull
+    private static ClientId extract(final boolean refresh)
+            throws ExtractionException, IOException {
+        return EXTRACTIONS.execute(EXTRACTION_KEY, () -> {
+            final ClientId current = CLIENT_ID.get();
+            if (!refresh && current != null
+                    && System.nanoTime() - current.extractionTime < timeToLiveNanos) {
+                // Extracted by another thread since the call of getClientId
+                return current;
+            }
+
+            final ClientId clientId = new ClientId(extractClientId(), System.nanoTime());
+            CLIENT_ID.set(clientId);
+            return clientId;
+        });
+    }
+
+    private static void refreshInBackground() {
+        if (!REFRESHING.compareAndSet(false, true)) {
+            return;
+        }
+
+        ConcurrencyUtils.supplyAsync(() -> extract(true), ConcurrencyUtils.getDefaultExecutor())
+                .whenComplete((clientId, throwable) -> {
+                    // The current client ID is kept if the refresh failed, the next calls will
+                    // try again
+                    REFRESHING.set(false);
+                });
+    }
+
+    @Nonnull
+    private static String extractClientId() throws ExtractionException, IOException {
+        final Downloader downloader = NewPipe.getDownloader();
+        final String homepage = downloader.get("https://soundcloud.com").responseBody();
+
+        final List<CompletableFuture<Response>> scripts = new ArrayList<>();
+        for (final Element element : Jsoup.parse(homepage).select(
+                "script[src*=\"sndcdn.com/assets/\"][src$=\".js\"]")) {
+            final String srcUrl = element.attr("src");
+            if (!isNullOrEmpty(srcUrl)) {
+                scripts.add(downloader.getAsync(srcUrl, SCRIPT_HEADERS));
+            }
+        }
+
+        try {
+            // The one containing the client id will likely be the last one
+            for (int i = scripts.size() - 1; i >= 0; i--) {
+                final Response script = ConcurrencyUtils.awaitOrNull(scripts.get(i));
+                if (script != null) {
+                    try {
+                        return Parser.matchGroup1(CLIENT_ID_PATTERN, script.responseBody());
+                    } catch (final Parser.RegexException ignored) {
+                        // Ignore it and proceed to try searching other script
+                    }
+                }
+            }
+        } finally {
+            ConcurrencyUtils.cancelAll(scripts.toArray(new CompletableFuture<?>[0]));
+        }
+
+        // Officially give up
+        throw new ExtractionException("Couldn't extract client id");
+    }
+
+    private static final class ClientId {
+        @Nonnull
+        private final String id;
+        private final long extractionTime;
+
+        ClientId(@Nonnull final String id, final long extractionTime) {
+            this.id = Objects.requireNonNull(id);
+            this.extractionTime = extractionTime;
+        }
+    }
+}
@@ -11,9 +11,6 @@ import com.grack.nanojson.JsonObject;
 import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
 import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.schabi.newpipe.extractor.MultiInfoItemsCollector;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.NewPipe;
@@ -24,6 +21,7 @@ import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudChannelInfoItemExtractor;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudPlaylistInfoItemExtractor;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudLikesInfoItemExtractor;
@@ -31,8 +29,6 @@ import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudStr
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 import org.schabi.newpipe.extractor.utils.ImageSuffix;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
-import org.schabi.newpipe.extractor.utils.Parser;
-import org.schabi.newpipe.extractor.utils.Parser.RegexException;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import javax.annotation.Nonnull;
@@ -43,11 +39,10 @@ import java.net.URL;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public final class SoundcloudParsingHelper {
     // CHECKSTYLE:OFF
@@ -88,50 +83,67 @@ public final class SoundcloudParsingHelper {
             List.of(new ImageSuffix("t1240x260", 1240, 260, MEDIUM),
                     new ImageSuffix("t2480x520", 2480, 520, MEDIUM));
 
-    private static String clientId;
     public static final String SOUNDCLOUD_API_V2_URL = "https://api-v2.soundcloud.com/";
 
     private static final Pattern ON_URL_PATTERN = Pattern.compile(
         "^https?://on.soundcloud.com/[0-9a-zA-Z]+$"
     );
+    private static final Pattern CLIENT_ID_PARAMETER_PATTERN =
+            Pattern.compile("[?&]client_id=([^&]+)");
 
     private SoundcloudParsingHelper() {
     }
 
-    public static synchronized String clientId() throws ExtractionException, IOException {
-        if (!isNullOrEmpty(clientId)) {
-            return clientId;
+    /**
+     * Get a client ID for the SoundCloud API.
+     *
+     * @return a client ID for the SoundCloud API
+     * @see SoundcloudClientIdManager#getClientId()
+     */
+    public static String clientId() throws ExtractionException, IOException {
+        return SoundcloudClientIdManager.getClientId();
+    }
+
+    /**
+     * Do a GET request to a SoundCloud API URL containing a {@code client_id} parameter, and do
+     * it again once with a new client ID if the API rejected the one of the URL with an HTTP 401
+     * or 403 response.
+     *
+     * @param downloader   the downloader to use
+     * @param apiUrl       the API URL, with a {@code client_id} parameter
+     * @param localization the localization of the request
+     * @return the response of the request, or the one of the request with a new client ID
+     */
+    @Nonnull
+    public static Response getWithClientIdRetry(@Nonnull final Downloader downloader,
+                                                @Nonnull final String apiUrl,
+                                                @Nonnull final Localization localization)
+            throws IOException, ReCaptchaException {
+        final Response response = downloader.get(apiUrl, localization);
+        if (response.responseCode() != 401 && response.responseCode() != 403) {
+            return response;
+        }
+
+        final Matcher matcher = CLIENT_ID_PARAMETER_PATTERN.matcher(apiUrl);
+        if (!matcher.find()) {
+            return response;
         }
 
-        final Downloader dl = NewPipe.getDownloader();
-
-        final Response download = dl.get("https://soundcloud.com");
-        final String responseBody = download.responseBody();
-        final String clientIdPattern = ",client_id:\"(.*?)\"";
-
-        final Document doc = Jsoup.parse(responseBody);
-        final Elements possibleScripts = doc.select(
-                "script[src*=\"sndcdn.com/assets/\"][src$=\".js\"]");
-        // The one containing the client id will likely be the last one
-        Collections.reverse(possibleScripts);
-
-        final var headers = Map.of("Range", List.of("bytes=0-50000"));
-
-        for (final Element element : possibleScripts) {
-            final String srcUrl = element.attr("src");
-            if (!isNullOrEmpty(srcUrl)) {
-                try {
-                    clientId = Parser.matchGroup1(clientIdPattern, dl.get(srcUrl, headers)
-                            .responseBody());
-                    return clientId;
-                } catch (final RegexException ignored) {
-                    // Ignore it and proceed to try searching other script
-                }
-            }
+        final String rejectedClientId = matcher.group(1);
+        SoundcloudClientIdManager.invalidate(rejectedClientId);
+        final String newClientId;
+        try {
+            newClientId = SoundcloudClientIdManager.getClientId();
+        } catch (final ExtractionException e) {
+            // Keep the response of the rejected client ID
+            return response;
+        }
+        if (newClientId.equals(rejectedClientId)) {
+            return response;
         }
 
-        // Officially give up
-        throw new ExtractionException("Couldn't extract client id");
+        return downloader.get(apiUrl.substring(0, matcher.start(1)) + newClientId
+                + apiUrl.substring(matcher.end(1)), localization);
     }
 
     @Nullable
@@ -161,8 +173,8 @@ public final class SoundcloudParsingHelper {
                 + "&client_id=" + clientId();
 
         try {
-            final String response = downloader.get(apiUrl, SoundCloud.getLocalization())
-                    .responseBody();
+            final String response = getWithClientIdRetry(downloader, apiUrl,
+                    SoundCloud.getLocalization()).responseBody();
             return JsonParser.object().from(response);
         } catch (final JsonParserException e) {
             throw new ParsingException("Could not parse json response", e);
@@ -225,7 +237,7 @@ public final class SoundcloudParsingHelper {
             final String widgetUrl = "https://api-widget.soundcloud.com/resolve?url="
                     + Utils.encodeUrlUtf8(url.toString())
                     + "&format=json&client_id=" + SoundcloudParsingHelper.clientId();
-            final String response = NewPipe.getDownloader().get(widgetUrl,
+            final String response = getWithClientIdRetry(NewPipe.getDownloader(), widgetUrl,
                     SoundCloud.getLocalization()).responseBody();
             final JsonObject o = JsonParser.object().from(response);
             return String.valueOf(JsonUtils.getValue(o, "id"));
@@ -268,8 +280,8 @@ public final class SoundcloudParsingHelper {
     public static String getUsersFromApi(final ChannelInfoItemsCollector collector,
                                          final String apiUrl) throws IOException,
             ReCaptchaException, ParsingException {
-        final String response = NewPipe.getDownloader().get(apiUrl, SoundCloud.getLocalization())
-                .responseBody();
+        final String response = getWithClientIdRetry(NewPipe.getDownloader(), apiUrl,
+                SoundCloud.getLocalization()).responseBody();
         final JsonObject responseObject;
 
         try {
@@ -321,8 +333,8 @@ public final class SoundcloudParsingHelper {
                                            final String apiUrl,
                                            final boolean charts) throws IOException,
             ReCaptchaException, ParsingException {
-        final Response response = NewPipe.getDownloader().get(apiUrl, SoundCloud
-                .getLocalization());
+        final Response response = getWithClientIdRetry(NewPipe.getDownloader(), apiUrl,
+                SoundCloud.getLocalization());
         if (response.responseCode() >= 400) {
             throw new IOException("Could not get streams from API, HTTP " + response
                     .responseCode());
@@ -369,7 +381,8 @@ public final class SoundcloudParsingHelper {
     public static String getInfoItemsFromApi(final MultiInfoItemsCollector collector,
                                              final String apiUrl) throws ReCaptchaException,
             ParsingException, IOException {
-        final Response response = NewPipe.getDownloader().get(apiUrl, SoundCloud.getLocalization());
+        final Response response = getWithClientIdRetry(NewPipe.getDownloader(), apiUrl,
+                SoundCloud.getLocalization());
         if (response.responseCode() >= 400) {
             throw new IOException("Could not get streams from API, HTTP "
                     + response.responseCode());
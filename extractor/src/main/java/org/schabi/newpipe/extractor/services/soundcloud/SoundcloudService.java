@@ -39,8 +39,11 @@ import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
 
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 public class SoundcloudService extends StreamingService {
+    private static final Set<String> SUPPORTED_URL_HOSTS = Set.of("soundcloud.com",
+            "www.soundcloud.com", "m.soundcloud.com", "on.soundcloud.com");
 
     public SoundcloudService(final int id) {
         super(id, "SoundCloud", EnumSet.of(AUDIO, COMMENTS));
@@ -51,6 +54,11 @@ public class SoundcloudService extends StreamingService {
         return "https://soundcloud.com";
     }
 
+    @Override
+    public Set<String> getSupportedUrlHosts() {
+        return SUPPORTED_URL_HOSTS;
+    }
+
     @Override
     public SearchQueryHandlerFactory getSearchQHFactory() {
         return SoundcloudSearchQueryHandlerFactory.getInstance();
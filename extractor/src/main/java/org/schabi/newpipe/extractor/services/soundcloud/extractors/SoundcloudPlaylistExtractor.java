@@ -50,7 +50,8 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
         final String apiUrl = SOUNDCLOUD_API_V2_URL + "playlists/" + playlistId + "?client_id="
                 + SoundcloudParsingHelper.clientId() + "&representation=compact";
 
-        final String response = downloader.get(apiUrl, getExtractorLocalization()).responseBody();
+        final String response = SoundcloudParsingHelper.getWithClientIdRetry(downloader, apiUrl,
+                getExtractorLocalization()).responseBody();
         try {
             playlist = JsonParser.object().from(response);
         } catch (final JsonParserException e) {
@@ -176,8 +177,9 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
                 + SoundcloudParsingHelper.clientId() + "&ids=" + String.join(",", currentIds);
 
         final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
-        final String response = NewPipe.getDownloader().get(currentPageUrl,
-                getExtractorLocalization()).responseBody();
+        final String response = SoundcloudParsingHelper.getWithClientIdRetry(
+                NewPipe.getDownloader(), currentPageUrl, getExtractorLocalization())
+                .responseBody();
 
         try {
             final JsonArray tracks = JsonParser.array().from(response);
@@ -35,12 +35,14 @@ import org.schabi.newpipe.extractor.stream.StreamExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 import org.schabi.newpipe.extractor.stream.StreamType;
 import org.schabi.newpipe.extractor.stream.VideoStream;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -48,6 +50,7 @@ import javax.annotation.Nullable;
 public class SoundcloudStreamExtractor extends StreamExtractor {
     private JsonObject track;
     private boolean isAvailable = true;
+    private boolean resolveTranscodingUrlsLazily;
 
     public SoundcloudStreamExtractor(final StreamingService service,
                                      final LinkHandler linkHandler) {
@@ -181,17 +184,43 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
         return audioStreams;
     }
 
+    /**
+     * Set whether the URLs of the audio streams returned by {@link #getAudioStreams()} are
+     * resolved only when their content is requested.
+     *
+     * <p>
+     * The URL of each SoundCloud audio stream needs a request to be resolved. By default, these
+     * requests are made concurrently by {@link #getAudioStreams()}. When URLs are resolved
+     * lazily, {@link #getAudioStreams()} doesn't make any request, and the URL of an audio stream
+     * is only resolved by {@link AudioStream#resolveContent()}, so that only the streams which are
+     * actually played cost a request. Until then, {@link AudioStream#getContent()} throws an
+     * {@link IllegalStateException}.
+     * </p>
+     *
+     * <p>
+     * This setting only applies to this extractor and must be set before
+     * {@link #getAudioStreams()} is called.
+     * </p>
+     *
+     * @param resolveTranscodingUrlsLazily whether the URLs of audio streams are resolved lazily
+     */
+    public void setResolveTranscodingUrlsLazily(final boolean resolveTranscodingUrlsLazily) {
+        this.resolveTranscodingUrlsLazily = resolveTranscodingUrlsLazily;
+    }
+
     @Nonnull
-    private String getTranscodingUrl(final String endpointUrl)
+    private static String getTranscodingUrl(@Nonnull final String endpointUrl,
+                                            @Nullable final String trackAuthorization)
             throws IOException, ExtractionException {
         String apiStreamUrl = endpointUrl + "?client_id=" + clientId();
 
-        final String trackAuthorization = track.getString("track_authorization");
         if (!isNullOrEmpty(trackAuthorization)) {
             apiStreamUrl += "&track_authorization=" + trackAuthorization;
         }
 
-        final String response = NewPipe.getDownloader().get(apiStreamUrl).responseBody();
+        final String response = SoundcloudParsingHelper.getWithClientIdRetry(
+                NewPipe.getDownloader(), apiStreamUrl, NewPipe.getPreferredLocalization())
+                .responseBody();
         final JsonObject urlObject;
         try {
             urlObject = JsonParser.object().from(response);
@@ -199,11 +228,21 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
             throw new ParsingException("Could not parse streamable URL", e);
         }
 
-        return urlObject.getString("url");
+        final String url = urlObject.getString("url");
+        if (isNullOrEmpty(url)) {
+            throw new ParsingException("Could not get streamable URL");
+        }
+        return url;
     }
 
     private void extractAudioStreams(@Nonnull final JsonArray transcodings,
                                      final List<AudioStream> audioStreams) {
+        final String trackAuthorization = track.getString("track_authorization");
+        final List<AudioStream.Builder> builders = new ArrayList<>();
+        final List<String> endpointUrls = new ArrayList<>();
+
+        // Check transcodings before resolving their URLs, so that no request is made for the
+        // ones which are skipped
         transcodings.streamAsJsonObjects()
                 .forEachOrdered(transcoding -> {
                     final String url = transcoding.getString("url");
@@ -211,49 +250,129 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
                         return;
                     }
 
-                    try {
-                        final String preset = transcoding.getString("preset", ID_UNKNOWN);
-                        final String protocol = transcoding.getObject("format")
-                                .getString("protocol");
-
-                        if (protocol.contains("encrypted")) {
-                            // Skip DRM-protected streams, which have encrypted in their protocol
-                            // name
-                            return;
-                        }
-
-                        final AudioStream.Builder builder = new AudioStream.Builder()
-                                .setId(preset);
-
-                        if (protocol.equals("hls")) {
-                            builder.setDeliveryMethod(DeliveryMethod.HLS);
-                        }
-
-                        builder.setContent(getTranscodingUrl(url), true);
-
-                        if (preset.contains("mp3")) {
-                            builder.setMediaFormat(MediaFormat.MP3);
-                            builder.setAverageBitrate(128);
-                        } else if (preset.contains("opus")) {
-                            builder.setMediaFormat(MediaFormat.OPUS);
-                            builder.setAverageBitrate(64);
-                        } else if (preset.contains("aac_160k")) {
-                            builder.setMediaFormat(MediaFormat.M4A);
-                            builder.setAverageBitrate(160);
-                        } else {
-                            // Unknown format, skip to the next audio stream
-                            return;
-                        }
-
-                        final AudioStream audioStream = builder.build();
-                        if (!Stream.containSimilarStream(audioStream, audioStreams)) {
-                            audioStreams.add(audioStream);
-                        }
-                    } catch (final ExtractionException | IOException ignored) {
-                        // Something went wrong when trying to get and add this audio stream,
-                        // skip to the next one
+                    final AudioStream.Builder builder = getAudioStreamBuilder(transcoding);
+                    if (builder != null) {
+                        builders.add(builder);
+                        endpointUrls.add(url);
                     }
                 });
+
+        if (resolveTranscodingUrlsLazily) {
+            for (int i = 0; i < builders.size(); i++) {
+                builders.get(i).setContentResolver(
+                        new TranscodingUrlResolver(endpointUrls.get(i), trackAuthorization));
+                addAudioStream(builders.get(i).build(), audioStreams);
+            }
+            return;
+        }
+
+        // Resolve the URLs concurrently, the current thread resolving the first one
+        final List<CompletableFuture<String>> urls = new ArrayList<>();
+        for (int i = 1; i < endpointUrls.size(); i++) {
+            final String endpointUrl = endpointUrls.get(i);
+            urls.add(ConcurrencyUtils.supplyAsync(
+                    () -> getTranscodingUrl(endpointUrl, trackAuthorization),
+                    ConcurrencyUtils.getDefaultExecutor()));
+        }
+
+        for (int i = 0; i < builders.size(); i++) {
+            final String url;
+            if (i == 0) {
+                url = getTranscodingUrlOrNull(endpointUrls.get(0), trackAuthorization);
+            } else {
+                url = ConcurrencyUtils.awaitOrNull(urls.get(i - 1));
+            }
+
+            // Something went wrong when trying to get this audio stream, skip to the next one
+            if (url != null) {
+                addAudioStream(builders.get(i).setContent(url, true).build(), audioStreams);
+            }
+        }
+    }
+
+    /**
+     * Get a builder of the {@link AudioStream} of a transcoding, without its content.
+     *
+     * @param transcoding a transcoding of the track
+     * @return a builder of the {@link AudioStream}, or {@code null} if the transcoding is
+     * DRM-protected or has an unknown format
+     */
+    @Nullable
+    private static AudioStream.Builder getAudioStreamBuilder(
+            @Nonnull final JsonObject transcoding) {
+        final String preset = transcoding.getString("preset", ID_UNKNOWN);
+        final String protocol = transcoding.getObject("format")
+                .getString("protocol");
+
+        if (protocol.contains("encrypted")) {
+            // Skip DRM-protected streams, which have encrypted in their protocol name
+            return null;
+        }
+
+        final AudioStream.Builder builder = new AudioStream.Builder()
+                .setId(preset);
+
+        if (protocol.equals("hls")) {
+            builder.setDeliveryMethod(DeliveryMethod.HLS);
+        }
+
+        if (preset.contains("mp3")) {
+            builder.setMediaFormat(MediaFormat.MP3);
+            builder.setAverageBitrate(128);
+        } else if (preset.contains("opus")) {
+            builder.setMediaFormat(MediaFormat.OPUS);
+            builder.setAverageBitrate(64);
+        } else if (preset.contains("aac_160k")) {
+            builder.setMediaFormat(MediaFormat.M4A);
+            builder.setAverageBitrate(160);
+        } else {
+            // Unknown format, skip to the next audio stream
+            return null;
+        }
+
+        return builder;
+    }
+
+    @Nullable
+    private static String getTranscodingUrlOrNull(@Nonnull final String endpointUrl,
+                                                  @Nullable final String trackAuthorization) {
+        try {
+            return getTranscodingUrl(endpointUrl, trackAuthorization);
+        } catch (final ExtractionException | IOException e) {
+            return null;
+        }
+    }
+
+    private static void addAudioStream(@Nonnull final AudioStream audioStream,
+                                       @Nonnull final List<AudioStream> audioStreams) {
+        if (!Stream.containSimilarStream(audioStream, audioStreams)) {
+            audioStreams.add(audioStream);
+        }
+    }
+
+    /**
+     * {@link Stream.ContentResolver} resolving the URL of a transcoding when the content of its
+     * {@link AudioStream} is requested.
+     */
+    private static final class TranscodingUrlResolver implements Stream.ContentResolver {
+        private static final long serialVersionUID = 1L;
+
+        @Nonnull
+        private final String endpointUrl;
+        @Nullable
+        private final String trackAuthorization;
+
+        TranscodingUrlResolver(@Nonnull final String endpointUrl,
+                               @Nullable final String trackAuthorization) {
+            this.endpointUrl = endpointUrl;
+            this.trackAuthorization = trackAuthorization;
+        }
+
+        @Nonnull
+        @Override
+        public String resolve() throws IOException, ExtractionException {
+            return getTranscodingUrl(endpointUrl, trackAuthorization);
+        }
     }
 
     @Override
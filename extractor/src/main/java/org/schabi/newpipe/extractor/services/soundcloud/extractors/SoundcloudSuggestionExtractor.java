@@ -34,7 +34,8 @@ public class SoundcloudSuggestionExtractor extends SuggestionExtractor {
         final String url = SOUNDCLOUD_API_V2_URL + "search/queries?q="
                 + Utils.encodeUrlUtf8(query) + "&client_id=" + SoundcloudParsingHelper.clientId()
                 + "&limit=10";
-        final String response = dl.get(url, getExtractorLocalization()).responseBody();
+        final String response = SoundcloudParsingHelper.getWithClientIdRetry(dl, url,
+                getExtractorLocalization()).responseBody();
 
         try {
             final JsonArray collection = JsonParser.object().from(response).getArray("collection");
@@ -0,0 +1,341 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
+
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ExtractionSupplier;
+import org.schabi.newpipe.extractor.utils.SingleFlight;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Registry of the versions of InnerTube clients which are extracted from YouTube, such as the
+ * versions of the {@code WEB} and {@code WEB_REMIX} clients.
+ *
+ * <p>
+ * The version of a client is loaded once, even if it is requested by multiple threads at the
+ * same time: the other threads wait for the result of the first load. Once its TTL elapsed, a
+ * version is refreshed in the background the next time it is requested, and the previous version
+ * is returned until the refresh succeeded. After a failed refresh, the next one is only started
+ * once a delay elapsed, which doubles after each consecutive failure, from one minute up to one
+ * hour.
+ * </p>
+ *
+ * <p>
+ * Versions can be {@link #seed(Map, long) seeded} from a snapshot previously obtained with
+ * {@link #getVersions()}, for instance one persisted by the application, so that they don't have
+ * to be loaded at startup.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public final class ClientVersionRegistry {
+
+    /**
+     * The default time after which a version is refreshed.
+     */
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.HOURS.toMillis(12);
+
+    private static final long INITIAL_REFRESH_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long MAXIMUM_REFRESH_BACKOFF_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final long ttlMillis;
+    @Nonnull
+    private final Executor executor;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<String, String> loads = new SingleFlight<>();
+
+    /**
+     * Create a registry refreshing versions after {@link #DEFAULT_TTL_MILLIS}, on the
+     * {@link ConcurrencyUtils#getDefaultExecutor() default executor}.
+     */
+    public ClientVersionRegistry() {
+        this(DEFAULT_TTL_MILLIS, ConcurrencyUtils.getDefaultExecutor());
+    }
+
+    /**
+     * Create a registry.
+     *
+     * @param ttlMillis the time after which a version is refreshed, in milliseconds
+     * @param executor  the {@link Executor} on which versions are refreshed
+     */
+    public ClientVersionRegistry(final long ttlMillis, @Nonnull final Executor executor) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Invalid TTL: " + ttlMillis);
+        }
+        this.ttlMillis = ttlMillis;
+        this.executor = executor;
+    }
+
+    /**
+     * Get the version of a client, loading it if it has not been loaded yet.
+     *
+     * <p>
+     * If the version has expired, it is returned and a refresh is started in the background
+     * with the given loader, unless one is already running.
+     * </p>
+     *
+     * @param clientName the name of the client
+     * @param loader     a supplier extracting the current version of the client from YouTube
+     * @return the version of the client
+     * @throws IOException         if the version had to be loaded and the loader threw an
+     *                             {@link IOException}
+     * @throws ExtractionException if the version had to be loaded and the loader threw an
+     *                             {@link ExtractionException} or returned an empty version
+     */
+    @Nonnull
+    public String get(@Nonnull final String clientName,
+                      @Nonnull final ExtractionSupplier<String> loader)
+            throws IOException, ExtractionException {
+        final Entry entry = entries.computeIfAbsent(clientName, key -> new Entry());
+        final String version = entry.version;
+        if (version == null) {
+            return loads.execute(clientName, () -> {
+                // The version may have been loaded by a call which completed in the meantime
+                final String loadedVersion = entry.version;
+                return loadedVersion == null ? load(entry, loader) : loadedVersion;
+            });
+        }
+
+        if (System.currentTimeMillis() >= entry.nextRefreshTime
+                && entry.refreshing.compareAndSet(false, true)) {
+            // The current version is kept until a refresh succeeds
+            ConcurrencyUtils.supplyAsync(() -> {
+                try {
+                    return load(entry, loader);
+                } catch (final IOException | ExtractionException | RuntimeException e) {
+                    onRefreshFailed(entry);
+                    throw e;
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            }, executor);
+        }
+        return version;
+    }
+
+    /**
+     * Get the version of a client without loading nor refreshing it.
+     *
+     * @param clientName the name of the client
+     * @return the current version of the client, or {@code null} if it has not been loaded nor
+     * seeded
+     */
+    @Nullable
+    public String getCurrentVersion(@Nonnull final String clientName) {
+        final Entry entry = entries.get(clientName);
+        return entry == null ? null : entry.version;
+    }
+
+    /**
+     * @return a snapshot of the current versions, by client name, which can be passed to
+     * {@link #seed(Map, long)}
+     */
+    @Nonnull
+    public Map<String, String> getVersions() {
+        final Map<String, String> versions = new HashMap<>();
+        entries.forEach((clientName, entry) -> {
+            final String version = entry.version;
+            if (version != null) {
+                versions.put(clientName, version);
+            }
+        });
+        return versions;
+    }
+
+    /**
+     * Seed versions of clients which have not been loaded yet.
+     *
+     * <p>
+     * Seeded versions are used as if they had been loaded at the given time: they are refreshed
+     * in the background when they are requested once their TTL elapsed.
+     * </p>
+     *
+     * @param versions  versions by client name, such as ones returned by {@link #getVersions()}
+     * @param savedTime the time at which the versions were obtained, in milliseconds since the
+     *                  epoch
+     */
+    public void seed(@Nonnull final Map<String, String> versions, final long savedTime) {
+        versions.forEach((clientName, version) -> {
+            if (isNullOrEmpty(version)) {
+                return;
+            }
+            final Entry entry = entries.computeIfAbsent(clientName, key -> new Entry());
+            synchronized (entry) {
+                if (entry.version == null) {
+                    entry.loadTime = savedTime;
+                    entry.nextRefreshTime = addSaturated(savedTime, ttlMillis);
+                    entry.version = version;
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the metrics of the version of a client.
+     *
+     * @param clientName the name of the client
+     * @return the metrics of the version of the client, or {@code null} if it has never been
+     * requested nor seeded
+     */
+    @Nullable
+    public Stats getStats(@Nonnull final String clientName) {
+        final Entry entry = entries.get(clientName);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (entry) {
+            return new Stats(entry.version, entry.loadTime, entry.lastLoadDurationMillis,
+                    entry.loadCount.get(), entry.failedLoadCount.get());
+        }
+    }
+
+    /**
+     * Forget the version of a client, which is loaded again the next time it is requested.
+     *
+     * @param clientName the name of the client
+     */
+    public void remove(@Nonnull final String clientName) {
+        entries.remove(clientName);
+    }
+
+    /**
+     * Forget the versions of all clients.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Nonnull
+    private String load(@Nonnull final Entry entry,
+                        @Nonnull final ExtractionSupplier<String> loader)
+            throws IOException, ExtractionException {
+        final long startTime = System.nanoTime();
+        try {
+            final String version = loader.get();
+            if (isNullOrEmpty(version)) {
+                throw new ExtractionException("Got an empty client version");
+            }
+            final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            synchronized (entry) {
+                entry.loadTime = System.currentTimeMillis();
+                entry.nextRefreshTime = addSaturated(entry.loadTime, ttlMillis);
+                entry.version = version;
+                entry.lastLoadDurationMillis = duration;
+                entry.consecutiveRefreshFailures = 0;
+            }
+            entry.loadCount.incrementAndGet();
+            return version;
+        } catch (final IOException | ExtractionException | RuntimeException e) {
+            entry.failedLoadCount.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Delay the next refresh of a version after a failed refresh, exponentially with the number
+     * of consecutive failures.
+     */
+    private static void onRefreshFailed(@Nonnull final Entry entry) {
+        synchronized (entry) {
+            final int failures = Math.min(entry.consecutiveRefreshFailures, 30);
+            entry.consecutiveRefreshFailures++;
+            final long backoff = Math.min(INITIAL_REFRESH_BACKOFF_MILLIS << failures,
+                    MAXIMUM_REFRESH_BACKOFF_MILLIS);
+            entry.nextRefreshTime = addSaturated(System.currentTimeMillis(), backoff);
+        }
+    }
+
+    private static long addSaturated(final long time, final long duration) {
+        return duration > Long.MAX_VALUE - time ? Long.MAX_VALUE : time + duration;
+    }
+
+    private static final class Entry {
+        @Nullable
+        private volatile String version;
+        private volatile long loadTime;
+        // The time from which the version is refreshed when it is requested
+        private volatile long nextRefreshTime;
+        // Guarded by the entry
+        private int consecutiveRefreshFailures;
+        private volatile long lastLoadDurationMillis = -1;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final AtomicLong loadCount = new AtomicLong();
+        private final AtomicLong failedLoadCount = new AtomicLong();
+    }
+
+    /**
+     * Metrics of the version of a client.
+     */
+    public static final class Stats {
+        @Nullable
+        private final String version;
+        private final long loadTime;
+        private final long lastLoadDurationMillis;
+        private final long loadCount;
+        private final long failedLoadCount;
+
+        Stats(@Nullable final String version,
+              final long loadTime,
+              final long lastLoadDurationMillis,
+              final long loadCount,
+              final long failedLoadCount) {
+            this.version = version;
+            this.loadTime = loadTime;
+            this.lastLoadDurationMillis = lastLoadDurationMillis;
+            this.loadCount = loadCount;
+            this.failedLoadCount = failedLoadCount;
+        }
+
+        /**
+         * @return the current version, or {@code null} if it has not been loaded yet
+         */
+        @Nullable
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * @return the time at which the current version was loaded or obtained if it was seeded,
+         * in milliseconds since the epoch, or {@code 0} if there is no version
+         */
+        public long getLoadTime() {
+            return loadTime;
+        }
+
+        /**
+         * @return the time the last successful load or refresh took, in milliseconds, or
+         * {@code -1} if the version has never been loaded
+         */
+        public long getLastLoadDurationMillis() {
+            return lastLoadDurationMillis;
+        }
+
+        /**
+         * @return the number of successful loads and refreshes
+         */
+        public long getLoadCount() {
+            return loadCount;
+        }
+
+        /**
+         * @return the number of failed loads and refreshes
+         */
+        public long getFailedLoadCount() {
+            return failedLoadCount;
+        }
+    }
+}
@@ -100,27 +100,64 @@ public class ItagItem implements Serializable {
             new ItagItem(315, VIDEO_ONLY, WEBM, "2160p60", 60)
     };
 
+    /**
+     * The items of {@link #ITAG_LIST}, indexed by their itag, to find them without going through
+     * the whole list. These items are never returned directly, copies of them are.
+     */
+    private static final ItagItem[] ITAGS_BY_ID = createItagsById();
+
+    @Nonnull
+    private static ItagItem[] createItagsById() {
+        int maximumId = 0;
+        for (final ItagItem item : ITAG_LIST) {
+            maximumId = Math.max(maximumId, item.id);
+        }
+
+        final ItagItem[] itagsById = new ItagItem[maximumId + 1];
+        for (final ItagItem item : ITAG_LIST) {
+            itagsById[item.id] = item;
+        }
+        return itagsById;
+    }
+
     /*//////////////////////////////////////////////////////////////////////////
     // Utils
     //////////////////////////////////////////////////////////////////////////*/
 
     public static boolean isSupported(final int itag) {
-        for (final ItagItem item : ITAG_LIST) {
-            if (itag == item.id) {
-                return true;
-            }
-        }
-        return false;
+        return findItag(itag) != null;
+    }
+
+    /**
+     * Check whether an itag is supported and is of the given {@link ItagType}.
+     *
+     * <p>
+     * Unlike {@link #getItag(int)}, this method doesn't copy the {@link ItagItem} of the itag and
+     * doesn't throw an exception when the itag is not supported, so it can be used to filter
+     * formats before getting their {@link ItagItem}s.
+     * </p>
+     *
+     * @param itag     the itag to check
+     * @param itagType the {@link ItagType} expected
+     * @return whether the itag is supported and is of the given type
+     */
+    public static boolean isSupported(final int itag, @Nonnull final ItagType itagType) {
+        final ItagItem item = findItag(itag);
+        return item != null && item.itagType == itagType;
     }
 
     @Nonnull
     public static ItagItem getItag(final int itagId) throws ParsingException {
-        for (final ItagItem item : ITAG_LIST) {
-            if (itagId == item.id) {
-                return new ItagItem(item);
-            }
+        final ItagItem item = findItag(itagId);
+        if (item == null) {
+            throw new ParsingException("itag " + itagId + " is not supported");
         }
-        throw new ParsingException("itag " + itagId + " is not supported");
+        return new ItagItem(item);
+    }
+
+    @Nullable
+    private static ItagItem findItag(final int itagId) {
+        return itagId >= 0 && itagId < ITAGS_BY_ID.length ? ITAGS_BY_ID[itagId] : null;
     }
 
     /*//////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,278 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ExtractionSupplier;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * {@link VisitorDataProvider} keeping a pool of {@code visitorData}s for each InnerTube client,
+ * localization and content country.
+ *
+ * <p>
+ * Each {@code visitorData} of a pool is used for up to a maximum number of player requests, in a
+ * round-robin way, and is discarded once it has been used this number of times or once its TTL
+ * elapsed. Each time a {@code visitorData} is taken from a pool, missing {@code visitorData}s of
+ * this pool are fetched in the background, so that following player requests don't have to wait
+ * for them. A {@code visitorData} is fetched while the player request waits only when its pool is
+ * empty, which happens at the first request of a pool if it has not been
+ * {@link #warmUp(String, Localization, ContentCountry, ExtractionSupplier) warmed up}. This
+ * {@code visitorData} is then kept in the pool like the ones fetched in the background, so that
+ * filling a pool never needs more than its size of requests.
+ * </p>
+ *
+ * <p>
+ * The {@link org.schabi.newpipe.extractor.downloader.Downloader Downloader} used must be
+ * thread-safe, as {@code visitorData}s are fetched in the background.
+ * </p>
+ */
+public final class PooledVisitorDataProvider implements VisitorDataProvider {
+
+    /**
+     * The default number of {@code visitorData}s kept in each pool.
+     */
+    public static final int DEFAULT_POOL_SIZE = 2;
+
+    /**
+     * The default time after which a {@code visitorData} is discarded.
+     */
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * The default number of player requests for which a {@code visitorData} is used.
+     */
+    public static final int DEFAULT_MAXIMUM_USES = 10;
+
+    private final int poolSize;
+    private final long ttlMillis;
+    private final int maximumUses;
+    @Nonnull
+    private final Executor executor;
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+    private final AtomicLong fetchCount = new AtomicLong();
+
+    /**
+     * Create a provider with the default pool size, TTL and maximum number of uses, fetching
+     * {@code visitorData}s in the background on the
+     * {@link ConcurrencyUtils#getDefaultExecutor() default executor}.
+     */
+    public PooledVisitorDataProvider() {
+        this(DEFAULT_POOL_SIZE, DEFAULT_TTL_MILLIS, DEFAULT_MAXIMUM_USES,
+                ConcurrencyUtils.getDefaultExecutor());
+    }
+
+    /**
+     * Create a provider.
+     *
+     * @param poolSize    the number of {@code visitorData}s kept in each pool
+     * @param ttlMillis   the time after which a {@code visitorData} is discarded, in milliseconds
+     * @param maximumUses the number of player requests for which a {@code visitorData} is used
+     * @param executor    the {@link Executor} on which {@code visitorData}s are fetched in the
+     *                    background
+     */
+    public PooledVisitorDataProvider(final int poolSize,
+                                     final long ttlMillis,
+                                     final int maximumUses,
+                                     @Nonnull final Executor executor) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Invalid pool size: " + poolSize);
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Invalid TTL: " + ttlMillis);
+        }
+        if (maximumUses <= 0) {
+            throw new IllegalArgumentException("Invalid maximum number of uses: " + maximumUses);
+        }
+        this.poolSize = poolSize;
+        this.ttlMillis = ttlMillis;
+        this.maximumUses = maximumUses;
+        this.executor = executor;
+    }
+
+    @Nonnull
+    @Override
+    public String getVisitorData(@Nonnull final String clientName,
+                                 @Nonnull final Localization localization,
+                                 @Nonnull final ContentCountry contentCountry,
+                                 @Nonnull final ExtractionSupplier<String> fetcher)
+            throws IOException, ExtractionException {
+        final Pool pool = getPool(clientName, localization, contentCountry);
+        final String visitorData = pool.take(fetcher);
+        if (visitorData != null) {
+            replenish(pool);
+            return visitorData;
+        }
+
+        // The visitorData fetched for this request is one of the visitorDatas of the pool, so
+        // that a pool is filled with poolSize requests, including this one
+        pool.reserveFetch();
+        try {
+            final String fetchedVisitorData = fetch(fetcher);
+            // It has just been used, so it is added after the ones fetched in the background
+            replenish(pool);
+            pool.add(fetchedVisitorData, maximumUses - 1);
+            return fetchedVisitorData;
+        } finally {
+            pool.onFetchFinished();
+        }
+    }
+
+    @Override
+    public void warmUp(@Nonnull final String clientName,
+                       @Nonnull final Localization localization,
+                       @Nonnull final ContentCountry contentCountry,
+                       @Nonnull final ExtractionSupplier<String> fetcher) {
+        final Pool pool = getPool(clientName, localization, contentCountry);
+        pool.setFetcher(fetcher);
+        replenish(pool);
+    }
+
+    /**
+     * Discard all the {@code visitorData}s of all pools.
+     */
+    public void clear() {
+        pools.values().forEach(Pool::clear);
+    }
+
+    /**
+     * @return the number of {@code visitorData}s fetched by this provider, in the background or
+     * not, including failed fetches
+     */
+    public long getFetchCount() {
+        return fetchCount.get();
+    }
+
+    @Nonnull
+    private Pool getPool(@Nonnull final String clientName,
+                         @Nonnull final Localization localization,
+                         @Nonnull final ContentCountry contentCountry) {
+        return pools.computeIfAbsent(clientName + '\n' + localization.getLocalizationCode()
+                + '\n' + contentCountry.getCountryCode(), key -> new Pool());
+    }
+
+    @Nonnull
+    private String fetch(@Nonnull final ExtractionSupplier<String> fetcher)
+            throws IOException, ExtractionException {
+        fetchCount.incrementAndGet();
+        return fetcher.get();
+    }
+
+    private void replenish(@Nonnull final Pool pool) {
+        final ExtractionSupplier<String> fetcher = pool.getFetcher();
+        if (fetcher == null) {
+            return;
+        }
+
+        final int fetchesToStart = pool.reserveFetches();
+        for (int i = 0; i < fetchesToStart; i++) {
+            // Failures are ignored, the next player request fetches a visitorData itself if the
+            // pool is empty
+            ConcurrencyUtils.supplyAsync(() -> {
+                try {
+                    pool.add(fetch(fetcher), maximumUses);
+                } finally {
+                    pool.onFetchFinished();
+                }
+                return null;
+            }, executor);
+        }
+    }
+
+    private static final class VisitorData {
+        @Nonnull
+        private final String value;
+        private final long expirationTime;
+        private int remainingUses;
+
+        VisitorData(@Nonnull final String value,
+                    final long expirationTime,
+                    final int remainingUses) {
+            this.value = value;
+            this.expirationTime = expirationTime;
+            this.remainingUses = remainingUses;
+        }
+    }
+
+    private final class Pool {
+        private final ArrayDeque<VisitorData> visitorDatas = new ArrayDeque<>();
+        private int pendingFetches;
+        @Nullable
+        private ExtractionSupplier<String> fetcher;
+
+        @Nullable
+        synchronized String take(@Nonnull final ExtractionSupplier<String> newFetcher) {
+            fetcher = newFetcher;
+            final long now = System.currentTimeMillis();
+            VisitorData visitorData;
+            while ((visitorData = visitorDatas.poll()) != null) {
+                if (visitorData.expirationTime <= now) {
+                    continue;
+                }
+
+                visitorData.remainingUses--;
+                if (visitorData.remainingUses > 0) {
+                    visitorDatas.addLast(visitorData);
+                }
+                return visitorData.value;
+            }
+            return null;
+        }
+
+        synchronized void add(@Nonnull final String value, final int remainingUses) {
+            if (remainingUses > 0 && visitorDatas.size() < poolSize) {
+                visitorDatas.addLast(new VisitorData(value,
+                        System.currentTimeMillis() + ttlMillis, remainingUses));
+            }
+        }
+
+        synchronized void setFetcher(@Nonnull final ExtractionSupplier<String> newFetcher) {
+            fetcher = newFetcher;
+        }
+
+        @Nullable
+        synchronized ExtractionSupplier<String> getFetcher() {
+            return fetcher;
+        }
+
+        /**
+         * @return the number of fetches to start to fill the pool, which are counted as pending
+         */
+        synchronized int reserveFetches() {
+            final long now = System.currentTimeMillis();
+            visitorDatas.removeIf(visitorData -> visitorData.expirationTime <= now);
+            final int missing = poolSize - visitorDatas.size() - pendingFetches;
+            if (missing <= 0) {
+                return 0;
+            }
+            pendingFetches += missing;
+            return missing;
+        }
+
+        /**
+         * Count a fetch which is not done in the background as pending.
+         */
+        synchronized void reserveFetch() {
+            pendingFetches++;
+        }
+
+        synchronized void onFetchFinished() {
+            pendingFetches--;
+        }
+
+        synchronized void clear() {
+            visitorDatas.clear();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ExtractionSupplier;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Interface to provide {@code visitorData}s to YouTube player requests.
+ *
+ * <p>
+ * Player requests of most InnerTube clients must contain a valid {@code visitorData}, which
+ * identifies a logged-out user. Without a provider, a new {@code visitorData} is fetched from
+ * InnerTube before each player request, which costs a request each time.
+ * </p>
+ *
+ * <p>
+ * Implementations can reuse {@code visitorData}s for multiple player requests of the same client,
+ * localization and content country, or fetch them in advance, such as
+ * {@link PooledVisitorDataProvider}.
+ * </p>
+ *
+ * <p>
+ * <b>Implementations of this interface are expected to be thread-safe, as they may be accessed by
+ * multiple threads.</b>
+ * </p>
+ */
+public interface VisitorDataProvider {
+
+    /**
+     * Get a {@code visitorData} for a player request.
+     *
+     * @param clientName     the name of the InnerTube client of the player request, such as
+     *                       {@code ANDROID} or {@code IOS}
+     * @param localization   the {@link Localization} of the player request
+     * @param contentCountry the {@link ContentCountry} of the player request
+     * @param fetcher        a supplier fetching a new {@code visitorData} from InnerTube for this
+     *                       client, localization and content country, which can be called at any
+     *                       time and from any thread
+     * @return a {@code visitorData} valid for the client, localization and content country given
+     * @throws IOException         if a {@code visitorData} had to be fetched and the request failed
+     * @throws ExtractionException if a {@code visitorData} had to be fetched and could not be
+     *                             extracted from the response
+     */
+    @Nonnull
+    String getVisitorData(@Nonnull String clientName,
+                          @Nonnull Localization localization,
+                          @Nonnull ContentCountry contentCountry,
+                          @Nonnull ExtractionSupplier<String> fetcher)
+            throws IOException, ExtractionException;
+
+    /**
+     * Prepare {@code visitorData}s for future player requests of a client, localization and
+     * content country, without waiting for them to be fetched.
+     *
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     *
+     * @param clientName     the name of the InnerTube client of future player requests
+     * @param localization   the {@link Localization} of future player requests
+     * @param contentCountry the {@link ContentCountry} of future player requests
+     * @param fetcher        a supplier fetching a new {@code visitorData} from InnerTube for this
+     *                       client, localization and content country
+     */
+    default void warmUp(@Nonnull final String clientName,
+                        @Nonnull final Localization localization,
+                        @Nonnull final ContentCountry contentCountry,
+                        @Nonnull final ExtractionSupplier<String> fetcher) {
+    }
+}
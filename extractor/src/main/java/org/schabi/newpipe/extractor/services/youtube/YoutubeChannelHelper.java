@@ -15,11 +15,25 @@ import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+import org.schabi.newpipe.extractor.utils.SingleFlight;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -41,12 +55,27 @@ public final class YoutubeChannelHelper {
     private static final String TITLE = "title";
     private static final String TOPIC_CHANNEL_DETAILS_RENDERER = "topicChannelDetailsRenderer";
 
+    /**
+     * The maximum number of channel URLs resolved concurrently by
+     * {@link #resolveChannelIds(Collection, Executor)}.
+     */
+    public static final int MAXIMUM_CONCURRENT_RESOLUTIONS = 8;
+
+    @Nullable
+    private static volatile YoutubeChannelIdCache channelIdCache;
+    private static final SingleFlight<String, String> RESOLUTIONS = new SingleFlight<>();
+
     private YoutubeChannelHelper() {
     }
 
     /**
      * Take a YouTube channel ID or URL path, resolve it if necessary and return a channel ID.
      *
+     * <p>
+     * Resolutions are cached in the {@link #setChannelIdCache(YoutubeChannelIdCache) channel ID
+     * cache}, if any.
+     * </p>
+     *
      * @param idOrPath a YouTube channel ID or URL path
      * @return a YouTube channel ID
      * @throws IOException if a channel resolve request failed
@@ -56,6 +85,131 @@ public final class YoutubeChannelHelper {
     @Nonnull
     public static String resolveChannelId(@Nonnull final String idOrPath)
             throws ExtractionException, IOException {
+        return Objects.requireNonNull(resolveChannelId(idOrPath, false));
+    }
+
+    /**
+     * Resolve YouTube channel IDs or URL paths to channel IDs, on the
+     * {@link ConcurrencyUtils#getDefaultExecutor() default executor}.
+     *
+     * @param idOrPaths YouTube channel IDs or URL paths
+     * @return the channel IDs of the channel IDs or URL paths which could be resolved
+     * @see #resolveChannelIds(Collection, Executor)
+     */
+    @Nonnull
+    public static Map<String, String> resolveChannelIds(
+            @Nonnull final Collection<String> idOrPaths) {
+        return resolveChannelIds(idOrPaths, ConcurrencyUtils.getDefaultExecutor());
+    }
+
+    /**
+     * Resolve YouTube channel IDs or URL paths to channel IDs.
+     *
+     * <p>
+     * Channel IDs or URL paths which can be resolved from the
+     * {@link #setChannelIdCache(YoutubeChannelIdCache) channel ID cache} are resolved first.
+     * The other ones are then resolved concurrently on the given {@link Executor}, by up to
+     * {@link #MAXIMUM_CONCURRENT_RESOLUTIONS} tasks.
+     * </p>
+     *
+     * <p>
+     * The {@link org.schabi.newpipe.extractor.downloader.Downloader Downloader} used must be
+     * thread-safe.
+     * </p>
+     *
+     * @param idOrPaths YouTube channel IDs or URL paths
+     * @param executor  the {@link Executor} on which channel URLs are resolved
+     * @return the channel IDs of the channel IDs or URL paths which could be resolved, by
+     * channel ID or URL path, in the order of {@code idOrPaths}; channel IDs or URL paths which
+     * could not be resolved, because they don't lead to a channel or because of a network error,
+     * are not in this map
+     */
+    @Nonnull
+    public static Map<String, String> resolveChannelIds(
+            @Nonnull final Collection<String> idOrPaths,
+            @Nonnull final Executor executor) {
+        final Map<String, String> channelIds = new ConcurrentHashMap<>();
+        final Queue<String> misses = new ConcurrentLinkedQueue<>();
+        for (final String idOrPath : new LinkedHashSet<>(idOrPaths)) {
+            try {
+                final String channelId = resolveChannelId(idOrPath, true);
+                if (channelId == null) {
+                    misses.add(idOrPath);
+                } else {
+                    channelIds.put(idOrPath, channelId);
+                }
+            } catch (final ExtractionException | IOException ignored) {
+                // The failure is cached
+            }
+        }
+
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        final int taskCount = Math.min(misses.size(), MAXIMUM_CONCURRENT_RESOLUTIONS);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(ConcurrencyUtils.supplyAsync(() -> {
+                String idOrPath;
+                while ((idOrPath = misses.poll()) != null) {
+                    try {
+                        channelIds.put(idOrPath, resolveChannelId(idOrPath));
+                    } catch (final ExtractionException | IOException ignored) {
+                        // This channel ID or URL path could not be resolved
+                    }
+                }
+                return null;
+            }, executor));
+        }
+        for (final CompletableFuture<Void> task : tasks) {
+            ConcurrencyUtils.awaitOrNull(task);
+        }
+
+        final Map<String, String> orderedChannelIds = new LinkedHashMap<>();
+        for (final String idOrPath : idOrPaths) {
+            final String channelId = channelIds.get(idOrPath);
+            if (channelId != null) {
+                orderedChannelIds.put(idOrPath, channelId);
+            }
+        }
+        return orderedChannelIds;
+    }
+
+    /**
+     * Set the cache in which channel URL resolutions are kept.
+     *
+     * <p>
+     * By default, resolutions are not cached: the cache is shared by all the channel URLs
+     * resolved, so it has to be set explicitly, such as to a {@link YoutubeChannelIdCache} with
+     * default parameters, which keeps resolutions in memory only.
+     * </p>
+     *
+     * @param channelIdCache the {@link YoutubeChannelIdCache} to use, or {@code null} to not
+     *                       cache resolutions
+     */
+    public static void setChannelIdCache(@Nullable final YoutubeChannelIdCache channelIdCache) {
+        YoutubeChannelHelper.channelIdCache = channelIdCache;
+    }
+
+    /**
+     * @return the cache in which channel URL resolutions are kept, or {@code null} if they are
+     * not cached
+     */
+    @Nullable
+    public static YoutubeChannelIdCache getChannelIdCache() {
+        return channelIdCache;
+    }
+
+    /**
+     * Resolve a YouTube channel ID or URL path.
+     *
+     * @param idOrPath  a YouTube channel ID or URL path
+     * @param cacheOnly whether to return {@code null} instead of sending requests when the
+     *                  resolution is not cached
+     * @return a YouTube channel ID, or {@code null} if {@code cacheOnly} is true and a request is
+     * needed
+     */
+    @Nullable
+    private static String resolveChannelId(@Nonnull final String idOrPath,
+                                           final boolean cacheOnly)
+            throws ExtractionException, IOException {
         final String[] channelId = idOrPath.split("/");
 
         if (channelId[0].startsWith("UC")) {
@@ -67,63 +221,137 @@ public final class YoutubeChannelHelper {
         // URL, then no information about the channel associated with this URL was found,
         // so the unresolved url will be returned.
         if (!channelId[0].equals("channel")) {
-            String urlToResolve = "https://www.youtube.com/" + idOrPath;
-
-            JsonObject endpoint = new JsonObject();
-            String webPageType = "";
-            // Try to resolve YT channel redirects
-            // It works like that:
-            // @TheDailyShow
-            // -> resolves to thedailyshow
-            // -> resolves to the id: UCwWhs_6x42TyRM4Wstoq8HA
-            // Please note that this is not always the case, some handles
-            // e.g. @google or @Gronkh directly resolve the id
-            for (int tries = 0;
-                 urlToResolve != null && tries < 3;
-                 tries++) {
-                final byte[] body = JsonWriter.string(
-                        prepareDesktopJsonBuilder(Localization.DEFAULT, ContentCountry.DEFAULT)
-                            .value("url", urlToResolve)
-                            .done())
-                    .getBytes(StandardCharsets.UTF_8);
+            final String urlToResolve = "https://www.youtube.com/" + idOrPath;
+            final YoutubeChannelIdCache cache = channelIdCache;
 
-                final JsonObject jsonResponse = getJsonPostResponse(
-                    "navigation/resolve_url", body, Localization.DEFAULT);
+            String resolution = cache == null ? null : cache.get(urlToResolve);
+            if (resolution == null) {
+                if (cacheOnly) {
+                    return null;
+                }
+                resolution = cache == null
+                        ? resolveChannelUrl(urlToResolve, null)
+                        : RESOLUTIONS.execute(urlToResolve,
+                                () -> resolveChannelUrl(urlToResolve, cache));
+            }
 
-                checkIfChannelResponseIsValid(jsonResponse);
+            if (resolution.equals(YoutubeChannelIdCache.NOT_A_CHANNEL)) {
+                throw new ExtractionException("Redirected id is not pointing to a channel");
+            } else if (!resolution.equals(YoutubeChannelIdCache.UNRESOLVED)) {
+                return resolution;
+            }
+
+            // Otherwise, the code after that will run into an IndexOutOfBoundsException
+            if (channelId.length < 2) {
+                throw new ExtractionException("Failed to resolve channelId for " + idOrPath);
+            }
+        }
 
-                endpoint = jsonResponse.getObject("endpoint");
+        // return the unresolved URL
+        return channelId[1];
+    }
 
-                webPageType = endpoint.getObject("commandMetadata")
-                    .getObject("webCommandMetadata")
-                    .getString("webPageType");
+    /**
+     * Resolve a YouTube channel URL with the {@code navigation/resolve_url} endpoint of the
+     * InnerTube API, caching the resolution of the URL and of the URLs to which it redirects.
+     *
+     * @param url   the URL to resolve
+     * @param cache the cache in which resolutions are kept, or {@code null}
+     * @return the channel ID to which the URL is resolved, {@link
+     * YoutubeChannelIdCache#UNRESOLVED} or {@link YoutubeChannelIdCache#NOT_A_CHANNEL}
+     */
+    @Nonnull
+    private static String resolveChannelUrl(@Nonnull final String url,
+                                            @Nullable final YoutubeChannelIdCache cache)
+            throws ExtractionException, IOException {
+        final List<String> resolvedUrls = new ArrayList<>();
+        String urlToResolve = url;
+        String resolution = null;
+
+        JsonObject endpoint = new JsonObject();
+        String webPageType = "";
+        // Try to resolve YT channel redirects
+        // It works like that:
+        // @TheDailyShow
+        // -> resolves to thedailyshow
+        // -> resolves to the id: UCwWhs_6x42TyRM4Wstoq8HA
+        // Please note that this is not always the case, some handles
+        // e.g. @google or @Gronkh directly resolve the id
+        for (int tries = 0;
+             urlToResolve != null && tries < 3;
+             tries++) {
+            if (cache != null && tries > 0) {
+                // The URL to which the previous one redirects may have been resolved before
+                try {
+                    resolution = cache.get(urlToResolve);
+                } catch (final ContentNotAvailableException e) {
+                    cacheUnavailable(cache, resolvedUrls, e);
+                    throw e;
+                }
+                if (resolution != null) {
+                    break;
+                }
+            }
+            resolvedUrls.add(urlToResolve);
+
+            final byte[] body = JsonWriter.string(
+                    prepareDesktopJsonBuilder(Localization.DEFAULT, ContentCountry.DEFAULT)
+                        .value("url", urlToResolve)
+                        .done())
+                .getBytes(StandardCharsets.UTF_8);
+
+            final JsonObject jsonResponse = getJsonPostResponse(
+                "navigation/resolve_url", body, Localization.DEFAULT);
 
-                urlToResolve = "WEB_PAGE_TYPE_UNKNOWN".equals(webPageType)
-                    ? endpoint.getObject("urlEndpoint").getString("url")
-                    : null;
+            try {
+                checkIfChannelResponseIsValid(jsonResponse);
+            } catch (final ContentNotAvailableException e) {
+                cacheUnavailable(cache, resolvedUrls, e);
+                throw e;
             }
 
+            endpoint = jsonResponse.getObject("endpoint");
+
+            webPageType = endpoint.getObject("commandMetadata")
+                .getObject("webCommandMetadata")
+                .getString("webPageType");
+
+            urlToResolve = "WEB_PAGE_TYPE_UNKNOWN".equals(webPageType)
+                ? endpoint.getObject("urlEndpoint").getString("url")
+                : null;
+        }
+
+        if (resolution == null) {
             final String browseId = endpoint.getObject(BROWSE_ENDPOINT)
                 .getString(BROWSE_ID, "");
 
             if (("WEB_PAGE_TYPE_BROWSE".equalsIgnoreCase(webPageType)
                     || "WEB_PAGE_TYPE_CHANNEL".equalsIgnoreCase(webPageType))
                     && !browseId.isEmpty()) {
-                if (!browseId.startsWith("UC")) {
-                    throw new ExtractionException("Redirected id is not pointing to a channel");
-                }
-
-                return browseId;
+                resolution = browseId.startsWith("UC")
+                        ? browseId
+                        : YoutubeChannelIdCache.NOT_A_CHANNEL;
+            } else {
+                resolution = YoutubeChannelIdCache.UNRESOLVED;
             }
+        }
 
-            // Otherwise, the code after that will run into an IndexOutOfBoundsException
-            if (channelId.length < 2) {
-                throw new ExtractionException("Failed to resolve channelId for " + idOrPath);
+        if (cache != null) {
+            for (final String resolvedUrl : resolvedUrls) {
+                cache.put(resolvedUrl, resolution);
             }
         }
+        return resolution;
+    }
 
-        // return the unresolved URL
-        return channelId[1];
+    private static void cacheUnavailable(@Nullable final YoutubeChannelIdCache cache,
+                                         @Nonnull final List<String> resolvedUrls,
+                                         @Nonnull final ContentNotAvailableException exception) {
+        if (cache != null) {
+            for (final String resolvedUrl : resolvedUrls) {
+                cache.putUnavailable(resolvedUrl, exception);
+            }
+        }
     }
 
     /**
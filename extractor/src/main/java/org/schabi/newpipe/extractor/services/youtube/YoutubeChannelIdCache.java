@@ -0,0 +1,412 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.schabi.newpipe.extractor.exceptions.ContentNotAvailableException;
+import org.schabi.newpipe.extractor.utils.LruCache;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Cache of the channel IDs to which YouTube channel URLs ({@code @handle}, {@code /c/} and
+ * {@code /user/} URLs) are resolved by {@link YoutubeChannelHelper#resolveChannelId(String)}.
+ *
+ * <p>
+ * Resolutions are cached in two tiers:
+ * </p>
+ *
+ * <ul>
+ *     <li>a bounded in-memory tier, from which the least recently used resolutions are evicted
+ *     when it is full;</li>
+ *     <li>an optional {@link Store}, such as a {@link FileStore}, which is used when a resolution
+ *     is not in memory and in which all resolutions are saved.</li>
+ * </ul>
+ *
+ * <p>
+ * Each URL followed when resolving a channel URL is cached, so that other URLs redirecting to
+ * one of them are resolved without following the rest of the redirections again. Resolutions
+ * which didn't lead to a channel, including the ones of channels which don't exist, are cached
+ * too, for a shorter time.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe if its {@link Store} is.
+ * </p>
+ */
+public final class YoutubeChannelIdCache {
+
+    /**
+     * The default maximum number of resolutions kept in memory.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    /**
+     * The default time during which a resolution to a channel ID is cached.
+     */
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    /**
+     * The default time during which a resolution which didn't lead to a channel ID is cached.
+     */
+    public static final long DEFAULT_NEGATIVE_TTL_MILLIS = TimeUnit.HOURS.toMillis(6);
+
+    /**
+     * Resolution of a URL which is not redirected to a channel.
+     */
+    static final String UNRESOLVED = "!unresolved";
+
+    /**
+     * Resolution of a URL which is redirected to a browse ID which is not a channel ID.
+     */
+    static final String NOT_A_CHANNEL = "!not-a-channel";
+
+    private static final String UNAVAILABLE_PREFIX = "!unavailable:";
+
+    /**
+     * A persistent tier of {@link YoutubeChannelIdCache}.
+     *
+     * <p>
+     * Values are opaque strings which must be stored as they are. Stores don't need to remove
+     * expired entries themselves: entries loaded are ignored if they are expired.
+     * </p>
+     */
+    public interface Store {
+
+        /**
+         * Load the entry saved for a URL.
+         *
+         * @param url the URL resolved
+         * @return the entry saved for this URL, or {@code null} if there is none
+         * @throws IOException if the entry could not be loaded
+         */
+        @Nullable
+        Entry load(@Nonnull String url) throws IOException;
+
+        /**
+         * Save the entry of a URL, replacing the previous one if any.
+         *
+         * @param url   the URL resolved
+         * @param entry the entry to save
+         * @throws IOException if the entry could not be saved
+         */
+        void save(@Nonnull String url, @Nonnull Entry entry) throws IOException;
+    }
+
+    /**
+     * An entry of a {@link Store}.
+     */
+    public static final class Entry {
+        @Nonnull
+        private final String value;
+        private final long expirationTime;
+
+        public Entry(@Nonnull final String value, final long expirationTime) {
+            this.value = value;
+            this.expirationTime = expirationTime;
+        }
+
+        /**
+         * @return the value of the entry
+         */
+        @Nonnull
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return the time at which the entry expires, in milliseconds since the epoch
+         */
+        public long getExpirationTime() {
+            return expirationTime;
+        }
+    }
+
+    @Nonnull
+    private final LruCache<String, String> memoryCache = new LruCache<>();
+    @Nullable
+    private final Store store;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    /**
+     * Create a cache keeping {@link #DEFAULT_MAXIMUM_SIZE} resolutions in memory, with the
+     * default TTLs and without {@link Store}.
+     */
+    public YoutubeChannelIdCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS, null);
+    }
+
+    /**
+     * Create a cache.
+     *
+     * @param maximumSize       the maximum number of resolutions kept in memory
+     * @param ttlMillis         the time during which a resolution to a channel ID is cached, in
+     *                          milliseconds
+     * @param negativeTtlMillis the time during which a resolution which didn't lead to a channel
+     *                          ID is cached, in milliseconds
+     * @param store             the {@link Store} used when a resolution is not in memory, or
+     *                          {@code null}
+     */
+    public YoutubeChannelIdCache(final int maximumSize,
+                                 final long ttlMillis,
+                                 final long negativeTtlMillis,
+                                 @Nullable final Store store) {
+        if (ttlMillis < 0 || negativeTtlMillis < 0) {
+            throw new IllegalArgumentException("TTLs must not be negative");
+        }
+        memoryCache.setMaximumSize(maximumSize);
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.store = store;
+    }
+
+    /**
+     * Get the cached resolution of a URL.
+     *
+     * @param url the URL to resolve
+     * @return a channel ID, {@link #UNRESOLVED}, {@link #NOT_A_CHANNEL}, or {@code null} if the
+     * URL has not been resolved yet
+     * @throws ContentNotAvailableException if YouTube answered that the channel doesn't exist
+     */
+    @Nullable
+    String get(@Nonnull final String url) throws ContentNotAvailableException {
+        String value = memoryCache.get(url);
+        if (value == null && store != null) {
+            final Entry entry = loadFromStore(store, url);
+            if (entry != null && entry.getExpirationTime() > System.currentTimeMillis()) {
+                value = entry.getValue();
+                memoryCache.put(url, value, entry.getExpirationTime());
+            }
+        }
+
+        if (value != null && value.startsWith(UNAVAILABLE_PREFIX)) {
+            throw new ContentNotAvailableException(
+                    value.substring(UNAVAILABLE_PREFIX.length()));
+        }
+        return value;
+    }
+
+    /**
+     * Cache the resolution of a URL.
+     *
+     * @param url        the URL resolved
+     * @param resolution a channel ID, {@link #UNRESOLVED} or {@link #NOT_A_CHANNEL}
+     */
+    void put(@Nonnull final String url, @Nonnull final String resolution) {
+        putValue(url, resolution, resolution.startsWith("UC") ? ttlMillis : negativeTtlMillis);
+    }
+
+    /**
+     * Cache the fact that YouTube answered that the channel of a URL doesn't exist.
+     *
+     * @param url       the URL resolved
+     * @param exception the exception thrown when the URL was resolved
+     */
+    void putUnavailable(@Nonnull final String url,
+                        @Nonnull final ContentNotAvailableException exception) {
+        final String message = exception.getMessage() == null ? "" : exception.getMessage();
+        // Line breaks and tabs would break the format of FileStore
+        putValue(url, UNAVAILABLE_PREFIX + message.replaceAll("[\t\r\n]", " "),
+                negativeTtlMillis);
+    }
+
+    private void putValue(@Nonnull final String url,
+                          @Nonnull final String value,
+                          final long ttl) {
+        final long now = System.currentTimeMillis();
+        final long expirationTime = ttl > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttl;
+        memoryCache.put(url, value, expirationTime);
+        if (store != null) {
+            try {
+                store.save(url, new Entry(value, expirationTime));
+            } catch (final IOException ignored) {
+                // The resolution stays in memory
+            }
+        }
+    }
+
+    @Nullable
+    private static Entry loadFromStore(@Nonnull final Store store, @Nonnull final String url) {
+        try {
+            return store.load(url);
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Clear the resolutions kept in memory. Resolutions saved in the {@link Store} are kept.
+     */
+    public void clear() {
+        memoryCache.clear();
+    }
+
+    /**
+     * @return the number of resolutions kept in memory
+     */
+    public int size() {
+        return memoryCache.size();
+    }
+
+    /**
+     * @return the statistics of the in-memory tier
+     */
+    @Nonnull
+    public LruCache.Stats getStats() {
+        return memoryCache.getStats();
+    }
+
+    /**
+     * A {@link Store} saving entries in a text file, one entry per line.
+     *
+     * <p>
+     * Entries are loaded in memory when the store is created, entries saved are appended to the
+     * file. The store keeps at most a {@link #DEFAULT_MAXIMUM_SIZE maximum number of entries},
+     * the ones saved first being removed first. The file is rewritten without expired entries,
+     * removed entries and entries which have been replaced when a store is created on it and
+     * when it has twice as many lines as the maximum number of entries.
+     * </p>
+     */
+    public static final class FileStore implements Store {
+
+        /**
+         * The default maximum number of entries kept by a store.
+         */
+        public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+        @Nonnull
+        private final File file;
+        private final int maximumSize;
+        // Ordered from the entry saved first to the one saved last
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+        private int lineCount;
+
+        /**
+         * Create a store keeping at most {@link #DEFAULT_MAXIMUM_SIZE} entries.
+         *
+         * @param file the file in which entries are saved, which is created if it doesn't exist
+         * @throws IOException if the existing entries could not be loaded
+         * @see #FileStore(File, int)
+         */
+        public FileStore(@Nonnull final File file) throws IOException {
+            this(file, DEFAULT_MAXIMUM_SIZE);
+        }
+
+        /**
+         * Create a store saving entries in the given file, loading the entries it already
+         * contains.
+         *
+         * @param file        the file in which entries are saved, which is created if it doesn't
+         *                    exist
+         * @param maximumSize the maximum number of entries kept
+         * @throws IOException if the existing entries could not be loaded
+         */
+        public FileStore(@Nonnull final File file, final int maximumSize) throws IOException {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Invalid maximum size");
+            }
+            this.file = file;
+            this.maximumSize = maximumSize;
+            if (!file.exists()) {
+                return;
+            }
+
+            final long now = System.currentTimeMillis();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineCount++;
+                    final String[] fields = line.split("\t", 3);
+                    if (fields.length != 3) {
+                        continue;
+                    }
+                    try {
+                        final long expirationTime = Long.parseLong(fields[1]);
+                        entries.remove(fields[0]);
+                        if (expirationTime > now) {
+                            putEntry(fields[0], new Entry(fields[2], expirationTime));
+                        }
+                    } catch (final NumberFormatException ignored) {
+                        // Corrupted line
+                    }
+                }
+            }
+
+            if (lineCount > entries.size()) {
+                compact();
+            }
+        }
+
+        @Nullable
+        @Override
+        public synchronized Entry load(@Nonnull final String url) {
+            return entries.get(url);
+        }
+
+        @Override
+        public synchronized void save(@Nonnull final String url, @Nonnull final Entry entry)
+                throws IOException {
+            // Move the entry to the end of the removal order
+            entries.remove(url);
+            putEntry(url, entry);
+            if (lineCount >= 2L * maximumSize) {
+                compact();
+                return;
+            }
+
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(file, true),
+                    StandardCharsets.UTF_8)) {
+                writeEntry(writer, url, entry);
+            }
+            lineCount++;
+        }
+
+        /**
+         * @return the number of entries kept
+         */
+        public synchronized int size() {
+            return entries.size();
+        }
+
+        private void putEntry(@Nonnull final String url, @Nonnull final Entry entry) {
+            entries.put(url, entry);
+            final Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > maximumSize) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+
+        private void compact() throws IOException {
+            final long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.getExpirationTime() <= now);
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(file, false),
+                    StandardCharsets.UTF_8)) {
+                for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    writeEntry(writer, entry.getKey(), entry.getValue());
+                }
+            }
+            lineCount = entries.size();
+        }
+
+        private static void writeEntry(@Nonnull final Writer writer,
+                                       @Nonnull final String url,
+                                       @Nonnull final Entry entry) throws IOException {
+            writer.write(url + '\t' + entry.getExpirationTime() + '\t' + entry.getValue() + '\n');
+        }
+    }
+}
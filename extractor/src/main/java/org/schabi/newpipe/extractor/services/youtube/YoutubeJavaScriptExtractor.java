@@ -34,6 +34,8 @@ final class YoutubeJavaScriptExtractor {
             "https://www.youtube.com/s/player/%s/player_ias.vflset/en_GB/base.js";
     private static final Pattern IFRAME_RES_JS_BASE_PLAYER_HASH_PATTERN = Pattern.compile(
             "player\\\\/([a-z0-9]{8})\\\\/");
+    private static final Pattern JS_BASE_PLAYER_HASH_PATTERN = Pattern.compile(
+            "/s/player/([A-Za-z0-9_-]+)/");
     private static final Pattern EMBEDDED_WATCH_PAGE_JS_BASE_PLAYER_URL_PATTERN = Pattern.compile(
             "\"jsUrl\":\"(/s/player/[A-Za-z0-9]+/player_ias\\.vflset/[A-Za-z_-]+/base\\.js)\"");
 
@@ -52,28 +54,27 @@ final class YoutubeJavaScriptExtractor {
     @Nonnull
     static String extractJavaScriptPlayerCode(@Nonnull final String videoId)
             throws ParsingException {
-        String url;
         try {
-            url = YoutubeJavaScriptExtractor.extractJavaScriptUrlWithIframeResource();
-            final String playerJsUrl = YoutubeJavaScriptExtractor.cleanJavaScriptUrl(url);
-
-            // Assert that the URL we extracted and built is valid
-            new URL(playerJsUrl);
-
-            return YoutubeJavaScriptExtractor.downloadJavaScriptCode(playerJsUrl);
+            return downloadJavaScriptCode(cleanJavaScriptUrl(
+                    extractJavaScriptUrlWithIframeResource()));
         } catch (final Exception e) {
-            url = YoutubeJavaScriptExtractor.extractJavaScriptUrlWithEmbedWatchPage(videoId);
-            final String playerJsUrl = YoutubeJavaScriptExtractor.cleanJavaScriptUrl(url);
-
-            try {
-                // Assert that the URL we extracted and built is valid
-                new URL(playerJsUrl);
-            } catch (final MalformedURLException exception) {
-                throw new ParsingException(
-                        "The extracted and built JavaScript URL is invalid", exception);
-            }
+            return downloadJavaScriptCode(cleanJavaScriptUrl(
+                    extractJavaScriptUrlWithEmbedWatchPage(videoId)));
+        }
+    }
 
-            return YoutubeJavaScriptExtractor.downloadJavaScriptCode(playerJsUrl);
+    /**
+     * Get the version of the JavaScript base player file from its URL.
+     *
+     * @param javaScriptPlayerUrl the URL of the JavaScript base player file
+     * @return the hash of the player in the URL, or the URL itself if it has no hash
+     */
+    @Nonnull
+    static String getJavaScriptPlayerVersion(@Nonnull final String javaScriptPlayerUrl) {
+        try {
+            return Parser.matchGroup1(JS_BASE_PLAYER_HASH_PATTERN, javaScriptPlayerUrl);
+        } catch (final Parser.RegexException e) {
+            return javaScriptPlayerUrl;
         }
     }
 
@@ -137,21 +138,31 @@ final class YoutubeJavaScriptExtractor {
     }
 
     @Nonnull
-    private static String cleanJavaScriptUrl(@Nonnull final String javaScriptPlayerUrl) {
+    static String cleanJavaScriptUrl(@Nonnull final String javaScriptPlayerUrl)
+            throws ParsingException {
+        final String playerJsUrl;
         if (javaScriptPlayerUrl.startsWith("//")) {
             // https part has to be added manually if the URL is protocol-relative
-            return HTTPS + javaScriptPlayerUrl;
+            playerJsUrl = HTTPS + javaScriptPlayerUrl;
         } else if (javaScriptPlayerUrl.startsWith("/")) {
             // https://www.youtube.com part has to be added manually if the URL is relative to
             // YouTube's domain
-            return HTTPS + "//www.youtube.com" + javaScriptPlayerUrl;
+            playerJsUrl = HTTPS + "//www.youtube.com" + javaScriptPlayerUrl;
         } else {
-            return javaScriptPlayerUrl;
+            playerJsUrl = javaScriptPlayerUrl;
+        }
+
+        try {
+            // Assert that the URL we extracted and built is valid
+            new URL(playerJsUrl);
+        } catch (final MalformedURLException e) {
+            throw new ParsingException("The extracted and built JavaScript URL is invalid", e);
         }
+        return playerJsUrl;
     }
 
     @Nonnull
-    private static String downloadJavaScriptCode(@Nonnull final String javaScriptPlayerUrl)
+    static String downloadJavaScriptCode(@Nonnull final String javaScriptPlayerUrl)
             throws ParsingException {
         try {
             return NewPipe.getDownloader()
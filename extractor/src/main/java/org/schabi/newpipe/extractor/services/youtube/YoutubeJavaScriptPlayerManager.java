@@ -7,9 +7,14 @@ import org.schabi.newpipe.extractor.utils.JavaScript;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manage the extraction and the usage of YouTube's player JavaScript needed data in the YouTube
@@ -26,29 +31,42 @@ import java.util.Objects;
  * timestamp and to deobfuscate streaming URLs' signature and/or throttling parameter of HTML5
  * clients.
  * </p>
+ *
+ * <p>
+ * The data of base JavaScript players is cached per player version (the hash in the player URL)
+ * for the last used versions, the least recently used ones being evicted first. The methods of
+ * this class are thread-safe: the code of a player version is fetched and each of its functions
+ * is extracted only once, even if multiple threads need them at the same time.
+ * </p>
  */
 public final class YoutubeJavaScriptPlayerManager {
 
-    @Nonnull
-    private static final Map<String, String> CACHED_THROTTLING_PARAMETERS = new HashMap<>();
+    private static final int MAX_CACHED_PLAYER_VERSIONS = 4;
 
-    private static String cachedJavaScriptPlayerCode;
+    private static final AtomicLong EVICTED_PLAYER_COUNT = new AtomicLong();
+    private static final AtomicLong PLAYER_CODE_FETCH_COUNT = new AtomicLong();
+    private static final AtomicLong PLAYER_CODE_FETCH_NANOS = new AtomicLong();
+    private static final AtomicLong FUNCTION_EXTRACTION_COUNT = new AtomicLong();
+    private static final AtomicLong FUNCTION_EXTRACTION_NANOS = new AtomicLong();
 
-    @Nullable
-    private static Integer cachedSignatureTimestamp;
-    @Nullable
-    private static String cachedSignatureDeobfuscationFunction;
-    @Nullable
-    private static String cachedThrottlingDeobfuscationFunctionName;
-    @Nullable
-    private static String cachedThrottlingDeobfuscationFunction;
+    // Access-ordered, guarded by itself
+    @Nonnull
+    private static final Map<String, PlayerData> CACHED_PLAYERS =
+            new LinkedHashMap<>(MAX_CACHED_PLAYER_VERSIONS + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, PlayerData> eldest) {
+                    if (size() > MAX_CACHED_PLAYER_VERSIONS) {
+                        EVICTED_PLAYER_COUNT.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
 
+    @Nonnull
+    private static final Object CURRENT_PLAYER_LOCK = new Object();
     @Nullable
-    private static ParsingException throttlingDeobfFuncExtractionEx;
-    @Nullable
-    private static ParsingException sigDeobFuncExtractionEx;
-    @Nullable
-    private static ParsingException sigTimestampExtractionEx;
+    private static volatile PlayerData currentPlayer;
 
     private YoutubeJavaScriptPlayerManager() {
     }
@@ -80,36 +98,14 @@ public final class YoutubeJavaScriptPlayerManager {
     @Nonnull
     public static Integer getSignatureTimestamp(@Nonnull final String videoId)
             throws ParsingException {
-        // Return the cached result if it is present
-        if (cachedSignatureTimestamp != null) {
-            return cachedSignatureTimestamp;
-        }
-
-        // If the signature timestamp has been not extracted on a previous call, this mean that we
-        // will fail to extract it on next calls too if the player code has been not changed
-        // Throw again the corresponding stored exception in this case to improve performance
-        if (sigTimestampExtractionEx != null) {
-            throw sigTimestampExtractionEx;
-        }
-
-        extractJavaScriptCodeIfNeeded(videoId);
-
-        try {
-            cachedSignatureTimestamp = Integer.valueOf(
-                    YoutubeSignatureUtils.getSignatureTimestamp(cachedJavaScriptPlayerCode));
-        } catch (final ParsingException e) {
-            // Store the exception for future calls of this method, in order to improve performance
-            sigTimestampExtractionEx = e;
-            throw e;
-        } catch (final NumberFormatException e) {
-            sigTimestampExtractionEx =
-                    new ParsingException("Could not convert signature timestamp to a number", e);
-        } catch (final Exception e) {
-            sigTimestampExtractionEx = new ParsingException("Could not get signature timestamp", e);
-            throw e;
-        }
-
-        return cachedSignatureTimestamp;
+        final PlayerData player = getCurrentPlayer(videoId);
+        return player.signatureTimestamp.get(() -> {
+            try {
+                return Integer.valueOf(YoutubeSignatureUtils.getSignatureTimestamp(player.code));
+            } catch (final NumberFormatException e) {
+                throw new ParsingException("Could not convert signature timestamp to a number", e);
+            }
+        }, "Could not get signature timestamp");
     }
 
     /**
@@ -132,43 +128,50 @@ public final class YoutubeJavaScriptPlayerManager {
     public static String deobfuscateSignature(@Nonnull final String videoId,
                                               @Nonnull final String obfuscatedSignature)
             throws ParsingException {
-        // If the signature deobfuscation function has been not extracted on a previous call, this
-        // mean that we will fail to extract it on next calls too if the player code has been not
-        // changed
-        // Throw again the corresponding stored exception in this case to improve performance
-        if (sigDeobFuncExtractionEx != null) {
-            throw sigDeobFuncExtractionEx;
-        }
-
-        extractJavaScriptCodeIfNeeded(videoId);
-
-        if (cachedSignatureDeobfuscationFunction == null) {
-            try {
-                cachedSignatureDeobfuscationFunction = YoutubeSignatureUtils.getDeobfuscationCode(
-                        cachedJavaScriptPlayerCode);
-            } catch (final ParsingException e) {
-                // Store the exception for future calls of this method, in order to improve
-                // performance
-                sigDeobFuncExtractionEx = e;
-                throw e;
-            } catch (final Exception e) {
-                sigDeobFuncExtractionEx = new ParsingException(
-                        "Could not get signature parameter deobfuscation JavaScript function", e);
-                throw e;
-            }
-        }
+        return deobfuscateSignatures(videoId, List.of(obfuscatedSignature)).get(0);
+    }
 
+    /**
+     * Deobfuscate multiple signatures of streaming URLs using their corresponding JavaScript base
+     * player's function, with a single JavaScript context.
+     *
+     * <p>
+     * This method should be preferred to multiple calls of
+     * {@link #deobfuscateSignature(String, String)} when all the signatures of a stream are known
+     * at once.
+     * </p>
+     *
+     * @param videoId              the video ID used to get the JavaScript base player file (an
+     *                             empty one can be passed, even it is not recommend in order to
+     *                             spoof better official YouTube clients)
+     * @param obfuscatedSignatures the obfuscated signatures of streaming URLs
+     * @return the deobfuscated signatures, in the same order as the obfuscated ones
+     * @throws ParsingException if the extraction of the base JavaScript player file or the
+     * signature deobfuscation function failed
+     */
+    @Nonnull
+    public static List<String> deobfuscateSignatures(
+            @Nonnull final String videoId,
+            @Nonnull final List<String> obfuscatedSignatures) throws ParsingException {
+        final PlayerData player = getCurrentPlayer(videoId);
+        final JavaScript.CompiledFunction signatureDeobfuscationFunction =
+                player.signatureDeobfuscationFunction.get(() -> JavaScript.compile(
+                        YoutubeSignatureUtils.getDeobfuscationCode(player.code),
+                        YoutubeSignatureUtils.DEOBFUSCATION_FUNCTION_NAME),
+                        "Could not get signature parameter deobfuscation JavaScript function");
+
+        final List<String> signatures;
         try {
-            // Return an empty parameter in the case the function returns null
-            return Objects.requireNonNullElse(
-                    JavaScript.run(cachedSignatureDeobfuscationFunction,
-                            YoutubeSignatureUtils.DEOBFUSCATION_FUNCTION_NAME,
-                            obfuscatedSignature), "");
+            signatures = signatureDeobfuscationFunction.callForEach(obfuscatedSignatures);
         } catch (final Exception e) {
             // This shouldn't happen as the function validity is checked when it is extracted
             throw new ParsingException(
                     "Could not run signature parameter deobfuscation JavaScript function", e);
         }
+
+        // Return an empty parameter in the case the function returns null
+        signatures.replaceAll(signature -> Objects.requireNonNullElse(signature, ""));
+        return signatures;
     }
 
     /**
@@ -209,93 +212,96 @@ public final class YoutubeJavaScriptPlayerManager {
     public static String getUrlWithThrottlingParameterDeobfuscated(
             @Nonnull final String videoId,
             @Nonnull final String streamingUrl) throws ParsingException {
-        final String obfuscatedThrottlingParameter =
-                YoutubeThrottlingParameterUtils.getThrottlingParameterFromStreamingUrl(
-                        streamingUrl);
-        // If the throttling parameter is not present, return the original streaming URL
-        if (obfuscatedThrottlingParameter == null) {
-            return streamingUrl;
-        }
+        return getUrlsWithThrottlingParameterDeobfuscated(videoId, List.of(streamingUrl)).get(0);
+    }
 
-        // Do not use the containsKey method of the Map interface in order to avoid a double
-        // element search, and so to improve performance
-        final String cacheResult = CACHED_THROTTLING_PARAMETERS.get(
-                obfuscatedThrottlingParameter);
-        if (cacheResult != null) {
-            // If the throttling parameter function has been already ran on the throttling parameter
-            // of the current streaming URL, replace directly the obfuscated throttling parameter
-            // with the cached result in the streaming URL
-            return streamingUrl.replace(obfuscatedThrottlingParameter, cacheResult);
+    /**
+     * Return streaming URLs with their throttling parameter deobfuscated, if it is present, using
+     * their corresponding JavaScript base player's function, with a single JavaScript context.
+     *
+     * <p>
+     * This method should be preferred to multiple calls of
+     * {@link #getUrlWithThrottlingParameterDeobfuscated(String, String)} when all the streaming
+     * URLs of a stream are known at once. Deobfuscated parameters are cached in the same way.
+     * </p>
+     *
+     * @param videoId       the video ID used to get the JavaScript base player file (an empty
+     *                      one can be passed, even it is not recommend in order to spoof better
+     *                      official YouTube clients)
+     * @param streamingUrls streaming URLs
+     * @return the streaming URLs with their throttling parameter deobfuscated, in the same order
+     * as the given ones
+     * @throws ParsingException if the extraction of the base JavaScript player file or the
+     * throttling parameter deobfuscation function failed, or if a throttling parameter could not
+     * be deobfuscated
+     */
+    @Nonnull
+    public static List<String> getUrlsWithThrottlingParameterDeobfuscated(
+            @Nonnull final String videoId,
+            @Nonnull final List<String> streamingUrls) throws ParsingException {
+        final List<String> obfuscatedThrottlingParameters = new ArrayList<>(streamingUrls.size());
+        for (final String streamingUrl : streamingUrls) {
+            obfuscatedThrottlingParameters.add(
+                    YoutubeThrottlingParameterUtils.getThrottlingParameterFromStreamingUrl(
+                            streamingUrl));
         }
-
-        extractJavaScriptCodeIfNeeded(videoId);
-
-        // If the throttling parameter deobfuscation function has been not extracted on a previous
-        // call, this mean that we will fail to extract it on next calls too if the player code has
-        // been not changed
-        // Throw again the corresponding stored exception in this case to improve performance
-        if (throttlingDeobfFuncExtractionEx != null) {
-            throw throttlingDeobfFuncExtractionEx;
+        // If no throttling parameter is present, return the original streaming URLs
+        if (obfuscatedThrottlingParameters.stream().allMatch(Objects::isNull)) {
+            return new ArrayList<>(streamingUrls);
         }
 
-        if (cachedThrottlingDeobfuscationFunction == null) {
-            try {
-                cachedThrottlingDeobfuscationFunctionName =
-                        YoutubeThrottlingParameterUtils.getDeobfuscationFunctionName(
-                                cachedJavaScriptPlayerCode);
-
-                cachedThrottlingDeobfuscationFunction =
-                        YoutubeThrottlingParameterUtils.getDeobfuscationFunction(
-                                cachedJavaScriptPlayerCode,
-                                cachedThrottlingDeobfuscationFunctionName);
-            } catch (final ParsingException e) {
-                // Store the exception for future calls of this method, in order to improve
-                // performance
-                throttlingDeobfFuncExtractionEx = e;
-                throw e;
-            } catch (final Exception e) {
-                throttlingDeobfFuncExtractionEx = new ParsingException(
-                        "Could not get throttling parameter deobfuscation JavaScript function", e);
-                throw e;
+        final PlayerData player = getCurrentPlayer(videoId);
+
+        // Only run the function on the parameters which have been not already deobfuscated, once
+        // per parameter
+        final Map<String, String> deobfuscatedThrottlingParameters = new HashMap<>();
+        final List<String> parametersToDeobfuscate = new ArrayList<>();
+        for (final String parameter : obfuscatedThrottlingParameters) {
+            if (parameter != null && !deobfuscatedThrottlingParameters.containsKey(parameter)
+                    && !parametersToDeobfuscate.contains(parameter)) {
+                final String cacheResult = player.throttlingParameters.get(parameter);
+                if (cacheResult == null) {
+                    parametersToDeobfuscate.add(parameter);
+                } else {
+                    deobfuscatedThrottlingParameters.put(parameter, cacheResult);
+                }
             }
         }
+        if (!parametersToDeobfuscate.isEmpty()) {
+            deobfuscatedThrottlingParameters.putAll(
+                    deobfuscateThrottlingParameters(player, parametersToDeobfuscate));
+        }
 
-        try {
-            final String deobfuscatedThrottlingParameter = JavaScript.run(
-                    cachedThrottlingDeobfuscationFunction,
-                    cachedThrottlingDeobfuscationFunctionName,
-                    obfuscatedThrottlingParameter);
-
-            if (isNullOrEmpty(deobfuscatedThrottlingParameter)) {
-                throw new IllegalStateException("Extracted n-parameter is empty");
+        final List<String> urls = new ArrayList<>(streamingUrls.size());
+        for (int i = 0; i < streamingUrls.size(); i++) {
+            final String streamingUrl = streamingUrls.get(i);
+            final String obfuscatedThrottlingParameter = obfuscatedThrottlingParameters.get(i);
+            if (obfuscatedThrottlingParameter == null) {
+                urls.add(streamingUrl);
+            } else {
+                urls.add(streamingUrl.replace(obfuscatedThrottlingParameter,
+                        deobfuscatedThrottlingParameters.get(obfuscatedThrottlingParameter)));
             }
-
-            CACHED_THROTTLING_PARAMETERS.put(
-                    obfuscatedThrottlingParameter, deobfuscatedThrottlingParameter);
-
-            return streamingUrl.replace(
-                    obfuscatedThrottlingParameter, deobfuscatedThrottlingParameter);
-        } catch (final Exception e) {
-            // This shouldn't happen as the function validity is checked when it is extracted
-            throw new ParsingException(
-                    "Could not run throttling parameter deobfuscation JavaScript function", e);
         }
+        return urls;
     }
 
     /**
      * Get the current cache size of throttling parameters.
      *
-     * @return the current cache size of throttling parameters
+     * @return the current cache size of throttling parameters of the current player version
      */
     public static int getThrottlingParametersCacheSize() {
-        return CACHED_THROTTLING_PARAMETERS.size();
+        final PlayerData player = currentPlayer;
+        return player == null ? 0 : player.throttlingParameters.size();
     }
 
     /**
      * Clear all caches.
      *
      * <p>
-     * This method will clear all cached JavaScript code and throttling parameters.
+     * This method will clear all cached JavaScript code and throttling parameters, of all player
+     * versions.
      * </p>
      *
      * <p>
@@ -306,17 +312,33 @@ public final class YoutubeJavaScriptPlayerManager {
      * </p>
      */
     public static void clearAllCaches() {
-        cachedJavaScriptPlayerCode = null;
-        cachedSignatureDeobfuscationFunction = null;
-        cachedThrottlingDeobfuscationFunctionName = null;
-        cachedThrottlingDeobfuscationFunction = null;
-        cachedSignatureTimestamp = null;
-        clearThrottlingParametersCache();
-
-        // Clear cached extraction exceptions, if applicable
-        throttlingDeobfFuncExtractionEx = null;
-        sigDeobFuncExtractionEx = null;
-        sigTimestampExtractionEx = null;
+        synchronized (CURRENT_PLAYER_LOCK) {
+            currentPlayer = null;
+            synchronized (CACHED_PLAYERS) {
+                CACHED_PLAYERS.clear();
+            }
+        }
+    }
+
+    /**
+     * Forget the current player version, without clearing the cached player versions.
+     *
+     * <p>
+     * The next time {@link #getSignatureTimestamp(String)},
+     * {@link #deobfuscateSignature(String, String)} or
+     * {@link #getUrlWithThrottlingParameterDeobfuscated(String, String)} is called, the URL of the
+     * current JavaScript base player will be extracted again. If its version is still cached, its
+     * code and extracted functions will be reused, otherwise the new version will be fetched.
+     * </p>
+     *
+     * <p>
+     * This should be called when YouTube may have rolled out a new player version.
+     * </p>
+     */
+    public static void clearCurrentPlayerVersion() {
+        synchronized (CURRENT_PLAYER_LOCK) {
+            currentPlayer = null;
+        }
     }
 
     /**
@@ -333,22 +355,315 @@ public final class YoutubeJavaScriptPlayerManager {
      * </p>
      */
     public static void clearThrottlingParametersCache() {
-        CACHED_THROTTLING_PARAMETERS.clear();
+        synchronized (CACHED_PLAYERS) {
+            for (final PlayerData player : CACHED_PLAYERS.values()) {
+                player.throttlingParameters.clear();
+            }
+        }
+        final PlayerData player = currentPlayer;
+        if (player != null) {
+            player.throttlingParameters.clear();
+        }
+    }
+
+    /**
+     * Get the number of player versions currently cached.
+     *
+     * @return the number of player versions currently cached
+     */
+    public static int getCachedPlayerVersionsCount() {
+        synchronized (CACHED_PLAYERS) {
+            return CACHED_PLAYERS.size();
+        }
+    }
+
+    /**
+     * Get the metrics of the extractions done since the start of the application.
+     *
+     * <p>
+     * These metrics are not reset by {@link #clearAllCaches()}.
+     * </p>
+     *
+     * @return a snapshot of the current extraction metrics
+     */
+    @Nonnull
+    public static ExtractionMetrics getExtractionMetrics() {
+        return new ExtractionMetrics(PLAYER_CODE_FETCH_COUNT.get(), PLAYER_CODE_FETCH_NANOS.get(),
+                FUNCTION_EXTRACTION_COUNT.get(), FUNCTION_EXTRACTION_NANOS.get(),
+                EVICTED_PLAYER_COUNT.get());
     }
 
     /**
-     * Extract the JavaScript code if it isn't already cached.
+     * Run the throttling parameter deobfuscation function of a player on the given parameters and
+     * cache the results in the player.
+     *
+     * @param player                         the player of the parameters
+     * @param obfuscatedThrottlingParameters the obfuscated throttling parameters
+     * @return the deobfuscated throttling parameters mapped to the obfuscated ones
+     * @throws ParsingException if the extraction or the execution of the throttling parameter
+     * deobfuscation function failed
+     */
+    @Nonnull
+    private static Map<String, String> deobfuscateThrottlingParameters(
+            @Nonnull final PlayerData player,
+            @Nonnull final List<String> obfuscatedThrottlingParameters) throws ParsingException {
+        final JavaScript.CompiledFunction throttlingDeobfuscationFunction =
+                player.throttlingDeobfuscationFunction.get(() -> {
+                    final String functionName =
+                            YoutubeThrottlingParameterUtils.getDeobfuscationFunctionName(
+                                    player.code);
+                    return JavaScript.compile(
+                            YoutubeThrottlingParameterUtils.getDeobfuscationFunction(
+                                    player.code, functionName),
+                            functionName);
+                }, "Could not get throttling parameter deobfuscation JavaScript function");
+
+        try {
+            final List<String> results =
+                    throttlingDeobfuscationFunction.callForEach(obfuscatedThrottlingParameters);
+
+            final Map<String, String> deobfuscatedThrottlingParameters = new HashMap<>();
+            for (int i = 0; i < obfuscatedThrottlingParameters.size(); i++) {
+                final String deobfuscatedThrottlingParameter = results.get(i);
+                if (isNullOrEmpty(deobfuscatedThrottlingParameter)) {
+                    throw new IllegalStateException("Extracted n-parameter is empty");
+                }
+                deobfuscatedThrottlingParameters.put(
+                        obfuscatedThrottlingParameters.get(i), deobfuscatedThrottlingParameter);
+            }
+
+            player.throttlingParameters.putAll(deobfuscatedThrottlingParameters);
+            return deobfuscatedThrottlingParameters;
+        } catch (final Exception e) {
+            // This shouldn't happen as the function validity is checked when it is extracted
+            throw new ParsingException(
+                    "Could not run throttling parameter deobfuscation JavaScript function", e);
+        }
+    }
+
+    /**
+     * Get the data of the current player version, extracting its URL and fetching its code if
+     * needed.
+     *
+     * <p>
+     * The current player is resolved by a single thread at a time: other threads wait for it
+     * and then use the same player.
+     * </p>
      *
      * @param videoId the video ID used to get the JavaScript base player file (an empty one can be
      *                passed, even it is not recommend in order to spoof better official YouTube
      *                clients)
+     * @return the data of the current player version, with its code fetched
      * @throws ParsingException if the extraction of the base JavaScript player file failed
      */
-    private static void extractJavaScriptCodeIfNeeded(@Nonnull final String videoId)
+    @Nonnull
+    private static PlayerData getCurrentPlayer(@Nonnull final String videoId)
+            throws ParsingException {
+        final PlayerData player = currentPlayer;
+        if (player != null) {
+            return player;
+        }
+
+        synchronized (CURRENT_PLAYER_LOCK) {
+            if (currentPlayer == null) {
+                PlayerData extractedPlayer;
+                try {
+                    extractedPlayer = getPlayerWithCode(YoutubeJavaScriptExtractor
+                            .extractJavaScriptUrlWithIframeResource());
+                } catch (final Exception e) {
+                    extractedPlayer = getPlayerWithCode(YoutubeJavaScriptExtractor
+                            .extractJavaScriptUrlWithEmbedWatchPage(videoId));
+                }
+                currentPlayer = extractedPlayer;
+            }
+            return currentPlayer;
+        }
+    }
+
+    /**
+     * Get the cached data of a player from its URL, fetching its code if it is not cached.
+     *
+     * @param javaScriptPlayerUrl the URL of the JavaScript base player file, which can be relative
+     * @return the data of the player, with its code fetched
+     * @throws ParsingException if the URL is invalid or if the code could not be fetched
+     */
+    @Nonnull
+    private static PlayerData getPlayerWithCode(@Nonnull final String javaScriptPlayerUrl)
             throws ParsingException {
-        if (cachedJavaScriptPlayerCode == null) {
-            cachedJavaScriptPlayerCode = YoutubeJavaScriptExtractor.extractJavaScriptPlayerCode(
-                    videoId);
+        final String playerUrl = YoutubeJavaScriptExtractor.cleanJavaScriptUrl(
+                javaScriptPlayerUrl);
+        final String version = YoutubeJavaScriptExtractor.getJavaScriptPlayerVersion(playerUrl);
+
+        PlayerData player;
+        synchronized (CACHED_PLAYERS) {
+            player = CACHED_PLAYERS.get(version);
+        }
+        if (player != null) {
+            return player;
+        }
+
+        final long start = System.nanoTime();
+        final String code = YoutubeJavaScriptExtractor.downloadJavaScriptCode(playerUrl);
+        PLAYER_CODE_FETCH_NANOS.addAndGet(System.nanoTime() - start);
+        PLAYER_CODE_FETCH_COUNT.incrementAndGet();
+
+        player = new PlayerData(code);
+        synchronized (CACHED_PLAYERS) {
+            CACHED_PLAYERS.put(version, player);
+        }
+        return player;
+    }
+
+    /**
+     * Timing metrics of the fetches of player codes and of the extractions of their functions.
+     */
+    public static final class ExtractionMetrics {
+        private final long playerCodeFetchCount;
+        private final long playerCodeFetchNanos;
+        private final long functionExtractionCount;
+        private final long functionExtractionNanos;
+        private final long evictedPlayerVersionCount;
+
+        private ExtractionMetrics(final long playerCodeFetchCount,
+                                  final long playerCodeFetchNanos,
+                                  final long functionExtractionCount,
+                                  final long functionExtractionNanos,
+                                  final long evictedPlayerVersionCount) {
+            this.playerCodeFetchCount = playerCodeFetchCount;
+            this.playerCodeFetchNanos = playerCodeFetchNanos;
+            this.functionExtractionCount = functionExtractionCount;
+            this.functionExtractionNanos = functionExtractionNanos;
+            this.evictedPlayerVersionCount = evictedPlayerVersionCount;
+        }
+
+        /**
+         * @return the number of base JavaScript player files fetched
+         */
+        public long getPlayerCodeFetchCount() {
+            return playerCodeFetchCount;
+        }
+
+        /**
+         * @return the total time spent fetching base JavaScript player files, in nanoseconds
+         */
+        public long getPlayerCodeFetchNanos() {
+            return playerCodeFetchNanos;
+        }
+
+        /**
+         * @return the number of extractions of signature timestamps and deobfuscation functions,
+         * including failed ones
+         */
+        public long getFunctionExtractionCount() {
+            return functionExtractionCount;
+        }
+
+        /**
+         * @return the total time spent extracting signature timestamps and deobfuscation
+         * functions, in nanoseconds
+         */
+        public long getFunctionExtractionNanos() {
+            return functionExtractionNanos;
+        }
+
+        /**
+         * @return the number of player versions evicted from the cache
+         */
+        public long getEvictedPlayerVersionCount() {
+            return evictedPlayerVersionCount;
+        }
+
+        @Nonnull
+        @Override
+        public String toString() {
+            return "ExtractionMetrics{"
+                    + "playerCodeFetchCount=" + playerCodeFetchCount
+                    + ", playerCodeFetchNanos=" + playerCodeFetchNanos
+                    + ", functionExtractionCount=" + functionExtractionCount
+                    + ", functionExtractionNanos=" + functionExtractionNanos
+                    + ", evictedPlayerVersionCount=" + evictedPlayerVersionCount
+                    + '}';
+        }
+    }
+
+    /**
+     * The code of a player version and the data extracted from it.
+     */
+    private static final class PlayerData {
+        @Nonnull
+        private final String code;
+        @Nonnull
+        private final ExtractedValue<Integer> signatureTimestamp = new ExtractedValue<>();
+        @Nonnull
+        private final ExtractedValue<JavaScript.CompiledFunction> signatureDeobfuscationFunction =
+                new ExtractedValue<>();
+        @Nonnull
+        private final ExtractedValue<JavaScript.CompiledFunction>
+                throttlingDeobfuscationFunction = new ExtractedValue<>();
+        @Nonnull
+        private final Map<String, String> throttlingParameters = new ConcurrentHashMap<>();
+
+        PlayerData(@Nonnull final String code) {
+            this.code = code;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Extraction<T> {
+        T extract() throws ParsingException;
+    }
+
+    /**
+     * A value extracted from the code of a player at most once.
+     *
+     * <p>
+     * If the extraction failed, the same extraction will fail on next calls too as the player
+     * code will not change, so the exception is stored and thrown again instead, in order to
+     * improve performance.
+     * </p>
+     *
+     * @param <T> the type of the value
+     */
+    private static final class ExtractedValue<T> {
+        @Nullable
+        private volatile T value;
+        @Nullable
+        private volatile ParsingException exception;
+
+        @Nonnull
+        T get(@Nonnull final Extraction<T> extraction,
+              @Nonnull final String errorMessage) throws ParsingException {
+            final T extractedValue = value;
+            if (extractedValue != null) {
+                return extractedValue;
+            }
+
+            synchronized (this) {
+                if (value == null) {
+                    if (exception == null) {
+                        extract(extraction, errorMessage);
+                    }
+                    if (exception != null) {
+                        throw exception;
+                    }
+                }
+                return value;
+            }
+        }
+
+        private void extract(@Nonnull final Extraction<T> extraction,
+                             @Nonnull final String errorMessage) {
+            final long start = System.nanoTime();
+            try {
+                value = Objects.requireNonNull(extraction.extract());
+            } catch (final ParsingException e) {
+                exception = e;
+            } catch (final Exception e) {
+                exception = new ParsingException(errorMessage, e);
+            } finally {
+                FUNCTION_EXTRACTION_NANOS.addAndGet(System.nanoTime() - start);
+                FUNCTION_EXTRACTION_COUNT.incrementAndGet();
+            }
         }
     }
 }
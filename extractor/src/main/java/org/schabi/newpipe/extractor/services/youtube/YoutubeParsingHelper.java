@@ -63,6 +63,7 @@ import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
 import org.schabi.newpipe.extractor.services.youtube.protos.video.Xtags.XTags;
 import org.schabi.newpipe.extractor.services.youtube.protos.video.Xtags.KeyValuePair;
 import org.schabi.newpipe.extractor.stream.AudioTrackType;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Parser;
 import org.schabi.newpipe.extractor.utils.RandomStringFromAlphabetGenerator;
@@ -80,6 +81,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -157,13 +159,12 @@ public final class YoutubeParsingHelper {
      */
     public static final String RACY_CHECK_OK = "racyCheckOk";
 
-    private static String clientVersion;
-
-    private static String youtubeMusicClientVersion;
+    @Nonnull
+    private static volatile ClientVersionRegistry clientVersionRegistry =
+            new ClientVersionRegistry();
 
-    private static boolean clientVersionExtracted = false;
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
-    private static Optional<Boolean> hardcodedClientVersionValid = Optional.empty();
+    private static volatile Optional<Boolean> hardcodedClientVersionValid = Optional.empty();
 
     private static final String[] INNERTUBE_CONTEXT_CLIENT_VERSION_REGEXES =
             {"INNERTUBE_CONTEXT_CLIENT_VERSION\":\"([0-9\\.]+?)\"",
@@ -199,6 +200,13 @@ public final class YoutubeParsingHelper {
             "invidious.moomoo.me", "yt.cyberhost.uk");
     private static final Set<String> YOUTUBE_URLS = Set.of("youtube.com", "www.youtube.com",
             "m.youtube.com", "music.youtube.com");
+    // All the hosts checked by the link handler factories, including the ad one for which a
+    // FoundAdException is thrown
+    private static final Set<String> SUPPORTED_URL_HOSTS = Stream.of(YOUTUBE_URLS, INVIDIOUS_URLS,
+                    Set.of("www.youtube-nocookie.com", "youtu.be", "hooktube.com", "y2u.be",
+                            "googleads.g.doubleclick.net"))
+            .flatMap(Set::stream)
+            .collect(Collectors.toUnmodifiableSet());
 
     private static boolean consentAccepted = false;
 
@@ -212,6 +220,15 @@ public final class YoutubeParsingHelper {
         }
     }
 
+    /**
+     * @return the lower case hosts of all the URLs which can be accepted by the link handler
+     * factories of the YouTube service
+     */
+    @Nonnull
+    public static Set<String> getSupportedUrlHosts() {
+        return SUPPORTED_URL_HOSTS;
+    }
+
     public static boolean isYoutubeURL(@Nonnull final URL url) {
         return YOUTUBE_URLS.contains(url.getHost().toLowerCase(Locale.ROOT));
     }
@@ -483,31 +500,24 @@ public final class YoutubeParsingHelper {
     }
 
 
-    private static void extractClientVersionFromSwJs()
+    @Nonnull
+    private static String extractClientVersionFromSwJs()
             throws IOException, ExtractionException {
-        if (clientVersionExtracted) {
-            return;
-        }
         final String url = "https://www.youtube.com/sw.js";
         final var headers = getOriginReferrerHeaders("https://www.youtube.com");
         final String response = getDownloader().get(url, headers).responseBody();
         try {
-            clientVersion = getStringResultFromRegexArray(response,
+            return getStringResultFromRegexArray(response,
                     INNERTUBE_CONTEXT_CLIENT_VERSION_REGEXES, 1);
         } catch (final Parser.RegexException e) {
             throw new ParsingException("Could not extract YouTube WEB InnerTube client version "
                     + "from sw.js", e);
         }
-        clientVersionExtracted = true;
     }
 
-    private static void extractClientVersionFromHtmlSearchResultsPage()
+    @Nonnull
+    private static String extractClientVersionFromHtmlSearchResultsPage()
             throws IOException, ExtractionException {
-        // Don't extract the InnerTube client version if it has been already extracted
-        if (clientVersionExtracted) {
-            return;
-        }
-
         // Don't provide a search term in order to have a smaller response
         final String url = "https://www.youtube.com/results?search_query=&ucbcb=1";
         final String html = getDownloader().get(url, getCookieHeader()).responseBody();
@@ -518,7 +528,7 @@ public final class YoutubeParsingHelper {
         // Try to get version from initial data first
         final var serviceTrackingParamsStream = serviceTrackingParams.streamAsJsonObjects();
 
-        clientVersion = getClientVersionFromServiceTrackingParam(
+        String clientVersion = getClientVersionFromServiceTrackingParam(
                 serviceTrackingParamsStream, "CSI", "cver");
 
         if (clientVersion == null) {
@@ -543,7 +553,7 @@ public final class YoutubeParsingHelper {
                     // CHECKSTYLE:ON
         }
 
-        clientVersionExtracted = true;
+        return clientVersion;
     }
 
     @Nullable
@@ -566,32 +576,50 @@ public final class YoutubeParsingHelper {
 
     /**
      * Get the client version used by YouTube website on InnerTube requests.
+     *
+     * <p>
+     * The version is kept in the {@link #setClientVersionRegistry(ClientVersionRegistry) client
+     * version registry}, which extracts it once and refreshes it in the background.
+     * </p>
      */
     public static String getClientVersion() throws IOException, ExtractionException {
-        if (!isNullOrEmpty(clientVersion)) {
-            return clientVersion;
-        }
-
-        // Always extract the latest client version, by trying first to extract it from the
-        // JavaScript service worker, then from HTML search results page as a fallback, to prevent
-        // fingerprinting based on the client version used
-        try {
-            extractClientVersionFromSwJs();
-        } catch (final Exception e) {
-            extractClientVersionFromHtmlSearchResultsPage();
-        }
-
-        if (clientVersionExtracted) {
-            return clientVersion;
-        }
+        return clientVersionRegistry.get(WEB_CLIENT_NAME, () -> {
+            // Always extract the latest client version, by trying first to extract it from the
+            // JavaScript service worker, then from HTML search results page as a fallback, to
+            // prevent fingerprinting based on the client version used
+            try {
+                return extractClientVersionFromSwJs();
+            } catch (final Exception e) {
+                return extractClientVersionFromHtmlSearchResultsPage();
+            }
+        });
+    }
 
-        // Fallback to the hardcoded one if it is valid
-        if (isHardcodedClientVersionValid()) {
-            clientVersion = WEB_HARDCODED_CLIENT_VERSION;
-            return clientVersion;
-        }
+    /**
+     * Set the {@link ClientVersionRegistry} in which the versions of the {@code WEB} and
+     * {@code WEB_REMIX} InnerTube clients are kept.
+     *
+     * <p>
+     * By default, a {@link ClientVersionRegistry} with default parameters is used. Setting one
+     * allows for instance to use another TTL or to {@link ClientVersionRegistry#seed(Map, long)
+     * seed} it with versions persisted by the application.
+     * </p>
+     *
+     * @param clientVersionRegistry the {@link ClientVersionRegistry} to use
+     */
+    @SuppressWarnings("unused")
+    public static void setClientVersionRegistry(
+            @Nonnull final ClientVersionRegistry clientVersionRegistry) {
+        YoutubeParsingHelper.clientVersionRegistry = clientVersionRegistry;
+    }
 
-        throw new ExtractionException("Could not get YouTube WEB client version");
+    /**
+     * @return the {@link ClientVersionRegistry} in which the versions of the {@code WEB} and
+     * {@code WEB_REMIX} InnerTube clients are kept
+     */
+    @Nonnull
+    public static ClientVersionRegistry getClientVersionRegistry() {
+        return clientVersionRegistry;
     }
 
     /**
@@ -610,8 +638,7 @@ public final class YoutubeParsingHelper {
      * </p>
      */
     public static void resetClientVersion() {
-        clientVersion = null;
-        clientVersionExtracted = false;
+        clientVersionRegistry.remove(WEB_CLIENT_NAME);
     }
 
     /**
@@ -665,13 +692,16 @@ public final class YoutubeParsingHelper {
     }
 
     public static String getYoutubeMusicClientVersion()
-            throws IOException, ReCaptchaException, Parser.RegexException {
-        if (!isNullOrEmpty(youtubeMusicClientVersion)) {
-            return youtubeMusicClientVersion;
-        }
+            throws IOException, ExtractionException {
+        return clientVersionRegistry.get(WEB_REMIX_CLIENT_NAME,
+                YoutubeParsingHelper::extractYoutubeMusicClientVersion);
+    }
+
+    @Nonnull
+    private static String extractYoutubeMusicClientVersion()
+            throws IOException, ExtractionException {
         if (isHardcodedYoutubeMusicClientVersionValid()) {
-            youtubeMusicClientVersion = WEB_REMIX_HARDCODED_CLIENT_VERSION;
-            return youtubeMusicClientVersion;
+            return WEB_REMIX_HARDCODED_CLIENT_VERSION;
         }
 
         try {
@@ -679,17 +709,15 @@ public final class YoutubeParsingHelper {
             final var headers = getOriginReferrerHeaders(YOUTUBE_MUSIC_URL);
             final String response = getDownloader().get(url, headers).responseBody();
 
-            youtubeMusicClientVersion = getStringResultFromRegexArray(response,
+            return getStringResultFromRegexArray(response,
                     INNERTUBE_CONTEXT_CLIENT_VERSION_REGEXES, 1);
         } catch (final Exception e) {
             final String url = "https://music.youtube.com/?ucbcb=1";
             final String html = getDownloader().get(url, getCookieHeader()).responseBody();
 
-            youtubeMusicClientVersion = getStringResultFromRegexArray(html,
+            return getStringResultFromRegexArray(html,
                     INNERTUBE_CONTEXT_CLIENT_VERSION_REGEXES, 1);
         }
-
-        return youtubeMusicClientVersion;
     }
 
     @Nullable
@@ -989,13 +1017,40 @@ public final class YoutubeParsingHelper {
     @Nonnull
     public static String getValidJsonResponseBody(@Nonnull final Response response)
             throws ParsingException, MalformedURLException {
+        checkValidJsonResponse(response);
+        return response.responseBody();
+    }
+
+    /**
+     * Check that a {@link Response} is a valid JSON response and parse its body.
+     *
+     * <p>
+     * Unlike parsing the result of {@link #getValidJsonResponseBody(Response)}, this method
+     * parses the body of responses {@link Response#fromBytes(int, String, Map, byte[], String)
+     * created from bytes} directly, without decoding it to a {@link String} first.
+     * </p>
+     *
+     * @param response the response to check and parse
+     * @return the parsed JSON response
+     * @throws ParsingException      if the response is not a valid JSON response or could not be
+     *                               parsed
+     * @throws MalformedURLException if the latest URL of the response is not a valid URL
+     */
+    @Nonnull
+    public static JsonObject getValidJsonResponse(@Nonnull final Response response)
+            throws ParsingException, MalformedURLException {
+        checkValidJsonResponse(response);
+        return JsonUtils.toJsonObject(response);
+    }
+
+    private static void checkValidJsonResponse(@Nonnull final Response response)
+            throws ParsingException, MalformedURLException {
         if (response.responseCode() == 404) {
             throw new ContentNotAvailableException("Not found"
                     + " (\"" + response.responseCode() + " " + response.responseMessage() + "\")");
         }
 
-        final String responseBody = response.responseBody();
-        if (responseBody.length() < 50) { // Ensure to have a valid response
+        if (response.responseBodyLength() < 50) { // Ensure to have a valid response
             throw new ParsingException("JSON response is too short");
         }
 
@@ -1014,8 +1069,6 @@ public final class YoutubeParsingHelper {
             throw new ParsingException("Got HTML document, expected JSON response"
                     + " (latest url was: \"" + response.latestUrl() + "\")");
         }
-
-        return responseBody;
     }
 
     public static JsonObject getJsonPostResponse(@Nonnull final String endpoint,
@@ -1024,9 +1077,36 @@ public final class YoutubeParsingHelper {
             throws IOException, ExtractionException {
         final var headers = getYouTubeHeaders();
 
-        return JsonUtils.toJsonObject(getValidJsonResponseBody(
+        return getValidJsonResponse(
                 getDownloader().postWithContentTypeJson(YOUTUBEI_V1_URL + endpoint + "?"
-                        + DISABLE_PRETTY_PRINT_PARAMETER, headers, body, localization)));
+                        + DISABLE_PRETTY_PRINT_PARAMETER, headers, body, localization));
+    }
+
+    /**
+     * Asynchronous version of {@link #getJsonPostResponse(String, byte[], Localization)}, which
+     * uses {@link org.schabi.newpipe.extractor.downloader.Downloader#executeAsync(
+     * org.schabi.newpipe.extractor.downloader.Request) Downloader.executeAsync}.
+     *
+     * @param endpoint     the InnerTube endpoint to request
+     * @param body         the body of the request
+     * @param localization the {@link Localization} to use
+     * @return a {@link CompletableFuture} completed with the JSON response
+     * @throws IOException         if the client version needed for the request headers could not
+     *                             be fetched
+     * @throws ExtractionException if the client version needed for the request headers could not
+     *                             be extracted
+     */
+    @Nonnull
+    public static CompletableFuture<JsonObject> getJsonPostResponseAsync(
+            @Nonnull final String endpoint,
+            final byte[] body,
+            @Nonnull final Localization localization) throws IOException, ExtractionException {
+        final var headers = getYouTubeHeaders();
+
+        return ConcurrencyUtils.thenApply(getDownloader().postWithContentTypeJsonAsync(
+                YOUTUBEI_V1_URL + endpoint + "?" + DISABLE_PRETTY_PRINT_PARAMETER,
+                headers, body, localization),
+                YoutubeParsingHelper::getValidJsonResponse);
     }
 
     public static JsonObject getJsonPostResponse(@Nonnull final String endpoint,
@@ -1044,9 +1124,9 @@ public final class YoutubeParsingHelper {
                     + "&" + DISABLE_PRETTY_PRINT_PARAMETER;
         }
 
-        return JsonUtils.toJsonObject(getValidJsonResponseBody(
+        return getValidJsonResponse(
                 getDownloader().postWithContentTypeJson(YOUTUBEI_V1_URL + endpoint
-                        + queryParametersString, headers, body, localization)));
+                        + queryParametersString, headers, body, localization));
     }
 
     @Nonnull
@@ -1149,7 +1229,8 @@ public final class YoutubeParsingHelper {
     @Nonnull
     public static Map<String, List<String>> getYoutubeMusicHeaders() {
         final var headers = new HashMap<>(getOriginReferrerHeaders(YOUTUBE_MUSIC_URL));
-        headers.putAll(getClientHeaders(WEB_REMIX_CLIENT_ID, youtubeMusicClientVersion));
+        headers.putAll(getClientHeaders(WEB_REMIX_CLIENT_ID,
+                clientVersionRegistry.getCurrentVersion(WEB_REMIX_CLIENT_NAME)));
         return headers;
     }
 
@@ -1511,12 +1592,12 @@ public final class YoutubeParsingHelper {
         final byte[] body = JsonWriter.string(builder.done())
                 .getBytes(StandardCharsets.UTF_8);
 
-        final String visitorData = JsonUtils.toJsonObject(getValidJsonResponseBody(getDownloader()
+        final String visitorData = getValidJsonResponse(getDownloader()
                 .postWithContentTypeJson(
                         innertubeDomainAndVersionEndpoint
                                 + (useGuideEndpoint ? "guide" : "visitor_id") + "?"
                                 + DISABLE_PRETTY_PRINT_PARAMETER,
-                        httpHeaders, body)))
+                        httpHeaders, body))
                 .getObject("responseContext")
                 .getString("visitorData");
 
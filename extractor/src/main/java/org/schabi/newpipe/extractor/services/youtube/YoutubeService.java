@@ -58,6 +58,7 @@ import org.schabi.newpipe.extractor.suggestion.SuggestionExtractor;
 
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 
@@ -92,6 +93,11 @@ public class YoutubeService extends StreamingService {
         return "https://youtube.com";
     }
 
+    @Override
+    public Set<String> getSupportedUrlHosts() {
+        return YoutubeParsingHelper.getSupportedUrlHosts();
+    }
+
     @Override
     public LinkHandlerFactory getStreamLHFactory() {
         return YoutubeStreamLinkHandlerFactory.getInstance();
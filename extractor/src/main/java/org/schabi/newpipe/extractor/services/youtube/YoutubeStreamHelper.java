@@ -6,7 +6,7 @@ import com.grack.nanojson.JsonWriter;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.Localization;
-import org.schabi.newpipe.extractor.utils.JsonUtils;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ExtractionSupplier;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -15,6 +15,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.schabi.newpipe.extractor.NewPipe.getDownloader;
 import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.WEB_EMBEDDED_CLIENT_ID;
@@ -32,7 +33,7 @@ import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getClientVersion;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getIosUserAgent;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getOriginReferrerHeaders;
-import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getValidJsonResponseBody;
+import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getValidJsonResponse;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getVisionOsUserAgent;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getYouTubeHeaders;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareJsonBuilder;
@@ -44,25 +45,83 @@ public final class YoutubeStreamHelper {
     private static final String PO_TOKEN = "poToken";
     private static final String BASE_YT_DESKTOP_WATCH_URL = "https://www.youtube.com/watch?v=";
 
+    @Nullable
+    private static volatile VisitorDataProvider visitorDataProvider;
+
     private YoutubeStreamHelper() {
     }
 
+    /**
+     * Set the {@link VisitorDataProvider} providing the {@code visitorData}s of the player
+     * requests of the {@code WEB} (for metadata), {@code ANDROID}, {@code IOS} and
+     * {@code VISIONOS} clients.
+     *
+     * <p>
+     * Without a provider, which is the default, a new {@code visitorData} is fetched before each
+     * of these player requests. Player requests of the {@code WEB_EMBEDDED_PLAYER} client always
+     * use a new {@code visitorData}, as it is fetched with the URL of the video.
+     * </p>
+     *
+     * @param visitorDataProvider the {@link VisitorDataProvider} to use, or {@code null} to fetch
+     *                            a new {@code visitorData} for each player request
+     * @see PooledVisitorDataProvider
+     */
+    @SuppressWarnings("unused")
+    public static void setVisitorDataProvider(
+            @Nullable final VisitorDataProvider visitorDataProvider) {
+        YoutubeStreamHelper.visitorDataProvider = visitorDataProvider;
+    }
+
+    /**
+     * {@link VisitorDataProvider#warmUp(String, Localization, ContentCountry, ExtractionSupplier)
+     * Warm up} the {@link #setVisitorDataProvider(VisitorDataProvider) visitorData provider}, if
+     * any, for the player requests of the given localization and content country.
+     *
+     * @param localization   the {@link Localization} of future player requests
+     * @param contentCountry the {@link ContentCountry} of future player requests
+     * @throws IOException         if the client version of the {@code WEB} client could not be
+     *                             fetched
+     * @throws ExtractionException if the client version of the {@code WEB} client could not be
+     *                             extracted
+     */
+    public static void warmUpVisitorDataProvider(@Nonnull final Localization localization,
+                                                 @Nonnull final ContentCountry contentCountry)
+            throws IOException, ExtractionException {
+        final VisitorDataProvider provider = visitorDataProvider;
+        if (provider == null) {
+            return;
+        }
+
+        final String clientVersion = getClientVersion();
+        warmUp(provider, () -> ofWebClient(clientVersion), localization, contentCountry,
+                getYouTubeHeaders(), YOUTUBEI_V1_URL);
+        warmUp(provider, InnertubeClientRequestInfo::ofAndroidClient, localization,
+                contentCountry, getMobileClientHeaders(getAndroidUserAgent(localization)),
+                YOUTUBEI_V1_GAPIS_URL);
+        warmUp(provider, InnertubeClientRequestInfo::ofIosClient, localization, contentCountry,
+                getMobileClientHeaders(getIosUserAgent(localization)), YOUTUBEI_V1_URL);
+        warmUp(provider, InnertubeClientRequestInfo::ofVisionOsClient, localization,
+                contentCountry, getMobileClientHeaders(getVisionOsUserAgent(localization)),
+                YOUTUBEI_V1_URL);
+    }
+
     @Nonnull
     public static JsonObject getWebMetadataPlayerResponse(
             @Nonnull final Localization localization,
             @Nonnull final ContentCountry contentCountry,
             @Nonnull final String videoId) throws IOException, ExtractionException {
+        final String clientVersion = getClientVersion();
+        final Supplier<InnertubeClientRequestInfo> clientRequestInfoSupplier =
+                () -> ofWebClient(clientVersion);
         final InnertubeClientRequestInfo innertubeClientRequestInfo =
-                InnertubeClientRequestInfo.ofWebClient();
-        innertubeClientRequestInfo.clientInfo.clientVersion = getClientVersion();
+                clientRequestInfoSupplier.get();
 
         final Map<String, List<String>> headers = getYouTubeHeaders();
 
         // We must always pass a valid visitorData to get valid player responses, which needs to be
         // got from YouTube
-        innertubeClientRequestInfo.clientInfo.visitorData =
-                YoutubeParsingHelper.getVisitorDataFromInnertube(innertubeClientRequestInfo,
-                        localization, contentCountry, headers, YOUTUBEI_V1_URL, null, false);
+        innertubeClientRequestInfo.clientInfo.visitorData = getVisitorData(
+                clientRequestInfoSupplier, localization, contentCountry, headers, YOUTUBEI_V1_URL);
 
         final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
                 innertubeClientRequestInfo, null);
@@ -75,9 +134,9 @@ public final class YoutubeStreamHelper {
         final String url = YOUTUBEI_V1_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER
                 + "&$fields=microformat,videoDetails.thumbnail.thumbnails,videoDetails.videoId";
 
-        return JsonUtils.toJsonObject(getValidJsonResponseBody(
+        return getValidJsonResponse(
                 getDownloader().postWithContentTypeJson(
-                        url, headers, body, localization)));
+                        url, headers, body, localization));
     }
 
     @Nonnull
@@ -119,8 +178,8 @@ public final class YoutubeStreamHelper {
                 .getBytes(StandardCharsets.UTF_8);
         final String url = YOUTUBEI_V1_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER;
 
-        return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(url, headers, body, localization)));
+        return getValidJsonResponse(
+                getDownloader().postWithContentTypeJson(url, headers, body, localization));
     }
 
     public static JsonObject getAndroidPlayerResponse(
@@ -150,8 +209,8 @@ public final class YoutubeStreamHelper {
         final String url = YOUTUBEI_V1_GAPIS_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER
                 + "&t=" + generateTParameter() + "&id=" + videoId;
 
-        return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(url, headers, body, localization)));
+        return getValidJsonResponse(
+                getDownloader().postWithContentTypeJson(url, headers, body, localization));
     }
 
     public static JsonObject getAndroidReelPlayerResponse(
@@ -167,9 +226,9 @@ public final class YoutubeStreamHelper {
 
         // We must always pass a valid visitorData to get valid player responses, which needs to be
         // got from YouTube
-        innertubeClientRequestInfo.clientInfo.visitorData =
-                YoutubeParsingHelper.getVisitorDataFromInnertube(innertubeClientRequestInfo,
-                        localization, contentCountry, headers, YOUTUBEI_V1_GAPIS_URL, null, false);
+        innertubeClientRequestInfo.clientInfo.visitorData = getVisitorData(
+                InnertubeClientRequestInfo::ofAndroidClient, localization, contentCountry, headers,
+                YOUTUBEI_V1_GAPIS_URL);
 
         final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
                 innertubeClientRequestInfo, null);
@@ -186,8 +245,8 @@ public final class YoutubeStreamHelper {
                 + DISABLE_PRETTY_PRINT_PARAMETER + "&t=" + generateTParameter() + "&id=" + videoId
                 + "&$fields=playerResponse";
 
-        return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(url, headers, body, localization)))
+        return getValidJsonResponse(
+                getDownloader().postWithContentTypeJson(url, headers, body, localization))
                 .getObject("playerResponse");
     }
 
@@ -206,8 +265,8 @@ public final class YoutubeStreamHelper {
         // We must always pass a valid visitorData to get valid player responses, which needs to be
         // got from YouTube
         innertubeClientRequestInfo.clientInfo.visitorData = iosPoTokenResult == null
-                ? YoutubeParsingHelper.getVisitorDataFromInnertube(innertubeClientRequestInfo,
-                        localization, contentCountry, headers, YOUTUBEI_V1_URL, null, false)
+                ? getVisitorData(InnertubeClientRequestInfo::ofIosClient, localization,
+                        contentCountry, headers, YOUTUBEI_V1_URL)
                 : iosPoTokenResult.visitorData;
 
         final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
@@ -225,8 +284,8 @@ public final class YoutubeStreamHelper {
         final String url = YOUTUBEI_V1_GAPIS_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER
                 + "&t=" + generateTParameter() + "&id=" + videoId;
 
-        return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(url, headers, body, localization)));
+        return getValidJsonResponse(
+                getDownloader().postWithContentTypeJson(url, headers, body, localization));
     }
 
     public static JsonObject getVisionOsPlayerResponse(@Nonnull final ContentCountry contentCountry,
@@ -242,9 +301,9 @@ public final class YoutubeStreamHelper {
 
         // We must always pass a valid visitorData to get valid player responses, which needs to be
         // got from YouTube
-        innertubeClientRequestInfo.clientInfo.visitorData =
-                YoutubeParsingHelper.getVisitorDataFromInnertube(innertubeClientRequestInfo,
-                localization, contentCountry, headers, YOUTUBEI_V1_URL, null, false);
+        innertubeClientRequestInfo.clientInfo.visitorData = getVisitorData(
+                InnertubeClientRequestInfo::ofVisionOsClient, localization, contentCountry,
+                headers, YOUTUBEI_V1_URL);
 
         final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
                 innertubeClientRequestInfo, null);
@@ -257,8 +316,72 @@ public final class YoutubeStreamHelper {
         final String url = YOUTUBEI_V1_GAPIS_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER
                 + "&t=" + generateTParameter() + "&id=" + videoId;
 
-        return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(url, headers, body, localization)));
+        return getValidJsonResponse(
+                getDownloader().postWithContentTypeJson(url, headers, body, localization));
+    }
+
+    /**
+     * Get a {@code visitorData} for a player request, from the
+     * {@link #setVisitorDataProvider(VisitorDataProvider) visitorData provider} if there is one.
+     *
+     * @param clientRequestInfoSupplier a supplier of new {@link InnertubeClientRequestInfo}s of
+     *                                  the client, without {@code visitorData}, as the
+     *                                  {@code visitorData} may be fetched later
+     * @param localization              the {@link Localization} of the player request
+     * @param contentCountry            the {@link ContentCountry} of the player request
+     * @param headers                   the headers of the client
+     * @param innertubeDomainAndVersionEndpoint the InnerTube endpoint of the client
+     * @return a {@code visitorData} for the player request
+     */
+    @Nonnull
+    private static String getVisitorData(
+            @Nonnull final Supplier<InnertubeClientRequestInfo> clientRequestInfoSupplier,
+            @Nonnull final Localization localization,
+            @Nonnull final ContentCountry contentCountry,
+            @Nonnull final Map<String, List<String>> headers,
+            @Nonnull final String innertubeDomainAndVersionEndpoint)
+            throws IOException, ExtractionException {
+        final ExtractionSupplier<String> fetcher = getVisitorDataFetcher(
+                clientRequestInfoSupplier, localization, contentCountry, headers,
+                innertubeDomainAndVersionEndpoint);
+        final VisitorDataProvider provider = visitorDataProvider;
+        if (provider == null) {
+            return fetcher.get();
+        }
+        return provider.getVisitorData(clientRequestInfoSupplier.get().clientInfo.clientName,
+                localization, contentCountry, fetcher);
+    }
+
+    private static void warmUp(
+            @Nonnull final VisitorDataProvider provider,
+            @Nonnull final Supplier<InnertubeClientRequestInfo> clientRequestInfoSupplier,
+            @Nonnull final Localization localization,
+            @Nonnull final ContentCountry contentCountry,
+            @Nonnull final Map<String, List<String>> headers,
+            @Nonnull final String innertubeDomainAndVersionEndpoint) {
+        provider.warmUp(clientRequestInfoSupplier.get().clientInfo.clientName, localization,
+                contentCountry, getVisitorDataFetcher(clientRequestInfoSupplier, localization,
+                        contentCountry, headers, innertubeDomainAndVersionEndpoint));
+    }
+
+    @Nonnull
+    private static ExtractionSupplier<String> getVisitorDataFetcher(
+            @Nonnull final Supplier<InnertubeClientRequestInfo> clientRequestInfoSupplier,
+            @Nonnull final Localization localization,
+            @Nonnull final ContentCountry contentCountry,
+            @Nonnull final Map<String, List<String>> headers,
+            @Nonnull final String innertubeDomainAndVersionEndpoint) {
+        return () -> YoutubeParsingHelper.getVisitorDataFromInnertube(
+                clientRequestInfoSupplier.get(), localization, contentCountry, headers,
+                innertubeDomainAndVersionEndpoint, null, false);
+    }
+
+    @Nonnull
+    private static InnertubeClientRequestInfo ofWebClient(@Nonnull final String clientVersion) {
+        final InnertubeClientRequestInfo innertubeClientRequestInfo =
+                InnertubeClientRequestInfo.ofWebClient();
+        innertubeClientRequestInfo.clientInfo.clientVersion = clientVersion;
+        return innertubeClientRequestInfo;
     }
 
     private static void addVideoIdCpnAndOkChecks(@Nonnull final JsonBuilder<JsonObject> builder,
@@ -0,0 +1,230 @@
+package org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Writer of DASH manifests, which appends XML elements directly to a {@link StringBuilder}.
+ *
+ * <p>
+ * Manifests were previously built as {@link org.w3c.dom.Document DOM documents}, then serialized
+ * with a {@link javax.xml.transform.Transformer}. This writer produces exactly the same output
+ * without creating DOM nodes and XML factories for each manifest:
+ * </p>
+ *
+ * <ul>
+ *     <li>the output starts with
+ *     {@code <?xml version="1.0" encoding="UTF-8" standalone="no"?>}, without a line break after
+ *     it;</li>
+ *     <li>attributes of an element are written in the alphabetical order of their names, whatever
+ *     the order in which they are added, namespace declarations ({@code xmlns} and
+ *     {@code xmlns:*} attributes) being written first;</li>
+ *     <li>elements without children are written as empty-element tags, such as
+ *     {@code <S d="5000"/>};</li>
+ *     <li>characters are escaped in the same way, including characters outside of the Basic
+ *     Multilingual Plane, which are written as numeric character references.</li>
+ * </ul>
+ *
+ * <p>
+ * Elements are written in document order: children must be started after the attributes of their
+ * parent are added, and siblings after the previous ones are ended.
+ * </p>
+ */
+public final class DashManifestWriter {
+    private static final String XML_DECLARATION =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+    // Enough for most manifests of progressive streams, OTF manifests grow once or twice
+    private static final int INITIAL_CAPACITY = 2048;
+
+    // Namespace declarations first, then other attributes, by alphabetical order
+    private static final Comparator<String> ATTRIBUTE_ORDER = Comparator
+            .comparing((String name) -> !isNamespaceDeclaration(name))
+            .thenComparing(Comparator.naturalOrder());
+
+    private final StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+    private final ArrayDeque<String> openElements = new ArrayDeque<>();
+    // The attributes of the element whose start tag has not been written yet
+    private final Map<String, String> pendingAttributes = new TreeMap<>(ATTRIBUTE_ORDER);
+    private boolean startTagPending;
+    private boolean hasContent;
+
+    public DashManifestWriter() {
+        builder.append(XML_DECLARATION);
+    }
+
+    /**
+     * Start an element, as a child of the current one.
+     *
+     * @param name the name of the element
+     * @return this writer
+     */
+    @Nonnull
+    public DashManifestWriter startElement(@Nonnull final String name) {
+        flushStartTag();
+        openElements.push(name);
+        startTagPending = true;
+        hasContent = false;
+        return this;
+    }
+
+    /**
+     * Add an attribute to the element which has just been started.
+     *
+     * <p>
+     * If the element already has an attribute with the same name, its value is replaced.
+     * </p>
+     *
+     * @param name  the name of the attribute
+     * @param value the value of the attribute, which will be escaped
+     * @return this writer
+     * @throws IllegalStateException if no element has been started or if children or content have
+     *                               already been added to the current element
+     */
+    @Nonnull
+    public DashManifestWriter attribute(@Nonnull final String name,
+                                        @Nonnull final String value) {
+        if (!startTagPending) {
+            throw new IllegalStateException("Attributes must be added before the children and "
+                    + "the content of an element: " + name);
+        }
+        pendingAttributes.put(name, value);
+        return this;
+    }
+
+    /**
+     * Add text content to the current element.
+     *
+     * @param content the text, which will be escaped
+     * @return this writer
+     * @throws IllegalStateException if no element has been started
+     */
+    @Nonnull
+    public DashManifestWriter text(@Nonnull final String content) {
+        if (openElements.isEmpty()) {
+            throw new IllegalStateException("Text must be added inside an element");
+        }
+        flushStartTag();
+        hasContent = true;
+        appendEscaped(content, false);
+        return this;
+    }
+
+    /**
+     * End the current element.
+     *
+     * @return this writer
+     * @throws IllegalStateException if no element has been started
+     */
+    @Nonnull
+    public DashManifestWriter endElement() {
+        if (openElements.isEmpty()) {
+            throw new IllegalStateException("No element to end");
+        }
+        final String name = openElements.pop();
+
+        if (startTagPending && !hasContent) {
+            writeStartTag(name);
+            builder.append("/>");
+            startTagPending = false;
+        } else {
+            flushStartTag();
+            builder.append("</").append(name).append('>');
+        }
+        // The parent of the ended element has at least one child
+        hasContent = true;
+        return this;
+    }
+
+    /**
+     * End all elements which are still open and get the manifest.
+     *
+     * @return the manifest written
+     */
+    @Nonnull
+    public String build() {
+        while (!openElements.isEmpty()) {
+            endElement();
+        }
+        return builder.toString();
+    }
+
+    private void flushStartTag() {
+        if (startTagPending) {
+            writeStartTag(openElements.element());
+            builder.append('>');
+            startTagPending = false;
+        }
+    }
+
+    private void writeStartTag(@Nonnull final String name) {
+        builder.append('<').append(name);
+        for (final Map.Entry<String, String> attribute : pendingAttributes.entrySet()) {
+            builder.append(' ').append(attribute.getKey()).append("=\"");
+            appendEscaped(attribute.getValue(), true);
+            builder.append('"');
+        }
+        pendingAttributes.clear();
+    }
+
+    /**
+     * Append a string, escaping characters in the same way as the {@link
+     * javax.xml.transform.Transformer} of the JDK did.
+     *
+     * @param value     the string to append
+     * @param attribute whether the string is the value of an attribute, which needs more
+     *                  characters to be escaped than text content
+     */
+    private void appendEscaped(@Nonnull final String value, final boolean attribute) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    builder.append("&amp;");
+                    break;
+                case '<':
+                    builder.append("&lt;");
+                    break;
+                case '>':
+                    builder.append("&gt;");
+                    break;
+                case '"':
+                    builder.append(attribute ? "&quot;" : "\"");
+                    break;
+                case '\n':
+                case '\t':
+                    if (attribute) {
+                        appendCharacterReference(c);
+                    } else {
+                        builder.append(c);
+                    }
+                    break;
+                default:
+                    if (Character.isHighSurrogate(c) && i + 1 < length
+                            && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        appendCharacterReference(Character.toCodePoint(c, value.charAt(++i)));
+                    } else if (Character.isSurrogate(c)) {
+                        throw new CreationException("Invalid UTF-16 surrogate in value: "
+                                + value);
+                    } else if (c < 0x20 || (!attribute && c >= 0x7F && c <= 0x9F)) {
+                        appendCharacterReference(c);
+                    } else {
+                        builder.append(c);
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static boolean isNamespaceDeclaration(@Nonnull final String name) {
+        return name.equals("xmlns") || name.startsWith("xmlns:");
+    }
+
+    private void appendCharacterReference(final int codePoint) {
+        builder.append("&#").append(codePoint).append(';');
+    }
+}
@@ -0,0 +1,197 @@
+package org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators;
+
+import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.getHost;
+
+import org.schabi.newpipe.extractor.services.youtube.DeliveryType;
+import org.schabi.newpipe.extractor.services.youtube.ItagItem;
+import org.schabi.newpipe.extractor.stream.DeliveryMethod;
+import org.schabi.newpipe.extractor.stream.Stream;
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+import org.schabi.newpipe.extractor.stream.StreamType;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Class which generates the DASH manifests of all the {@link DeliveryType#OTF OTF} or
+ * post-live-DVR streams of a YouTube video at once.
+ *
+ * <p>
+ * Generating the manifest of such a stream requires to fetch its initialization sequence, and
+ * HTML5 streaming URLs may be redirected several times before this sequence is returned. Instead
+ * of doing these requests one stream after the other, this class:
+ * </p>
+ *
+ * <ul>
+ *     <li>fetches the initialization sequences of streams concurrently;</li>
+ *     <li>fetches first the initialization sequence of a single stream for each streaming host,
+ *     and then the ones of the other streams on this host, directly from the host to which the
+ *     first stream has been redirected.</li>
+ * </ul>
+ *
+ * <p>
+ * Manifests generated are cached by {@link YoutubeOtfDashManifestCreator} and
+ * {@link YoutubePostLiveStreamDvrDashManifestCreator}, like manifests generated one by one.
+ * Progressive streams are not handled by this class, as generating their manifests doesn't need
+ * any request: use {@link YoutubeProgressiveDashManifestCreator} for them.
+ * </p>
+ */
+public final class YoutubeDashManifestBatchCreator {
+
+    private YoutubeDashManifestBatchCreator() {
+    }
+
+    /**
+     * Result of a batch manifest creation: the manifests generated and the errors which occurred,
+     * by itag.
+     */
+    public static final class Result {
+        @Nonnull
+        private final Map<Integer, String> manifests;
+        @Nonnull
+        private final Map<Integer, Exception> errors;
+
+        Result(@Nonnull final Map<Integer, String> manifests,
+               @Nonnull final Map<Integer, Exception> errors) {
+            this.manifests = Collections.unmodifiableMap(manifests);
+            this.errors = Collections.unmodifiableMap(errors);
+        }
+
+        /**
+         * @return the manifests which have been generated, by itag, in the order of the streams
+         */
+        @Nonnull
+        public Map<Integer, String> getManifests() {
+            return manifests;
+        }
+
+        /**
+         * @return the exceptions thrown when generating manifests, by itag, in the order of the
+         * streams
+         */
+        @Nonnull
+        public Map<Integer, Exception> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Generate the DASH manifests of the OTF or post-live-DVR streams of a {@link StreamInfo}, on
+     * the {@link ConcurrencyUtils#getDefaultExecutor() default executor}.
+     *
+     * @param streamInfo the {@link StreamInfo} of a YouTube video
+     * @return the manifests generated and the errors which occurred, by itag
+     * @see #fromStreamInfo(StreamInfo, Executor)
+     */
+    @Nonnull
+    public static Result fromStreamInfo(@Nonnull final StreamInfo streamInfo) {
+        return fromStreamInfo(streamInfo, ConcurrencyUtils.getDefaultExecutor());
+    }
+
+    /**
+     * Generate the DASH manifests of the OTF or post-live-DVR streams of a {@link StreamInfo}.
+     *
+     * <p>
+     * The video-only streams, audio streams and video streams of the {@link StreamInfo} are
+     * considered, in this order.
+     * </p>
+     *
+     * @param streamInfo the {@link StreamInfo} of a YouTube video
+     * @param executor   the {@link Executor} on which initialization sequences are fetched
+     * @return the manifests generated and the errors which occurred, by itag
+     */
+    @Nonnull
+    public static Result fromStreamInfo(@Nonnull final StreamInfo streamInfo,
+                                        @Nonnull final Executor executor) {
+        final List<Stream> streams = new ArrayList<>(streamInfo.getVideoOnlyStreams());
+        streams.addAll(streamInfo.getAudioStreams());
+        streams.addAll(streamInfo.getVideoStreams());
+        return fromStreams(streams, streamInfo.getStreamType(), streamInfo.getDuration(),
+                executor);
+    }
+
+    /**
+     * Generate the DASH manifests of OTF or post-live-DVR streams.
+     *
+     * <p>
+     * Streams which are not delivered with {@link DeliveryMethod#DASH DASH}, which have no
+     * {@link ItagItem} or whose content is already a playable URL are ignored, as well as
+     * streams with an itag already seen.
+     * </p>
+     *
+     * @param streams                 the streams of a YouTube video
+     * @param streamType              the {@link StreamType} of the video, which determines
+     *                                whether streams are OTF or post-live-DVR streams
+     * @param durationSecondsFallback the duration of the video, which will be used if the
+     *                                duration could not be extracted from the first sequence
+     * @param executor                the {@link Executor} on which initialization sequences are
+     *                                fetched
+     * @return the manifests generated and the errors which occurred, by itag
+     */
+    @Nonnull
+    public static Result fromStreams(@Nonnull final List<? extends Stream> streams,
+                                     @Nonnull final StreamType streamType,
+                                     final long durationSecondsFallback,
+                                     @Nonnull final Executor executor) {
+        final boolean postLiveDvr = streamType == StreamType.POST_LIVE_STREAM
+                || streamType == StreamType.POST_LIVE_AUDIO_STREAM;
+        final Map<String, String> redirectedHosts = new ConcurrentHashMap<>();
+        // The first stream of each host, whose redirections are followed before the other
+        // streams of this host are requested
+        final Map<String, CompletableFuture<String>> firstStreamsByHost = new HashMap<>();
+        final Map<Integer, CompletableFuture<String>> futures = new LinkedHashMap<>();
+
+        for (final Stream stream : streams) {
+            final ItagItem itagItem = stream.getItagItem();
+            if (stream.getDeliveryMethod() != DeliveryMethod.DASH || stream.isUrl()
+                    || itagItem == null || futures.containsKey(itagItem.id)) {
+                continue;
+            }
+
+            final String url = stream.getContent();
+            final ConcurrencyUtils.ExtractionSupplier<String> creation = postLiveDvr
+                    ? () -> YoutubePostLiveStreamDvrDashManifestCreator
+                            .fromPostLiveStreamDvrStreamingUrl(url, itagItem,
+                                    itagItem.getTargetDurationSec(), durationSecondsFallback,
+                                    redirectedHosts)
+                    : () -> YoutubeOtfDashManifestCreator.fromOtfStreamingUrl(url, itagItem,
+                            durationSecondsFallback, redirectedHosts);
+
+            final String host = getHost(url);
+            final CompletableFuture<String> firstStream =
+                    host == null ? null : firstStreamsByHost.get(host);
+            final CompletableFuture<String> future;
+            if (firstStream == null) {
+                future = ConcurrencyUtils.supplyAsync(creation, executor);
+                if (host != null) {
+                    firstStreamsByHost.put(host, future);
+                }
+            } else {
+                future = firstStream.handle((manifest, throwable) -> null)
+                        .thenCompose(ignored -> ConcurrencyUtils.supplyAsync(creation, executor));
+            }
+            futures.put(itagItem.id, future);
+        }
+
+        final Map<Integer, String> manifests = new LinkedHashMap<>();
+        final Map<Integer, Exception> errors = new LinkedHashMap<>();
+        for (final Map.Entry<Integer, CompletableFuture<String>> entry : futures.entrySet()) {
+            try {
+                manifests.put(entry.getKey(), ConcurrencyUtils.await(entry.getValue()));
+            } catch (final Exception e) {
+                errors.put(entry.getKey(), e);
+            }
+        }
+        return new Result(manifests, errors);
+    }
+}
@@ -20,32 +20,20 @@ import org.schabi.newpipe.extractor.services.youtube.DeliveryType;
 import org.schabi.newpipe.extractor.services.youtube.ItagItem;
 import org.schabi.newpipe.extractor.stream.AudioTrackType;
 import org.schabi.newpipe.extractor.utils.ManifestCreatorCache;
-import org.w3c.dom.Attr;
-import org.w3c.dom.DOMException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
-import java.io.StringWriter;
+import java.net.MalformedURLException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 
 /**
  * Utilities and constants for YouTube DASH manifest creators.
@@ -55,8 +43,8 @@ import javax.xml.transform.stream.StreamResult;
  * </p>
  *
  * <p>
- * Generation of DASH documents and their conversion as a string is done using external classes
- * from {@link org.w3c.dom} and {@link javax.xml} packages.
+ * DASH manifests are written as strings with a {@link DashManifestWriter}, element after element,
+ * in document order.
  * </p>
  */
 public final class YoutubeDashManifestCreatorsUtils {
@@ -101,65 +89,51 @@ public final class YoutubeDashManifestCreatorsUtils {
     public static final String INITIALIZATION = "Initialization";
 
     /**
-     * Create an attribute with {@link Document#createAttribute(String)}, assign to it the provided
-     * name and value, then add it to the provided element using {@link
-     * Element#setAttributeNode(Attr)}.
-     *
-     * @param element element to which to add the created node
-     * @param doc     document to use to create the attribute
-     * @param name    name of the attribute
-     * @param value   value of the attribute, will be set using {@link Attr#setValue(String)}
-     */
-    public static void setAttribute(final Element element,
-                                    final Document doc,
-                                    final String name,
-                                    final String value) {
-        final Attr attr = doc.createAttribute(name);
-        attr.setValue(value);
-        element.setAttributeNode(attr);
-    }
-
-    /**
-     * Generate a {@link Document} with common manifest creator elements added to it.
+     * Create a {@link DashManifestWriter} and generate common manifest creator elements with it.
      *
      * <br>
      * Those are:
      * <ul>
-     *     <li>{@code MPD} (using {@link #generateDocumentAndMpdElement(long)});</li>
-     *     <li>{@code Period} (using {@link #generatePeriodElement(Document)});</li>
-     *     <li>{@code AdaptationSet} (using {@link #generateAdaptationSetElement(Document,
-     *     ItagItem)});</li>
-     *     <li>{@code Role} (using {@link #generateRoleElement(Document, ItagItem)});</li>
-     *     <li>{@code Representation} (using {@link #generateRepresentationElement(Document,
-     *     ItagItem)});</li>
+     *     <li>{@code MPD} (using {@link #generateMpdElement(DashManifestWriter, long)});</li>
+     *     <li>{@code Period} (using {@link #generatePeriodElement(DashManifestWriter)});</li>
+     *     <li>{@code AdaptationSet} (using {@link #generateAdaptationSetElement(
+     *     DashManifestWriter, ItagItem)});</li>
+     *     <li>{@code Role} (using {@link #generateRoleElement(DashManifestWriter, ItagItem)});</li>
+     *     <li>{@code Representation} (using {@link #generateRepresentationElement(
+     *     DashManifestWriter, ItagItem)});</li>
      *     <li>and, for audio streams, {@code AudioChannelConfiguration} (using
-     *     {@link #generateAudioChannelConfigurationElement(Document, ItagItem)}).</li>
+     *     {@link #generateAudioChannelConfigurationElement(DashManifestWriter, ItagItem)}).</li>
      * </ul>
      *
+     * <p>
+     * The {@code <Representation>} element is left open, so that the elements specific to each
+     * delivery type can be added to it.
+     * </p>
      *
      * @param itagItem the {@link ItagItem} associated to the stream, which must not be null
      * @param streamDuration the duration of the stream, in milliseconds
-     * @return a {@link Document} with the common elements added in it
+     * @return a {@link DashManifestWriter} with the common elements written in it
      */
     @Nonnull
-    public static Document generateDocumentAndDoCommonElementsGeneration(
+    public static DashManifestWriter generateManifestAndDoCommonElementsGeneration(
             @Nonnull final ItagItem itagItem,
             final long streamDuration) throws CreationException {
-        final Document doc = generateDocumentAndMpdElement(streamDuration);
+        final DashManifestWriter writer = new DashManifestWriter();
 
-        generatePeriodElement(doc);
-        generateAdaptationSetElement(doc, itagItem);
-        generateRoleElement(doc, itagItem);
-        generateRepresentationElement(doc, itagItem);
+        generateMpdElement(writer, streamDuration);
+        generatePeriodElement(writer);
+        generateAdaptationSetElement(writer, itagItem);
+        generateRoleElement(writer, itagItem);
+        generateRepresentationElement(writer, itagItem);
         if (itagItem.itagType == ItagItem.ItagType.AUDIO) {
-            generateAudioChannelConfigurationElement(doc, itagItem);
+            generateAudioChannelConfigurationElement(writer, itagItem);
         }
 
-        return doc;
+        return writer;
     }
 
     /**
-     * Create a {@link Document} instance and generate the {@code <MPD>} element of the manifest.
+     * Start the {@code <MPD>} element of the manifest.
      *
      * <p>
      * The generated {@code <MPD>} element looks like the manifest returned into the player
@@ -176,106 +150,77 @@ public final class YoutubeDashManifestCreatorsUtils {
      * the decimal point)).
      * </p>
      *
+     * @param writer   the {@link DashManifestWriter} of the manifest, in which nothing has been
+     *                 written yet
      * @param duration the duration of the stream, in milliseconds
-     * @return a {@link Document} instance which contains a {@code <MPD>} element
      */
-    @Nonnull
-    public static Document generateDocumentAndMpdElement(final long duration)
-            throws CreationException {
-        try {
-            final Document doc = newDocument();
-
-            final Element mpdElement = doc.createElement(MPD);
-            doc.appendChild(mpdElement);
-
-            setAttribute(mpdElement, doc, "xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance");
-            setAttribute(mpdElement, doc, "xmlns", "urn:mpeg:DASH:schema:MPD:2011");
-            setAttribute(mpdElement, doc, "xsi:schemaLocation",
-                    "urn:mpeg:DASH:schema:MPD:2011 DASH-MPD.xsd");
-            setAttribute(mpdElement, doc, "minBufferTime", "PT1.500S");
-            setAttribute(mpdElement, doc, "profiles", "urn:mpeg:dash:profile:full:2011");
-            setAttribute(mpdElement, doc, "type", "static");
-            setAttribute(mpdElement, doc, "mediaPresentationDuration",
-                    String.format(Locale.ENGLISH, "PT%.3fS", duration / 1000.0));
-
-            return doc;
-        } catch (final Exception e) {
-            throw new CreationException(
-                    "Could not generate the DASH manifest or append the MPD doc to it", e);
-        }
+    public static void generateMpdElement(@Nonnull final DashManifestWriter writer,
+                                          final long duration) throws CreationException {
+        writer.startElement(MPD)
+                .attribute("xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance")
+                .attribute("xmlns", "urn:mpeg:DASH:schema:MPD:2011")
+                .attribute("xsi:schemaLocation", "urn:mpeg:DASH:schema:MPD:2011 DASH-MPD.xsd")
+                .attribute("minBufferTime", "PT1.500S")
+                .attribute("profiles", "urn:mpeg:dash:profile:full:2011")
+                .attribute("type", "static")
+                .attribute("mediaPresentationDuration",
+                        String.format(Locale.ENGLISH, "PT%.3fS", duration / 1000.0));
     }
 
     /**
-     * Generate the {@code <Period>} element, appended as a child of the {@code <MPD>} element.
+     * Start the {@code <Period>} element, as a child of the {@code <MPD>} element.
      *
      * <p>
-     * The {@code <MPD>} element needs to be generated before this element with
-     * {@link #generateDocumentAndMpdElement(long)}.
+     * The {@code <MPD>} element needs to be started right before this element with
+     * {@link #generateMpdElement(DashManifestWriter, long)}.
      * </p>
      *
-     * @param doc the {@link Document} on which the {@code <Period>} element will be appended
+     * @param writer the {@link DashManifestWriter} of the manifest
      */
-    public static void generatePeriodElement(@Nonnull final Document doc)
+    public static void generatePeriodElement(@Nonnull final DashManifestWriter writer)
             throws CreationException {
-        try {
-            final Element mpdElement = (Element) doc.getElementsByTagName(MPD).item(0);
-            final Element periodElement = doc.createElement(PERIOD);
-            mpdElement.appendChild(periodElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement(PERIOD, e);
-        }
+        writer.startElement(PERIOD);
     }
 
     /**
-     * Generate the {@code <AdaptationSet>} element, appended as a child of the {@code <Period>}
-     * element.
+     * Start the {@code <AdaptationSet>} element, as a child of the {@code <Period>} element.
      *
      * <p>
-     * The {@code <Period>} element needs to be generated before this element with
-     * {@link #generatePeriodElement(Document)}.
+     * The {@code <Period>} element needs to be started right before this element with
+     * {@link #generatePeriodElement(DashManifestWriter)}.
      * </p>
      *
-     * @param doc the {@link Document} on which the {@code <Period>} element will be appended
+     * @param writer   the {@link DashManifestWriter} of the manifest
      * @param itagItem the {@link ItagItem} corresponding to the stream, which must not be null
      */
-    public static void generateAdaptationSetElement(@Nonnull final Document doc,
+    public static void generateAdaptationSetElement(@Nonnull final DashManifestWriter writer,
                                                     @Nonnull final ItagItem itagItem)
             throws CreationException {
-        try {
-            final Element periodElement = (Element) doc.getElementsByTagName(PERIOD)
-                    .item(0);
-            final Element adaptationSetElement = doc.createElement(ADAPTATION_SET);
-
-            setAttribute(adaptationSetElement, doc, "id", "0");
+        final MediaFormat mediaFormat = itagItem.getMediaFormat();
+        if (mediaFormat == null || isNullOrEmpty(mediaFormat.getMimeType())) {
+            throw CreationException.couldNotAddElement(ADAPTATION_SET,
+                    "the MediaFormat or its mime type is null or empty");
+        }
 
-            final MediaFormat mediaFormat = itagItem.getMediaFormat();
-            if (mediaFormat == null || isNullOrEmpty(mediaFormat.getMimeType())) {
-                throw CreationException.couldNotAddElement(ADAPTATION_SET,
-                        "the MediaFormat or its mime type is null or empty");
-            }
+        writer.startElement(ADAPTATION_SET)
+                .attribute("id", "0");
 
-            if (itagItem.itagType == ItagItem.ItagType.AUDIO) {
-                final Locale audioLocale = itagItem.getAudioLocale();
-                if (audioLocale != null) {
-                    final String audioLanguage = audioLocale.getLanguage();
-                    if (!audioLanguage.isEmpty()) {
-                        setAttribute(adaptationSetElement, doc, "lang", audioLanguage);
-                    }
+        if (itagItem.itagType == ItagItem.ItagType.AUDIO) {
+            final Locale audioLocale = itagItem.getAudioLocale();
+            if (audioLocale != null) {
+                final String audioLanguage = audioLocale.getLanguage();
+                if (!audioLanguage.isEmpty()) {
+                    writer.attribute("lang", audioLanguage);
                 }
             }
-
-            setAttribute(adaptationSetElement, doc, "mimeType", mediaFormat.getMimeType());
-            setAttribute(adaptationSetElement, doc, "subsegmentAlignment", "true");
-
-            periodElement.appendChild(adaptationSetElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement(ADAPTATION_SET, e);
         }
+
+        writer.attribute("mimeType", mediaFormat.getMimeType())
+                .attribute("subsegmentAlignment", "true");
     }
 
     /**
-     * Generate the {@code <Role>} element, appended as a child of the {@code <AdaptationSet>}
-     * element.
+     * Generate the {@code <Role>} element, as a child of the {@code <AdaptationSet>} element.
      *
      * <p>
      * This element, with its attributes and values, is:
@@ -288,28 +233,20 @@ public final class YoutubeDashManifestCreatorsUtils {
      * </p>
      *
      * <p>
-     * The {@code <AdaptationSet>} element needs to be generated before this element with
-     * {@link #generateAdaptationSetElement(Document, ItagItem)}).
+     * The {@code <AdaptationSet>} element needs to be started right before this element with
+     * {@link #generateAdaptationSetElement(DashManifestWriter, ItagItem)}).
      * </p>
      *
-     * @param doc      the {@link Document} on which the {@code <Role>} element will be appended
+     * @param writer   the {@link DashManifestWriter} of the manifest
      * @param itagItem the {@link ItagItem} corresponding to the stream, which must not be null
      */
-    public static void generateRoleElement(@Nonnull final Document doc,
+    public static void generateRoleElement(@Nonnull final DashManifestWriter writer,
                                            @Nonnull final ItagItem itagItem)
             throws CreationException {
-        try {
-            final Element adaptationSetElement = (Element) doc.getElementsByTagName(
-                    ADAPTATION_SET).item(0);
-            final Element roleElement = doc.createElement(ROLE);
-
-            setAttribute(roleElement, doc, "schemeIdUri", "urn:mpeg:DASH:role:2011");
-            setAttribute(roleElement, doc, "value", getRoleValue(itagItem.getAudioTrackType()));
-
-            adaptationSetElement.appendChild(roleElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement(ROLE, e);
-        }
+        writer.startElement(ROLE)
+                .attribute("schemeIdUri", "urn:mpeg:DASH:role:2011")
+                .attribute("value", getRoleValue(itagItem.getAudioTrackType()))
+                .endElement();
     }
 
     /**
@@ -337,84 +274,68 @@ public final class YoutubeDashManifestCreatorsUtils {
     }
 
     /**
-     * Generate the {@code <Representation>} element, appended as a child of the
-     * {@code <AdaptationSet>} element.
+     * Start the {@code <Representation>} element, as a child of the {@code <AdaptationSet>}
+     * element.
      *
      * <p>
-     * The {@code <AdaptationSet>} element needs to be generated before this element with
-     * {@link #generateAdaptationSetElement(Document, ItagItem)}).
+     * The {@code <Role>} element needs to be generated right before this element with
+     * {@link #generateRoleElement(DashManifestWriter, ItagItem)}).
      * </p>
      *
-     * @param doc the {@link Document} on which the {@code <SegmentTimeline>} element will be
-     *            appended
+     * @param writer   the {@link DashManifestWriter} of the manifest
      * @param itagItem the {@link ItagItem} to use, which must not be null
      */
-    public static void generateRepresentationElement(@Nonnull final Document doc,
+    public static void generateRepresentationElement(@Nonnull final DashManifestWriter writer,
                                                      @Nonnull final ItagItem itagItem)
             throws CreationException {
-        try {
-            final Element adaptationSetElement = (Element) doc.getElementsByTagName(
-                    ADAPTATION_SET).item(0);
-            final Element representationElement = doc.createElement(REPRESENTATION);
+        final int id = itagItem.id;
+        if (id <= 0) {
+            throw CreationException.couldNotAddElement(REPRESENTATION,
+                    "the id of the ItagItem is <= 0");
+        }
 
-            final int id = itagItem.id;
-            if (id <= 0) {
-                throw CreationException.couldNotAddElement(REPRESENTATION,
-                        "the id of the ItagItem is <= 0");
-            }
-            setAttribute(representationElement, doc, "id", String.valueOf(id));
+        final String codec = itagItem.getCodec();
+        if (isNullOrEmpty(codec)) {
+            throw CreationException.couldNotAddElement(ADAPTATION_SET,
+                    "the codec value of the ItagItem is null or empty");
+        }
 
-            final String codec = itagItem.getCodec();
-            if (isNullOrEmpty(codec)) {
-                throw CreationException.couldNotAddElement(ADAPTATION_SET,
-                        "the codec value of the ItagItem is null or empty");
-            }
-            setAttribute(representationElement, doc, "codecs", codec);
-            setAttribute(representationElement, doc, "startWithSAP", "1");
-            setAttribute(representationElement, doc, "maxPlayoutRate", "1");
+        final int bitrate = itagItem.getBitrate();
+        if (bitrate <= 0) {
+            throw CreationException.couldNotAddElement(REPRESENTATION,
+                    "the bitrate of the ItagItem is <= 0");
+        }
 
-            final int bitrate = itagItem.getBitrate();
-            if (bitrate <= 0) {
+        writer.startElement(REPRESENTATION)
+                .attribute("id", String.valueOf(id))
+                .attribute("codecs", codec)
+                .attribute("startWithSAP", "1")
+                .attribute("maxPlayoutRate", "1")
+                .attribute("bandwidth", String.valueOf(bitrate));
+
+        if (itagItem.itagType == ItagItem.ItagType.VIDEO
+                || itagItem.itagType == ItagItem.ItagType.VIDEO_ONLY) {
+            final int height = itagItem.getHeight();
+            final int width = itagItem.getWidth();
+            if (height <= 0 && width <= 0) {
                 throw CreationException.couldNotAddElement(REPRESENTATION,
-                        "the bitrate of the ItagItem is <= 0");
+                        "both width and height of the ItagItem are <= 0");
             }
-            setAttribute(representationElement, doc, "bandwidth", String.valueOf(bitrate));
-
-            if (itagItem.itagType == ItagItem.ItagType.VIDEO
-                    || itagItem.itagType == ItagItem.ItagType.VIDEO_ONLY) {
-                final int height = itagItem.getHeight();
-                final int width = itagItem.getWidth();
-                if (height <= 0 && width <= 0) {
-                    throw CreationException.couldNotAddElement(REPRESENTATION,
-                            "both width and height of the ItagItem are <= 0");
-                }
-
-                if (width > 0) {
-                    setAttribute(representationElement, doc, "width", String.valueOf(width));
-                }
-                setAttribute(representationElement, doc, "height",
-                        String.valueOf(itagItem.getHeight()));
 
-                final int fps = itagItem.getFps();
-                if (fps > 0) {
-                    setAttribute(representationElement, doc, "frameRate", String.valueOf(fps));
-                }
+            if (width > 0) {
+                writer.attribute("width", String.valueOf(width));
             }
+            writer.attribute("height", String.valueOf(height));
 
-            if (itagItem.itagType == ItagItem.ItagType.AUDIO && itagItem.getSampleRate() > 0) {
-                final Attr audioSamplingRateAttribute = doc.createAttribute(
-                        "audioSamplingRate");
-                audioSamplingRateAttribute.setValue(String.valueOf(itagItem.getSampleRate()));
+            final int fps = itagItem.getFps();
+            if (fps > 0) {
+                writer.attribute("frameRate", String.valueOf(fps));
             }
-
-            adaptationSetElement.appendChild(representationElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement(REPRESENTATION, e);
         }
     }
 
     /**
-     * Generate the {@code <AudioChannelConfiguration>} element, appended as a child of the
+     * Generate the {@code <AudioChannelConfiguration>} element, as a child of the
      * {@code <Representation>} element.
      *
      * <p>
@@ -433,67 +354,76 @@ public final class YoutubeDashManifestCreatorsUtils {
      * </p>
      *
      * <p>
-     * The {@code <Representation>} element needs to be generated before this element with
-     * {@link #generateRepresentationElement(Document, ItagItem)}).
+     * The {@code <Representation>} element needs to be started right before this element with
+     * {@link #generateRepresentationElement(DashManifestWriter, ItagItem)}).
      * </p>
      *
-     * @param doc the {@link Document} on which the {@code <AudioChannelConfiguration>} element will
-     *            be appended
+     * @param writer   the {@link DashManifestWriter} of the manifest
      * @param itagItem the {@link ItagItem} to use, which must not be null
      */
     public static void generateAudioChannelConfigurationElement(
-            @Nonnull final Document doc,
+            @Nonnull final DashManifestWriter writer,
             @Nonnull final ItagItem itagItem) throws CreationException {
-        try {
-            final Element representationElement = (Element) doc.getElementsByTagName(
-                    REPRESENTATION).item(0);
-            final Element audioChannelConfigurationElement = doc.createElement(
-                    AUDIO_CHANNEL_CONFIGURATION);
-
-            setAttribute(audioChannelConfigurationElement, doc, "schemeIdUri",
-                    "urn:mpeg:dash:23003:3:audio_channel_configuration:2011");
-
-            if (itagItem.getAudioChannels() <= 0) {
-                throw new CreationException("the number of audioChannels in the ItagItem is <= 0: "
-                        + itagItem.getAudioChannels());
-            }
-            setAttribute(audioChannelConfigurationElement, doc, "value",
-                    String.valueOf(itagItem.getAudioChannels()));
-
-            representationElement.appendChild(audioChannelConfigurationElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement(AUDIO_CHANNEL_CONFIGURATION, e);
+        if (itagItem.getAudioChannels() <= 0) {
+            throw new CreationException("the number of audioChannels in the ItagItem is <= 0: "
+                    + itagItem.getAudioChannels());
         }
+
+        writer.startElement(AUDIO_CHANNEL_CONFIGURATION)
+                .attribute("schemeIdUri",
+                        "urn:mpeg:dash:23003:3:audio_channel_configuration:2011")
+                .attribute("value", String.valueOf(itagItem.getAudioChannels()))
+                .endElement();
     }
 
     /**
-     * Convert a DASH manifest {@link Document doc} to a string and cache it.
+     * End the elements of a DASH manifest which are still open, get it as a string and cache it.
+     *
+     * <p>
+     * The manifest is cached until the streaming URL expires, according to its {@code expire}
+     * parameter, as the URLs it contains are not valid after that.
+     * </p>
      *
      * @param originalBaseStreamingUrl the original base URL of the stream
-     * @param doc                      the doc to be converted
+     * @param writer                   the {@link DashManifestWriter} of the manifest
      * @param manifestCreatorCache     the {@link ManifestCreatorCache} on which store the string
      *                                 generated
-     * @return the DASH manifest {@link Document doc} converted to a string
+     * @return the DASH manifest
      */
     public static String buildAndCacheResult(
             @Nonnull final String originalBaseStreamingUrl,
-            @Nonnull final Document doc,
+            @Nonnull final DashManifestWriter writer,
             @Nonnull final ManifestCreatorCache<String, String> manifestCreatorCache)
             throws CreationException {
+        final String manifest = writer.build();
+        manifestCreatorCache.put(originalBaseStreamingUrl, manifest,
+                getExpirationTime(originalBaseStreamingUrl));
+        return manifest;
+    }
 
+    /**
+     * Get the time at which a streaming URL expires, from its {@code expire} parameter.
+     *
+     * @param streamingUrl a streaming URL
+     * @return the time at which the URL expires, in milliseconds since the epoch, or
+     * {@link ManifestCreatorCache#NO_EXPIRATION} if it could not be determined
+     */
+    public static long getExpirationTime(@Nonnull final String streamingUrl) {
         try {
-            final String documentXml = documentToXml(doc);
-            manifestCreatorCache.put(originalBaseStreamingUrl, documentXml);
-            return documentXml;
-        } catch (final Exception e) {
-            throw new CreationException(
-                    "Could not convert the DASH manifest generated to a string", e);
+            final String expire = Utils.getQueryValue(Utils.stringToURL(streamingUrl), "expire");
+            if (expire != null) {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(expire));
+            }
+        } catch (final MalformedURLException | IllegalArgumentException
+                       | IndexOutOfBoundsException ignored) {
+            // The streaming URL has no valid expire parameter
         }
+        return ManifestCreatorCache.NO_EXPIRATION;
     }
 
     /**
-     * Generate the {@code <SegmentTemplate>} element, appended as a child of the
-     * {@code <Representation>} element.
+     * Start the {@code <SegmentTemplate>} element, as a child of the {@code <Representation>}
+     * element.
      *
      * <p>
      * This method is only used when generating DASH manifests from OTF and post-live-DVR streams.
@@ -512,16 +442,16 @@ public final class YoutubeDashManifestCreatorsUtils {
      *
      * <p>
      * The {@code <Representation>} element needs to be generated before this element with
-     * {@link #generateRepresentationElement(Document, ItagItem)}).
+     * {@link #generateRepresentationElement(DashManifestWriter, ItagItem)}), and it must be the
+     * current element of the writer.
      * </p>
      *
-     * @param doc          the {@link Document} on which the {@code <SegmentTemplate>} element will
-     *                     be appended
+     * @param writer       the {@link DashManifestWriter} of the manifest
      * @param baseUrl      the base URL of the OTF/post-live-DVR stream
      * @param deliveryType the stream {@link DeliveryType delivery type}, which must be either
      * {@link DeliveryType#OTF OTF} or {@link DeliveryType#LIVE LIVE}
      */
-    public static void generateSegmentTemplateElement(@Nonnull final Document doc,
+    public static void generateSegmentTemplateElement(@Nonnull final DashManifestWriter writer,
                                                       @Nonnull final String baseUrl,
                                                       final DeliveryType deliveryType)
             throws CreationException {
@@ -530,53 +460,34 @@ public final class YoutubeDashManifestCreatorsUtils {
                     + deliveryType);
         }
 
-        try {
-            final Element representationElement = (Element) doc.getElementsByTagName(
-                    REPRESENTATION).item(0);
-            final Element segmentTemplateElement = doc.createElement(SEGMENT_TEMPLATE);
-
-            // The first sequence of post DVR streams is the beginning of the video stream and not
-            // an initialization segment
-            setAttribute(segmentTemplateElement, doc, "startNumber",
-                    deliveryType == DeliveryType.LIVE ? "0" : "1");
-            setAttribute(segmentTemplateElement, doc, "timescale", "1000");
-
-            // Post-live-DVR/ended livestreams streams don't require an initialization sequence
-            if (deliveryType != DeliveryType.LIVE) {
-                setAttribute(segmentTemplateElement, doc, "initialization", baseUrl + SQ_0);
-            }
-
-            setAttribute(segmentTemplateElement, doc, "media", baseUrl + "&sq=$Number$");
+        // The first sequence of post DVR streams is the beginning of the video stream and not
+        // an initialization segment
+        writer.startElement(SEGMENT_TEMPLATE)
+                .attribute("startNumber", deliveryType == DeliveryType.LIVE ? "0" : "1")
+                .attribute("timescale", "1000");
 
-            representationElement.appendChild(segmentTemplateElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement(SEGMENT_TEMPLATE, e);
+        // Post-live-DVR/ended livestreams streams don't require an initialization sequence
+        if (deliveryType != DeliveryType.LIVE) {
+            writer.attribute("initialization", baseUrl + SQ_0);
         }
+
+        writer.attribute("media", baseUrl + "&sq=$Number$");
     }
 
     /**
-     * Generate the {@code <SegmentTimeline>} element, appended as a child of the
-     * {@code <SegmentTemplate>} element.
+     * Start the {@code <SegmentTimeline>} element, as a child of the {@code <SegmentTemplate>}
+     * element.
      *
      * <p>
-     * The {@code <SegmentTemplate>} element needs to be generated before this element with
-     * {@link #generateSegmentTemplateElement(Document, String, DeliveryType)}.
+     * The {@code <SegmentTemplate>} element needs to be started right before this element with
+     * {@link #generateSegmentTemplateElement(DashManifestWriter, String, DeliveryType)}.
      * </p>
      *
-     * @param doc the {@link Document} on which the {@code <SegmentTimeline>} element will be
-     *            appended
+     * @param writer the {@link DashManifestWriter} of the manifest
      */
-    public static void generateSegmentTimelineElement(@Nonnull final Document doc)
+    public static void generateSegmentTimelineElement(@Nonnull final DashManifestWriter writer)
             throws CreationException {
-        try {
-            final Element segmentTemplateElement = (Element) doc.getElementsByTagName(
-                    SEGMENT_TEMPLATE).item(0);
-            final Element segmentTimelineElement = doc.createElement(SEGMENT_TIMELINE);
-
-            segmentTemplateElement.appendChild(segmentTimelineElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement(SEGMENT_TIMELINE, e);
-        }
+        writer.startElement(SEGMENT_TIMELINE);
     }
 
     /**
@@ -652,58 +563,88 @@ public final class YoutubeDashManifestCreatorsUtils {
     }
 
     /**
-     * Generate a new {@link DocumentBuilder} secured from XXE attacks, on platforms which
-     * support setting {@link XMLConstants#ACCESS_EXTERNAL_DTD} and
-     * {@link XMLConstants#ACCESS_EXTERNAL_SCHEMA} in {@link DocumentBuilderFactory} instances.
+     * Get the "initialization" {@link Response} of a stream, reusing the redirections previously
+     * followed by streams served by the same host.
+     *
+     * <p>
+     * Streams of a same video are usually served by the same host, and video servers redirect
+     * them to the same other host. When a redirection of the host of {@code baseStreamingUrl} is
+     * known, the request is made directly to the host to which it was redirected, saving the
+     * redirections round trips. If this request fails, the request is made to the original host,
+     * as {@link #getInitializationResponse(String, ItagItem, DeliveryType)} does.
+     * </p>
+     *
+     * <p>
+     * The host to which the original host has been redirected is saved in
+     * {@code redirectedHosts}, which may be shared by concurrent requests if it is thread-safe.
+     * </p>
      *
-     * @return an instance of {@link Document} secured against XXE attacks on supported platforms,
-     *         that should then be convertible to an XML string without security problems
+     * @param baseStreamingUrl the base URL of the stream, which must not be null
+     * @param itagItem         the {@link ItagItem} of stream, which must not be null
+     * @param deliveryType     the {@link DeliveryType} of the stream
+     * @param redirectedHosts  the hosts to which streaming hosts have been redirected, by
+     *                         streaming host, or {@code null} to not reuse redirections
+     * @return the "initialization" response, without redirections on the network on which the
+     * request(s) is/are made
      */
-    private static Document newDocument() throws ParserConfigurationException {
-        final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-        try {
-            documentBuilderFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            documentBuilderFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-        } catch (final Exception ignored) {
-            // Ignore exceptions as setting these attributes to secure XML generation is not
-            // supported by all platforms (like the Android implementation)
+    @Nonnull
+    public static Response getInitializationResponse(
+            @Nonnull final String baseStreamingUrl,
+            @Nonnull final ItagItem itagItem,
+            final DeliveryType deliveryType,
+            @Nullable final Map<String, String> redirectedHosts) throws CreationException {
+        if (redirectedHosts == null) {
+            return getInitializationResponse(baseStreamingUrl, itagItem, deliveryType);
         }
 
-        return documentBuilderFactory.newDocumentBuilder().newDocument();
-    }
+        final String host = getHost(baseStreamingUrl);
+        final String redirectedHost = host == null ? null : redirectedHosts.get(host);
+        if (redirectedHost != null) {
+            try {
+                final Response response = getInitializationResponse(
+                        replaceHost(baseStreamingUrl, host, redirectedHost), itagItem,
+                        deliveryType);
+                if (response.responseCode() == 200) {
+                    return response;
+                }
+            } catch (final CreationException ignored) {
+                // The redirection doesn't apply to this stream, use the original host
+            }
+        }
 
-    /**
-     * Generate a new {@link TransformerFactory} secured from XXE attacks, on platforms which
-     * support setting {@link XMLConstants#ACCESS_EXTERNAL_DTD} and
-     * {@link XMLConstants#ACCESS_EXTERNAL_SCHEMA} in {@link TransformerFactory} instances.
-     *
-     * @param doc the doc to convert, which must have been created using {@link #newDocument()} to
-     *            properly prevent XXE attacks
-     * @return the doc converted to an XML string, making sure there can't be XXE attacks
-     */
-    // Sonar warning is suppressed because it is still shown even if we apply its solution
-    @SuppressWarnings("squid:S2755")
-    private static String documentToXml(@Nonnull final Document doc)
-            throws TransformerException {
+        final Response response = getInitializationResponse(baseStreamingUrl, itagItem,
+                deliveryType);
+        final String latestHost = getHost(response.latestUrl());
+        if (host != null && latestHost != null && !host.equals(latestHost)
+                && response.responseCode() == 200) {
+            redirectedHosts.put(host, latestHost);
+        }
+        return response;
+    }
 
-        final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    @Nullable
+    static String getHost(@Nullable final String url) {
+        if (url == null) {
+            return null;
+        }
         try {
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-        } catch (final Exception ignored) {
-            // Ignore exceptions as setting these attributes to secure XML generation is not
-            // supported by all platforms (like the Android implementation)
+            return Utils.stringToURL(url).getHost();
+        } catch (final MalformedURLException e) {
+            return null;
         }
+    }
 
-        final Transformer transformer = transformerFactory.newTransformer();
-        transformer.setOutputProperty(OutputKeys.VERSION, "1.0");
-        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-        transformer.setOutputProperty(OutputKeys.STANDALONE, "no");
-
-        final StringWriter result = new StringWriter();
-        transformer.transform(new DOMSource(doc), new StreamResult(result));
-
-        return result.toString();
+    @Nonnull
+    private static String replaceHost(@Nonnull final String url,
+                                      @Nonnull final String host,
+                                      @Nonnull final String newHost) {
+        final String authority = "://" + host;
+        final int index = url.indexOf(authority);
+        if (index == -1) {
+            return url;
+        }
+        return url.substring(0, index) + "://" + newHost
+                + url.substring(index + authority.length());
     }
 
     /**
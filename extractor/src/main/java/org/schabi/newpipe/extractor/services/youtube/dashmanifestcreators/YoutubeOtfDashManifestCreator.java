@@ -2,14 +2,12 @@ package org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators;
 
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.ALR_YES;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.RN_0;
-import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.SEGMENT_TIMELINE;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.SQ_0;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.buildAndCacheResult;
-import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateDocumentAndDoCommonElementsGeneration;
+import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateManifestAndDoCommonElementsGeneration;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateSegmentTemplateElement;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateSegmentTimelineElement;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.getInitializationResponse;
-import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.setAttribute;
 import static org.schabi.newpipe.extractor.utils.Utils.isBlank;
 
 import org.schabi.newpipe.extractor.downloader.Response;
@@ -17,14 +15,12 @@ import org.schabi.newpipe.extractor.services.youtube.DeliveryType;
 import org.schabi.newpipe.extractor.services.youtube.ItagItem;
 import org.schabi.newpipe.extractor.utils.ManifestCreatorCache;
 import org.schabi.newpipe.extractor.utils.Utils;
-import org.w3c.dom.DOMException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 import java.util.Arrays;
-import java.util.Objects;
+import java.util.Map;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Class which generates DASH manifests of YouTube {@link DeliveryType#OTF OTF streams}.
@@ -35,7 +31,7 @@ public final class YoutubeOtfDashManifestCreator {
      * Cache of DASH manifests generated for OTF streams.
      */
     private static final ManifestCreatorCache<String, String> OTF_STREAMS_CACHE
-            = new ManifestCreatorCache<>();
+            = new ManifestCreatorCache<>(String::length);
 
     private YoutubeOtfDashManifestCreator() {
     }
@@ -102,15 +98,38 @@ public final class YoutubeOtfDashManifestCreator {
             @Nonnull final String otfBaseStreamingUrl,
             @Nonnull final ItagItem itagItem,
             final long durationSecondsFallback) throws CreationException {
-        if (OTF_STREAMS_CACHE.containsKey(otfBaseStreamingUrl)) {
-            return Objects.requireNonNull(OTF_STREAMS_CACHE.get(otfBaseStreamingUrl)).getSecond();
+        return fromOtfStreamingUrl(otfBaseStreamingUrl, itagItem, durationSecondsFallback, null);
+    }
+
+    /**
+     * Create DASH manifests from a YouTube OTF stream, reusing the redirections previously
+     * followed by streams served by the same host.
+     *
+     * @param otfBaseStreamingUrl     the base URL of the OTF stream, which must not be null
+     * @param itagItem                the {@link ItagItem} corresponding to the stream, which
+     *                                must not be null
+     * @param durationSecondsFallback the duration of the video, which will be used if the duration
+     *                                could not be extracted from the first sequence
+     * @param redirectedHosts         the hosts to which streaming hosts have been redirected, by
+     *                                streaming host, or {@code null} to not reuse redirections
+     * @return the manifest generated into a string
+     */
+    @Nonnull
+    static String fromOtfStreamingUrl(
+            @Nonnull final String otfBaseStreamingUrl,
+            @Nonnull final ItagItem itagItem,
+            final long durationSecondsFallback,
+            @Nullable final Map<String, String> redirectedHosts) throws CreationException {
+        final String cachedManifest = OTF_STREAMS_CACHE.getValue(otfBaseStreamingUrl);
+        if (cachedManifest != null) {
+            return cachedManifest;
         }
 
         String realOtfBaseStreamingUrl = otfBaseStreamingUrl;
         // Try to avoid redirects when streaming the content by saving the last URL we get
         // from video servers.
         final Response response = getInitializationResponse(realOtfBaseStreamingUrl,
-                itagItem, DeliveryType.OTF);
+                itagItem, DeliveryType.OTF, redirectedHosts);
         realOtfBaseStreamingUrl = response.latestUrl().replace(SQ_0, "")
                 .replace(RN_0, "").replace(ALR_YES, "");
 
@@ -147,14 +166,14 @@ public final class YoutubeOtfDashManifestCreator {
             streamDuration = durationSecondsFallback * 1000;
         }
 
-        final Document doc = generateDocumentAndDoCommonElementsGeneration(itagItem,
+        final DashManifestWriter writer = generateManifestAndDoCommonElementsGeneration(itagItem,
                 streamDuration);
 
-        generateSegmentTemplateElement(doc, realOtfBaseStreamingUrl, DeliveryType.OTF);
-        generateSegmentTimelineElement(doc);
-        generateSegmentElementsForOtfStreams(segmentDuration, doc);
+        generateSegmentTemplateElement(writer, realOtfBaseStreamingUrl, DeliveryType.OTF);
+        generateSegmentTimelineElement(writer);
+        generateSegmentElementsForOtfStreams(segmentDuration, writer);
 
-        return buildAndCacheResult(otfBaseStreamingUrl, doc, OTF_STREAMS_CACHE);
+        return buildAndCacheResult(otfBaseStreamingUrl, writer, OTF_STREAMS_CACHE);
     }
 
     /**
@@ -185,41 +204,37 @@ public final class YoutubeOtfDashManifestCreator {
      *
      * <p>
      * These elements will be appended as children of the {@code <SegmentTimeline>} element, which
-     * needs to be generated before these elements with
-     * {@link YoutubeDashManifestCreatorsUtils#generateSegmentTimelineElement(Document)}.
+     * needs to be started right before these elements with
+     * {@link YoutubeDashManifestCreatorsUtils#generateSegmentTimelineElement(DashManifestWriter)}.
      * </p>
      *
      * @param segmentDurations the sequences "length" or "length(r=repeat_count" extracted with the
      *                         regular expressions
-     * @param doc              the {@link Document} on which the {@code <S>} elements will be
-     *                         appended
+     * @param writer           the {@link DashManifestWriter} of the manifest
      */
     private static void generateSegmentElementsForOtfStreams(
             @Nonnull final String[] segmentDurations,
-            @Nonnull final Document doc) throws CreationException {
+            @Nonnull final DashManifestWriter writer) throws CreationException {
         try {
-            final Element segmentTimelineElement = (Element) doc.getElementsByTagName(
-                    SEGMENT_TIMELINE).item(0);
-
             for (final String segmentDuration : segmentDurations) {
-                final Element sElement = doc.createElement("S");
-
                 final String[] segmentLengthRepeat = segmentDuration.split("\\(r=");
                 // make sure segmentLengthRepeat[0], which is the length, is convertible to int
                 Integer.parseInt(segmentLengthRepeat[0]);
 
+                writer.startElement("S")
+                        .attribute("d", segmentLengthRepeat[0]);
+
                 // There are repetitions of a segment duration in other segments
                 if (segmentLengthRepeat.length > 1) {
                     final int segmentRepeatCount = Integer.parseInt(
                             Utils.removeNonDigitCharacters(segmentLengthRepeat[1]));
-                    setAttribute(sElement, doc, "r", String.valueOf(segmentRepeatCount));
+                    writer.attribute("r", String.valueOf(segmentRepeatCount));
                 }
-                setAttribute(sElement, doc, "d", segmentLengthRepeat[0]);
 
-                segmentTimelineElement.appendChild(sElement);
+                writer.endElement();
             }
 
-        } catch (final DOMException | IllegalStateException | IndexOutOfBoundsException
+        } catch (final IllegalStateException | IndexOutOfBoundsException
                        | NumberFormatException e) {
             throw CreationException.couldNotAddElement("segment (S)", e);
         }
@@ -2,29 +2,24 @@ package org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators;
 
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.ALR_YES;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.RN_0;
-import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.SEGMENT_TIMELINE;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.SQ_0;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.buildAndCacheResult;
-import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateDocumentAndDoCommonElementsGeneration;
+import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateManifestAndDoCommonElementsGeneration;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateSegmentTemplateElement;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateSegmentTimelineElement;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.getInitializationResponse;
-import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.setAttribute;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 import org.schabi.newpipe.extractor.downloader.Response;
 import org.schabi.newpipe.extractor.services.youtube.DeliveryType;
 import org.schabi.newpipe.extractor.services.youtube.ItagItem;
 import org.schabi.newpipe.extractor.utils.ManifestCreatorCache;
-import org.w3c.dom.DOMException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Class which generates DASH manifests of YouTube post-live DVR streams (which use the
@@ -36,7 +31,7 @@ public final class YoutubePostLiveStreamDvrDashManifestCreator {
      * Cache of DASH manifests generated for post-live-DVR streams.
      */
     private static final ManifestCreatorCache<String, String> POST_LIVE_DVR_STREAMS_CACHE
-            = new ManifestCreatorCache<>();
+            = new ManifestCreatorCache<>(String::length);
 
     private YoutubePostLiveStreamDvrDashManifestCreator() {
     }
@@ -110,9 +105,38 @@ public final class YoutubePostLiveStreamDvrDashManifestCreator {
             @Nonnull final ItagItem itagItem,
             final int targetDurationSec,
             final long durationSecondsFallback) throws CreationException {
-        if (POST_LIVE_DVR_STREAMS_CACHE.containsKey(postLiveStreamDvrStreamingUrl)) {
-            return Objects.requireNonNull(
-                    POST_LIVE_DVR_STREAMS_CACHE.get(postLiveStreamDvrStreamingUrl)).getSecond();
+        return fromPostLiveStreamDvrStreamingUrl(postLiveStreamDvrStreamingUrl, itagItem,
+                targetDurationSec, durationSecondsFallback, null);
+    }
+
+    /**
+     * Create DASH manifests from a YouTube post-live-DVR stream/ended livestream, reusing the
+     * redirections previously followed by streams served by the same host.
+     *
+     * @param postLiveStreamDvrStreamingUrl the base URL of the post-live-DVR stream/ended
+     *                                      livestream, which must not be null
+     * @param itagItem                      the {@link ItagItem} corresponding to the stream, which
+     *                                      must not be null
+     * @param targetDurationSec             the target duration of each sequence, in seconds
+     * @param durationSecondsFallback       the duration of the ended livestream, which will be
+     *                                      used if the duration could not be extracted from the
+     *                                      first sequence
+     * @param redirectedHosts               the hosts to which streaming hosts have been
+     *                                      redirected, by streaming host, or {@code null} to not
+     *                                      reuse redirections
+     * @return the manifest generated into a string
+     */
+    @Nonnull
+    static String fromPostLiveStreamDvrStreamingUrl(
+            @Nonnull final String postLiveStreamDvrStreamingUrl,
+            @Nonnull final ItagItem itagItem,
+            final int targetDurationSec,
+            final long durationSecondsFallback,
+            @Nullable final Map<String, String> redirectedHosts) throws CreationException {
+        final String cachedManifest =
+                POST_LIVE_DVR_STREAMS_CACHE.getValue(postLiveStreamDvrStreamingUrl);
+        if (cachedManifest != null) {
+            return cachedManifest;
         }
 
         String realPostLiveStreamDvrStreamingUrl = postLiveStreamDvrStreamingUrl;
@@ -127,7 +151,7 @@ public final class YoutubePostLiveStreamDvrDashManifestCreator {
             // Try to avoid redirects when streaming the content by saving the latest URL we get
             // from video servers.
             final Response response = getInitializationResponse(realPostLiveStreamDvrStreamingUrl,
-                    itagItem, DeliveryType.LIVE);
+                    itagItem, DeliveryType.LIVE, redirectedHosts);
             realPostLiveStreamDvrStreamingUrl = response.latestUrl().replace(SQ_0, "")
                     .replace(RN_0, "").replace(ALR_YES, "");
 
@@ -157,15 +181,15 @@ public final class YoutubePostLiveStreamDvrDashManifestCreator {
             streamDuration = durationSecondsFallback;
         }
 
-        final Document doc = generateDocumentAndDoCommonElementsGeneration(itagItem,
+        final DashManifestWriter writer = generateManifestAndDoCommonElementsGeneration(itagItem,
                 streamDuration);
 
-        generateSegmentTemplateElement(doc, realPostLiveStreamDvrStreamingUrl,
+        generateSegmentTemplateElement(writer, realPostLiveStreamDvrStreamingUrl,
                 DeliveryType.LIVE);
-        generateSegmentTimelineElement(doc);
-        generateSegmentElementForPostLiveDvrStreams(doc, targetDurationSec, segmentCount);
+        generateSegmentTimelineElement(writer);
+        generateSegmentElementForPostLiveDvrStreams(writer, targetDurationSec, segmentCount);
 
-        return buildAndCacheResult(postLiveStreamDvrStreamingUrl, doc,
+        return buildAndCacheResult(postLiveStreamDvrStreamingUrl, writer,
                 POST_LIVE_DVR_STREAMS_CACHE);
     }
 
@@ -188,28 +212,19 @@ public final class YoutubePostLiveStreamDvrDashManifestCreator {
      * {@code <S d="targetDurationSecValue" r="segmentCount" />}
      * </p>
      *
-     * @param doc                   the {@link Document} on which the {@code <S>} element will
-     *                              be appended
+     * @param writer                the {@link DashManifestWriter} of the manifest
      * @param targetDurationSeconds the {@code targetDurationSec} value from YouTube player
      *                              response's stream
      * @param segmentCount          the number of segments, extracted by {@link
      *                              #fromPostLiveStreamDvrStreamingUrl(String, ItagItem, int, long)}
      */
     private static void generateSegmentElementForPostLiveDvrStreams(
-            @Nonnull final Document doc,
+            @Nonnull final DashManifestWriter writer,
             final int targetDurationSeconds,
             @Nonnull final String segmentCount) throws CreationException {
-        try {
-            final Element segmentTimelineElement = (Element) doc.getElementsByTagName(
-                    SEGMENT_TIMELINE).item(0);
-            final Element sElement = doc.createElement("S");
-
-            setAttribute(sElement, doc, "d", String.valueOf(targetDurationSeconds * 1000));
-            setAttribute(sElement, doc, "r", segmentCount);
-
-            segmentTimelineElement.appendChild(sElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement("segment (S)", e);
-        }
+        writer.startElement("S")
+                .attribute("d", String.valueOf(targetDurationSeconds * 1000))
+                .attribute("r", segmentCount)
+                .endElement();
     }
 }
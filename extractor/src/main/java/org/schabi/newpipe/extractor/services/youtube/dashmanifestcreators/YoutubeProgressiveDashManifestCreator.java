@@ -3,21 +3,15 @@ package org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators;
 import org.schabi.newpipe.extractor.services.youtube.DeliveryType;
 import org.schabi.newpipe.extractor.services.youtube.ItagItem;
 import org.schabi.newpipe.extractor.utils.ManifestCreatorCache;
-import org.w3c.dom.DOMException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 import javax.annotation.Nonnull;
-import java.util.Objects;
 
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.BASE_URL;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.INITIALIZATION;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.MPD;
-import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.REPRESENTATION;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.SEGMENT_BASE;
 import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.buildAndCacheResult;
-import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateDocumentAndDoCommonElementsGeneration;
-import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.setAttribute;
+import static org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestCreatorsUtils.generateManifestAndDoCommonElementsGeneration;
 
 /**
  * Class which generates DASH manifests of {@link DeliveryType#PROGRESSIVE YouTube progressive}
@@ -29,7 +23,7 @@ public final class YoutubeProgressiveDashManifestCreator {
      * Cache of DASH manifests generated for progressive streams.
      */
     private static final ManifestCreatorCache<String, String> PROGRESSIVE_STREAMS_CACHE
-            = new ManifestCreatorCache<>();
+            = new ManifestCreatorCache<>(String::length);
 
     private YoutubeProgressiveDashManifestCreator() {
     }
@@ -81,9 +75,10 @@ public final class YoutubeProgressiveDashManifestCreator {
             @Nonnull final String progressiveStreamingBaseUrl,
             @Nonnull final ItagItem itagItem,
             final long durationSecondsFallback) throws CreationException {
-        if (PROGRESSIVE_STREAMS_CACHE.containsKey(progressiveStreamingBaseUrl)) {
-            return Objects.requireNonNull(
-                    PROGRESSIVE_STREAMS_CACHE.get(progressiveStreamingBaseUrl)).getSecond();
+        final String cachedManifest =
+                PROGRESSIVE_STREAMS_CACHE.getValue(progressiveStreamingBaseUrl);
+        if (cachedManifest != null) {
+            return cachedManifest;
         }
 
         final long itagItemDuration = itagItem.getApproxDurationMs();
@@ -99,14 +94,14 @@ public final class YoutubeProgressiveDashManifestCreator {
             }
         }
 
-        final Document doc = generateDocumentAndDoCommonElementsGeneration(itagItem,
+        final DashManifestWriter writer = generateManifestAndDoCommonElementsGeneration(itagItem,
                 streamDuration);
 
-        generateBaseUrlElement(doc, progressiveStreamingBaseUrl);
-        generateSegmentBaseElement(doc, itagItem);
-        generateInitializationElement(doc, itagItem);
+        generateBaseUrlElement(writer, progressiveStreamingBaseUrl);
+        generateSegmentBaseElement(writer, itagItem);
+        generateInitializationElement(writer, itagItem);
 
-        return buildAndCacheResult(progressiveStreamingBaseUrl, doc,
+        return buildAndCacheResult(progressiveStreamingBaseUrl, writer,
                 PROGRESSIVE_STREAMS_CACHE);
     }
 
@@ -119,35 +114,29 @@ public final class YoutubeProgressiveDashManifestCreator {
     }
 
     /**
-     * Generate the {@code <BaseURL>} element, appended as a child of the
-     * {@code <Representation>} element.
+     * Generate the {@code <BaseURL>} element, as a child of the {@code <Representation>} element.
      *
      * <p>
      * The {@code <Representation>} element needs to be generated before this element with
-     * {@link YoutubeDashManifestCreatorsUtils#generateRepresentationElement(Document, ItagItem)}).
+     * {@link YoutubeDashManifestCreatorsUtils#generateRepresentationElement(DashManifestWriter,
+     * ItagItem)}), and it must be the current element of the writer.
      * </p>
      *
-     * @param doc the {@link Document} on which the {@code <BaseURL>} element will be appended
-     * @param baseUrl  the base URL of the stream, which must not be null and will be set as the
-     *                 content of the {@code <BaseURL>} element
+     * @param writer  the {@link DashManifestWriter} of the manifest
+     * @param baseUrl the base URL of the stream, which must not be null and will be set as the
+     *                content of the {@code <BaseURL>} element
      */
-    private static void generateBaseUrlElement(@Nonnull final Document doc,
+    private static void generateBaseUrlElement(@Nonnull final DashManifestWriter writer,
                                                @Nonnull final String baseUrl)
             throws CreationException {
-        try {
-            final Element representationElement = (Element) doc.getElementsByTagName(
-                    REPRESENTATION).item(0);
-            final Element baseURLElement = doc.createElement(BASE_URL);
-            baseURLElement.setTextContent(baseUrl);
-            representationElement.appendChild(baseURLElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement(BASE_URL, e);
-        }
+        writer.startElement(BASE_URL)
+                .text(baseUrl)
+                .endElement();
     }
 
     /**
-     * Generate the {@code <SegmentBase>} element, appended as a child of the
-     * {@code <Representation>} element.
+     * Start the {@code <SegmentBase>} element, as a child of the {@code <Representation>}
+     * element.
      *
      * <p>
      * It generates the following element:
@@ -159,39 +148,29 @@ public final class YoutubeProgressiveDashManifestCreator {
      * </p>
      *
      * <p>
-     * The {@code <Representation>} element needs to be generated before this element with
-     * {@link YoutubeDashManifestCreatorsUtils#generateRepresentationElement(Document, ItagItem)}),
-     * and the {@code BaseURL} element with {@link #generateBaseUrlElement(Document, String)}
-     * should be generated too.
+     * The {@code BaseURL} element needs to be generated right before this element with
+     * {@link #generateBaseUrlElement(DashManifestWriter, String)}.
      * </p>
      *
-     * @param doc the {@link Document} on which the {@code <SegmentBase>} element will be appended
+     * @param writer   the {@link DashManifestWriter} of the manifest
      * @param itagItem the {@link ItagItem} to use, which must not be null
      */
-    private static void generateSegmentBaseElement(@Nonnull final Document doc,
+    private static void generateSegmentBaseElement(@Nonnull final DashManifestWriter writer,
                                                    @Nonnull final ItagItem itagItem)
             throws CreationException {
-        try {
-            final Element representationElement = (Element) doc.getElementsByTagName(
-                    REPRESENTATION).item(0);
-            final Element segmentBaseElement = doc.createElement(SEGMENT_BASE);
-
-            final String range = itagItem.getIndexStart() + "-" + itagItem.getIndexEnd();
-            if (itagItem.getIndexStart() < 0 || itagItem.getIndexEnd() < 0) {
-                throw CreationException.couldNotAddElement(SEGMENT_BASE,
-                        "ItagItem's indexStart or " + "indexEnd are < 0: " + range);
-            }
-            setAttribute(segmentBaseElement, doc, "indexRange", range);
-
-            representationElement.appendChild(segmentBaseElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement(SEGMENT_BASE, e);
+        final String range = itagItem.getIndexStart() + "-" + itagItem.getIndexEnd();
+        if (itagItem.getIndexStart() < 0 || itagItem.getIndexEnd() < 0) {
+            throw CreationException.couldNotAddElement(SEGMENT_BASE,
+                    "ItagItem's indexStart or " + "indexEnd are < 0: " + range);
         }
+
+        writer.startElement(SEGMENT_BASE)
+                .attribute("indexRange", range);
     }
 
     /**
-     * Generate the {@code <Initialization>} element, appended as a child of the
-     * {@code <SegmentBase>} element.
+     * Generate the {@code <Initialization>} element, as a child of the {@code <SegmentBase>}
+     * element.
      *
      * <p>
      * It generates the following element:
@@ -203,32 +182,24 @@ public final class YoutubeProgressiveDashManifestCreator {
      * </p>
      *
      * <p>
-     * The {@code <SegmentBase>} element needs to be generated before this element with
-     * {@link #generateSegmentBaseElement(Document, ItagItem)}).
+     * The {@code <SegmentBase>} element needs to be started right before this element with
+     * {@link #generateSegmentBaseElement(DashManifestWriter, ItagItem)}).
      * </p>
      *
-     * @param doc the {@link Document} on which the {@code <Initialization>} element will be
-     *            appended
+     * @param writer   the {@link DashManifestWriter} of the manifest
      * @param itagItem the {@link ItagItem} to use, which must not be null
      */
-    private static void generateInitializationElement(@Nonnull final Document doc,
+    private static void generateInitializationElement(@Nonnull final DashManifestWriter writer,
                                                       @Nonnull final ItagItem itagItem)
             throws CreationException {
-        try {
-            final Element segmentBaseElement = (Element) doc.getElementsByTagName(
-                    SEGMENT_BASE).item(0);
-            final Element initializationElement = doc.createElement(INITIALIZATION);
-
-            final String range = itagItem.getInitStart() + "-" + itagItem.getInitEnd();
-            if (itagItem.getInitStart() < 0 || itagItem.getInitEnd() < 0) {
-                throw CreationException.couldNotAddElement(INITIALIZATION,
-                        "ItagItem's initStart and/or " + "initEnd are/is < 0: " + range);
-            }
-            setAttribute(initializationElement, doc, "range", range);
-
-            segmentBaseElement.appendChild(initializationElement);
-        } catch (final DOMException e) {
-            throw CreationException.couldNotAddElement(INITIALIZATION, e);
+        final String range = itagItem.getInitStart() + "-" + itagItem.getInitEnd();
+        if (itagItem.getInitStart() < 0 || itagItem.getInitEnd() < 0) {
+            throw CreationException.couldNotAddElement(INITIALIZATION,
+                    "ItagItem's initStart and/or " + "initEnd are/is < 0: " + range);
         }
+
+        writer.startElement(INITIALIZATION)
+                .attribute("range", range)
+                .endElement();
     }
 }
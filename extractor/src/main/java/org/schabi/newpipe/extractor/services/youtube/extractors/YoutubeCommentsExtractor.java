@@ -22,6 +22,8 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getJsonPostResponse;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getTextFromObject;
@@ -43,12 +45,30 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
      */
     private JsonObject ajaxJson;
 
+    /**
+     * The first <b>/next</b> response, when it has already been fetched by a
+     * {@link YoutubeStreamExtractor}.
+     */
+    @Nullable
+    private JsonObject initialNextResponse;
+
     public YoutubeCommentsExtractor(
             final StreamingService service,
             final ListLinkHandler uiHandler) {
         super(service, uiHandler);
     }
 
+    /**
+     * Set the <b>/next</b> response of the video, already fetched by a
+     * {@link YoutubeStreamExtractor}, so that it is not fetched again when fetching the page of
+     * this extractor.
+     *
+     * @param nextResponse the <b>/next</b> response of the video of this extractor
+     */
+    void setInitialNextResponse(@Nonnull final JsonObject nextResponse) {
+        this.initialNextResponse = nextResponse;
+    }
+
     @Nonnull
     @Override
     public InfoItemsPage<CommentsInfoItem> getInitialPage()
@@ -119,17 +139,39 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
         }
     }
 
+    /**
+     * Index the payloads of the given mutations by their entity key, so that the payloads of all
+     * the comments of a page can be found without going through the mutations for each of them.
+     *
+     * @param mutations the mutations of a comments page
+     * @return a map of the mutation payloads, keeping the first one for duplicated entity keys
+     */
     @Nonnull
-    private JsonObject getMutationPayloadFromEntityKey(@Nonnull final JsonArray mutations,
-                                                       @Nonnull final String commentKey)
+    static Map<String, JsonObject> getMutationPayloadsByEntityKey(
+            @Nonnull final JsonArray mutations) {
+        final Map<String, JsonObject> payloads = new HashMap<>(mutations.size() * 4 / 3 + 1);
+        for (final Object mutation : mutations) {
+            if (!(mutation instanceof JsonObject)) {
+                continue;
+            }
+            final String entityKey = ((JsonObject) mutation).getString("entityKey");
+            if (entityKey != null && !payloads.containsKey(entityKey)) {
+                payloads.put(entityKey, ((JsonObject) mutation).getObject("payload"));
+            }
+        }
+        return payloads;
+    }
+
+    @Nonnull
+    private JsonObject getMutationPayloadFromEntityKey(
+            @Nonnull final Map<String, JsonObject> mutationPayloads,
+            @Nonnull final String commentKey)
             throws ParsingException {
-        return mutations.streamAsJsonObjects()
-                .filter(mutation -> commentKey.equals(
-                        mutation.getString("entityKey")))
-                .findFirst()
-                .orElseThrow(() -> new ParsingException(
-                        "Could not get comment entity payload mutation"))
-                .getObject("payload");
+        final JsonObject payload = mutationPayloads.get(commentKey);
+        if (payload == null) {
+            throw new ParsingException("Could not get comment entity payload mutation");
+        }
+        return payload;
     }
 
     @Nonnull
@@ -260,9 +302,10 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
 
         // The mutations object, which is returned in the comments' continuation
         // It contains parts of comment data when comments are returned with a view model
-        final JsonArray mutations = jsonObject.getObject("frameworkUpdates")
-                .getObject("entityBatchUpdate")
-                .getArray("mutations");
+        final Map<String, JsonObject> mutationPayloads = getMutationPayloadsByEntityKey(
+                jsonObject.getObject("frameworkUpdates")
+                        .getObject("entityBatchUpdate")
+                        .getArray("mutations"));
         final String videoUrl = getUrl();
         final TimeAgoParser timeAgoParser = getTimeAgoParser();
 
@@ -271,11 +314,12 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
                 continue;
             }
 
-            collectCommentItem(mutations, (JsonObject) o, collector, videoUrl, timeAgoParser);
+            collectCommentItem(mutationPayloads, (JsonObject) o, collector, videoUrl,
+                    timeAgoParser);
         }
     }
 
-    private void collectCommentItem(@Nonnull final JsonArray mutations,
+    private void collectCommentItem(@Nonnull final Map<String, JsonObject> mutationPayloads,
                                     @Nonnull final JsonObject content,
                                     @Nonnull final CommentsInfoItemsCollector collector,
                                     @Nonnull final String videoUrl,
@@ -292,10 +336,10 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
                         commentViewModel,
                         commentThreadRenderer.getObject("replies")
                                 .getObject("commentRepliesRenderer"),
-                        getMutationPayloadFromEntityKey(mutations,
+                        getMutationPayloadFromEntityKey(mutationPayloads,
                                 commentViewModel.getString("commentKey", ""))
                                 .getObject("commentEntityPayload"),
-                        getMutationPayloadFromEntityKey(mutations,
+                        getMutationPayloadFromEntityKey(mutationPayloads,
                                 commentViewModel.getString("toolbarStateKey", ""))
                                 .getObject("engagementToolbarStateEntityPayload"),
                         videoUrl,
@@ -314,10 +358,10 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
             collector.commit(new YoutubeCommentsEUVMInfoItemExtractor(
                     commentViewModel,
                     null,
-                    getMutationPayloadFromEntityKey(mutations,
+                    getMutationPayloadFromEntityKey(mutationPayloads,
                             commentViewModel.getString("commentKey", ""))
                             .getObject("commentEntityPayload"),
-                    getMutationPayloadFromEntityKey(mutations,
+                    getMutationPayloadFromEntityKey(mutationPayloads,
                             commentViewModel.getString("toolbarStateKey", ""))
                             .getObject("engagementToolbarStateEntityPayload"),
                     videoUrl,
@@ -338,16 +382,23 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
     public void onFetchPage(@Nonnull final Downloader downloader)
             throws IOException, ExtractionException {
         final Localization localization = getExtractorLocalization();
-        // @formatter:off
-        final byte[] body = JsonWriter.string(
-                prepareDesktopJsonBuilder(localization, getExtractorContentCountry())
-                    .value("videoId", getId())
-                    .done())
-                .getBytes(StandardCharsets.UTF_8);
-        // @formatter:on
+        final JsonObject nextResponse;
+        if (initialNextResponse != null) {
+            nextResponse = initialNextResponse;
+            // Not needed anymore, don't keep the whole response
+            initialNextResponse = null;
+        } else {
+            // @formatter:off
+            final byte[] body = JsonWriter.string(
+                    prepareDesktopJsonBuilder(localization, getExtractorContentCountry())
+                        .value("videoId", getId())
+                        .done())
+                    .getBytes(StandardCharsets.UTF_8);
+            // @formatter:on
+            nextResponse = getJsonPostResponse("next", body, localization);
+        }
 
-        final String initialToken =
-                findInitialCommentsToken(getJsonPostResponse("next", body, localization));
+        final String initialToken = findInitialCommentsToken(nextResponse);
 
         if (initialToken == null) {
             return;
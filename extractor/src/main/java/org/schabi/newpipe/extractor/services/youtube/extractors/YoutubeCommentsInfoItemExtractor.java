@@ -9,6 +9,7 @@ import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
 import org.schabi.newpipe.extractor.localization.TimeAgoParser;
 import org.schabi.newpipe.extractor.stream.Description;
+import org.schabi.newpipe.extractor.utils.JsonPath;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Utils;
 
@@ -23,6 +24,21 @@ import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper
 public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtractor {
 
     private static final String PUBLISHED_TIME_TEXT = "publishedTimeText";
+    private static final JsonPath AUTHOR_THUMBNAILS =
+            JsonPath.compile("authorThumbnail.thumbnails");
+    private static final JsonPath AUTHOR_TEXT = JsonPath.compile("authorText");
+    private static final JsonPath PUBLISHED_TIME_TEXT_PATH = JsonPath.compile(PUBLISHED_TIME_TEXT);
+    private static final JsonPath LIKE_BUTTON_LABEL = JsonPath.compile(
+            "actionButtons.commentActionButtonsRenderer.likeButton.toggleButtonRenderer"
+                    + ".accessibilityData.accessibilityData.label");
+    private static final JsonPath VOTE_COUNT = JsonPath.compile("voteCount");
+    private static final JsonPath CONTENT_TEXT = JsonPath.compile("contentText");
+    private static final JsonPath COMMENT_ID = JsonPath.compile("commentId");
+    private static final JsonPath AUTHOR_BROWSE_ID =
+            JsonPath.compile("authorEndpoint.browseEndpoint.browseId");
+    private static final JsonPath CONTENTS = JsonPath.compile("contents");
+    private static final JsonPath CONTINUATION_TOKEN = JsonPath.compile(
+            "continuationItemRenderer.continuationEndpoint.continuationCommand.token");
 
     @Nonnull
     private final JsonObject commentRenderer;
@@ -47,7 +63,7 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
     private List<Image> getAuthorThumbnails() throws ParsingException {
         try {
             return getImagesFromThumbnailsArray(JsonUtils.getArray(commentRenderer,
-                    "authorThumbnail.thumbnails"));
+                    AUTHOR_THUMBNAILS));
         } catch (final Exception e) {
             throw new ParsingException("Could not get author thumbnails", e);
         }
@@ -68,7 +84,7 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
     @Override
     public String getName() throws ParsingException {
         try {
-            return getTextFromObject(JsonUtils.getObject(commentRenderer, "authorText"));
+            return getTextFromObject(JsonUtils.getObject(commentRenderer, AUTHOR_TEXT));
         } catch (final Exception e) {
             return "";
         }
@@ -78,7 +94,7 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
     public String getTextualUploadDate() throws ParsingException {
         try {
             return getTextFromObject(JsonUtils.getObject(commentRenderer,
-                    PUBLISHED_TIME_TEXT));
+                    PUBLISHED_TIME_TEXT_PATH));
         } catch (final Exception e) {
             throw new ParsingException("Could not get publishedTimeText", e);
         }
@@ -116,8 +132,7 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
         final String likeCount;
         try {
             likeCount = Utils.removeNonDigitCharacters(JsonUtils.getString(commentRenderer,
-                    "actionButtons.commentActionButtonsRenderer.likeButton.toggleButtonRenderer"
-                            + ".accessibilityData.accessibilityData.label"));
+                    LIKE_BUTTON_LABEL));
         } catch (final Exception e) {
             // Use the approximate like count returned into the voteCount object
             // This may return a language dependent version, e.g. in German: 3,3 Mio
@@ -171,7 +186,7 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
                 return "";
             }
 
-            final JsonObject voteCountObj = JsonUtils.getObject(commentRenderer, "voteCount");
+            final JsonObject voteCountObj = JsonUtils.getObject(commentRenderer, VOTE_COUNT);
             if (voteCountObj.isEmpty()) {
                 return "";
             }
@@ -185,7 +200,7 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
     @Override
     public Description getCommentText() throws ParsingException {
         try {
-            final JsonObject contentText = JsonUtils.getObject(commentRenderer, "contentText");
+            final JsonObject contentText = JsonUtils.getObject(commentRenderer, CONTENT_TEXT);
             if (contentText.isEmpty()) {
                 // completely empty comments as described in
                 // https://github.com/TeamNewPipe/NewPipeExtractor/issues/380#issuecomment-668808584
@@ -205,7 +220,7 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
     @Override
     public String getCommentId() throws ParsingException {
         try {
-            return JsonUtils.getString(commentRenderer, "commentId");
+            return JsonUtils.getString(commentRenderer, COMMENT_ID);
         } catch (final Exception e) {
             throw new ParsingException("Could not get comment id", e);
         }
@@ -237,7 +252,7 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
     @Override
     public String getUploaderName() throws ParsingException {
         try {
-            return getTextFromObject(JsonUtils.getObject(commentRenderer, "authorText"));
+            return getTextFromObject(JsonUtils.getObject(commentRenderer, AUTHOR_TEXT));
         } catch (final Exception e) {
             return "";
         }
@@ -247,7 +262,7 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
     public String getUploaderUrl() throws ParsingException {
         try {
             return "https://www.youtube.com/channel/" + JsonUtils.getString(commentRenderer,
-                    "authorEndpoint.browseEndpoint.browseId");
+                    AUTHOR_BROWSE_ID);
         } catch (final Exception e) {
             return "";
         }
@@ -269,9 +284,8 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
 
         try {
             final String id = JsonUtils.getString(
-                    JsonUtils.getArray(commentRepliesRenderer, "contents")
-                            .getObject(0),
-                    "continuationItemRenderer.continuationEndpoint.continuationCommand.token");
+                    JsonUtils.getArray(commentRepliesRenderer, CONTENTS).getObject(0),
+                    CONTINUATION_TOKEN);
             return new Page(url, id);
         } catch (final Exception e) {
             return null;
@@ -290,7 +304,7 @@ public class YoutubeCommentsInfoItemExtractor implements CommentsInfoItemExtract
                 return false;
             }
             final JsonObject publishedTimeText = JsonUtils
-                    .getObject(commentRenderer, PUBLISHED_TIME_TEXT);
+                    .getObject(commentRenderer, PUBLISHED_TIME_TEXT_PATH);
 
             if (publishedTimeText.has("runs")) {
                 return publishedTimeText.getArray("runs").size() > 1;
@@ -4,7 +4,7 @@ import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.YOUTUBEI_V1_URL;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.extractCookieValue;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.extractPlaylistTypeFromPlaylistId;
-import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getValidJsonResponseBody;
+import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getValidJsonResponse;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getYouTubeHeaders;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareDesktopJsonBuilder;
 import static org.schabi.newpipe.extractor.utils.Utils.getQueryValue;
@@ -36,7 +36,6 @@ import org.schabi.newpipe.extractor.stream.Description;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 import org.schabi.newpipe.extractor.utils.ImageSuffix;
-import org.schabi.newpipe.extractor.utils.JsonUtils;
 
 import java.io.IOException;
 import java.net.URL;
@@ -104,7 +103,7 @@ public class YoutubeMixPlaylistExtractor extends PlaylistExtractor {
                 YOUTUBEI_V1_URL + "next?" + DISABLE_PRETTY_PRINT_PARAMETER, headers, body,
                 localization);
 
-        initialData = JsonUtils.toJsonObject(getValidJsonResponseBody(response));
+        initialData = getValidJsonResponse(response);
         playlistData = initialData
                 .getObject("contents")
                 .getObject("twoColumnWatchNextResults")
@@ -243,7 +242,7 @@ public class YoutubeMixPlaylistExtractor extends PlaylistExtractor {
 
         final Response response = getDownloader().postWithContentTypeJson(page.getUrl(), headers,
                 page.getBody(), getExtractorLocalization());
-        final JsonObject ajaxJson = JsonUtils.toJsonObject(getValidJsonResponseBody(response));
+        final JsonObject ajaxJson = getValidJsonResponse(response);
         final JsonObject playlistJson = ajaxJson.getObject("contents")
                 .getObject("twoColumnWatchNextResults").getObject("playlist").getObject("playlist");
         final JsonArray allStreams = playlistJson.getArray("contents");
@@ -31,12 +31,15 @@ import org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper;
 import org.schabi.newpipe.extractor.stream.Description;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -68,6 +71,10 @@ public class YoutubePlaylistExtractor extends PlaylistExtractor {
     private JsonObject browseMetadataResponse;
     private JsonObject initialBrowseContinuationResponse;
 
+    private boolean fetchConcurrently;
+    @Nullable
+    private Executor concurrentFetchExecutor;
+
     private JsonObject playlistInfo;
     private JsonObject uploaderInfo;
     private JsonObject playlistHeader;
@@ -92,14 +99,6 @@ public class YoutubePlaylistExtractor extends PlaylistExtractor {
                         .done())
                 .getBytes(StandardCharsets.UTF_8);
 
-        browseMetadataResponse = getJsonPostResponse(BROWSE_ENDPOINT,
-                List.of("$fields=" + SIDEBAR + "," + HEADER + "," + MICROFORMAT + ",alerts"),
-                body,
-                localization);
-
-        YoutubeParsingHelper.defaultAlertsCheck(browseMetadataResponse);
-        isNewPlaylistInterface = checkIfResponseIsNewPlaylistInterface();
-
         final PlaylistContinuation playlistContinuation = PlaylistContinuation.newBuilder()
                 .setParameters(ContinuationParams.newBuilder()
                         .setBrowseId("VL" + playlistId)
@@ -107,15 +106,45 @@ public class YoutubePlaylistExtractor extends PlaylistExtractor {
                         .setContinuationProperties(PLAYLIST_CONTINUATION_PROPERTIES_BASE64)
                         .build())
                 .build();
-
-        initialBrowseContinuationResponse = getJsonPostResponse(BROWSE_ENDPOINT,
-                JsonWriter.string(prepareDesktopJsonBuilder(localization,
+        final byte[] continuationBody = JsonWriter.string(prepareDesktopJsonBuilder(localization,
                         getExtractorContentCountry())
                         .value("continuation", Utils.encodeUrlUtf8(Base64.getUrlEncoder()
                                 .encodeToString(playlistContinuation.toByteArray())))
                         .done())
-                        .getBytes(StandardCharsets.UTF_8),
+                .getBytes(StandardCharsets.UTF_8);
+
+        if (fetchConcurrently) {
+            final Executor executor = concurrentFetchExecutor;
+            // The first page doesn't depend on the metadata, so request it while the metadata is
+            // being fetched
+            final CompletableFuture<JsonObject> continuationFuture = ConcurrencyUtils.supplyAsync(
+                    () -> getJsonPostResponse(BROWSE_ENDPOINT, continuationBody, localization),
+                    executor == null ? ConcurrencyUtils.getDefaultExecutor() : executor);
+            try {
+                fetchMetadata(body, localization);
+            } catch (final IOException | ExtractionException | RuntimeException e) {
+                ConcurrencyUtils.cancelAll(continuationFuture);
+                throw e;
+            }
+            initialBrowseContinuationResponse = ConcurrencyUtils.await(continuationFuture);
+            return;
+        }
+
+        fetchMetadata(body, localization);
+        initialBrowseContinuationResponse = getJsonPostResponse(BROWSE_ENDPOINT,
+                continuationBody, localization);
+    }
+
+    private void fetchMetadata(@Nonnull final byte[] body,
+                               @Nonnull final Localization localization)
+            throws IOException, ExtractionException {
+        browseMetadataResponse = getJsonPostResponse(BROWSE_ENDPOINT,
+                List.of("$fields=" + SIDEBAR + "," + HEADER + "," + MICROFORMAT + ",alerts"),
+                body,
                 localization);
+
+        YoutubeParsingHelper.defaultAlertsCheck(browseMetadataResponse);
+        isNewPlaylistInterface = checkIfResponseIsNewPlaylistInterface();
     }
 
     /**
@@ -524,4 +553,38 @@ public class YoutubePlaylistExtractor extends PlaylistExtractor {
     public PlaylistInfo.PlaylistType getPlaylistType() throws ParsingException {
         return extractPlaylistTypeFromPlaylistUrl(getUrl());
     }
+
+    /**
+     * Enable or disable fetching the metadata and the first page of this playlist concurrently.
+     * It must be set before {@link #fetchPage() fetching the page} of this extractor.
+     *
+     * <p>
+     * This is disabled by default. When enabled, the request of the first page is sent on the
+     * {@link #setConcurrentFetchExecutor(Executor) concurrent fetch executor} while the metadata
+     * is requested. Alerts of the metadata response are still checked before the first page is
+     * used: if they make the extraction fail, the first page request is cancelled.
+     * </p>
+     *
+     * <p>
+     * The {@link org.schabi.newpipe.extractor.downloader.Downloader Downloader} used must be
+     * thread-safe when this option is enabled.
+     * </p>
+     *
+     * @param fetchConcurrently whether to fetch the metadata and the first page concurrently
+     */
+    public void setFetchConcurrently(final boolean fetchConcurrently) {
+        this.fetchConcurrently = fetchConcurrently;
+    }
+
+    /**
+     * Set the {@link Executor} on which the first page is requested when
+     * {@link #setFetchConcurrently(boolean) concurrent fetching} is enabled.
+     *
+     * @param concurrentFetchExecutor the {@link Executor} to use, or {@code null} to use
+     *                                {@link ConcurrencyUtils#getDefaultExecutor() the default
+     *                                one}
+     */
+    public void setConcurrentFetchExecutor(@Nullable final Executor concurrentFetchExecutor) {
+        this.concurrentFetchExecutor = concurrentFetchExecutor;
+    }
 }
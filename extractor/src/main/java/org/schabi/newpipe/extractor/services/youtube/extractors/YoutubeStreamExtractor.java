@@ -31,6 +31,7 @@ import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.generateContentPlaybackNonce;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getImagesFromThumbnailsArray;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getJsonPostResponse;
+import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getJsonPostResponseAsync;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getTextFromObject;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareDesktopJsonBuilder;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
@@ -44,6 +45,7 @@ import org.schabi.newpipe.extractor.MediaFormat;
 import org.schabi.newpipe.extractor.MetaInfo;
 import org.schabi.newpipe.extractor.MultiInfoItemsCollector;
 import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.comments.CommentsExtractor;
 import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.exceptions.AccountTerminatedException;
 import org.schabi.newpipe.extractor.exceptions.AgeRestrictedContentException;
@@ -79,6 +81,7 @@ import org.schabi.newpipe.extractor.stream.StreamSegment;
 import org.schabi.newpipe.extractor.stream.StreamType;
 import org.schabi.newpipe.extractor.stream.SubtitlesStream;
 import org.schabi.newpipe.extractor.stream.VideoStream;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.LocaleCompat;
 import org.schabi.newpipe.extractor.utils.Pair;
@@ -93,10 +96,15 @@ import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -123,6 +131,9 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     @Nullable
     private static PoTokenProvider poTokenProvider;
     private static boolean fetchIosClient;
+    private static volatile boolean fetchConcurrently;
+    @Nullable
+    private static volatile Executor concurrentFetchExecutor;
 
     private JsonObject playerResponse;
     private JsonObject nextResponse;
@@ -155,6 +166,11 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     @Nullable
     private String iosStreamingUrlsPoToken;
 
+    // Deobfuscated signatures mapped to their obfuscated variant, for all the streaming URLs of
+    // the video, see deobfuscateStreamingUrls
+    @Nullable
+    private Map<String, String> deobfuscatedSignatures;
+
     public YoutubeStreamExtractor(final StreamingService service, final LinkHandler linkHandler) {
         super(service, linkHandler);
     }
@@ -828,6 +844,24 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Once the page of this extractor has been fetched, the returned extractor reuses its
+     * {@code next} response to get the comments continuation, instead of requesting it again.
+     * </p>
+     */
+    @Nullable
+    @Override
+    public CommentsExtractor getCommentsExtractor() throws ExtractionException {
+        final CommentsExtractor commentsExtractor = super.getCommentsExtractor();
+        if (nextResponse != null && commentsExtractor instanceof YoutubeCommentsExtractor) {
+            ((YoutubeCommentsExtractor) commentsExtractor).setInitialNextResponse(nextResponse);
+        }
+        return commentsExtractor;
+    }
+
     /*//////////////////////////////////////////////////////////////////////////
     // Fetch page
     //////////////////////////////////////////////////////////////////////////*/
@@ -841,6 +875,15 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         final ContentCountry contentCountry = getExtractorContentCountry();
 
         final PoTokenProvider poTokenProviderInstance = poTokenProvider;
+
+        if (fetchConcurrently) {
+            final Executor executor = concurrentFetchExecutor;
+            fetchClientsConcurrently(executor == null
+                            ? ConcurrencyUtils.getDefaultExecutor() : executor,
+                    localization, contentCountry, videoId, poTokenProviderInstance);
+            return;
+        }
+
         final boolean noPoTokenProviderSet = poTokenProviderInstance == null;
 
         final PoTokenResult androidPoTokenResult = noPoTokenProviderSet ? null
@@ -860,14 +903,105 @@ public class YoutubeStreamExtractor extends StreamExtractor {
 
         fetchWebClientMetadataAndSetThumbnails(localization, contentCountry, videoId);
 
-        final byte[] nextBody = JsonWriter.string(
+        nextResponse = getJsonPostResponse(NEXT,
+                getNextBody(localization, contentCountry, videoId), localization);
+    }
+
+    /**
+     * Fetch the player responses of all clients and the {@code next} response at the same time,
+     * as these requests don't depend on each other.
+     *
+     * <p>
+     * Failure semantics are the same as the ones of sequential fetching: the {@code ANDROID}
+     * player and the {@code next} responses are mandatory and their failures are rethrown, while
+     * {@code IOS}, {@code VISIONOS} and {@code WEB} ones are best-effort. Responses are applied in
+     * the same order as when they are fetched sequentially, so that the clients' priorities on
+     * shared data (such as captions) are kept.
+     * </p>
+     */
+    private void fetchClientsConcurrently(@Nonnull final Executor executor,
+                                          @Nonnull final Localization localization,
+                                          @Nonnull final ContentCountry contentCountry,
+                                          @Nonnull final String videoId,
+                                          @Nullable final PoTokenProvider poTokenProviderInstance)
+            throws IOException, ExtractionException {
+        final boolean noPoTokenProviderSet = poTokenProviderInstance == null;
+
+        final PoTokenResult androidPoTokenResult = noPoTokenProviderSet ? null
+                : poTokenProviderInstance.getAndroidClientPoToken(videoId);
+
+        // The next request is a single request, so it doesn't need a thread of the executor
+        final CompletableFuture<JsonObject> nextFuture = getJsonPostResponseAsync(NEXT,
+                getNextBody(localization, contentCountry, videoId), localization);
+
+        androidCpn = generateContentPlaybackNonce();
+        final String androidCpnToUse = androidCpn;
+        final CompletableFuture<JsonObject> androidFuture = ConcurrencyUtils.supplyAsync(() ->
+                getAndroidPlayerResponse(localization, contentCountry, videoId,
+                        androidCpnToUse, androidPoTokenResult), executor);
+
+        visionOsCpn = generateContentPlaybackNonce();
+        final String visionOsCpnToUse = visionOsCpn;
+        final CompletableFuture<JsonObject> visionOsFuture = ConcurrencyUtils.supplyAsync(() ->
+                YoutubeStreamHelper.getVisionOsPlayerResponse(contentCountry, localization,
+                        videoId, visionOsCpnToUse), executor);
+
+        final CompletableFuture<JsonObject> webFuture = ConcurrencyUtils.supplyAsync(() ->
+                YoutubeStreamHelper.getWebMetadataPlayerResponse(localization, contentCountry,
+                        videoId), executor);
+
+        CompletableFuture<JsonObject> iosFuture = null;
+        PoTokenResult iosPoTokenResult = null;
+        try {
+            if (fetchIosClient) {
+                iosPoTokenResult = noPoTokenProviderSet ? null
+                        : poTokenProviderInstance.getIosClientPoToken(videoId);
+                iosCpn = generateContentPlaybackNonce();
+                final String iosCpnToUse = iosCpn;
+                final PoTokenResult iosPoTokenResultToUse = iosPoTokenResult;
+                iosFuture = ConcurrencyUtils.supplyAsync(() ->
+                        YoutubeStreamHelper.getIosPlayerResponse(contentCountry, localization,
+                                videoId, iosCpnToUse, iosPoTokenResultToUse), executor);
+            }
+
+            setAndroidPlayerResponse(ConcurrencyUtils.await(androidFuture), videoId,
+                    androidPoTokenResult);
+        } catch (final IOException | ExtractionException | RuntimeException e) {
+            ConcurrencyUtils.cancelAll(visionOsFuture, webFuture, nextFuture, iosFuture);
+            throw e;
+        }
+
+        setStreamType();
+
+        if (iosFuture != null) {
+            final JsonObject iosPlayerResponse = ConcurrencyUtils.awaitOrNull(iosFuture);
+            if (iosPlayerResponse != null) {
+                setIosPlayerResponse(iosPlayerResponse, videoId, iosPoTokenResult);
+            }
+        }
+
+        final JsonObject visionOsPlayerResponse = ConcurrencyUtils.awaitOrNull(visionOsFuture);
+        if (visionOsPlayerResponse != null) {
+            setVisionOsPlayerResponse(visionOsPlayerResponse, videoId);
+        }
+
+        setWebClientMetadataAndThumbnails(ConcurrencyUtils.awaitOrNull(webFuture), videoId);
+
+        nextResponse = ConcurrencyUtils.await(nextFuture);
+    }
+
+    @Nonnull
+    private static byte[] getNextBody(@Nonnull final Localization localization,
+                                      @Nonnull final ContentCountry contentCountry,
+                                      @Nonnull final String videoId)
+            throws IOException, ExtractionException {
+        return JsonWriter.string(
                 prepareDesktopJsonBuilder(localization, contentCountry)
                         .value(VIDEO_ID, videoId)
                         .value(CONTENT_CHECK_OK, true)
                         .value(RACY_CHECK_OK, true)
                         .done())
                 .getBytes(StandardCharsets.UTF_8);
-        nextResponse = getJsonPostResponse(NEXT, nextBody, localization);
     }
 
     private static void checkPlayabilityStatus(@Nonnull final JsonObject playabilityStatus)
@@ -932,14 +1066,32 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             throws IOException, ExtractionException {
         androidCpn = generateContentPlaybackNonce();
 
+        setAndroidPlayerResponse(getAndroidPlayerResponse(localization, contentCountry, videoId,
+                androidCpn, androidPoTokenResult), videoId, androidPoTokenResult);
+    }
+
+    @Nonnull
+    private static JsonObject getAndroidPlayerResponse(
+            @Nonnull final Localization localization,
+            @Nonnull final ContentCountry contentCountry,
+            @Nonnull final String videoId,
+            @Nonnull final String cpn,
+            @Nullable final PoTokenResult androidPoTokenResult)
+            throws IOException, ExtractionException {
         if (androidPoTokenResult == null) {
-            playerResponse = YoutubeStreamHelper.getAndroidReelPlayerResponse(
-                    contentCountry, localization, videoId, androidCpn);
+            return YoutubeStreamHelper.getAndroidReelPlayerResponse(
+                    contentCountry, localization, videoId, cpn);
         } else {
-            playerResponse = YoutubeStreamHelper.getAndroidPlayerResponse(
-                    contentCountry, localization, videoId, androidCpn,
-                    androidPoTokenResult);
+            return YoutubeStreamHelper.getAndroidPlayerResponse(
+                    contentCountry, localization, videoId, cpn, androidPoTokenResult);
         }
+    }
+
+    private void setAndroidPlayerResponse(@Nonnull final JsonObject androidPlayerResponse,
+                                          @Nonnull final String videoId,
+                                          @Nullable final PoTokenResult androidPoTokenResult)
+            throws ExtractionException {
+        playerResponse = androidPlayerResponse;
 
         checkPlayabilityStatus(playerResponse.getObject(PLAYABILITY_STATUS));
         if (isPlayerResponseNotValid(playerResponse, videoId)) {
@@ -966,6 +1118,17 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             final JsonObject iosPlayerResponse = YoutubeStreamHelper.getIosPlayerResponse(
                     contentCountry, localization, videoId, iosCpn, iosPoTokenResult);
 
+            setIosPlayerResponse(iosPlayerResponse, videoId, iosPoTokenResult);
+        } catch (final Exception ignored) {
+            // Ignore exceptions related to IOS client fetching or parsing, as it is not
+            // compulsory to play contents
+        }
+    }
+
+    private void setIosPlayerResponse(@Nonnull final JsonObject iosPlayerResponse,
+                                      @Nonnull final String videoId,
+                                      @Nullable final PoTokenResult iosPoTokenResult) {
+        try {
             if (!isPlayerResponseNotValid(iosPlayerResponse, videoId)) {
                 iosStreamingData = iosPlayerResponse.getObject(STREAMING_DATA);
 
@@ -979,8 +1142,8 @@ public class YoutubeStreamExtractor extends StreamExtractor {
                 }
             }
         } catch (final Exception ignored) {
-            // Ignore exceptions related to IOS client fetching or parsing, as it is not
-            // compulsory to play contents
+            // Ignore exceptions related to IOS client parsing, as it is not compulsory to play
+            // contents
         }
     }
 
@@ -993,6 +1156,16 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             final JsonObject visionOsPlayerResponse = YoutubeStreamHelper.getVisionOsPlayerResponse(
                     contentCountry, localization, videoId, visionOsCpn);
 
+            setVisionOsPlayerResponse(visionOsPlayerResponse, videoId);
+        } catch (final Exception ignored) {
+            // Ignore exceptions related to VISIONOS client fetching or parsing, as it is not
+            // compulsory to play contents
+        }
+    }
+
+    private void setVisionOsPlayerResponse(@Nonnull final JsonObject visionOsPlayerResponse,
+                                           @Nonnull final String videoId) {
+        try {
             if (!isPlayerResponseNotValid(visionOsPlayerResponse, videoId)) {
                 visionOsStreamingData = visionOsPlayerResponse.getObject(STREAMING_DATA);
 
@@ -1002,8 +1175,8 @@ public class YoutubeStreamExtractor extends StreamExtractor {
                 }
             }
         } catch (final Exception ignored) {
-            // Ignore exceptions related to VISIONOS client fetching or parsing, as it is not
-            // compulsory to play contents
+            // Ignore exceptions related to VISIONOS client parsing, as it is not compulsory to
+            // play contents
         }
     }
 
@@ -1011,10 +1184,36 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             @Nonnull final Localization localization,
             @Nonnull final ContentCountry contentCountry,
             @Nonnull final String videoId) {
+        JsonObject webPlayerResponse;
         try {
-            final JsonObject webPlayerResponse = YoutubeStreamHelper.getWebMetadataPlayerResponse(
+            webPlayerResponse = YoutubeStreamHelper.getWebMetadataPlayerResponse(
                     localization, contentCountry, videoId);
+        } catch (final Exception e) {
+            // Ignore exceptions related to WEB client fetching, as it is not compulsory to play
+            // contents
+            webPlayerResponse = null;
+        }
 
+        setWebClientMetadataAndThumbnails(webPlayerResponse, videoId);
+    }
+
+    /**
+     * Set the microformat and the thumbnails of the content from the metadata player response of
+     * the {@code WEB} client.
+     *
+     * @param webPlayerResponse the {@code WEB} metadata player response, or {@code null} if it
+     *                          could not be fetched, in which case thumbnails from the
+     *                          {@code ANDROID} player response are used
+     * @param videoId           the video ID of the content requested
+     */
+    private void setWebClientMetadataAndThumbnails(@Nullable final JsonObject webPlayerResponse,
+                                                   @Nonnull final String videoId) {
+        if (webPlayerResponse == null) {
+            setMetadataFromAndroidPlayerResponse();
+            return;
+        }
+
+        try {
             // Important note: we don't checkPlayabilityStatus() here, because we use this request
             // exclusively for metadata, not for extracting streams. It turns out that when
             // YouTube returns a playability status error, the metadata may still be there.
@@ -1038,16 +1237,20 @@ public class YoutubeStreamExtractor extends StreamExtractor {
                 }
             }
         } catch (final Exception e) {
-            // Ignore exceptions related to WEB client fetching or parsing, as it is not
-            // compulsory to play contents
-            // Set thumbnails from playerResponse
-            playerMicroFormatRenderer = new JsonObject();
-            thumbnailsArray = playerResponse.getObject(VIDEO_DETAILS)
-                    .getObject(THUMBNAIL)
-                    .getArray(THUMBNAILS);
+            // Ignore exceptions related to WEB client parsing, as it is not compulsory to play
+            // contents
+            setMetadataFromAndroidPlayerResponse();
         }
     }
 
+    private void setMetadataFromAndroidPlayerResponse() {
+        // Set thumbnails from playerResponse
+        playerMicroFormatRenderer = new JsonObject();
+        thumbnailsArray = playerResponse.getObject(VIDEO_DETAILS)
+                .getObject(THUMBNAIL)
+                .getArray(THUMBNAILS);
+    }
+
     /**
      * Checks whether a player response is invalid.
      *
@@ -1132,6 +1335,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         try {
             final String videoId = getId();
             final List<T> streamList = new ArrayList<>();
+            deobfuscateStreamingUrls(videoId);
 
             java.util.stream.Stream.of(
                     new Pair<>(androidStreamingData,
@@ -1273,6 +1477,72 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         };
     }
 
+    /**
+     * Deobfuscate the signatures and the throttling parameters of all the streaming URLs of the
+     * video at once, so that the deobfuscation functions are run in a single JavaScript context
+     * instead of one per stream.
+     *
+     * <p>
+     * Deobfuscated signatures are stored in {@link #deobfuscatedSignatures} and deobfuscated
+     * throttling parameters are cached by {@link YoutubeJavaScriptPlayerManager}. Errors are
+     * ignored: the streaming URLs which could not be deobfuscated here are deobfuscated one by one
+     * when building their stream, which fails in the same way and ignores the stream.
+     * </p>
+     *
+     * @param videoId the ID of the video
+     */
+    private void deobfuscateStreamingUrls(@Nonnull final String videoId) {
+        if (deobfuscatedSignatures != null) {
+            return;
+        }
+        deobfuscatedSignatures = new HashMap<>();
+
+        final List<String> streamingUrls = new ArrayList<>();
+        final List<Map<String, String>> ciphers = new ArrayList<>();
+        java.util.stream.Stream.of(androidStreamingData, visionOsStreamingData, iosStreamingData)
+                .filter(Objects::nonNull)
+                .flatMap(streamingData -> java.util.stream.Stream.of(FORMATS, ADAPTIVE_FORMATS)
+                        .flatMap(key -> streamingData.getArray(key).streamAsJsonObjects()))
+                .forEachOrdered(formatData -> {
+                    if (formatData.has("url")) {
+                        streamingUrls.add(formatData.getString("url"));
+                    } else {
+                        final String cipherString = formatData.getString(CIPHER,
+                                formatData.getString(SIGNATURE_CIPHER));
+                        if (!isNullOrEmpty(cipherString)) {
+                            ciphers.add(Parser.compatParseMap(cipherString));
+                        }
+                    }
+                });
+
+        if (!ciphers.isEmpty()) {
+            final List<String> obfuscatedSignatures = ciphers.stream()
+                    .map(cipher -> cipher.getOrDefault("s", ""))
+                    .collect(Collectors.toList());
+            try {
+                final List<String> signatures = YoutubeJavaScriptPlayerManager
+                        .deobfuscateSignatures(videoId, obfuscatedSignatures);
+                for (int i = 0; i < ciphers.size(); i++) {
+                    final Map<String, String> cipher = ciphers.get(i);
+                    deobfuscatedSignatures.put(obfuscatedSignatures.get(i), signatures.get(i));
+                    streamingUrls.add(cipher.get("url") + "&" + cipher.get("sp") + "="
+                            + signatures.get(i));
+                }
+            } catch (final ParsingException ignored) {
+                // Signatures will be deobfuscated one by one
+            }
+        }
+
+        if (!streamingUrls.isEmpty()) {
+            try {
+                YoutubeJavaScriptPlayerManager.getUrlsWithThrottlingParameterDeobfuscated(
+                        videoId, streamingUrls);
+            } catch (final ParsingException ignored) {
+                // Throttling parameters will be deobfuscated one by one
+            }
+        }
+    }
+
     @Nonnull
     private java.util.stream.Stream<ItagInfo> getStreamsFromStreamingDataKey(
             final String videoId,
@@ -1287,15 +1557,19 @@ public class YoutubeStreamExtractor extends StreamExtractor {
 
         return streamingData.getArray(streamingDataKey).streamAsJsonObjects()
                 .map(formatData -> {
+                    final int itag = formatData.getInt("itag");
+                    // Don't copy the ItagItems of formats of other types and don't throw an
+                    // exception for each unsupported format
+                    if (!ItagItem.isSupported(itag, itagTypeWanted)) {
+                        return null;
+                    }
                     try {
-                        final ItagItem itagItem = ItagItem.getItag(formatData.getInt("itag"));
-                        if (itagItem.itagType == itagTypeWanted) {
-                            return buildAndAddItagInfoToList(videoId, formatData, itagItem,
-                                    itagItem.itagType, contentPlaybackNonce, poToken);
-                        }
+                        final ItagItem itagItem = ItagItem.getItag(itag);
+                        return buildAndAddItagInfoToList(videoId, formatData, itagItem,
+                                itagItem.itagType, contentPlaybackNonce, poToken);
                     } catch (final ExtractionException ignored) {
-                        // If the itag is not supported, the n parameter of HTML5 clients cannot be
-                        // decoded or buildAndAddItagInfoToList fails, we end up here
+                        // If the n parameter of HTML5 clients cannot be decoded or
+                        // buildAndAddItagInfoToList fails, we end up here
                     }
                     return null;
                 })
@@ -1322,8 +1596,13 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             }
 
             final var cipher = Parser.compatParseMap(cipherString);
-            final String signature = YoutubeJavaScriptPlayerManager.deobfuscateSignature(videoId,
-                    cipher.getOrDefault("s", ""));
+            final String obfuscatedSignature = cipher.getOrDefault("s", "");
+            String signature = deobfuscatedSignatures == null
+                    ? null : deobfuscatedSignatures.get(obfuscatedSignature);
+            if (signature == null) {
+                signature = YoutubeJavaScriptPlayerManager.deobfuscateSignature(videoId,
+                        obfuscatedSignature);
+            }
             streamUrl = cipher.get("url") + "&" + cipher.get("sp") + "=" + signature;
         }
 
@@ -1676,4 +1955,47 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     public static void setFetchIosClient(final boolean fetchIosClient) {
         YoutubeStreamExtractor.fetchIosClient = fetchIosClient;
     }
+
+    /**
+     * Set whether to fetch the player responses of all clients and the {@code next} response
+     * concurrently.
+     *
+     * <p>
+     * By default, these requests are made one after another. When this option is enabled, the
+     * independent requests made in {@link #fetchPage()} are run at the same time on the
+     * {@link #setConcurrentFetchExecutor(Executor) concurrent fetch executor}, which reduces the
+     * time needed to fetch a stream to the one of the slowest request.
+     * </p>
+     *
+     * <p>
+     * The failure semantics are not changed: an {@code ANDROID} client or {@code next} request
+     * failure still makes the extraction fail, while {@code IOS}, {@code VISIONOS} and {@code WEB}
+     * clients requests failures are ignored.
+     * </p>
+     *
+     * <p>
+     * The {@link org.schabi.newpipe.extractor.downloader.Downloader Downloader} used must be
+     * thread-safe when this option is enabled.
+     * </p>
+     *
+     * @param fetchConcurrently whether to fetch clients concurrently
+     */
+    @SuppressWarnings("unused")
+    public static void setFetchConcurrently(final boolean fetchConcurrently) {
+        YoutubeStreamExtractor.fetchConcurrently = fetchConcurrently;
+    }
+
+    /**
+     * Set the {@link Executor} on which requests are run when
+     * {@link #setFetchConcurrently(boolean) concurrent fetching} is enabled.
+     *
+     * @param concurrentFetchExecutor the {@link Executor} to use, or {@code null} to use
+     *                                {@link ConcurrencyUtils#getDefaultExecutor() the default
+     *                                one}, which runs requests on virtual threads on Java 21+
+     */
+    @SuppressWarnings("unused")
+    public static void setConcurrentFetchExecutor(
+            @Nullable final Executor concurrentFetchExecutor) {
+        YoutubeStreamExtractor.concurrentFetchExecutor = concurrentFetchExecutor;
+    }
 }
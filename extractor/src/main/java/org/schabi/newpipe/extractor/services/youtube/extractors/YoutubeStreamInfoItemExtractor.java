@@ -36,6 +36,7 @@ import org.schabi.newpipe.extractor.services.youtube.linkHandler.YoutubeStreamLi
 import org.schabi.newpipe.extractor.stream.ContentAvailability;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemExtractor;
 import org.schabi.newpipe.extractor.stream.StreamType;
+import org.schabi.newpipe.extractor.utils.JsonPath;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Parser;
 import org.schabi.newpipe.extractor.utils.Utils;
@@ -56,6 +57,11 @@ public class YoutubeStreamInfoItemExtractor implements StreamInfoItemExtractor {
     private static final Pattern ACCESSIBILITY_DATA_VIEW_COUNT_REGEX =
             Pattern.compile("([\\d,]+) views$");
     private static final String NO_VIEWS_LOWERCASE = "no views";
+    private static final JsonPath CHANNEL_THUMBNAIL_WITH_LINK_THUMBNAILS = JsonPath.compile(
+            "channelThumbnailSupportedRenderers.channelThumbnailWithLinkRenderer.thumbnail"
+                    + ".thumbnails");
+    private static final JsonPath CHANNEL_THUMBNAIL_THUMBNAILS =
+            JsonPath.compile("channelThumbnail.thumbnails");
 
     private final JsonObject videoInfo;
     private final TimeAgoParser timeAgoParser;
@@ -235,14 +241,12 @@ public class YoutubeStreamInfoItemExtractor implements StreamInfoItemExtractor {
     public List<Image> getUploaderAvatars() throws ParsingException {
         if (videoInfo.has("channelThumbnailSupportedRenderers")) {
             return getImagesFromThumbnailsArray(JsonUtils.getArray(videoInfo,
-                    // CHECKSTYLE:OFF
-                    "channelThumbnailSupportedRenderers.channelThumbnailWithLinkRenderer.thumbnail.thumbnails"));
-                    // CHECKSTYLE:ON
+                    CHANNEL_THUMBNAIL_WITH_LINK_THUMBNAILS));
         }
 
         if (videoInfo.has("channelThumbnail")) {
             return getImagesFromThumbnailsArray(
-                    JsonUtils.getArray(videoInfo, "channelThumbnail.thumbnails"));
+                    JsonUtils.getArray(videoInfo, CHANNEL_THUMBNAIL_THUMBNAILS));
         }
 
         return List.of();
@@ -15,6 +15,7 @@ import org.schabi.newpipe.extractor.services.youtube.linkHandler.YoutubeStreamLi
 import org.schabi.newpipe.extractor.stream.ContentAvailability;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemExtractor;
 import org.schabi.newpipe.extractor.stream.StreamType;
+import org.schabi.newpipe.extractor.utils.JsonPath;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Utils;
 
@@ -41,6 +42,16 @@ import javax.annotation.Nullable;
 public class YoutubeStreamInfoItemLockupExtractor implements StreamInfoItemExtractor {
 
     private static final String NO_VIEWS_LOWERCASE = "no views";
+    private static final JsonPath OVERLAYS =
+            JsonPath.compile("contentImage.thumbnailViewModel.overlays");
+    private static final JsonPath THUMBNAIL_SOURCES =
+            JsonPath.compile("contentImage.thumbnailViewModel.image.sources");
+    private static final JsonPath WATCH_ENDPOINT_VIDEO_ID = JsonPath.compile(
+            "rendererContext.commandContext.onTap.innertubeCommand.watchEndpoint.videoId");
+    private static final JsonPath TITLE_CONTENT =
+            JsonPath.compile("metadata.lockupMetadataViewModel.title.content");
+    private static final JsonPath AVATAR_SOURCES =
+            JsonPath.compile("avatarViewModel.image.sources");
     // This approach is language dependant (en-GB)
     // Leading end space is voluntary included
     private static final String PREMIERES_VIDEOS_TEXT = "Premieres ";
@@ -98,8 +109,7 @@ public class YoutubeStreamInfoItemLockupExtractor implements StreamInfoItemExtra
     }
 
     private StreamType determineStreamType() throws ParsingException {
-        final JsonArray overlays = JsonUtils.getArray(lockupViewModel,
-            "contentImage.thumbnailViewModel.overlays");
+        final JsonArray overlays = JsonUtils.getArray(lockupViewModel, OVERLAYS);
 
         // thumbnailOverlayBadgeViewModel path (legacy/alternate overlay structure)
         if (overlays.streamAsJsonObjects()
@@ -151,8 +161,7 @@ public class YoutubeStreamInfoItemLockupExtractor implements StreamInfoItemExtra
         try {
             String videoId = lockupViewModel.getString("contentId");
             if (isNullOrEmpty(videoId)) {
-                videoId = JsonUtils.getString(lockupViewModel,
-                    "rendererContext.commandContext.onTap.innertubeCommand.watchEndpoint.videoId");
+                videoId = JsonUtils.getString(lockupViewModel, WATCH_ENDPOINT_VIDEO_ID);
             }
             return YoutubeStreamLinkHandlerFactory.getInstance().getUrl(videoId);
         } catch (final Exception e) {
@@ -166,8 +175,7 @@ public class YoutubeStreamInfoItemLockupExtractor implements StreamInfoItemExtra
             return cachedName;
         }
 
-        final String name = JsonUtils.getString(lockupViewModel,
-            "metadata.lockupMetadataViewModel.title.content");
+        final String name = JsonUtils.getString(lockupViewModel, TITLE_CONTENT);
         if (!isNullOrEmpty(name)) {
             this.cachedName = name;
             return name;
@@ -184,8 +192,7 @@ public class YoutubeStreamInfoItemLockupExtractor implements StreamInfoItemExtra
             return -1;
         }
 
-        final List<String> potentialDurations = JsonUtils.getArray(lockupViewModel,
-                "contentImage.thumbnailViewModel.overlays")
+        final List<String> potentialDurations = JsonUtils.getArray(lockupViewModel, OVERLAYS)
             .streamAsJsonObjects()
             .flatMap(jsonObject -> jsonObject
                 .getObject("thumbnailBottomOverlayViewModel")
@@ -277,9 +284,7 @@ public class YoutubeStreamInfoItemLockupExtractor implements StreamInfoItemExtra
     @Override
     public List<Image> getUploaderAvatars() throws ParsingException {
         return YoutubeParsingHelper.getImagesFromThumbnailsArray(
-            JsonUtils.getArray(
-                channelImageViewModel().forAvatarExtraction(),
-                "avatarViewModel.image.sources"));
+            JsonUtils.getArray(channelImageViewModel().forAvatarExtraction(), AVATAR_SOURCES));
     }
 
     @Override
@@ -422,8 +427,7 @@ public class YoutubeStreamInfoItemLockupExtractor implements StreamInfoItemExtra
     @Override
     public List<Image> getThumbnails() throws ParsingException {
         return YoutubeParsingHelper.getImagesFromThumbnailsArray(
-            JsonUtils.getArray(lockupViewModel,
-                "contentImage.thumbnailViewModel.image.sources"));
+            JsonUtils.getArray(lockupViewModel, THUMBNAIL_SOURCES));
     }
 
     @Nonnull
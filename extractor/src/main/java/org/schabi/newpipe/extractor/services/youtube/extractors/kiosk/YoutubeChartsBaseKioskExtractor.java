@@ -21,7 +21,6 @@ import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 import org.schabi.newpipe.extractor.stream.StreamType;
-import org.schabi.newpipe.extractor.utils.JsonUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,7 +36,7 @@ import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getClientHeaders;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getOriginReferrerHeaders;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getThumbnailsFromInfoItem;
-import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getValidJsonResponseBody;
+import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getValidJsonResponse;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareJsonBuilder;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
@@ -103,9 +102,9 @@ abstract class YoutubeChartsBaseKioskExtractor extends KioskExtractor<StreamInfo
         headers.putAll(getClientHeaders(innertubeClientRequestInfo.clientInfo.clientId,
                 innertubeClientRequestInfo.clientInfo.clientVersion));
 
-        browseResponse = JsonUtils.toJsonObject(getValidJsonResponseBody(
+        browseResponse = getValidJsonResponse(
                 getDownloader().postWithContentTypeJson(
-                        YT_CHARTS_ENDPOINT, headers, body, localization)));
+                        YT_CHARTS_ENDPOINT, headers, body, localization));
     }
 
     @Nonnull
@@ -64,6 +64,8 @@ public final class AudioStream extends Stream {
         private String id;
         private String content;
         private boolean isUrl;
+        @Nullable
+        private ContentResolver contentResolver;
         private DeliveryMethod deliveryMethod = DeliveryMethod.PROGRESSIVE_HTTP;
         @Nullable
         private MediaFormat mediaFormat;
@@ -123,6 +125,22 @@ public final class AudioStream extends Stream {
                                   final boolean isUrl) {
             this.content = content;
             this.isUrl = isUrl;
+            this.contentResolver = null;
+            return this;
+        }
+
+        /**
+         * Set a {@link ContentResolver} resolving the URL of the {@link AudioStream} only when
+         * {@link AudioStream#resolveContent()} is called, instead of setting its content.
+         *
+         * @param contentResolver the {@link ContentResolver} resolving the URL of the
+         *                        {@link AudioStream}
+         * @return this {@link Builder} instance
+         */
+        public Builder setContentResolver(@Nonnull final ContentResolver contentResolver) {
+            this.content = null;
+            this.isUrl = true;
+            this.contentResolver = contentResolver;
             return this;
         }
 
@@ -302,7 +320,7 @@ public final class AudioStream extends Stream {
                                 + "ID_UNKNOWN of the Stream class.");
             }
 
-            if (content == null) {
+            if (content == null && contentResolver == null) {
                 throw new IllegalStateException("The content of the audio stream has been not set "
                         + "or is null. Please specify a non-null one with setContent.");
             }
@@ -328,7 +346,8 @@ public final class AudioStream extends Stream {
               builder.isUrl,
               builder.mediaFormat,
               builder.deliveryMethod,
-              builder.manifestUrl);
+              builder.manifestUrl,
+              builder.contentResolver);
         if (builder.itagItem != null) {
             this.itagItem = builder.itagItem;
             this.itag = builder.itagItem.id;
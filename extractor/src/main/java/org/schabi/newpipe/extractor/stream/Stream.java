@@ -1,10 +1,12 @@
 package org.schabi.newpipe.extractor.stream;
 
 import org.schabi.newpipe.extractor.MediaFormat;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.services.youtube.ItagItem;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
 
@@ -29,10 +31,34 @@ public abstract class Stream implements Serializable {
 
     private final String id;
     @Nullable private final MediaFormat mediaFormat;
-    private final String content;
+    private volatile String content;
     private final boolean isUrl;
     private final DeliveryMethod deliveryMethod;
     @Nullable private final String manifestUrl;
+    @Nullable private final ContentResolver contentResolver;
+
+    /**
+     * Resolver of the content of a stream, which is called only when the content is requested.
+     *
+     * <p>
+     * It is used by services which need a network request to get the URL of each stream, so
+     * that only the streams which are actually used cost a request. Resolvers must be
+     * serializable, like streams.
+     * </p>
+     */
+    @FunctionalInterface
+    public interface ContentResolver extends Serializable {
+
+        /**
+         * Resolve the content of the stream.
+         *
+         * @return the content or URL of the stream
+         * @throws IOException         if the request needed to resolve the content failed
+         * @throws ExtractionException if the content could not be extracted
+         */
+        @Nonnull
+        String resolve() throws IOException, ExtractionException;
+    }
 
     /**
      * Instantiates a new {@code Stream} object.
@@ -53,12 +79,39 @@ public abstract class Stream implements Serializable {
                   @Nullable final MediaFormat format,
                   final DeliveryMethod deliveryMethod,
                   @Nullable final String manifestUrl) {
+        this(id, content, isUrl, format, deliveryMethod, manifestUrl, null);
+    }
+
+    /**
+     * Instantiates a new {@code Stream} object, whose content may be resolved lazily.
+     *
+     * @param id              the identifier which uniquely identifies the file, e.g. for YouTube
+     *                        this would be the itag
+     * @param content         the content or URL, depending on whether isUrl is true, or
+     *                        {@code null} if it is resolved by the content resolver
+     * @param isUrl           whether content is the URL or the actual content of e.g. a DASH
+     *                        manifest
+     * @param format          the {@link MediaFormat}, which can be null
+     * @param deliveryMethod  the delivery method of the stream
+     * @param manifestUrl     the URL of the manifest this stream comes from (if applicable,
+     *                        otherwise null)
+     * @param contentResolver the {@link ContentResolver} resolving the content when it is
+     *                        requested, if content is {@code null}
+     */
+    protected Stream(final String id,
+                     @Nullable final String content,
+                     final boolean isUrl,
+                     @Nullable final MediaFormat format,
+                     final DeliveryMethod deliveryMethod,
+                     @Nullable final String manifestUrl,
+                     @Nullable final ContentResolver contentResolver) {
         this.id = id;
         this.content = content;
         this.isUrl = isUrl;
         this.mediaFormat = format;
         this.deliveryMethod = deliveryMethod;
         this.manifestUrl = manifestUrl;
+        this.contentResolver = contentResolver;
     }
 
     /**
@@ -133,11 +186,60 @@ public abstract class Stream implements Serializable {
     /**
      * Gets the content or URL.
      *
+     * <p>
+     * This method never resolves the content: if it is resolved lazily, which is only the case
+     * when a service has been asked to, {@link #resolveContent()} has to be used to get it
+     * until it {@link #isContentResolved() has been resolved}.
+     * </p>
+     *
      * @return the content or URL
+     * @throws IllegalStateException if the content is resolved lazily and has not been resolved
+     *                               yet
      */
     @Nonnull
     public String getContent() {
-        return content;
+        final String currentContent = content;
+        if (currentContent == null) {
+            throw new IllegalStateException("The content of stream " + id
+                    + " has not been resolved yet, resolveContent() has to be called first");
+        }
+        return currentContent;
+    }
+
+    /**
+     * Gets the content or URL, resolving it if it has not been resolved yet.
+     *
+     * <p>
+     * The content is resolved once: following calls return the same content.
+     * </p>
+     *
+     * @return the content or URL
+     * @throws IOException         if the request needed to resolve the content failed
+     * @throws ExtractionException if the content could not be extracted
+     */
+    @Nonnull
+    public String resolveContent() throws IOException, ExtractionException {
+        final String currentContent = content;
+        if (currentContent != null || contentResolver == null) {
+            return getContent();
+        }
+
+        synchronized (this) {
+            if (content == null) {
+                content = contentResolver.resolve();
+            }
+            return content;
+        }
+    }
+
+    /**
+     * Returns whether the content of this stream is known, which is always the case for streams
+     * whose content is not resolved lazily.
+     *
+     * @return {@code true} if {@link #getContent()} can be called
+     */
+    public boolean isContentResolved() {
+        return content != null || contentResolver == null;
     }
 
     /**
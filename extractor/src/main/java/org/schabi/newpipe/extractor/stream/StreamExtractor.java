@@ -29,6 +29,7 @@ import org.schabi.newpipe.extractor.MediaFormat;
 import org.schabi.newpipe.extractor.MetaInfo;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.channel.ChannelExtractor;
+import org.schabi.newpipe.extractor.comments.CommentsExtractor;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.linkhandler.LinkHandler;
@@ -593,6 +594,31 @@ public abstract class StreamExtractor extends Extractor {
         return ContentAvailability.UNKNOWN;
     }
 
+    /**
+     * Get an extractor of the comments of this stream.
+     *
+     * <p>
+     * Services may override this method to give the returned extractor data already fetched by
+     * this one, so that it can skip some requests. Its page should still be fetched as usual,
+     * which {@link org.schabi.newpipe.extractor.comments.CommentsInfo#getInfo(StreamExtractor)}
+     * does. The localization and the content country of this extractor are used by the returned
+     * one.
+     * </p>
+     *
+     * @return an extractor of the comments of this stream, or {@code null} if the service doesn't
+     * support comments
+     * @throws ExtractionException if the extractor could not be created
+     */
+    @Nullable
+    public CommentsExtractor getCommentsExtractor() throws ExtractionException {
+        final CommentsExtractor commentsExtractor = getService().getCommentsExtractor(getUrl());
+        if (commentsExtractor != null) {
+            commentsExtractor.forceLocalization(getExtractorLocalization());
+            commentsExtractor.forceContentCountry(getExtractorContentCountry());
+        }
+        return commentsExtractor;
+    }
+
     public enum Privacy {
         PUBLIC,
         UNLISTED,
@@ -86,7 +86,8 @@ public class StreamInfo extends Info {
     public static StreamInfo getInfo(@Nonnull final StreamingService service,
                                      final String url) throws IOException, ExtractionException {
         ExtractorLogger.d(TAG, "getInfo({service},{url})", service, url);
-        return getInfo(service.getStreamExtractor(url));
+        final StreamExtractor extractor = service.getStreamExtractor(url);
+        return getCoalescedInfo(StreamInfo.class, extractor, () -> getInfo(extractor));
     }
 
     public static StreamInfo getInfo(@Nonnull final StreamExtractor extractor)
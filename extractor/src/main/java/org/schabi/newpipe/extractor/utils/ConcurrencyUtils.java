@@ -0,0 +1,243 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Utilities used by extractors which run independent network requests concurrently.
+ */
+public final class ConcurrencyUtils {
+
+    private ConcurrencyUtils() {
+    }
+
+    /**
+     * A supplier which can throw the exceptions thrown by extraction code.
+     *
+     * @param <T> the type of the result supplied
+     */
+    @FunctionalInterface
+    public interface ExtractionSupplier<T> {
+        T get() throws IOException, ExtractionException;
+    }
+
+    /**
+     * A function which can throw the exceptions thrown by extraction code.
+     *
+     * @param <T> the type of the input of the function
+     * @param <R> the type of the result of the function
+     */
+    @FunctionalInterface
+    public interface ExtractionFunction<T, R> {
+        R apply(T t) throws IOException, ExtractionException;
+    }
+
+    /**
+     * Get the default {@link Executor} used by concurrent extraction code when no executor has
+     * been provided by the caller.
+     *
+     * <p>
+     * On Java 21 and later, this executor starts a new virtual thread for each task. On older
+     * runtimes (and on Android), it is a cached thread pool using daemon threads.
+     * </p>
+     *
+     * @return the shared default {@link Executor}
+     */
+    @Nonnull
+    public static Executor getDefaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Run a {@link ExtractionSupplier} asynchronously on the given {@link Executor}.
+     *
+     * <p>
+     * Exceptions thrown by the supplier complete the returned future exceptionally and can be
+     * rethrown as they were with {@link #await(Future)}.
+     * </p>
+     *
+     * @param supplier the supplier to run
+     * @param executor the executor to run the supplier on
+     * @param <T>      the type of the result supplied
+     * @return a {@link CompletableFuture} completed with the result of the supplier
+     */
+    @Nonnull
+    public static <T> CompletableFuture<T> supplyAsync(
+            @Nonnull final ExtractionSupplier<T> supplier,
+            @Nonnull final Executor executor) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    // Cancelled before being started
+                    return;
+                }
+                try {
+                    future.complete(supplier.get());
+                } catch (final Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (final RuntimeException e) {
+            // The executor rejected the task
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Transform the result of a {@link CompletableFuture} with an {@link ExtractionFunction}.
+     *
+     * <p>
+     * Exceptions thrown by the function complete the returned future exceptionally and can be
+     * rethrown as they were with {@link #await(Future)}.
+     * </p>
+     *
+     * @param future   the future whose result is transformed
+     * @param function the function to apply on the result of the future
+     * @param <T>      the type of the result of the future
+     * @param <R>      the type of the result of the function
+     * @return a {@link CompletableFuture} completed with the result of the function
+     */
+    @Nonnull
+    public static <T, R> CompletableFuture<R> thenApply(
+            @Nonnull final CompletableFuture<T> future,
+            @Nonnull final ExtractionFunction<? super T, ? extends R> function) {
+        return future.thenApply(result -> {
+            try {
+                return function.apply(result);
+            } catch (final IOException | ExtractionException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Wait for a {@link Future} to complete and return its result, rethrowing the exception it
+     * has been completed with as it was thrown by the task.
+     *
+     * @param future the future to wait for
+     * @param <T>    the type of the result of the future
+     * @return the result of the future
+     * @throws IOException         if the task threw an {@link IOException} or if the current
+     *                             thread has been interrupted while waiting
+     * @throws ExtractionException if the task threw an {@link ExtractionException} or any other
+     *                             checked exception
+     */
+    public static <T> T await(@Nonnull final Future<T> future)
+            throws IOException, ExtractionException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException interruptedIOException =
+                    new InterruptedIOException("Interrupted while waiting for a request");
+            interruptedIOException.initCause(e);
+            throw interruptedIOException;
+        } catch (final ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (final CancellationException e) {
+            throw new ExtractionException("Request has been cancelled", e);
+        }
+    }
+
+    /**
+     * Wait for a {@link Future} to complete and return its result, or {@code null} if the task
+     * failed.
+     *
+     * <p>
+     * This method is meant to be used for best-effort requests, whose failures are ignored.
+     * </p>
+     *
+     * @param future the future to wait for, which can be null
+     * @param <T>    the type of the result of the future
+     * @return the result of the future or {@code null}
+     */
+    @Nullable
+    public static <T> T awaitOrNull(@Nullable final Future<T> future) {
+        if (future == null) {
+            return null;
+        }
+        try {
+            return await(future);
+        } catch (final Exception ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Cancel all the given futures, ignoring the null ones.
+     *
+     * <p>
+     * Tasks which already started are not interrupted, their results are just discarded.
+     * </p>
+     *
+     * @param futures the futures to cancel
+     */
+    public static void cancelAll(@Nonnull final Future<?>... futures) {
+        for (final Future<?> future : futures) {
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    @Nonnull
+    private static ExtractionException rethrow(@Nullable final Throwable throwable)
+            throws IOException, ExtractionException {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        } else if (cause instanceof ExtractionException) {
+            throw (ExtractionException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new ExtractionException(cause);
+    }
+
+    private static final class DefaultExecutorHolder {
+        private static final Executor EXECUTOR = createDefaultExecutor();
+
+        private DefaultExecutorHolder() {
+        }
+
+        @Nonnull
+        private static Executor createDefaultExecutor() {
+            try {
+                // Executors.newVirtualThreadPerTaskExecutor() is only available on Java 21+
+                final Method newVirtualThreadPerTaskExecutor =
+                        Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor) newVirtualThreadPerTaskExecutor.invoke(null);
+            } catch (final ReflectiveOperationException | RuntimeException ignored) {
+                final AtomicInteger threadCount = new AtomicInteger();
+                return Executors.newCachedThreadPool(runnable -> {
+                    final Thread thread = new Thread(runnable,
+                            "NewPipeExtractor-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+}
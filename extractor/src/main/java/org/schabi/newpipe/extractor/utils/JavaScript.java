@@ -4,6 +4,11 @@ import org.mozilla.javascript.Context;
 import org.mozilla.javascript.Function;
 import org.mozilla.javascript.ScriptableObject;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
 public final class JavaScript {
 
     private JavaScript() {
@@ -18,18 +23,111 @@ public final class JavaScript {
         }
     }
 
+    /**
+     * Evaluate the given JavaScript code and call one of its functions once.
+     *
+     * @param function     the JavaScript code defining the function
+     * @param functionName the name of the function to call
+     * @param parameters   the parameters of the function
+     * @return the string representation of the result of the function
+     * @throws IllegalArgumentException if the code doesn't define a function with the given name
+     * @deprecated the code is evaluated on each call, use {@link #compile(String, String)} and
+     * call the returned function instead
+     */
+    @Deprecated
     public static String run(final String function,
                              final String functionName,
                              final String... parameters) {
+        return compile(function, functionName).call(parameters);
+    }
+
+    /**
+     * Evaluate the given JavaScript code once in a new sealed scope and get one of its functions,
+     * which can then be called many times without evaluating the code again.
+     *
+     * @param function     the JavaScript code defining the function
+     * @param functionName the name of the function to get
+     * @return the compiled function
+     * @throws IllegalArgumentException if the code doesn't define a function with the given name
+     */
+    @Nonnull
+    public static CompiledFunction compile(@Nonnull final String function,
+                                           @Nonnull final String functionName) {
         try (Context context = Context.enter()) {
             context.setInterpretedMode(true);
-            final ScriptableObject scope = context.initSafeStandardObjects();
+            final ScriptableObject scope = context.initSafeStandardObjects(null, true);
 
             context.evaluateString(scope, function, functionName, 1, null);
-            final Function jsFunction = (Function) scope.get(functionName, scope);
-            final Object result = jsFunction.call(context, scope, scope, parameters);
-            return result.toString();
+            final Object jsFunction = scope.get(functionName, scope);
+            if (!(jsFunction instanceof Function)) {
+                throw new IllegalArgumentException(
+                        "JavaScript code doesn't define function " + functionName);
+            }
+
+            // Sealing the scope prevents calls from modifying it, so that it can be shared
+            // between threads
+            scope.sealObject();
+            if (jsFunction instanceof ScriptableObject) {
+                ((ScriptableObject) jsFunction).sealObject();
+            }
+            return new CompiledFunction(scope, (Function) jsFunction);
         }
     }
 
+    /**
+     * A JavaScript function returned by {@link #compile(String, String)}.
+     *
+     * <p>
+     * Its scope is sealed, so it can be called concurrently from multiple threads.
+     * </p>
+     */
+    public static final class CompiledFunction {
+        @Nonnull
+        private final ScriptableObject scope;
+        @Nonnull
+        private final Function function;
+
+        private CompiledFunction(@Nonnull final ScriptableObject scope,
+                                 @Nonnull final Function function) {
+            this.scope = scope;
+            this.function = function;
+        }
+
+        /**
+         * Call the function.
+         *
+         * @param parameters the parameters of the function
+         * @return the string representation of the result of the function
+         */
+        public String call(final String... parameters) {
+            try (Context context = Context.enter()) {
+                context.setInterpretedMode(true);
+                return call(context, parameters);
+            }
+        }
+
+        /**
+         * Call the function with each of the given parameters, entering a JavaScript context only
+         * once.
+         *
+         * @param parameters the parameters of each call of the function
+         * @return the string representations of the results of each call, in the same order as
+         * the given parameters
+         */
+        @Nonnull
+        public List<String> callForEach(@Nonnull final List<String> parameters) {
+            final List<String> results = new ArrayList<>(parameters.size());
+            try (Context context = Context.enter()) {
+                context.setInterpretedMode(true);
+                for (final String parameter : parameters) {
+                    results.add(call(context, parameter));
+                }
+            }
+            return results;
+        }
+
+        private String call(@Nonnull final Context context, final String... parameters) {
+            return function.call(context, scope, scope, parameters).toString();
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package org.schabi.newpipe.extractor.utils;
+
+import com.grack.nanojson.JsonObject;
+
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A dotted path to a value in a {@link JsonObject}, such as {@code "account.name"}, split once.
+ *
+ * <p>
+ * Paths used repeatedly, for instance on each item of a list, should be stored in constants and
+ * passed to the {@link JsonUtils} methods accepting a {@link JsonPath}, which then don't allocate
+ * anything when the value is found, unlike the ones accepting a {@link String} path.
+ * </p>
+ */
+public final class JsonPath {
+    private static final Pattern DOT = Pattern.compile("\\.");
+
+    @Nonnull
+    private final String path;
+    @Nonnull
+    private final String[] keys;
+
+    private JsonPath(@Nonnull final String path) {
+        this.path = path;
+        this.keys = DOT.split(path);
+    }
+
+    /**
+     * Split a dotted path into a {@link JsonPath}.
+     *
+     * @param path the dotted path, such as {@code "account.name"}
+     * @return the compiled path
+     */
+    @Nonnull
+    public static JsonPath compile(@Nonnull final String path) {
+        return new JsonPath(path);
+    }
+
+    /**
+     * @param object the object in which the value should be get
+     * @return the value at this path in the given object
+     * @throws ParsingException if there is no value at this path
+     */
+    @Nonnull
+    Object getValue(@Nonnull final JsonObject object) throws ParsingException {
+        JsonObject parentObject = object;
+        for (int i = 0; i < keys.length - 1; i++) {
+            // JsonObject.getObject would create an empty object if there is none
+            final Object child = parentObject.get(keys[i]);
+            if (!(child instanceof JsonObject)) {
+                throw new ParsingException("Unable to get " + path);
+            }
+            parentObject = (JsonObject) child;
+        }
+
+        final Object result = parentObject.get(keys[keys.length - 1]);
+        if (result == null) {
+            throw new ParsingException("Unable to get " + path);
+        }
+        return result;
+    }
+
+    /**
+     * @param object the object in which the value should be get
+     * @param klass  the expected type of the value
+     * @param <T>    the expected type of the value
+     * @return the value at this path in the given object
+     * @throws ParsingException if there is no value at this path or if it has another type
+     */
+    @Nonnull
+    <T> T getInstanceOf(@Nonnull final JsonObject object,
+                        @Nonnull final Class<T> klass) throws ParsingException {
+        final Object value = getValue(object);
+        if (klass.isInstance(value)) {
+            return klass.cast(value);
+        } else {
+            throw new ParsingException("Wrong data type at path " + path);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return path;
+    }
+}
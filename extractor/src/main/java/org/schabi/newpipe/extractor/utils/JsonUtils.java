@@ -7,15 +7,16 @@ import com.grack.nanojson.JsonParserException;
 
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import org.schabi.newpipe.extractor.downloader.Response;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 
 public final class JsonUtils {
     private JsonUtils() {
@@ -24,83 +25,85 @@ public final class JsonUtils {
     @Nonnull
     public static Object getValue(@Nonnull final JsonObject object,
                                   @Nonnull final String path) throws ParsingException {
-
-        final List<String> keys = Arrays.asList(path.split("\\."));
-        final JsonObject parentObject = getObject(object, keys.subList(0, keys.size() - 1));
-        if (parentObject == null) {
-            throw new ParsingException("Unable to get " + path);
-        }
-
-        final Object result = parentObject.get(keys.get(keys.size() - 1));
-        if (result == null) {
-            throw new ParsingException("Unable to get " + path);
-        }
-        return result;
-    }
-
-    private static <T> T getInstanceOf(@Nonnull final JsonObject object,
-                                       @Nonnull final String path,
-                                       @Nonnull final Class<T> klass) throws ParsingException {
-        final Object value = getValue(object, path);
-        if (klass.isInstance(value)) {
-            return klass.cast(value);
-        } else {
-            throw new ParsingException("Wrong data type at path " + path);
-        }
+        return JsonPath.compile(path).getValue(object);
     }
 
     @Nonnull
     public static String getString(@Nonnull final JsonObject object, @Nonnull final String path)
             throws ParsingException {
-        return getInstanceOf(object, path, String.class);
+        return getString(object, JsonPath.compile(path));
     }
 
     @Nonnull
     public static Boolean getBoolean(@Nonnull final JsonObject object,
                                      @Nonnull final String path) throws ParsingException {
-        return getInstanceOf(object, path, Boolean.class);
+        return getBoolean(object, JsonPath.compile(path));
     }
 
     @Nonnull
     public static Number getNumber(@Nonnull final JsonObject object,
                                    @Nonnull final String path)
             throws ParsingException {
-        return getInstanceOf(object, path, Number.class);
+        return getNumber(object, JsonPath.compile(path));
     }
 
     @Nonnull
     public static JsonObject getObject(@Nonnull final JsonObject object,
                                        @Nonnull final String path) throws ParsingException {
-        return getInstanceOf(object, path, JsonObject.class);
+        return getObject(object, JsonPath.compile(path));
     }
 
     @Nonnull
     public static JsonArray getArray(@Nonnull final JsonObject object, @Nonnull final String path)
             throws ParsingException {
-        return getInstanceOf(object, path, JsonArray.class);
+        return getArray(object, JsonPath.compile(path));
+    }
+
+    @Nonnull
+    public static Object getValue(@Nonnull final JsonObject object,
+                                  @Nonnull final JsonPath path) throws ParsingException {
+        return path.getValue(object);
+    }
+
+    @Nonnull
+    public static String getString(@Nonnull final JsonObject object,
+                                   @Nonnull final JsonPath path) throws ParsingException {
+        return path.getInstanceOf(object, String.class);
+    }
+
+    @Nonnull
+    public static Boolean getBoolean(@Nonnull final JsonObject object,
+                                     @Nonnull final JsonPath path) throws ParsingException {
+        return path.getInstanceOf(object, Boolean.class);
+    }
+
+    @Nonnull
+    public static Number getNumber(@Nonnull final JsonObject object,
+                                   @Nonnull final JsonPath path) throws ParsingException {
+        return path.getInstanceOf(object, Number.class);
+    }
+
+    @Nonnull
+    public static JsonObject getObject(@Nonnull final JsonObject object,
+                                       @Nonnull final JsonPath path) throws ParsingException {
+        return path.getInstanceOf(object, JsonObject.class);
+    }
+
+    @Nonnull
+    public static JsonArray getArray(@Nonnull final JsonObject object,
+                                     @Nonnull final JsonPath path) throws ParsingException {
+        return path.getInstanceOf(object, JsonArray.class);
     }
 
     @Nonnull
     public static List<Object> getValues(@Nonnull final JsonArray array, @Nonnull final String path)
             throws ParsingException {
 
+        final JsonPath jsonPath = JsonPath.compile(path);
         final List<Object> result = new ArrayList<>();
         for (int i = 0; i < array.size(); i++) {
             final JsonObject obj = array.getObject(i);
-            result.add(getValue(obj, path));
-        }
-        return result;
-    }
-
-    @Nullable
-    private static JsonObject getObject(@Nonnull final JsonObject object,
-                                        @Nonnull final List<String> keys) {
-        JsonObject result = object;
-        for (final String key : keys) {
-            result = result.getObject(key);
-            if (result == null) {
-                break;
-            }
+            result.add(getValue(obj, jsonPath));
         }
         return result;
     }
@@ -121,6 +124,45 @@ public final class JsonUtils {
         }
     }
 
+    /**
+     * Parse a JSON object from a stream of UTF-8 encoded bytes, without decoding them to a
+     * {@link String} first.
+     *
+     * @param inputStream the stream to parse, which is not closed by this method
+     * @return the parsed {@link JsonObject}
+     * @throws ParsingException if the stream could not be read or parsed
+     */
+    public static JsonObject toJsonObject(@Nonnull final InputStream inputStream)
+            throws ParsingException {
+        try {
+            return JsonParser.object().from(inputStream);
+        } catch (final JsonParserException e) {
+            throw new ParsingException("Could not parse JSON", e);
+        }
+    }
+
+    /**
+     * Parse the body of a {@link Response} as a JSON object.
+     *
+     * <p>
+     * If the response has been {@link Response#fromBytes(int, String, java.util.Map, byte[],
+     * String) created from bytes} encoded in UTF-8, they are parsed directly, so that the body is
+     * never decoded to a {@link String}. Otherwise, the {@link String} body is parsed.
+     * </p>
+     *
+     * @param response the response whose body should be parsed
+     * @return the parsed {@link JsonObject}
+     * @throws ParsingException if the body could not be parsed
+     */
+    public static JsonObject toJsonObject(@Nonnull final Response response)
+            throws ParsingException {
+        if (response.hasResponseBodyBytes()
+                && StandardCharsets.UTF_8.equals(response.responseBodyCharset())) {
+            return toJsonObject(response.responseBodyStream());
+        }
+        return toJsonObject(response.responseBody());
+    }
+
     /**
      * <p>Get an attribute of a web page as JSON
      *
@@ -0,0 +1,688 @@
+package org.schabi.newpipe.extractor.utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link Serializable serializable} cache which evicts its least recently used entries when it
+ * is full.
+ *
+ * <p>
+ * It relies internally on a {@link ConcurrentHashMap} to allow concurrent access to the cache:
+ * reads don't block. Entries are also kept in a list ordered by last access, which is updated
+ * under a lock, so that the least recently used entries are evicted first.
+ * </p>
+ *
+ * <p>
+ * The cache is bounded by a {@link #getMaximumSize() maximum number of entries} and by a
+ * {@link #getMaximumWeight() maximum weight}, the weight of each value being computed by the
+ * {@link Weigher} given to the constructor. When adding an entry would exceed the maximum size,
+ * the least recently used entries are evicted until the cache size is the maximum size multiplied
+ * by the {@link #getClearFactor() clear factor}, so that evictions don't happen on every
+ * insertion. When adding an entry would exceed the maximum weight, the least recently used
+ * entries are evicted until it fits.
+ * </p>
+ *
+ * <p>
+ * Entries can also {@link #put(Serializable, Serializable, long) expire}. Expired entries are
+ * never returned.
+ * </p>
+ *
+ * @param <K> the type of cache keys, which must be {@link Serializable serializable}
+ * @param <V> the type of cache values, which must be {@link Serializable serializable}
+ */
+public final class LruCache<K extends Serializable, V extends Serializable>
+        implements Serializable {
+
+    /**
+     * The default maximum size of a cache.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    /**
+     * The default maximum weight of a cache, which doesn't bound it.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = Long.MAX_VALUE;
+
+    /**
+     * The default clear factor of a cache.
+     */
+    public static final double DEFAULT_CLEAR_FACTOR = 0.75;
+
+    /**
+     * The expiration time of entries which never expire.
+     */
+    public static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Computes the weight of the values of a {@link LruCache}.
+     *
+     * @param <V> the type of the values
+     */
+    @FunctionalInterface
+    public interface Weigher<V> extends Serializable {
+        /**
+         * @param value a value of the cache
+         * @return the weight of the value, which must not be negative
+         */
+        long weigh(@Nonnull V value);
+    }
+
+    /**
+     * Statistics of a {@link LruCache}, since its creation or its last
+     * {@link LruCache#reset() reset}.
+     */
+    public static final class Stats implements Serializable {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+
+        Stats(final long hitCount, final long missCount, final long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * @return the number of lookups which returned a value
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return the number of lookups which didn't return a value, because there was none or
+         * because it expired
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return the number of entries evicted because the cache was full, not including
+         * expired entries, entries replaced and entries removed by
+         * {@link LruCache#clear()}
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return the ratio of lookups which returned a value, or {@code 1} if there was no lookup
+         */
+        public double getHitRate() {
+            final long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1 : (double) hitCount / requestCount;
+        }
+
+        @Nonnull
+        @Override
+        public String toString() {
+            return "Stats[hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+                    + evictionCount + "]";
+        }
+    }
+
+    /**
+     * An entry of the cache, which is also a node of the list of entries ordered by last access.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final long weight;
+        private final long expirationTime;
+        // Guarded by lock
+        @Nullable
+        private Node<K, V> previous;
+        @Nullable
+        private Node<K, V> next;
+        private boolean removed;
+
+        Node(final K key,
+             final V value,
+             final long weight,
+             final long expirationTime) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expirationTime = expirationTime;
+        }
+
+        boolean isExpired(final long now) {
+            return now >= expirationTime;
+        }
+    }
+
+    @Nonnull
+    private final Weigher<? super V> weigher;
+
+    // The state of the cache is serialized by writeObject as a list of entries
+    private transient ConcurrentHashMap<K, Node<K, V>> concurrentHashMap;
+    private transient ReentrantLock lock;
+    // The least recently used entry, guarded by lock
+    @Nullable
+    private transient Node<K, V> head;
+    // The most recently used entry, guarded by lock
+    @Nullable
+    private transient Node<K, V> tail;
+    // Guarded by lock
+    private transient long totalWeight;
+
+    private transient LongAdder hitCount;
+    private transient LongAdder missCount;
+    private transient LongAdder evictionCount;
+
+    /**
+     * The maximum size of the cache.
+     *
+     * <p>
+     * The default value is {@link #DEFAULT_MAXIMUM_SIZE}.
+     * </p>
+     */
+    private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * The maximum weight of the cache.
+     *
+     * <p>
+     * The default value is {@link #DEFAULT_MAXIMUM_WEIGHT}.
+     * </p>
+     */
+    private volatile long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+
+    /**
+     * The clear factor of the cache, which is a double between {@code 0} and {@code 1} excluded.
+     *
+     * <p>
+     * The default value is {@link #DEFAULT_CLEAR_FACTOR}.
+     * </p>
+     */
+    private volatile double clearFactor = DEFAULT_CLEAR_FACTOR;
+
+    /**
+     * Creates a new {@link LruCache}, in which each value weighs {@code 1}.
+     */
+    public LruCache() {
+        this(value -> 1);
+    }
+
+    /**
+     * Creates a new {@link LruCache}.
+     *
+     * @param weigher the {@link Weigher} computing the weight of values, such as
+     *                {@code String::length}
+     */
+    public LruCache(@Nonnull final Weigher<? super V> weigher) {
+        this.weigher = weigher;
+        initState();
+    }
+
+    /**
+     * Tests if the specified key is in the cache and has not expired.
+     *
+     * <p>
+     * This method doesn't change the statistics of the cache and the order in which entries are
+     * evicted.
+     * </p>
+     *
+     * @param key the key to test its presence in the cache
+     * @return {@code true} if the key is in the cache, {@code false} otherwise.
+     */
+    public boolean containsKey(final K key) {
+        final Node<K, V> node = concurrentHashMap.get(key);
+        return node != null && !node.isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or {@code null} if the cache
+     * contains no mapping for the key or if it expired.
+     *
+     * @param key the key to which getting its value
+     * @return the value to which the specified key is mapped, or {@code null}
+     */
+    @Nullable
+    public V get(final K key) {
+        final Node<K, V> node = getNode(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Adds a new element to the cache, which never expires.
+     *
+     * @param key   the key to put
+     * @param value the value to associate to the key
+     * @return the previous value associated with the key, or {@code null} if there was no mapping
+     * for the key
+     * @see #put(Serializable, Serializable, long)
+     */
+    @Nullable
+    public V put(final K key, final V value) {
+        return put(key, value, NO_EXPIRATION);
+    }
+
+    /**
+     * Adds a new element to the cache.
+     *
+     * <p>
+     * If the cache limits are reached, least recently used elements will be cleared first using
+     * the clear factor, the maximum size and the maximum weight.
+     * </p>
+     *
+     * <p>
+     * A value which weighs more than the maximum weight of the cache, or which has already
+     * expired, is not added; the previous value of the key is removed.
+     * </p>
+     *
+     * @param key            the key to put
+     * @param value          the value to associate to the key
+     * @param expirationTime the time after which the element should not be returned anymore, in
+     *                       milliseconds since the epoch, or {@link #NO_EXPIRATION}
+     * @return the previous value associated with the key, or {@code null} if there was no mapping
+     * for the key
+     */
+    @Nullable
+    public V put(final K key, final V value, final long expirationTime) {
+        final long weight = weigher.weigh(value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight: " + weight);
+        }
+
+        lock.lock();
+        try {
+            final Node<K, V> previous = concurrentHashMap.get(key);
+            if (previous != null) {
+                removeNode(previous);
+            }
+
+            if (weight <= maximumWeight && expirationTime > System.currentTimeMillis()) {
+                if (concurrentHashMap.size() >= maximumSize) {
+                    final int newCacheSize = (int) Math.round(maximumSize * clearFactor);
+                    // Keep room for the new entry
+                    evictLeastRecentlyUsed(Math.min(newCacheSize, maximumSize - 1),
+                            maximumWeight);
+                }
+                evictLeastRecentlyUsed(maximumSize - 1, maximumWeight - weight);
+
+                final Node<K, V> node = new Node<>(key, value, weight, expirationTime);
+                concurrentHashMap.put(key, node);
+                linkLast(node);
+                totalWeight += weight;
+            }
+
+            return previous == null ? null : previous.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Clears the cache.
+     *
+     * <p>
+     * The cache will be empty after this method is called.
+     * </p>
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            Node<K, V> node = head;
+            while (node != null) {
+                node.removed = true;
+                node = node.next;
+            }
+            concurrentHashMap.clear();
+            head = null;
+            tail = null;
+            totalWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resets the cache.
+     *
+     * <p>
+     * The cache will be empty, its statistics will be reset and the clear factor, the maximum
+     * size and the maximum weight will be reset to their default values.
+     * </p>
+     *
+     * @see #clear()
+     * @see #resetClearFactor()
+     * @see #resetMaximumSize()
+     * @see #resetMaximumWeight()
+     */
+    public void reset() {
+        clear();
+        resetClearFactor();
+        resetMaximumSize();
+        resetMaximumWeight();
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    /**
+     * @return the number of entries in the cache, including expired ones which have not been
+     * removed yet
+     */
+    public int size() {
+        return concurrentHashMap.size();
+    }
+
+    /**
+     * Returns a snapshot of the entries of the cache which have not expired.
+     *
+     * <p>
+     * This method doesn't change the statistics of the cache and the order in which entries are
+     * evicted.
+     * </p>
+     *
+     * @return a new map of the entries of the cache, from the least recently used to the most
+     * recently used one
+     */
+    @Nonnull
+    public Map<K, V> snapshot() {
+        final long now = System.currentTimeMillis();
+        final Map<K, V> entries = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                if (!node.isExpired(now)) {
+                    entries.put(node.key, node.value);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return entries;
+    }
+
+    /**
+     * @return the total weight of the values of the cache, computed by its {@link Weigher}
+     */
+    public long weight() {
+        lock.lock();
+        try {
+            return totalWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return a snapshot of the statistics of the cache
+     */
+    @Nonnull
+    public Stats getStats() {
+        return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    /**
+     * @return the maximum size of the cache
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum size of the cache.
+     *
+     * If the current cache size is more than the new maximum size, the percentage of one less the
+     * clear factor of the maximum new size of entries in the cache will be removed.
+     *
+     * @param maximumSize the new maximum size of the cache
+     * @throws IllegalArgumentException if {@code maximumSize} is less than or equal to 0
+     */
+    public void setMaximumSize(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Invalid maximum size");
+        }
+
+        lock.lock();
+        try {
+            if (concurrentHashMap.size() > maximumSize) {
+                final int newCacheSize = (int) Math.round(maximumSize * clearFactor);
+                evictLeastRecentlyUsed(newCacheSize != 0 ? newCacheSize : 1, maximumWeight);
+            }
+            this.maximumSize = maximumSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resets the maximum size of the cache to its {@link #DEFAULT_MAXIMUM_SIZE default value}.
+     */
+    public void resetMaximumSize() {
+        setMaximumSize(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @return the maximum weight of the cache
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Sets the maximum weight of the cache.
+     *
+     * <p>
+     * If the current weight of the cache is more than the new maximum weight, least recently used
+     * entries will be removed until it is not the case anymore.
+     * </p>
+     *
+     * @param maximumWeight the new maximum weight of the cache
+     * @throws IllegalArgumentException if {@code maximumWeight} is less than or equal to 0
+     */
+    public void setMaximumWeight(final long maximumWeight) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Invalid maximum weight");
+        }
+
+        lock.lock();
+        try {
+            evictLeastRecentlyUsed(maximumSize, maximumWeight);
+            this.maximumWeight = maximumWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resets the maximum weight of the cache to its {@link #DEFAULT_MAXIMUM_WEIGHT default
+     * value}.
+     */
+    public void resetMaximumWeight() {
+        setMaximumWeight(DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * @return the current clear factor of the cache, used when the cache limit size is reached
+     */
+    public double getClearFactor() {
+        return clearFactor;
+    }
+
+    /**
+     * Sets the clear factor of the cache, used when the cache limit size is reached.
+     *
+     * <p>
+     * The clear factor must be a double between {@code 0} excluded and {@code 1} excluded.
+     * </p>
+     *
+     * <p>
+     * Note that it will be only used the next time the cache size limit is reached.
+     * </p>
+     *
+     * @param clearFactor the new clear factor of the cache
+     * @throws IllegalArgumentException if the clear factor passed a parameter is invalid
+     */
+    public void setClearFactor(final double clearFactor) {
+        if (clearFactor <= 0 || clearFactor >= 1) {
+            throw new IllegalArgumentException("Invalid clear factor");
+        }
+
+        this.clearFactor = clearFactor;
+    }
+
+    /**
+     * Resets the clear factor to its {@link #DEFAULT_CLEAR_FACTOR default value}.
+     */
+    public void resetClearFactor() {
+        this.clearFactor = DEFAULT_CLEAR_FACTOR;
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return "LruCache[clearFactor=" + clearFactor + ", maximumSize=" + maximumSize
+                + ", maximumWeight=" + maximumWeight + ", size=" + size() + ", stats="
+                + getStats() + "]";
+    }
+
+    @Nullable
+    private Node<K, V> getNode(final K key) {
+        final Node<K, V> node = concurrentHashMap.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+
+        if (node.isExpired(System.currentTimeMillis())) {
+            lock.lock();
+            try {
+                removeNode(node);
+            } finally {
+                lock.unlock();
+            }
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+        // Don't wait for other threads to reorder the entry: under contention, the order of
+        // eviction is only approximately the order of last access
+        if (lock.tryLock()) {
+            try {
+                if (!node.removed) {
+                    unlink(node);
+                    linkLast(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Evict least recently used entries until there are at most {@code maxSize} entries weighing
+     * at most {@code maxWeight}.
+     *
+     * <p>
+     * Must be called while holding {@link #lock}.
+     * </p>
+     */
+    private void evictLeastRecentlyUsed(final int maxSize, final long maxWeight) {
+        while (head != null
+                && (concurrentHashMap.size() > maxSize || totalWeight > maxWeight)) {
+            removeNode(head);
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * Must be called while holding {@link #lock}.
+     */
+    private void removeNode(@Nonnull final Node<K, V> node) {
+        if (!node.removed) {
+            concurrentHashMap.remove(node.key, node);
+            unlink(node);
+            node.removed = true;
+            totalWeight -= node.weight;
+        }
+    }
+
+    /**
+     * Must be called while holding {@link #lock}.
+     */
+    private void linkLast(@Nonnull final Node<K, V> node) {
+        node.previous = tail;
+        node.next = null;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+    }
+
+    /**
+     * Must be called while holding {@link #lock}.
+     */
+    private void unlink(@Nonnull final Node<K, V> node) {
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
+    }
+
+    private void initState() {
+        concurrentHashMap = new ConcurrentHashMap<>();
+        lock = new ReentrantLock();
+        hitCount = new LongAdder();
+        missCount = new LongAdder();
+        evictionCount = new LongAdder();
+    }
+
+    /**
+     * Write the settings of the cache and its entries, from the least recently used to the most
+     * recently used one.
+     */
+    private void writeObject(@Nonnull final ObjectOutputStream out) throws IOException {
+        lock.lock();
+        try {
+            out.defaultWriteObject();
+            out.writeInt(concurrentHashMap.size());
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                out.writeObject(node.key);
+                out.writeObject(node.value);
+                out.writeLong(node.expirationTime);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(@Nonnull final ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initState();
+        final int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            put((K) in.readObject(), (V) in.readObject(), in.readLong());
+        }
+    }
+}
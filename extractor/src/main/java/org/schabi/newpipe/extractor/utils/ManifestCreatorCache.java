@@ -3,16 +3,17 @@ package org.schabi.newpipe.extractor.utils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A {@link Serializable serializable} cache class used by the extractor to cache manifests
  * generated with extractor's manifests generators.
  *
  * <p>
- * It relies internally on a {@link ConcurrentHashMap} to allow concurrent access to the cache.
+ * It relies internally on a {@link LruCache}: it is bounded by a maximum number of manifests and
+ * by a maximum weight, from which the least recently used manifests are evicted first, and
+ * manifests can {@link #put(Serializable, Serializable, long) expire}, such as when the streaming
+ * URLs they contain are not valid anymore.
  * </p>
  *
  * @param <K> the type of cache keys, which must be {@link Serializable serializable}
@@ -25,90 +26,208 @@ public final class ManifestCreatorCache<K extends Serializable, V extends Serial
     /**
      * The default maximum size of a manifest cache.
      */
-    public static final int DEFAULT_MAXIMUM_SIZE = Integer.MAX_VALUE;
+    public static final int DEFAULT_MAXIMUM_SIZE = LruCache.DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * The default maximum weight of a manifest cache.
+     *
+     * <p>
+     * With a {@link Weigher} returning the length of manifests, this is about 8 MiB of manifests.
+     * </p>
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 8L * 1024 * 1024;
 
     /**
      * The default clear factor of a manifest cache.
      */
-    public static final double DEFAULT_CLEAR_FACTOR = 0.75;
+    public static final double DEFAULT_CLEAR_FACTOR = LruCache.DEFAULT_CLEAR_FACTOR;
 
     /**
-     * The {@link ConcurrentHashMap} used internally as the cache of manifests.
+     * The expiration time of entries which never expire.
      */
-    private final ConcurrentHashMap<K, Pair<Integer, V>> concurrentHashMap;
+    public static final long NO_EXPIRATION = LruCache.NO_EXPIRATION;
+
+    private static final long serialVersionUID = 1L;
 
     /**
-     * The maximum size of the cache.
+     * Computes the weight of the values of a {@link ManifestCreatorCache}.
      *
-     * <p>
-     * The default value is {@link #DEFAULT_MAXIMUM_SIZE}.
-     * </p>
+     * @param <V> the type of the values
      */
-    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    @FunctionalInterface
+    public interface Weigher<V> extends Serializable {
+        /**
+         * @param value a value of the cache
+         * @return the weight of the value, which must not be negative
+         */
+        long weigh(@Nonnull V value);
+    }
 
     /**
-     * The clear factor of the cache, which is a double between {@code 0} and {@code 1} excluded.
-     *
-     * <p>
-     * The default value is {@link #DEFAULT_CLEAR_FACTOR}.
-     * </p>
+     * Statistics of a {@link ManifestCreatorCache}, since its creation or its last
+     * {@link ManifestCreatorCache#reset() reset}.
+     */
+    public static final class Stats implements Serializable {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+
+        Stats(final long hitCount, final long missCount, final long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * @return the number of lookups which returned a value
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return the number of lookups which didn't return a value, because there was none or
+         * because it expired
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return the number of entries evicted because the cache was full, not including
+         * expired entries, entries replaced and entries removed by
+         * {@link ManifestCreatorCache#clear()}
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return the ratio of lookups which returned a value, or {@code 1} if there was no lookup
+         */
+        public double getHitRate() {
+            final long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1 : (double) hitCount / requestCount;
+        }
+
+        @Nonnull
+        @Override
+        public String toString() {
+            return "Stats[hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+                    + evictionCount + "]";
+        }
+    }
+
+    @Nonnull
+    private final LruCache<K, Pair<Integer, V>> cache;
+
+    /**
+     * The number of values put in the cache.
      */
-    private double clearFactor = DEFAULT_CLEAR_FACTOR;
+    @Nonnull
+    private final AtomicInteger insertionCount = new AtomicInteger();
 
     /**
-     * Creates a new {@link ManifestCreatorCache}.
+     * Creates a new {@link ManifestCreatorCache}, in which each value weighs {@code 1}.
      */
     public ManifestCreatorCache() {
-        concurrentHashMap = new ConcurrentHashMap<>();
+        this(value -> 1);
+    }
+
+    /**
+     * Creates a new {@link ManifestCreatorCache}.
+     *
+     * @param weigher the {@link Weigher} computing the weight of values, such as
+     *                {@code String::length} for manifests
+     */
+    public ManifestCreatorCache(@Nonnull final Weigher<? super V> weigher) {
+        cache = new LruCache<>(value -> weigher.weigh(value.getSecond()));
+        cache.setMaximumWeight(DEFAULT_MAXIMUM_WEIGHT);
     }
 
     /**
-     * Tests if the specified key is in the cache.
+     * Tests if the specified key is in the cache and has not expired.
+     *
+     * <p>
+     * This method doesn't change the statistics of the cache and the order in which entries are
+     * evicted.
+     * </p>
      *
      * @param key the key to test its presence in the cache
      * @return {@code true} if the key is in the cache, {@code false} otherwise.
      */
     public boolean containsKey(final K key) {
-        return concurrentHashMap.containsKey(key);
+        return cache.containsKey(key);
     }
 
     /**
      * Returns the value to which the specified key is mapped, or {@code null} if the cache
-     * contains no mapping for the key.
+     * contains no mapping for the key or if it expired.
      *
      * @param key the key to which getting its value
      * @return the value to which the specified key is mapped, or {@code null}
      */
     @Nullable
+    public V getValue(final K key) {
+        final Pair<Integer, V> value = cache.get(key);
+        return value == null ? null : value.getSecond();
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or {@code null} if the cache
+     * contains no mapping for the key or if it expired.
+     *
+     * @param key the key to which getting its value
+     * @return a {@link Pair} of the number of values which were put in the cache before the
+     * value, and of the value to which the specified key is mapped, or {@code null}
+     * @deprecated use {@link #getValue(Serializable)}, the first element of the pair is not
+     * meaningful anymore
+     */
+    @Deprecated
+    @Nullable
     public Pair<Integer, V> get(final K key) {
-        return concurrentHashMap.get(key);
+        return cache.get(key);
+    }
+
+    /**
+     * Adds a new element to the cache, which never expires.
+     *
+     * @param key   the key to put
+     * @param value the value to associate to the key
+     * @return the previous value associated with the key, or {@code null} if there was no mapping
+     * for the key
+     * @see #put(Serializable, Serializable, long)
+     */
+    @Nullable
+    public V put(final K key, final V value) {
+        return put(key, value, NO_EXPIRATION);
     }
 
     /**
      * Adds a new element to the cache.
      *
      * <p>
-     * If the cache limit is reached, oldest elements will be cleared first using the load factor
-     * and the maximum size.
+     * If the cache limits are reached, least recently used elements will be cleared first using
+     * the clear factor, the maximum size and the maximum weight.
      * </p>
      *
-     * @param key   the key to put
-     * @param value the value to associate to the key
+     * <p>
+     * A value which weighs more than the maximum weight of the cache, or which has already
+     * expired, is not added; the previous value of the key is removed.
+     * </p>
      *
+     * @param key            the key to put
+     * @param value          the value to associate to the key
+     * @param expirationTime the time after which the element should not be returned anymore, in
+     *                       milliseconds since the epoch, or {@link #NO_EXPIRATION}
      * @return the previous value associated with the key, or {@code null} if there was no mapping
-     * for the key (note that a null return can also indicate that the cache previously associated
-     * {@code null} with the key).
+     * for the key
      */
     @Nullable
-    public V put(final K key, final V value) {
-        if (!concurrentHashMap.containsKey(key) && concurrentHashMap.size() == maximumSize) {
-            final int newCacheSize = (int) Math.round(maximumSize * clearFactor);
-            keepNewestEntries(newCacheSize != 0 ? newCacheSize : 1);
-        }
-
-        final Pair<Integer, V> returnValue = concurrentHashMap.put(key,
-                new Pair<>(concurrentHashMap.size(), value));
-        return returnValue == null ? null : returnValue.getSecond();
+    public V put(final K key, final V value, final long expirationTime) {
+        final Pair<Integer, V> previous = cache.put(key,
+                new Pair<>(insertionCount.getAndIncrement(), value), expirationTime);
+        return previous == null ? null : previous.getSecond();
     }
 
     /**
@@ -119,39 +238,57 @@ public final class ManifestCreatorCache<K extends Serializable, V extends Serial
      * </p>
      */
     public void clear() {
-        concurrentHashMap.clear();
+        cache.clear();
     }
 
     /**
      * Resets the cache.
      *
      * <p>
-     * The cache will be empty and the clear factor and the maximum size will be reset to their
-     * default values.
+     * The cache will be empty, its statistics will be reset and the clear factor, the maximum
+     * size and the maximum weight will be reset to their default values.
      * </p>
      *
      * @see #clear()
      * @see #resetClearFactor()
      * @see #resetMaximumSize()
+     * @see #resetMaximumWeight()
      */
     public void reset() {
-        clear();
-        resetClearFactor();
-        resetMaximumSize();
+        cache.reset();
+        resetMaximumWeight();
     }
 
     /**
-     * @return the number of cached manifests in the cache
+     * @return the number of cached manifests in the cache, including expired ones which have not
+     * been removed yet
      */
     public int size() {
-        return concurrentHashMap.size();
+        return cache.size();
+    }
+
+    /**
+     * @return the total weight of the cached manifests, computed by the
+     * {@link Weigher} of the cache
+     */
+    public long weight() {
+        return cache.weight();
+    }
+
+    /**
+     * @return a snapshot of the statistics of the cache
+     */
+    @Nonnull
+    public Stats getStats() {
+        final LruCache.Stats stats = cache.getStats();
+        return new Stats(stats.getHitCount(), stats.getMissCount(), stats.getEvictionCount());
     }
 
     /**
      * @return the maximum size of the cache
      */
     public long getMaximumSize() {
-        return maximumSize;
+        return cache.getMaximumSize();
     }
 
     /**
@@ -164,30 +301,51 @@ public final class ManifestCreatorCache<K extends Serializable, V extends Serial
      * @throws IllegalArgumentException if {@code maximumSize} is less than or equal to 0
      */
     public void setMaximumSize(final int maximumSize) {
-        if (maximumSize <= 0) {
-            throw new IllegalArgumentException("Invalid maximum size");
-        }
-
-        if (maximumSize < this.maximumSize && !concurrentHashMap.isEmpty()) {
-            final int newCacheSize = (int) Math.round(maximumSize * clearFactor);
-            keepNewestEntries(newCacheSize != 0 ? newCacheSize : 1);
-        }
-
-        this.maximumSize = maximumSize;
+        cache.setMaximumSize(maximumSize);
     }
 
     /**
      * Resets the maximum size of the cache to its {@link #DEFAULT_MAXIMUM_SIZE default value}.
      */
     public void resetMaximumSize() {
-        this.maximumSize = DEFAULT_MAXIMUM_SIZE;
+        setMaximumSize(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @return the maximum weight of the cache
+     */
+    public long getMaximumWeight() {
+        return cache.getMaximumWeight();
+    }
+
+    /**
+     * Sets the maximum weight of the cache.
+     *
+     * <p>
+     * If the current weight of the cache is more than the new maximum weight, least recently used
+     * manifests will be removed until it is not the case anymore.
+     * </p>
+     *
+     * @param maximumWeight the new maximum weight of the cache
+     * @throws IllegalArgumentException if {@code maximumWeight} is less than or equal to 0
+     */
+    public void setMaximumWeight(final long maximumWeight) {
+        cache.setMaximumWeight(maximumWeight);
+    }
+
+    /**
+     * Resets the maximum weight of the cache to its {@link #DEFAULT_MAXIMUM_WEIGHT default
+     * value}.
+     */
+    public void resetMaximumWeight() {
+        setMaximumWeight(DEFAULT_MAXIMUM_WEIGHT);
     }
 
     /**
      * @return the current clear factor of the cache, used when the cache limit size is reached
      */
     public double getClearFactor() {
-        return clearFactor;
+        return cache.getClearFactor();
     }
 
     /**
@@ -205,51 +363,21 @@ public final class ManifestCreatorCache<K extends Serializable, V extends Serial
      * @throws IllegalArgumentException if the clear factor passed a parameter is invalid
      */
     public void setClearFactor(final double clearFactor) {
-        if (clearFactor <= 0 || clearFactor >= 1) {
-            throw new IllegalArgumentException("Invalid clear factor");
-        }
-
-        this.clearFactor = clearFactor;
+        cache.setClearFactor(clearFactor);
     }
 
     /**
      * Resets the clear factor to its {@link #DEFAULT_CLEAR_FACTOR default value}.
      */
     public void resetClearFactor() {
-        this.clearFactor = DEFAULT_CLEAR_FACTOR;
+        setClearFactor(DEFAULT_CLEAR_FACTOR);
     }
 
     @Nonnull
     @Override
     public String toString() {
-        return "ManifestCreatorCache[clearFactor=" + clearFactor + ", maximumSize=" + maximumSize
-                + ", concurrentHashMap=" + concurrentHashMap + "]";
-    }
-
-    /**
-     * Keeps only the newest entries in a cache.
-     *
-     * <p>
-     * This method will first collect the entries to remove by looping through the concurrent hash
-     * map
-     * </p>
-     *
-     * @param newLimit the new limit of the cache
-     */
-    private void keepNewestEntries(final int newLimit) {
-        final int difference = concurrentHashMap.size() - newLimit;
-        final ArrayList<Map.Entry<K, Pair<Integer, V>>> entriesToRemove = new ArrayList<>();
-
-        concurrentHashMap.entrySet().forEach(entry -> {
-            final Pair<Integer, V> value = entry.getValue();
-            if (value.getFirst() < difference) {
-                entriesToRemove.add(entry);
-            } else {
-                value.setFirst(value.getFirst() - difference);
-            }
-        });
-
-        entriesToRemove.forEach(entry -> concurrentHashMap.remove(entry.getKey(),
-                entry.getValue()));
+        return "ManifestCreatorCache[clearFactor=" + getClearFactor() + ", maximumSize="
+                + getMaximumSize() + ", maximumWeight=" + getMaximumWeight() + ", size=" + size()
+                + ", stats=" + getStats() + "]";
     }
 }
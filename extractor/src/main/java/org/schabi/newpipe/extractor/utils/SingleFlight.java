@@ -0,0 +1,87 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ExtractionSupplier;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Coalesces concurrent executions of tasks which have the same key.
+ *
+ * <p>
+ * While a task is running for a key, any other call of {@link #execute(Object,
+ * ExtractionSupplier)} with an equal key does not run its own task but waits for the running one,
+ * and gets its result or the exception it threw. Results are not cached: once a task completed,
+ * the next call with its key runs a new task.
+ * </p>
+ *
+ * @param <K> the type of the keys identifying tasks
+ * @param <V> the type of the results of tasks
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlightTasks =
+            new ConcurrentHashMap<>();
+    private final AtomicLong executionCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * Run the given task on the current thread, unless a task with the same key is already
+     * running, in which case wait for its result.
+     *
+     * @param key      the key identifying the task
+     * @param supplier the task to run
+     * @return the result of the task which ran for the key
+     * @throws IOException         if the task threw an {@link IOException} or if the current
+     *                             thread has been interrupted while waiting for another task
+     * @throws ExtractionException if the task threw an {@link ExtractionException}
+     */
+    public V execute(@Nonnull final K key, @Nonnull final ExtractionSupplier<V> supplier)
+            throws IOException, ExtractionException {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final CompletableFuture<V> inFlightTask = inFlightTasks.putIfAbsent(key, future);
+        if (inFlightTask != null) {
+            coalescedCount.incrementAndGet();
+            return ConcurrencyUtils.await(inFlightTask);
+        }
+
+        executionCount.incrementAndGet();
+        try {
+            final V result = supplier.get();
+            future.complete(result);
+            return result;
+        } catch (final Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightTasks.remove(key, future);
+        }
+    }
+
+    /**
+     * @return the number of tasks which have been run
+     */
+    public long getExecutionCount() {
+        return executionCount.get();
+    }
+
+    /**
+     * @return the number of calls which waited for a task run by another call instead of running
+     * their own task
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * @return the number of tasks currently running
+     */
+    public int getInFlightCount() {
+        return inFlightTasks.size();
+    }
+}
@@ -88,14 +88,14 @@ public final class DownloaderTestImpl extends Downloader {
                 throw new ReCaptchaException("reCaptcha Challenge requested", url);
             }
 
-            String responseBodyToReturn = null;
+            byte[] responseBodyToReturn = null;
             try (ResponseBody body = response.body()) {
                 if (body != null) {
-                    responseBodyToReturn = body.string();
+                    responseBodyToReturn = body.bytes();
                 }
             }
 
-            return new Response(
+            return Response.fromBytes(
                 response.code(),
                 response.message(),
                 response.headers().toMultimap(),
@@ -0,0 +1,219 @@
+package org.schabi.newpipe.extractor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ListItemsIteratorTest {
+    private static final int PAGE_SIZE = 3;
+
+    @Test
+    void allItemsAreReturnedInOrder() throws Exception {
+        for (final int prefetchDepth : new int[]{0, 1, 3}) {
+            final FakeList list = new FakeList(5);
+            final List<Throwable> errors = new ArrayList<>();
+            final ListItemsIterator<StreamInfoItem> iterator =
+                    ListItemsIterator.newBuilder(list.getInitialPage(), list::getPage)
+                            .prefetchDepth(prefetchDepth)
+                            .errorListener(errors::add)
+                            .build();
+
+            final List<String> names = new ArrayList<>();
+            while (iterator.hasNext()) {
+                names.add(iterator.next().getName());
+            }
+
+            assertEquals(5 * PAGE_SIZE, names.size());
+            for (int i = 0; i < names.size(); i++) {
+                assertEquals(String.valueOf(i), names.get(i));
+            }
+            // The errors of the initial page are the ones of the info, which are not reported
+            assertEquals(4, errors.size());
+            assertEquals(4, list.fetchCount.get());
+        }
+    }
+
+    @Test
+    void pagesAreFetchedInAdvanceUpToPrefetchDepth() throws Exception {
+        final FakeList list = new FakeList(10);
+        list.release = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newCachedThreadPool();
+        final AtomicInteger submittedTasks = new AtomicInteger();
+        final Semaphore finishedTasks = new Semaphore(0);
+        try {
+            final ListItemsIterator<StreamInfoItem> iterator =
+                    ListItemsIterator.newBuilder(list.getInitialPage(), list::getPage)
+                            .prefetchDepth(2)
+                            .executor(task -> {
+                                submittedTasks.incrementAndGet();
+                                pool.execute(() -> {
+                                    try {
+                                        task.run();
+                                    } finally {
+                                        finishedTasks.release();
+                                    }
+                                });
+                            })
+                            .build();
+
+            assertTrue(iterator.hasNext());
+            // The next page is only requested once the previous one has been fetched
+            assertEquals(Integer.valueOf(1), list.requestedPages.poll(10, TimeUnit.SECONDS));
+            assertTrue(list.requestedPages.isEmpty());
+
+            // Once both fetching tasks are done, the third page waits for a free slot
+            list.release.countDown();
+            assertTrue(finishedTasks.tryAcquire(2, 10, TimeUnit.SECONDS));
+            assertEquals(Integer.valueOf(2), list.requestedPages.poll());
+            assertTrue(list.requestedPages.isEmpty());
+            assertEquals(2, submittedTasks.get());
+
+            // Consuming the first page lets the next one be fetched
+            for (int i = 0; i <= PAGE_SIZE; i++) {
+                iterator.next();
+            }
+            assertEquals(Integer.valueOf(3), list.requestedPages.poll(10, TimeUnit.SECONDS));
+            iterator.close();
+            assertFalse(iterator.hasNext());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void directExecutorKeepsOrderPrefetchDepthAndMaxItems() throws Exception {
+        final FakeList list = new FakeList(10);
+        final ListItemsIterator<StreamInfoItem> iterator =
+                ListItemsIterator.newBuilder(list.getInitialPage(), list::getPage)
+                        .prefetchDepth(2)
+                        .maxItems(5 * PAGE_SIZE)
+                        .executor(Runnable::run)
+                        .build();
+
+        assertTrue(iterator.hasNext());
+        assertEquals(2, list.fetchCount.get());
+
+        final List<String> names = new ArrayList<>();
+        while (iterator.hasNext()) {
+            names.add(iterator.next().getName());
+            // Pages are never fetched more than 2 pages in advance
+            assertTrue(list.fetchCount.get() <= names.size() / PAGE_SIZE + 2);
+        }
+
+        assertEquals(5 * PAGE_SIZE, names.size());
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals(String.valueOf(i), names.get(i));
+        }
+        // No page is fetched once enough items have been fetched
+        assertEquals(4, list.fetchCount.get());
+    }
+
+    @Test
+    void maxItemsStopsIterationAndFetching() throws Exception {
+        final FakeList list = new FakeList(10);
+        final ListItemsIterator<StreamInfoItem> iterator =
+                ListItemsIterator.newBuilder(list.getInitialPage(), list::getPage)
+                        .prefetchDepth(5)
+                        .maxItems(PAGE_SIZE + 1)
+                        .build();
+
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        assertEquals(PAGE_SIZE + 1, count);
+        assertEquals(1, list.fetchCount.get());
+    }
+
+    @Test
+    void pageFetchingErrorIsThrownWhenReached() throws Exception {
+        final FakeList list = new FakeList(3);
+        list.failingPage = 1;
+        final ListItemsIterator<StreamInfoItem> iterator =
+                ListItemsIterator.newBuilder(list.getInitialPage(), list::getPage).build();
+
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            iterator.next();
+        }
+        final ParsingException exception =
+                assertThrows(ParsingException.class, iterator::hasNext);
+        assertSame(list.failure, exception);
+        assertFalse(iterator.hasNext());
+    }
+
+    private static final class FakeList {
+        private final int pageCount;
+        private final AtomicInteger fetchCount = new AtomicInteger();
+        private final BlockingQueue<Integer> requestedPages = new LinkedBlockingQueue<>();
+        // Pages are fetched once this latch is released
+        private volatile CountDownLatch release = new CountDownLatch(0);
+        private final ParsingException failure = new ParsingException("Page failed");
+        private volatile int failingPage = -1;
+
+        FakeList(final int pageCount) {
+            this.pageCount = pageCount;
+        }
+
+        ListInfo<StreamInfoItem> getInitialPage() {
+            final InfoItemsPage<StreamInfoItem> page = createPage(0);
+            final ListInfo<StreamInfoItem> info = new ListInfo<>(0, "id", "url", "url", "name",
+                    Collections.emptyList(), "") { };
+            info.setRelatedItems(page.getItems());
+            info.setNextPage(page.getNextPage());
+            return info;
+        }
+
+        InfoItemsPage<StreamInfoItem> getPage(final Page page)
+                throws IOException, ExtractionException {
+            fetchCount.incrementAndGet();
+            final int index = Integer.parseInt(page.getId());
+            requestedPages.add(index);
+            try {
+                if (!release.await(10, TimeUnit.SECONDS)) {
+                    throw new IOException("Page " + index + " was not released");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            if (index == failingPage) {
+                throw failure;
+            }
+            return createPage(index);
+        }
+
+        private InfoItemsPage<StreamInfoItem> createPage(final int index) {
+            final List<StreamInfoItem> items = new ArrayList<>();
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                items.add(new StreamInfoItem(0, "url", String.valueOf(index * PAGE_SIZE + i),
+                        StreamType.VIDEO_STREAM));
+            }
+            return new InfoItemsPage<>(items,
+                    index + 1 < pageCount ? new Page("url", String.valueOf(index + 1)) : null,
+                    List.of(new ParsingException("Error of page " + index)));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.schabi.newpipe.extractor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.schabi.newpipe.extractor.ServiceList.Bandcamp;
+import static org.schabi.newpipe.extractor.ServiceList.MediaCCC;
+import static org.schabi.newpipe.extractor.ServiceList.PeerTube;
+import static org.schabi.newpipe.extractor.ServiceList.SoundCloud;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.StreamingService.LinkType;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.FoundAdException;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Compares {@link UrlRouter} with the previous implementation of
+ * {@link NewPipe#getServiceByUrl(String)}, which checked URLs against all the services.
+ */
+class UrlRouterTest {
+    // An Invidious instance declared by YouTube
+    private static final String REGISTERED_HOST = "yewtu.be";
+
+    static final List<String> URLS = List.of(
+            "https://www.youtube.com/watch?v=dQw4w9WgXcQ",
+            "https://youtube.com/watch?v=dQw4w9WgXcQ&t=42",
+            "https://m.youtube.com/watch?v=dQw4w9WgXcQ",
+            "https://music.youtube.com/watch?v=dQw4w9WgXcQ&list=RDAMVMdQw4w9WgXcQ",
+            "https://youtu.be/dQw4w9WgXcQ",
+            "https://www.youtube-nocookie.com/embed/dQw4w9WgXcQ",
+            "https://www.youtube.com/shorts/dQw4w9WgXcQ",
+            "https://www.youtube.com/@Gronkh",
+            "https://www.youtube.com/channel/UC2DjFE7Xf11URZqWBigcVOQ",
+            "https://www.youtube.com/playlist?list=PLAIcZs9N4171hRrG_4v32Ca2hLvSuQ6QI",
+            "https://yewtu.be/watch?v=dQw4w9WgXcQ",
+            "https://hooktube.com/watch?v=dQw4w9WgXcQ",
+            "vnd.youtube:dQw4w9WgXcQ",
+            "vnd.youtube://www.youtube.com/watch?v=dQw4w9WgXcQ",
+            "www.youtube.com/watch?v=dQw4w9WgXcQ",
+            "https://www.google.com/url?sa=t&url=https%3A%2F%2Fwww.youtube.com%2Fwatch%3Fv"
+                    + "%3DdQw4w9WgXcQ&usg=abc",
+            "https://soundcloud.com/liluzivert/15-ps-qs-prod-by-lyle-lemond",
+            "https://soundcloud.com/liluzivert",
+            "https://soundcloud.com/liluzivert/sets/the-perfect-luv-tape-r",
+            "https://m.soundcloud.com/liluzivert/tracks",
+            "https://media.ccc.de/v/36c3-10865-mensch_-_gesellschaft_-_erklarung",
+            "https://media.ccc.de/c/36c3",
+            "https://api.media.ccc.de/public/events/9ceed6ba-1cd4-5ec0-b0a2-5ba2cfeae6a8",
+            "https://streaming.media.ccc.de/36c3/hall-a",
+            "https://framatube.org/videos/watch/9c9de5e8-0a1e-484a-b099-e80766180a6d",
+            "https://framatube.org/w/kjoHU8RnW5Yj4hu9TESyEb",
+            "https://framatube.org/accounts/framasoft",
+            "https://framatube.org/video-channels/joinpeertube",
+            "https://framatube.org/w/p/96a59a0e-0cd2-4c3f-9e35-c1e8b8b3f4a2",
+            "https://evermind.bandcamp.com/track/chameleon",
+            "https://evermind.bandcamp.com/album/open-your-mind",
+            "https://evermind.bandcamp.com",
+            "https://bandcamp.com/?show=1",
+            "https://example.com/some/unsupported/page",
+            "https://github.com/TeamNewPipe/NewPipeExtractor/issues/1");
+
+    @BeforeAll
+    static void setUp() {
+        // Bandcamp checks whether unknown domains are Bandcamp artists pages
+        NewPipe.init(new EmptyDownloader());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Restore the hosts declared by YouTube
+        UrlRouter.registerHost(REGISTERED_HOST, YouTube);
+    }
+
+    @Test
+    void routesLikePreviousImplementation() throws Exception {
+        for (final String url : URLS) {
+            final StreamingService expected = legacyGetServiceByUrl(url);
+            if (expected == null) {
+                assertThrows(ExtractionException.class, () -> UrlRouter.getServiceByUrl(url),
+                        url);
+                continue;
+            }
+            assertSame(expected, UrlRouter.getServiceByUrl(url), url);
+        }
+    }
+
+    @Test
+    void routesToExpectedServices() throws Exception {
+        assertRoute(YouTube, LinkType.STREAM, "https://youtu.be/dQw4w9WgXcQ");
+        assertRoute(YouTube, LinkType.CHANNEL, "https://www.youtube.com/@Gronkh");
+        assertRoute(YouTube, LinkType.PLAYLIST,
+                "https://www.youtube.com/playlist?list=PLAIcZs9N4171hRrG_4v32Ca2hLvSuQ6QI");
+        assertRoute(YouTube, LinkType.STREAM, "vnd.youtube:dQw4w9WgXcQ");
+        // Creating the link handlers of SoundCloud URLs needs the network
+        assertSame(SoundCloud, UrlRouter.getServiceByUrl(
+                "https://soundcloud.com/liluzivert/15-ps-qs-prod-by-lyle-lemond"));
+        assertRoute(MediaCCC, LinkType.CHANNEL, "https://media.ccc.de/c/36c3");
+        assertRoute(PeerTube, LinkType.STREAM, "https://framatube.org/w/kjoHU8RnW5Yj4hu9TESyEb");
+        assertRoute(Bandcamp, LinkType.PLAYLIST,
+                "https://evermind.bandcamp.com/album/open-your-mind");
+
+        assertEquals("dQw4w9WgXcQ",
+                UrlRouter.route("https://youtu.be/dQw4w9WgXcQ").getLinkHandler().getId());
+        assertThrows(FoundAdException.class, () -> UrlRouter.getServiceByUrl(
+                "https://googleads.g.doubleclick.net/pagead/aclk?sa=L&ai=x"));
+    }
+
+    @Test
+    void registeredHostIsRoutedToService() throws Exception {
+        final String url = "https://yewtu.be/watch?v=dQw4w9WgXcQ";
+        UrlRouter.unregisterHost(REGISTERED_HOST, YouTube);
+        // YouTube is not checked anymore for this host
+        assertThrows(ExtractionException.class, () -> UrlRouter.getServiceByUrl(url));
+
+        UrlRouter.registerHost("Yewtu.Be", YouTube);
+        assertSame(YouTube, UrlRouter.getServiceByUrl(url));
+    }
+
+    private static void assertRoute(final StreamingService expectedService,
+                                    final LinkType expectedLinkType,
+                                    final String url) throws ExtractionException {
+        final UrlRouter.Route route = UrlRouter.route(url);
+        assertSame(expectedService, route.getService(), url);
+        assertEquals(expectedLinkType, route.getLinkType(), url);
+    }
+
+    @Nullable
+    static StreamingService legacyGetServiceByUrl(final String url)
+            throws ExtractionException {
+        for (final StreamingService service : ServiceList.all()) {
+            if (service.getLinkTypeByUrl(url) != LinkType.NONE) {
+                return service;
+            }
+        }
+        return null;
+    }
+
+    static final class EmptyDownloader extends Downloader {
+        @Override
+        public Response execute(@Nonnull final Request request) {
+            return new Response(404, "Not Found", null, "", request.url());
+        }
+    }
+}
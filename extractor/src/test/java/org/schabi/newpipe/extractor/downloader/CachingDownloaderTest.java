@@ -0,0 +1,229 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+class CachingDownloaderTest {
+    private static final String BROWSE_URL = "https://www.youtube.com/youtubei/v1/browse";
+    private static final String NEXT_URL = "https://www.youtube.com/youtubei/v1/next";
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private MutableClock clock;
+    private FakeDownloader fakeDownloader;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        fakeDownloader = new FakeDownloader(request ->
+                new Response(200, "OK", null, "body of " + request.url(), request.url()));
+    }
+
+    @Test
+    void freshResponseIsCached() throws Exception {
+        final CachingDownloader downloader = newBuilder().build();
+
+        final Response response = downloader.get(BROWSE_URL);
+        assertSame(response, downloader.get(BROWSE_URL));
+        assertSame(response, downloader.getAsync(BROWSE_URL).get());
+
+        assertEquals(1, fakeDownloader.requests.size());
+        assertEquals(2, downloader.getHitCount());
+        assertEquals(1, downloader.getMissCount());
+    }
+
+    @Test
+    void requestsAreKeyedOnBodyAndHeaders() throws Exception {
+        final CachingDownloader downloader = newBuilder()
+                .ignoreHeader("X-Trace-Id")
+                .build();
+
+        downloader.post(BROWSE_URL, null, bytes("{\"browseId\":\"a\"}"));
+        downloader.post(BROWSE_URL, null, bytes("{\"browseId\":\"b\"}"));
+        downloader.post(BROWSE_URL, null, bytes("{\"browseId\":\"a\"}"));
+        assertEquals(2, fakeDownloader.requests.size());
+
+        downloader.get(BROWSE_URL, Map.of("X-Goog-Visitor-Id", List.of("1")));
+        downloader.get(BROWSE_URL, Map.of("x-goog-visitor-id", List.of("1")));
+        downloader.get(BROWSE_URL, Map.of("X-Goog-Visitor-Id", List.of("2")));
+        assertEquals(4, fakeDownloader.requests.size());
+
+        downloader.get(BROWSE_URL, Map.of("X-Trace-Id", List.of("1")));
+        downloader.get(BROWSE_URL, Map.of("X-Trace-Id", List.of("2")));
+        assertEquals(5, fakeDownloader.requests.size());
+    }
+
+    @Test
+    void timeToLiveDependsOnUrl() throws Exception {
+        final CachingDownloader downloader = newBuilder()
+                .timeToLive(Pattern.compile("/youtubei/v1/next"), Duration.ofMinutes(1))
+                .build();
+
+        downloader.get(BROWSE_URL);
+        downloader.get(NEXT_URL);
+        clock.advance(Duration.ofMinutes(2));
+        downloader.get(BROWSE_URL);
+        downloader.get(NEXT_URL);
+        assertEquals(3, fakeDownloader.requests.size());
+
+        clock.advance(TTL);
+        downloader.get(BROWSE_URL);
+        assertEquals(4, fakeDownloader.requests.size());
+    }
+
+    @Test
+    void staleResponseIsRevalidated() throws Exception {
+        fakeDownloader = new FakeDownloader(request -> {
+            if ("\"v1\"".equals(getFirstHeader(request, "If-None-Match"))) {
+                return new Response(304, "Not Modified", null, null, request.url());
+            }
+            return new Response(200, "OK", Map.of("ETag", List.of("\"v1\"")), "body",
+                    request.url());
+        });
+        final CachingDownloader downloader = newBuilder().build();
+
+        final Response response = downloader.get(BROWSE_URL);
+        clock.advance(TTL.plusSeconds(1));
+        assertSame(response, downloader.get(BROWSE_URL));
+        assertEquals(2, fakeDownloader.requests.size());
+        assertEquals(1, downloader.getRevalidationCount());
+
+        // The revalidated response is fresh again
+        assertSame(response, downloader.get(BROWSE_URL));
+        assertEquals(2, fakeDownloader.requests.size());
+        assertEquals(2, downloader.getHitCount());
+    }
+
+    @Test
+    void responsesWhichCannotBeCachedAreNotStored() throws Exception {
+        fakeDownloader = new FakeDownloader(request -> {
+            if (request.url().equals(NEXT_URL)) {
+                return new Response(200, "OK", Map.of("Cache-Control", List.of("no-store")),
+                        "body", request.url());
+            }
+            return new Response(500, "Internal Server Error", null, "", request.url());
+        });
+        final CachingDownloader downloader = newBuilder().build();
+
+        downloader.get(BROWSE_URL);
+        downloader.get(NEXT_URL);
+        downloader.head(BROWSE_URL);
+        assertEquals(0, downloader.size());
+        assertEquals(0, downloader.getHitCount());
+    }
+
+    @Test
+    void leastRecentlyUsedResponseIsEvicted() throws Exception {
+        final CachingDownloader downloader = newBuilder()
+                .maximumSize(2)
+                .build();
+
+        downloader.get(BROWSE_URL + "?1");
+        downloader.get(BROWSE_URL + "?2");
+        downloader.get(BROWSE_URL + "?1");
+        downloader.get(BROWSE_URL + "?3");
+        assertEquals(2, downloader.size());
+        assertEquals(1, downloader.getEvictionCount());
+
+        downloader.get(BROWSE_URL + "?1");
+        assertEquals(3, fakeDownloader.requests.size());
+        downloader.get(BROWSE_URL + "?2");
+        assertEquals(4, fakeDownloader.requests.size());
+    }
+
+    @Test
+    void asyncMissesUseAsyncApiOfWrappedDownloader() throws Exception {
+        final CachingDownloader downloader = newBuilder().build();
+
+        final Response response = downloader.getAsync(BROWSE_URL).get();
+        assertEquals(1, fakeDownloader.asyncRequestCount);
+        // The response has been stored when the request completed
+        assertSame(response, downloader.get(BROWSE_URL));
+        assertEquals(1, fakeDownloader.requests.size());
+
+        downloader.headAsync(BROWSE_URL, null).get();
+        assertEquals(2, fakeDownloader.asyncRequestCount);
+    }
+
+    @Nonnull
+    private CachingDownloader.Builder newBuilder() {
+        return CachingDownloader.newBuilder(fakeDownloader)
+                .defaultTimeToLive(TTL)
+                .clock(clock);
+    }
+
+    @Nonnull
+    private static byte[] bytes(@Nonnull final String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String getFirstHeader(@Nonnull final Request request,
+                                         @Nonnull final String name) {
+        final List<String> values = request.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static final class FakeDownloader extends Downloader {
+        private final Function<Request, Response> responses;
+        private final List<Request> requests = new ArrayList<>();
+        private int asyncRequestCount;
+
+        FakeDownloader(@Nonnull final Function<Request, Response> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public synchronized Response execute(@Nonnull final Request request) {
+            requests.add(request);
+            return responses.apply(request);
+        }
+
+        @Nonnull
+        @Override
+        public synchronized CompletableFuture<Response> executeAsync(
+                @Nonnull final Request request) {
+            asyncRequestCount++;
+            return CompletableFuture.completedFuture(execute(request));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant = Instant.EPOCH;
+
+        void advance(@Nonnull final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
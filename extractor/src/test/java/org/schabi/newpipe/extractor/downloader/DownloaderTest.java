@@ -0,0 +1,129 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Tests of the default asynchronous methods of {@link Downloader}, which run
+ * {@link Downloader#execute(Request)} on the default executor of the extractor.
+ */
+class DownloaderTest {
+    private static final String URL = "https://www.youtube.com/youtubei/v1/player";
+    private static final Localization LOCALIZATION = new Localization("de", "DE");
+
+    @Test
+    void executeAsyncCompletesWithResponse() throws Exception {
+        final StubDownloader downloader = new StubDownloader(null);
+        final Request request = Request.newBuilder().get(URL).build();
+
+        final Response response = get(downloader.executeAsync(request));
+
+        assertEquals(List.of(request), downloader.requests);
+        assertSame(downloader.response, response);
+    }
+
+    @Test
+    void getAsyncCompletesWithResponse() throws Exception {
+        final StubDownloader downloader = new StubDownloader(null);
+
+        final Response response = get(downloader.getAsync(URL,
+                Map.of("X-Goog-Visitor-Id", List.of("visitor")), LOCALIZATION));
+
+        assertSame(downloader.response, response);
+        assertEquals(1, downloader.requests.size());
+        final Request request = downloader.requests.get(0);
+        assertEquals("GET", request.httpMethod());
+        assertEquals(URL, request.url());
+        assertEquals(List.of("visitor"), request.headers().get("X-Goog-Visitor-Id"));
+        assertEquals(LOCALIZATION, request.localization());
+    }
+
+    @Test
+    void postWithContentTypeJsonAsyncCompletesWithResponse() throws Exception {
+        final StubDownloader downloader = new StubDownloader(null);
+        final byte[] body = "{\"videoId\":\"dQw4w9WgXcQ\"}".getBytes(StandardCharsets.UTF_8);
+
+        final Response response = get(downloader.postWithContentTypeJsonAsync(URL,
+                Map.of("X-Goog-Visitor-Id", List.of("visitor")), body, LOCALIZATION));
+
+        assertSame(downloader.response, response);
+        assertEquals(1, downloader.requests.size());
+        final Request request = downloader.requests.get(0);
+        assertEquals("POST", request.httpMethod());
+        assertEquals(URL, request.url());
+        assertArrayEquals(body, request.dataToSend());
+        assertEquals(List.of("application/json"), request.headers().get("Content-Type"));
+        assertEquals(List.of("visitor"), request.headers().get("X-Goog-Visitor-Id"));
+        assertEquals(LOCALIZATION, request.localization());
+    }
+
+    @Test
+    void exceptionsOfExecuteArePropagated() {
+        final IOException ioException = new IOException("Connection reset");
+        final StubDownloader ioFailingDownloader = new StubDownloader(ioException);
+
+        assertSame(ioException, assertThrows(ExecutionException.class,
+                () -> get(ioFailingDownloader.getAsync(URL))).getCause());
+        assertSame(ioException, assertThrows(IOException.class, () -> ConcurrencyUtils.await(
+                ioFailingDownloader.postWithContentTypeJsonAsync(URL, null, null,
+                        LOCALIZATION))));
+
+        final ReCaptchaException reCaptchaException = new ReCaptchaException("reCaptcha", URL);
+        final StubDownloader reCaptchaDownloader = new StubDownloader(reCaptchaException);
+
+        assertSame(reCaptchaException, assertThrows(ExecutionException.class,
+                () -> get(reCaptchaDownloader.executeAsync(Request.newBuilder().get(URL)
+                        .build()))).getCause());
+        assertSame(reCaptchaException, assertThrows(ReCaptchaException.class,
+                () -> ConcurrencyUtils.await(reCaptchaDownloader.getAsync(URL))));
+    }
+
+    private static Response get(@Nonnull final CompletableFuture<Response> future)
+            throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * A {@link Downloader} recording its requests, which answers them with the same response or
+     * throws the same exception.
+     */
+    private static final class StubDownloader extends Downloader {
+        private final List<Request> requests = new CopyOnWriteArrayList<>();
+        private final Response response = new Response(200, "OK", null, "{}", URL);
+        private final Exception failure;
+
+        StubDownloader(final Exception failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public Response execute(@Nonnull final Request request)
+                throws IOException, ReCaptchaException {
+            requests.add(request);
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure instanceof ReCaptchaException) {
+                throw (ReCaptchaException) failure;
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonParser;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.FileUtils;
+import org.schabi.newpipe.extractor.utils.JsonUtils;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class ResponseTest {
+    static final String URL = "https://www.youtube.com/youtubei/v1/next";
+    private static final String RECORDED_RESPONSES_PATH = "mocks/v1/org/schabi/newpipe/extractor/"
+            + "services/youtube/stream/youtubestreamextractordefault/descriptionpewdiepie";
+
+    @Test
+    void stringBodyIsAvailableAsBytes() throws Exception {
+        final Response response = new Response(200, "OK", null, "{\"é\":1}", URL);
+
+        assertFalse(response.hasResponseBodyBytes());
+        assertEquals(7, response.responseBodyLength());
+        try (InputStream inputStream = response.responseBodyStream()) {
+            assertArrayEquals("{\"é\":1}".getBytes(StandardCharsets.UTF_8),
+                    inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void bytesBodyIsLazilyDecoded() {
+        final byte[] body = "{\"é\":1}".getBytes(StandardCharsets.UTF_8);
+        final Response response = Response.fromBytes(200, "OK", null, body, URL);
+
+        assertTrue(response.hasResponseBodyBytes());
+        assertEquals(body.length, response.responseBodyLength());
+        assertEquals(ByteBuffer.wrap(body), response.responseBodyBuffer());
+        assertTrue(response.responseBodyBuffer().isReadOnly());
+        assertEquals("{\"é\":1}", response.responseBody());
+        // The decoded body is cached
+        assertSame(response.responseBody(), response.responseBody());
+    }
+
+    @Test
+    void bytesBodyIsDecodedWithContentTypeCharset() {
+        final byte[] body = "{\"é\":1}".getBytes(StandardCharsets.ISO_8859_1);
+        final Response response = Response.fromBytes(200, "OK",
+                Map.of("content-type", List.of("application/json; charset=\"ISO-8859-1\"")),
+                body, URL);
+
+        assertEquals(StandardCharsets.ISO_8859_1, response.responseBodyCharset());
+        assertEquals("{\"é\":1}", response.responseBody());
+    }
+
+    @Test
+    void nullBytesBodyIsEmpty() {
+        final Response response = Response.fromBytes(204, "No Content", null, null, URL);
+
+        assertEquals("", response.responseBody());
+        assertEquals(0, response.responseBodyLength());
+    }
+
+    @Test
+    void jsonFromBytesEqualsJsonFromString() throws Exception {
+        for (final byte[] body : getRecordedJsonResponses()) {
+            assertEquals(
+                    JsonUtils.toJsonObject(new Response(200, "OK", null,
+                            new String(body, StandardCharsets.UTF_8), URL)),
+                    JsonUtils.toJsonObject(Response.fromBytes(200, "OK", null, body, URL)));
+        }
+    }
+
+    static List<byte[]> getRecordedJsonResponses() throws Exception {
+        final File[] mockFiles = FileUtils.resolveTestResource(RECORDED_RESPONSES_PATH)
+                .listFiles((dir, name) -> name.endsWith(".json"));
+        assertTrue(mockFiles != null && mockFiles.length != 0);
+
+        final List<byte[]> bodies = new ArrayList<>();
+        for (final File mockFile : mockFiles) {
+            final JsonObject mock;
+            try (Reader reader = Files.newBufferedReader(mockFile.toPath())) {
+                mock = JsonParser.object().from(reader);
+            }
+            if (mock.getObject("request").getString("url").contains("/youtubei/v1/")) {
+                bodies.add(mock.getObject("response").getString("responseBody")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return bodies;
+    }
+}
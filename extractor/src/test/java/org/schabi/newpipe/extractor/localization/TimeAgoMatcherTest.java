@@ -0,0 +1,144 @@
+package org.schabi.newpipe.extractor.localization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.timeago.PatternsHolder;
+import org.schabi.newpipe.extractor.timeago.PatternsManager;
+
+import java.io.File;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Compares {@link TimeAgoMatcher} with the previous implementation of {@link TimeAgoParser},
+ * which compiled a regular expression for each phrase on each call, over all the bundled locales.
+ */
+class TimeAgoMatcherTest {
+    private static final String PATTERNS_PATH =
+            "timeago-parser/src/main/java/org/schabi/newpipe/extractor/timeago/patterns";
+
+    @Test
+    void matchersAreShared() {
+        final PatternsHolder holder = PatternsManager.getPatterns("en", null);
+        assertSame(TimeAgoPatternsManager.getMatcherFor(holder),
+                TimeAgoPatternsManager.getMatcherFor(holder));
+    }
+
+    @Test
+    void matchesLikePreviousImplementationForAllLocales() {
+        final List<PatternsHolder> holders = getAllPatternsHolders();
+        assertFalse(holders.isEmpty());
+
+        for (final PatternsHolder holder : holders) {
+            final TimeAgoMatcher matcher = TimeAgoPatternsManager.getMatcherFor(holder);
+            for (final String textualDate : getTextualDates(holder)) {
+                final TimeAgoMatcher.SpecialCase specialCase =
+                        matcher.matchSpecialCase(textualDate);
+                assertEquals(legacyMatchSpecialCase(holder, textualDate),
+                        specialCase == null ? null
+                                : specialCase.getChronoUnit() + ":" + specialCase.getAmount(),
+                        "Special case of " + textualDate);
+                assertEquals(legacyMatchChronoUnit(holder, textualDate),
+                        matcher.matchChronoUnit(textualDate), "Unit of " + textualDate);
+            }
+        }
+    }
+
+    @Nonnull
+    static List<PatternsHolder> getAllPatternsHolders() {
+        // Tests are run either from the root project or from the extractor one
+        final File patternsDirectory = new File(PATTERNS_PATH).exists()
+                ? new File(PATTERNS_PATH)
+                : new File("../" + PATTERNS_PATH);
+        final File[] patternFiles = patternsDirectory.listFiles((dir, name) ->
+                name.endsWith(".java"));
+        assertTrue(patternFiles != null);
+
+        final List<PatternsHolder> holders = new ArrayList<>();
+        for (final File patternFile : patternFiles) {
+            final String[] localization = patternFile.getName().replace(".java", "").split("_");
+            final PatternsHolder holder = PatternsManager.getPatterns(localization[0],
+                    localization.length > 1 ? localization[1] : null);
+            if (holder != null) {
+                holders.add(holder);
+            }
+        }
+        return holders;
+    }
+
+    @Nonnull
+    static List<String> getTextualDates(@Nonnull final PatternsHolder holder) {
+        final String separator = holder.wordSeparator();
+        final List<String> textualDates = new ArrayList<>(Arrays.asList("", "unknown", "12"));
+        for (final Collection<String> phrases : holder.asMap().values()) {
+            for (final String phrase : phrases) {
+                textualDates.add(phrase);
+                textualDates.add(phrase.toUpperCase());
+                textualDates.add("3" + separator + phrase + separator + "ago");
+                textualDates.add("3" + phrase);
+                textualDates.add("x" + phrase + "x");
+            }
+        }
+        for (final Map<String, Integer> cases : holder.specialCases().values()) {
+            textualDates.addAll(cases.keySet());
+        }
+        return textualDates;
+    }
+
+    @Nullable
+    static String legacyMatchSpecialCase(@Nonnull final PatternsHolder holder,
+                                         @Nonnull final String textualDate) {
+        for (final var caseUnitEntry : holder.specialCases().entrySet()) {
+            for (final var caseMapToAmountEntry : caseUnitEntry.getValue().entrySet()) {
+                if (legacyTextualDateMatches(holder, textualDate,
+                        caseMapToAmountEntry.getKey())) {
+                    return caseUnitEntry.getKey() + ":" + caseMapToAmountEntry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    static ChronoUnit legacyMatchChronoUnit(@Nonnull final PatternsHolder holder,
+                                            @Nonnull final String textualDate) {
+        return holder.asMap().entrySet().stream()
+                .filter(e -> e.getValue().stream().anyMatch(agoPhrase ->
+                        legacyTextualDateMatches(holder, textualDate, agoPhrase)))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean legacyTextualDateMatches(@Nonnull final PatternsHolder holder,
+                                                    @Nonnull final String textualDate,
+                                                    @Nonnull final String agoPhrase) {
+        if (textualDate.equals(agoPhrase)) {
+            return true;
+        }
+
+        if (holder.wordSeparator().isEmpty()) {
+            return textualDate.toLowerCase().contains(agoPhrase.toLowerCase());
+        }
+
+        final String escapedPhrase = Pattern.quote(agoPhrase.toLowerCase());
+        final String escapedSeparator = holder.wordSeparator().equals(" ")
+                ? "[ \\t\\xA0\\u1680\\u180e\\u2000-\\u200a\\u202f\\u205f\\u3000\\d]"
+                : Pattern.quote(holder.wordSeparator());
+        final String pattern =
+                "(^|" + escapedSeparator + ")" + escapedPhrase + "($|" + escapedSeparator + ")";
+        return Pattern.compile(pattern).matcher(textualDate.toLowerCase()).find();
+    }
+}
@@ -0,0 +1,140 @@
+package org.schabi.newpipe.extractor.services.bandcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.services.bandcamp.extractors.BandcampArtistDomainCache;
+import org.schabi.newpipe.extractor.services.bandcamp.extractors.BandcampExtractorHelper;
+import org.schabi.newpipe.extractor.services.bandcamp.linkHandler.BandcampCommentsLinkHandlerFactory;
+import org.schabi.newpipe.extractor.services.bandcamp.linkHandler.BandcampPlaylistLinkHandlerFactory;
+import org.schabi.newpipe.extractor.services.bandcamp.linkHandler.BandcampStreamLinkHandlerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+class BandcampArtistDomainCacheTest {
+    private static final String ARTIST_PAGE = "<html><head><style>.cart-wrapper{}</style>"
+            + "</head><body><div>Tracks</div><div class=\"cart-wrapper\"><a "
+            + "href=\"https://bandcamp.com/cart\">Cart</a></div></body></html>";
+    private static final String OTHER_PAGE = "<html><body><div class=\"cart-wrapper\"><a "
+            + "href=\"https://example.com/cart\">Cart</a></div></body></html>";
+
+    private FakeDownloader downloader;
+    private BandcampArtistDomainCache cache;
+
+    @BeforeEach
+    void setUp() {
+        downloader = new FakeDownloader();
+        NewPipe.init(downloader);
+        cache = new BandcampArtistDomainCache();
+        BandcampExtractorHelper.setArtistDomainCache(cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        BandcampExtractorHelper.setArtistDomainCache(new BandcampArtistDomainCache());
+        BandcampExtractorHelper.setCustomDomainProbingEnabled(true);
+    }
+
+    @Test
+    void customDomainIsProbedOnceForAllLinkHandlers() throws Exception {
+        final String url = "https://artist.example/track/title";
+        assertTrue(BandcampStreamLinkHandlerFactory.getInstance().acceptUrl(url));
+        assertTrue(BandcampCommentsLinkHandlerFactory.getInstance().acceptUrl(url));
+        assertTrue(BandcampPlaylistLinkHandlerFactory.getInstance()
+                .acceptUrl("https://artist.example/album/title"));
+
+        assertEquals(1, downloader.getRequestCount("artist.example"));
+        assertEquals(Set.of("artist.example"), cache.getArtistDomains());
+    }
+
+    @Test
+    void negativeVerdictsOfSuccessfulResponsesAreCached() throws Exception {
+        assertFalse(BandcampExtractorHelper.isArtistDomain("https://other.example/track/a"));
+        assertFalse(BandcampExtractorHelper.isArtistDomain("https://other.example/track/b"));
+        assertEquals(1, downloader.getRequestCount("other.example"));
+
+        // Error pages are not cached, as they may not have the footer of artist domains
+        assertFalse(BandcampExtractorHelper.isArtistDomain("https://error.example/track/a"));
+        assertFalse(BandcampExtractorHelper.isArtistDomain("https://error.example/track/b"));
+        assertEquals(2, downloader.getRequestCount("error.example"));
+        assertTrue(cache.getArtistDomains().isEmpty());
+    }
+
+    @Test
+    void urlsAreClassifiedWithoutNetworkWhenProbingIsDisabled() throws Exception {
+        BandcampExtractorHelper.setCustomDomainProbingEnabled(false);
+        cache.seed(List.of("Seeded.example"));
+
+        assertTrue(BandcampExtractorHelper.isArtistDomain("https://seeded.example/album/a"));
+        assertTrue(BandcampExtractorHelper.isArtistDomain("https://artist.bandcamp.com/album/a"));
+        assertFalse(BandcampExtractorHelper.isArtistDomain("https://artist.example/album/a"));
+        assertEquals(0, downloader.getTotalRequestCount());
+    }
+
+    @Test
+    void seededDomainsNeverExpire() throws Exception {
+        cache = new BandcampArtistDomainCache(1, 0, 0);
+        BandcampExtractorHelper.setArtistDomainCache(cache);
+        BandcampExtractorHelper.setCustomDomainProbingEnabled(false);
+        cache.seed(List.of("seeded.example"));
+        cache.put("artist.example", true);
+        cache.put("other.example", true);
+
+        assertTrue(BandcampExtractorHelper.isArtistDomain("https://seeded.example/album/a"));
+        assertEquals(Set.of("seeded.example"), cache.getArtistDomains());
+    }
+
+    @Test
+    void exportedArtistDomainsAreTheCachedOnes() {
+        cache = new BandcampArtistDomainCache(1, BandcampArtistDomainCache.DEFAULT_TTL_MILLIS,
+                BandcampArtistDomainCache.DEFAULT_NEGATIVE_TTL_MILLIS);
+        cache.put("evicted.example", true);
+        cache.put("artist.example", true);
+
+        assertEquals(Set.of("artist.example"), cache.getArtistDomains());
+        cache.put("artist.example", false);
+        assertTrue(cache.getArtistDomains().isEmpty());
+    }
+
+    private static final class FakeDownloader extends Downloader {
+        private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+        @Override
+        public Response execute(@Nonnull final Request request) {
+            final String url = request.url();
+            final String host = url.substring("https://".length(), url.indexOf('/', 8));
+            requestCounts.computeIfAbsent(host, key -> new AtomicInteger()).incrementAndGet();
+            switch (host) {
+                case "artist.example":
+                    return new Response(200, "OK", null, ARTIST_PAGE, url);
+                case "other.example":
+                    return new Response(200, "OK", null, OTHER_PAGE, url);
+                default:
+                    return new Response(404, "Not Found", null, "", url);
+            }
+        }
+
+        int getRequestCount(@Nonnull final String host) {
+            final AtomicInteger count = requestCounts.get(host);
+            return count == null ? 0 : count.get();
+        }
+
+        int getTotalRequestCount() {
+            return requestCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+        }
+    }
+}
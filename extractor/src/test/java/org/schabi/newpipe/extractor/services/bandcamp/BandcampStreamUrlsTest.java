@@ -0,0 +1,167 @@
+package org.schabi.newpipe.extractor.services.bandcamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.schabi.newpipe.extractor.ServiceList.Bandcamp;
+
+import com.grack.nanojson.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderFactory;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.channel.tabs.ChannelTabExtractor;
+import org.schabi.newpipe.extractor.channel.tabs.ChannelTabs;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.services.bandcamp.extractors.BandcampExtractorHelper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+class BandcampStreamUrlsTest {
+    private static final int ITEM_COUNT = 20;
+
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        BandcampExtractorHelper.clearStreamUrlCache();
+        downloader = new FakeDownloader();
+        NewPipe.init(downloader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        BandcampExtractorHelper.clearStreamUrlCache();
+    }
+
+    @Test
+    void urlsAreResolvedConcurrentlyAndCached() throws Exception {
+        final List<JsonObject> items = new ArrayList<>();
+        for (int i = 1; i <= ITEM_COUNT; i++) {
+            items.add(item(i));
+        }
+        // Items whose URL can't be resolved don't prevent the others from being resolved
+        items.add(item(-1));
+
+        final List<String> urls = BandcampExtractorHelper.resolveStreamUrls(items);
+        assertEquals(ITEM_COUNT + 1, urls.size());
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            assertEquals("https://artist.bandcamp.com/album/" + (i + 1), urls.get(i));
+        }
+        assertNull(urls.get(ITEM_COUNT));
+        assertEquals(ITEM_COUNT + 1, downloader.requestCount.get());
+        assertTrue(downloader.maximumConcurrentRequests.get() > 1);
+
+        // Items are not resolved again, including when their info items are collected
+        assertEquals("https://artist.bandcamp.com/album/3",
+                BandcampExtractorHelper.getStreamUrlFromIds(1, 3, "album"));
+        BandcampExtractorHelper.resolveStreamUrls(items.subList(0, ITEM_COUNT));
+        assertEquals(ITEM_COUNT + 1, downloader.requestCount.get());
+    }
+
+    @Test
+    void channelTabItemsAreCollectedWithoutRequests() throws Exception {
+        final Thread collectingThread = Thread.currentThread();
+        final TralbumDetailsCountingDownloader countingDownloader =
+                new TralbumDetailsCountingDownloader(DownloaderFactory.getDownloader(
+                        BandcampChannelTabExtractorTest.Tracks.class), collectingThread);
+        NewPipe.init(countingDownloader);
+
+        final ChannelTabExtractor extractor =
+                Bandcamp.getChannelTabExtractorFromId("2464198920", ChannelTabs.TRACKS);
+        extractor.fetchPage();
+        final InfoItemsPage<InfoItem> page = extractor.getInitialPage();
+
+        assertFalse(page.getItems().isEmpty());
+        for (final InfoItem item : page.getItems()) {
+            assertTrue(item.getUrl().startsWith("https://wintergatan.bandcamp.com/track"),
+                    item.getUrl());
+        }
+        // The URL of each item is resolved once, before items are collected, and not by the
+        // getUrl calls of their extractors, which are made on the collecting thread
+        assertEquals(page.getItems().size(), countingDownloader.requestCount.get());
+        assertEquals(0, countingDownloader.collectingThreadRequestCount.get());
+    }
+
+    @Nonnull
+    private static JsonObject item(final long itemId) {
+        final JsonObject item = new JsonObject();
+        item.put("band_id", 1L);
+        item.put("item_id", itemId);
+        item.put("item_type", "album");
+        return item;
+    }
+
+    private static final class FakeDownloader extends Downloader {
+        private static final Pattern ITEM_ID_PATTERN = Pattern.compile("tralbum_id=(-?\\d+)");
+
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private final AtomicInteger concurrentRequests = new AtomicInteger();
+        private final AtomicInteger maximumConcurrentRequests = new AtomicInteger();
+
+        @Override
+        public Response execute(@Nonnull final Request request) {
+            requestCount.incrementAndGet();
+            maximumConcurrentRequests.accumulateAndGet(concurrentRequests.incrementAndGet(),
+                    Math::max);
+            try {
+                // Let the other requests start while this one is running
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrentRequests.decrementAndGet();
+            }
+
+            final Matcher matcher = ITEM_ID_PATTERN.matcher(request.url());
+            if (!matcher.find() || matcher.group(1).startsWith("-")) {
+                return new Response(404, "Not Found", null, "not json", request.url());
+            }
+            return new Response(200, "OK", null, "{\"bandcamp_url\":"
+                    + "\"http://artist.bandcamp.com/album/" + matcher.group(1) + "\"}",
+                    request.url());
+        }
+    }
+
+    private static final class TralbumDetailsCountingDownloader extends Downloader {
+        @Nonnull
+        private final Downloader delegate;
+        @Nonnull
+        private final Thread collectingThread;
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private final AtomicInteger collectingThreadRequestCount = new AtomicInteger();
+
+        TralbumDetailsCountingDownloader(@Nonnull final Downloader delegate,
+                                         @Nonnull final Thread collectingThread) {
+            this.delegate = delegate;
+            this.collectingThread = collectingThread;
+        }
+
+        @Override
+        public Response execute(@Nonnull final Request request)
+                throws IOException, ReCaptchaException {
+            if (request.url().contains("/tralbum_details")) {
+                requestCount.incrementAndGet();
+                if (Thread.currentThread() == collectingThread) {
+                    collectingThreadRequestCount.incrementAndGet();
+                }
+            }
+            return delegate.execute(request);
+        }
+    }
+}
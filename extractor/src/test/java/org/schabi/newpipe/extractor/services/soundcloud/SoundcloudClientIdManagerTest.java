@@ -0,0 +1,200 @@
+package org.schabi.newpipe.extractor.services.soundcloud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.schabi.newpipe.extractor.ServiceList.SoundCloud;
+import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.channel.tabs.ChannelTabs;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudSubscriptionExtractor;
+import org.schabi.newpipe.extractor.services.soundcloud.linkHandler.SoundcloudCommentsLinkHandlerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+class SoundcloudClientIdManagerTest {
+    private static final int CALLERS = 8;
+    private static final String API_URL = "https://api-v2.soundcloud.com/tracks/1?client_id=";
+    private static final String USER_URL = "https://soundcloud.com/user";
+
+    private FakeSoundcloudDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        SoundcloudClientIdManager.clearCache();
+        downloader = new FakeSoundcloudDownloader();
+        NewPipe.init(downloader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SoundcloudClientIdManager.setTimeToLive(Duration.ofHours(6));
+        SoundcloudClientIdManager.clearCache();
+    }
+
+    @Test
+    void clientIdIsExtractedOnceUnderContention() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return SoundcloudClientIdManager.getClientId();
+                }));
+            }
+            start.countDown();
+
+            for (final Future<String> result : results) {
+                assertEquals("id1", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, downloader.homepageRequestCount.get());
+    }
+
+    @Test
+    void clientIdIsRefreshedInBackground() throws Exception {
+        SoundcloudClientIdManager.setTimeToLive(Duration.ofMillis(400));
+        assertEquals("id1", SoundcloudClientIdManager.getClientId());
+
+        Thread.sleep(320);
+        // The current client ID is returned while the next one is being extracted
+        assertEquals("id1", SoundcloudClientIdManager.getClientId());
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!"id2".equals(SoundcloudClientIdManager.getClientId())) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            Thread.sleep(10);
+        }
+        assertEquals(2, downloader.homepageRequestCount.get());
+    }
+
+    @Test
+    void rejectedClientIdIsReplacedAndRequestRetried() throws Exception {
+        final String clientId = SoundcloudClientIdManager.getClientId();
+        downloader.acceptedClientId = "id2";
+
+        final Response response = SoundcloudParsingHelper.getWithClientIdRetry(downloader,
+                API_URL + clientId, NewPipe.getPreferredLocalization());
+
+        assertEquals(200, response.responseCode());
+        assertEquals(API_URL + "id2", response.latestUrl());
+        assertEquals("id2", SoundcloudClientIdManager.getClientId());
+        assertEquals(2, downloader.homepageRequestCount.get());
+    }
+
+    /**
+     * The API URLs built by these extractors and link handler factories are requested through
+     * {@link SoundcloudParsingHelper#getWithClientIdRetry(Downloader, String,
+     * org.schabi.newpipe.extractor.localization.Localization)}, by the helpers getting items from
+     * the API or by the extractors using the link handlers.
+     */
+    @Test
+    void rejectedClientIdIsReplacedForAllApiRequests() throws Throwable {
+        assertRetriedWithNewClientId(SOUNDCLOUD_API_V2_URL + "users/1/tracks", () ->
+                SoundCloud.getChannelTabExtractor(new ListLinkHandler(USER_URL + "/tracks",
+                        USER_URL + "/tracks", "1", List.of(ChannelTabs.TRACKS), ""))
+                        .getInitialPage());
+        assertRetriedWithNewClientId(SOUNDCLOUD_API_V2_URL + "charts", () ->
+                SoundCloud.getKioskList().getDefaultKioskExtractor().fetchPage());
+        assertRetriedWithNewClientId(SOUNDCLOUD_API_V2_URL + "users/1/followings", () ->
+                new SoundcloudSubscriptionExtractor(SoundCloud).fromChannelUrl(USER_URL));
+        assertRetriedWithNewClientId(SOUNDCLOUD_API_V2_URL + "search", () ->
+                SoundCloud.getSearchExtractor("query").fetchPage());
+        assertRetriedWithNewClientId(SOUNDCLOUD_API_V2_URL + "tracks/1/comments", () ->
+                SoundCloud.getCommentsExtractor(SoundcloudCommentsLinkHandlerFactory.getInstance()
+                        .fromId("1")).getInitialPage());
+    }
+
+    private void assertRetriedWithNewClientId(@Nonnull final String urlPrefix,
+                                              @Nonnull final Executable request)
+            throws Throwable {
+        final String rejectedClientId = SoundcloudClientIdManager.getClientId();
+        downloader.rejectedUrlPrefix = urlPrefix;
+        request.execute();
+
+        final String newClientId = SoundcloudClientIdManager.getClientId();
+        assertNotEquals(rejectedClientId, newClientId, urlPrefix);
+        assertTrue(downloader.apiRequestUrls.stream().anyMatch(url -> url.startsWith(urlPrefix)
+                && url.contains("client_id=" + newClientId)), urlPrefix);
+    }
+
+    private static final class FakeSoundcloudDownloader extends Downloader {
+        private final AtomicInteger homepageRequestCount = new AtomicInteger();
+        private final List<String> apiRequestUrls = new CopyOnWriteArrayList<>();
+        private volatile String acceptedClientId = "id1";
+        // The client ID of the next request to a URL starting with this prefix is rejected
+        private volatile String rejectedUrlPrefix;
+
+        @Override
+        public Response execute(@Nonnull final Request request) {
+            final String url = request.url();
+            if (url.startsWith("https://api-v2.soundcloud.com/")
+                    || url.startsWith("https://api-widget.soundcloud.com/")) {
+                return executeApiRequest(url);
+            } else if (url.startsWith("https://w.soundcloud.com/player/")) {
+                return new Response(200, "OK", null, "<html><head><link rel=\"canonical\" "
+                        + "href=\"" + USER_URL + "\"></head></html>", url);
+            } else if (url.equals("https://soundcloud.com")) {
+                final int count = homepageRequestCount.incrementAndGet();
+                try {
+                    // Let other threads try to get the client ID while it is being extracted
+                    Thread.sleep(50);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Response(200, "OK", null, "<html><body>"
+                        + "<script src=\"https://a-v2.sndcdn.com/assets/0-a.js\"></script>"
+                        + "<script src=\"https://a-v2.sndcdn.com/assets/" + count
+                        + "-b.js\"></script></body></html>", url);
+            } else if (url.startsWith("https://a-v2.sndcdn.com/assets/0-")) {
+                return new Response(200, "OK", null, "var a=1;", url);
+            } else if (url.startsWith("https://a-v2.sndcdn.com/assets/")) {
+                final String count = url.substring(url.lastIndexOf('/') + 1, url.indexOf('-',
+                        url.lastIndexOf('/')));
+                return new Response(200, "OK", null, "{a:1,client_id:\"id" + count + "\"}", url);
+            }
+            return new Response(404, "Not Found", null, "", url);
+        }
+
+        @Nonnull
+        private Response executeApiRequest(@Nonnull final String url) {
+            apiRequestUrls.add(url);
+            final String prefix = rejectedUrlPrefix;
+            if (prefix != null && url.startsWith(prefix)) {
+                rejectedUrlPrefix = null;
+                return new Response(401, "Unauthorized", null, "", url);
+            } else if (url.startsWith(API_URL)) {
+                return url.equals(API_URL + acceptedClientId)
+                        ? new Response(200, "OK", null, "{}", url)
+                        : new Response(401, "Unauthorized", null, "", url);
+            }
+            // Search results are not collected when fetching the page, but must not be empty
+            return new Response(200, "OK", null, "{\"id\":1,\"total_results\":1,\"collection\":"
+                    + (url.contains("/search") ? "[{\"kind\":\"none\"}]" : "[]") + "}", url);
+        }
+    }
+}
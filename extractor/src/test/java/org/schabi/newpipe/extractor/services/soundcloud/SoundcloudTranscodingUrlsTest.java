@@ -0,0 +1,151 @@
+package org.schabi.newpipe.extractor.services.soundcloud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.schabi.newpipe.extractor.ServiceList.SoundCloud;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudStreamExtractor;
+import org.schabi.newpipe.extractor.stream.AudioStream;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+class SoundcloudTranscodingUrlsTest {
+    private static final String TRACK_URL = "https://soundcloud.com/user/track";
+    private static final String TRANSCODINGS_URL = "https://api-v2.soundcloud.com/media/1/";
+    private static final String TRACK = "{\"id\":1,\"policy\":\"ALLOW\",\"streamable\":true,"
+            + "\"track_authorization\":\"auth\",\"media\":{\"transcodings\":["
+            + transcoding("mp3_0_0", "progressive")
+            + "," + transcoding("opus_0_0", "hls")
+            + "," + transcoding("aac_160k", "hls")
+            + "," + transcoding("abr_sq", "hls")
+            + "," + transcoding("aac_1_0", "ctr-encrypted-hls")
+            + "]}}";
+
+    private FakeSoundcloudDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        SoundcloudClientIdManager.clearCache();
+        downloader = new FakeSoundcloudDownloader();
+        NewPipe.init(downloader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SoundcloudClientIdManager.clearCache();
+    }
+
+    @Test
+    void onlyKnownPresetsAreResolvedConcurrently() throws Exception {
+        final List<AudioStream> audioStreams = getAudioStreams(false);
+
+        assertEquals(3, audioStreams.size());
+        for (final AudioStream audioStream : audioStreams) {
+            assertTrue(audioStream.isContentResolved());
+            assertEquals("https://cf-media.sndcdn.com/" + audioStream.getId(),
+                    audioStream.getContent());
+        }
+        // No request is made for the unknown and the DRM-protected presets
+        assertEquals(3, downloader.transcodingRequestCount.get());
+        assertTrue(downloader.maximumConcurrentTranscodingRequests.get() > 1);
+    }
+
+    @Test
+    void urlsAreResolvedWhenRequestedInLazyMode() throws Exception {
+        final List<AudioStream> audioStreams = getAudioStreams(true);
+
+        assertEquals(3, audioStreams.size());
+        assertEquals(0, downloader.transcodingRequestCount.get());
+
+        // Getting the content or the URL of a stream doesn't resolve it
+        final AudioStream audioStream = audioStreams.get(1);
+        assertFalse(audioStream.isContentResolved());
+        assertThrows(IllegalStateException.class, audioStream::getContent);
+        assertNull(audioStream.getUrl());
+        assertEquals(0, downloader.transcodingRequestCount.get());
+
+        assertEquals("https://cf-media.sndcdn.com/opus_0_0", audioStream.resolveContent());
+        assertTrue(audioStream.isContentResolved());
+        assertEquals("https://cf-media.sndcdn.com/opus_0_0", audioStream.getContent());
+        assertEquals("https://cf-media.sndcdn.com/opus_0_0", audioStream.resolveContent());
+        assertEquals(1, downloader.transcodingRequestCount.get());
+    }
+
+    @Test
+    void lazyModeOnlyAppliesToItsExtractor() throws Exception {
+        getAudioStreams(true);
+        final List<AudioStream> audioStreams = getAudioStreams(false);
+
+        for (final AudioStream audioStream : audioStreams) {
+            assertTrue(audioStream.isContentResolved());
+        }
+        assertEquals(3, downloader.transcodingRequestCount.get());
+    }
+
+    @Nonnull
+    private static List<AudioStream> getAudioStreams(final boolean resolveTranscodingUrlsLazily)
+            throws Exception {
+        final SoundcloudStreamExtractor extractor =
+                (SoundcloudStreamExtractor) SoundCloud.getStreamExtractor(TRACK_URL);
+        extractor.setResolveTranscodingUrlsLazily(resolveTranscodingUrlsLazily);
+        extractor.fetchPage();
+        return extractor.getAudioStreams();
+    }
+
+    @Nonnull
+    private static String transcoding(@Nonnull final String preset,
+                                      @Nonnull final String protocol) {
+        return "{\"url\":\"" + TRANSCODINGS_URL + preset + "\",\"preset\":\"" + preset
+                + "\",\"format\":{\"protocol\":\"" + protocol + "\"}}";
+    }
+
+    private static final class FakeSoundcloudDownloader extends Downloader {
+        private final AtomicInteger transcodingRequestCount = new AtomicInteger();
+        private final AtomicInteger concurrentTranscodingRequests = new AtomicInteger();
+        private final AtomicInteger maximumConcurrentTranscodingRequests = new AtomicInteger();
+
+        @Override
+        public Response execute(@Nonnull final Request request) {
+            final String url = request.url();
+            if (url.equals("https://soundcloud.com")) {
+                return new Response(200, "OK", null, "<html><body>"
+                        + "<script src=\"https://a-v2.sndcdn.com/assets/1-a.js\"></script>"
+                        + "</body></html>", url);
+            } else if (url.startsWith("https://a-v2.sndcdn.com/assets/")) {
+                return new Response(200, "OK", null, "{a:1,client_id:\"id1\"}", url);
+            } else if (url.startsWith("https://api-v2.soundcloud.com/resolve")) {
+                return new Response(200, "OK", null, TRACK, url);
+            } else if (url.startsWith(TRANSCODINGS_URL)) {
+                transcodingRequestCount.incrementAndGet();
+                final int concurrentRequests = concurrentTranscodingRequests.incrementAndGet();
+                maximumConcurrentTranscodingRequests.accumulateAndGet(concurrentRequests,
+                        Math::max);
+                try {
+                    // Let the other requests start while this one is running
+                    Thread.sleep(100);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    concurrentTranscodingRequests.decrementAndGet();
+                }
+                final String preset = url.substring(TRANSCODINGS_URL.length(), url.indexOf('?'));
+                return new Response(200, "OK", null,
+                        "{\"url\":\"https://cf-media.sndcdn.com/" + preset + "\"}", url);
+            }
+            return new Response(404, "Not Found", null, "", url);
+        }
+    }
+}
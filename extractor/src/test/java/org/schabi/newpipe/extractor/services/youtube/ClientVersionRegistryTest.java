@@ -0,0 +1,156 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ExtractionSupplier;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ClientVersionRegistryTest {
+    @Test
+    void versionIsLoadedOnceUnderContention() throws Exception {
+        final ClientVersionRegistry registry = new ClientVersionRegistry(
+                ClientVersionRegistry.DEFAULT_TTL_MILLIS, Runnable::run);
+        final AtomicInteger loadCount = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExtractionSupplier<String> loader = () -> {
+            loadCount.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException e) {
+                throw new IOException(e);
+            }
+            return "2.20250101.00.00";
+        };
+
+        final int threadCount = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return registry.get("WEB", loader);
+                }));
+            }
+            start.countDown();
+            for (final Future<String> result : results) {
+                assertEquals("2.20250101.00.00", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loadCount.get());
+        final ClientVersionRegistry.Stats stats = registry.getStats("WEB");
+        assertNotNull(stats);
+        assertEquals(1, stats.getLoadCount());
+        assertTrue(stats.getLastLoadDurationMillis() >= 100);
+    }
+
+    @Test
+    void expiredVersionIsRefreshedInTheBackground() throws Exception {
+        final ClientVersionRegistry registry = new ClientVersionRegistry(1, Runnable::run);
+        final AtomicInteger loadCount = new AtomicInteger();
+        final ExtractionSupplier<String> loader = () -> "1." + loadCount.incrementAndGet();
+
+        assertEquals("1.1", registry.get("WEB", loader));
+        Thread.sleep(10);
+        // The expired version is returned, the refreshed one is used by the next requests
+        assertEquals("1.1", registry.get("WEB", loader));
+        assertEquals("1.2", registry.getCurrentVersion("WEB"));
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    void failedRefreshKeepsCurrentVersion() throws Exception {
+        final ClientVersionRegistry registry = new ClientVersionRegistry(1, Runnable::run);
+        registry.get("WEB", () -> "1.1");
+        Thread.sleep(10);
+
+        assertEquals("1.1", registry.get("WEB", () -> {
+            throw new IOException("Network error");
+        }));
+        assertEquals("1.1", registry.getCurrentVersion("WEB"));
+        final ClientVersionRegistry.Stats stats = registry.getStats("WEB");
+        assertNotNull(stats);
+        assertEquals(1, stats.getLoadCount());
+        assertEquals(1, stats.getFailedLoadCount());
+    }
+
+    @Test
+    void failedRefreshIsRetriedAfterBackoff() throws Exception {
+        final ClientVersionRegistry registry = new ClientVersionRegistry(1, Runnable::run);
+        registry.get("WEB", () -> "1.1");
+        Thread.sleep(10);
+
+        final AtomicInteger refreshCount = new AtomicInteger();
+        final ExtractionSupplier<String> failingLoader = () -> {
+            refreshCount.incrementAndGet();
+            throw new IOException("Network error");
+        };
+        for (int i = 0; i < 5; i++) {
+            assertEquals("1.1", registry.get("WEB", failingLoader));
+            Thread.sleep(2);
+        }
+
+        // Only the first request refreshed the version, the next ones are within the backoff
+        assertEquals(1, refreshCount.get());
+        final ClientVersionRegistry.Stats stats = registry.getStats("WEB");
+        assertNotNull(stats);
+        assertEquals(1, stats.getFailedLoadCount());
+    }
+
+    @Test
+    void failedLoadIsPropagated() {
+        final ClientVersionRegistry registry = new ClientVersionRegistry();
+        assertThrows(IOException.class, () -> registry.get("WEB", () -> {
+            throw new IOException("Network error");
+        }));
+        assertThrows(ExtractionException.class, () -> registry.get("WEB", () -> ""));
+        assertNull(registry.getCurrentVersion("WEB"));
+    }
+
+    @Test
+    void seededVersionsAreUsedWithoutLoading() throws Exception {
+        final ClientVersionRegistry registry = new ClientVersionRegistry();
+        registry.get("WEB_REMIX", () -> "1.20250101.01.00");
+        final Map<String, String> snapshot = registry.getVersions();
+
+        final ClientVersionRegistry seededRegistry = new ClientVersionRegistry();
+        seededRegistry.seed(snapshot, System.currentTimeMillis());
+        assertEquals("1.20250101.01.00", seededRegistry.get("WEB_REMIX", () -> {
+            throw new IOException("The version should not be loaded");
+        }));
+
+        // Loaded versions are not replaced by seeded ones
+        seededRegistry.seed(Map.of("WEB_REMIX", "1.20240101.01.00"), 0);
+        assertEquals("1.20250101.01.00", seededRegistry.getCurrentVersion("WEB_REMIX"));
+    }
+
+    @Test
+    void outdatedSeededVersionsAreRefreshed() throws Exception {
+        // The refresh is run synchronously, so that its result can be checked
+        final ClientVersionRegistry registry = new ClientVersionRegistry(
+                ClientVersionRegistry.DEFAULT_TTL_MILLIS, Runnable::run);
+        registry.seed(Map.of("WEB", "2.20240101.00.00"), 0);
+
+        assertEquals("2.20240101.00.00", registry.get("WEB", () -> "2.20250101.00.00"));
+        assertEquals("2.20250101.00.00", registry.getCurrentVersion("WEB"));
+    }
+}
@@ -0,0 +1,243 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.schabi.newpipe.FileUtils.resolveTestResource;
+import static org.schabi.newpipe.extractor.MediaFormat.M4A;
+import static org.schabi.newpipe.extractor.MediaFormat.MPEG_4;
+import static org.schabi.newpipe.extractor.MediaFormat.WEBM;
+import static org.schabi.newpipe.extractor.MediaFormat.WEBMA;
+import static org.schabi.newpipe.extractor.MediaFormat.WEBMA_OPUS;
+import static org.schabi.newpipe.extractor.MediaFormat.v3GPP;
+import static org.schabi.newpipe.extractor.services.youtube.ItagItem.ItagType.AUDIO;
+import static org.schabi.newpipe.extractor.services.youtube.ItagItem.ItagType.VIDEO;
+import static org.schabi.newpipe.extractor.services.youtube.ItagItem.ItagType.VIDEO_ONLY;
+
+import com.grack.nanojson.JsonArray;
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonParser;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+class ItagItemTest {
+    private static final int MAXIMUM_CHECKED_ITAG = 1000;
+
+    // Formats returned by ANDROID, IOS and VISIONOS clients which are not in the mock, most of
+    // them being unsupported
+    private static final int[] OTHER_ITAGS = {
+            394, 395, 396, 397, 398, 399, 400, 401, 597, 598, 602, 603, 604, 605, 606, 609, 614,
+            616, 617, 620, 625, 626, 694, 695, 696, 697, 698, 699, 700, 701};
+
+    /**
+     * The list of {@link ItagItem}s before they were indexed, which was scanned linearly on each
+     * lookup.
+     */
+    private static final ItagItem[] LEGACY_ITAG_LIST = {
+            /////////////////////////////////////////////////////
+            // VIDEO     ID  Type   Format  Resolution  FPS  ////
+            /////////////////////////////////////////////////////
+            new ItagItem(17, VIDEO, v3GPP, "144p"),
+            new ItagItem(36, VIDEO, v3GPP, "240p"),
+
+            new ItagItem(18, VIDEO, MPEG_4, "360p"),
+            new ItagItem(34, VIDEO, MPEG_4, "360p"),
+            new ItagItem(35, VIDEO, MPEG_4, "480p"),
+            new ItagItem(59, VIDEO, MPEG_4, "480p"),
+            new ItagItem(78, VIDEO, MPEG_4, "480p"),
+            new ItagItem(22, VIDEO, MPEG_4, "720p"),
+            new ItagItem(37, VIDEO, MPEG_4, "1080p"),
+            new ItagItem(38, VIDEO, MPEG_4, "1080p"),
+
+            new ItagItem(43, VIDEO, WEBM, "360p"),
+            new ItagItem(44, VIDEO, WEBM, "480p"),
+            new ItagItem(45, VIDEO, WEBM, "720p"),
+            new ItagItem(46, VIDEO, WEBM, "1080p"),
+
+            //////////////////////////////////////////////////////////////////
+            // AUDIO     ID      ItagType          Format        Bitrate    //
+            //////////////////////////////////////////////////////////////////
+            new ItagItem(171, AUDIO, WEBMA, 128),
+            new ItagItem(172, AUDIO, WEBMA, 256),
+            new ItagItem(599, AUDIO, M4A, 32),
+            new ItagItem(139, AUDIO, M4A, 48),
+            new ItagItem(140, AUDIO, M4A, 128),
+            new ItagItem(141, AUDIO, M4A, 256),
+            new ItagItem(600, AUDIO, WEBMA_OPUS, 35),
+            new ItagItem(249, AUDIO, WEBMA_OPUS, 50),
+            new ItagItem(250, AUDIO, WEBMA_OPUS, 70),
+            new ItagItem(251, AUDIO, WEBMA_OPUS, 160),
+
+            /// VIDEO ONLY ////////////////////////////////////////////
+            //           ID      Type     Format  Resolution  FPS  ////
+            ///////////////////////////////////////////////////////////
+            new ItagItem(160, VIDEO_ONLY, MPEG_4, "144p"),
+            new ItagItem(394, VIDEO_ONLY, MPEG_4, "144p"),
+            new ItagItem(133, VIDEO_ONLY, MPEG_4, "240p"),
+            new ItagItem(395, VIDEO_ONLY, MPEG_4, "240p"),
+            new ItagItem(134, VIDEO_ONLY, MPEG_4, "360p"),
+            new ItagItem(396, VIDEO_ONLY, MPEG_4, "360p"),
+            new ItagItem(135, VIDEO_ONLY, MPEG_4, "480p"),
+            new ItagItem(212, VIDEO_ONLY, MPEG_4, "480p"),
+            new ItagItem(397, VIDEO_ONLY, MPEG_4, "480p"),
+            new ItagItem(136, VIDEO_ONLY, MPEG_4, "720p"),
+            new ItagItem(398, VIDEO_ONLY, MPEG_4, "720p"),
+            new ItagItem(298, VIDEO_ONLY, MPEG_4, "720p60", 60),
+            new ItagItem(137, VIDEO_ONLY, MPEG_4, "1080p"),
+            new ItagItem(399, VIDEO_ONLY, MPEG_4, "1080p"),
+            new ItagItem(299, VIDEO_ONLY, MPEG_4, "1080p60", 60),
+            new ItagItem(400, VIDEO_ONLY, MPEG_4, "1440p"),
+            new ItagItem(266, VIDEO_ONLY, MPEG_4, "2160p"),
+            new ItagItem(401, VIDEO_ONLY, MPEG_4, "2160p"),
+
+            new ItagItem(278, VIDEO_ONLY, WEBM, "144p"),
+            new ItagItem(242, VIDEO_ONLY, WEBM, "240p"),
+            new ItagItem(243, VIDEO_ONLY, WEBM, "360p"),
+            new ItagItem(244, VIDEO_ONLY, WEBM, "480p"),
+            new ItagItem(245, VIDEO_ONLY, WEBM, "480p"),
+            new ItagItem(246, VIDEO_ONLY, WEBM, "480p"),
+            new ItagItem(247, VIDEO_ONLY, WEBM, "720p"),
+            new ItagItem(248, VIDEO_ONLY, WEBM, "1080p"),
+            new ItagItem(271, VIDEO_ONLY, WEBM, "1440p"),
+            // #272 is either 3840x2160 (e.g. RtoitU2A-3E) or 7680x4320 (sLprVF6d7Ug)
+            new ItagItem(272, VIDEO_ONLY, WEBM, "2160p"),
+            new ItagItem(302, VIDEO_ONLY, WEBM, "720p60", 60),
+            new ItagItem(303, VIDEO_ONLY, WEBM, "1080p60", 60),
+            new ItagItem(308, VIDEO_ONLY, WEBM, "1440p60", 60),
+            new ItagItem(313, VIDEO_ONLY, WEBM, "2160p"),
+            new ItagItem(315, VIDEO_ONLY, WEBM, "2160p60", 60)
+    };
+    private static final List<JsonObject> FORMATS = new ArrayList<>();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        final JsonObject mock = JsonParser.object().from(new FileInputStream(resolveTestResource(
+                "mocks/v1/org/schabi/newpipe/extractor/services/youtube/stream/"
+                        + "youtubestreamextractordefault/cclicensed/generated_mock_1.json")));
+        final JsonObject streamingData = JsonParser.object()
+                .from(mock.getObject("response").getString("responseBody"))
+                .getObject("playerResponse")
+                .getObject("streamingData");
+        for (final String key : List.of("formats", "adaptiveFormats")) {
+            final JsonArray formats = streamingData.getArray(key);
+            formats.streamAsJsonObjects().forEach(FORMATS::add);
+        }
+        for (final int itag : OTHER_ITAGS) {
+            final JsonObject format = new JsonObject();
+            format.put("itag", itag);
+            FORMATS.add(format);
+        }
+    }
+
+    @Test
+    void lookupIsTheSameAsBefore() throws Exception {
+        for (int itag = -1; itag <= MAXIMUM_CHECKED_ITAG + 1; itag++) {
+            final ItagItem legacyItem = findLegacyItag(itag);
+            if (legacyItem == null) {
+                final int unsupportedItag = itag;
+                assertFalse(ItagItem.isSupported(itag));
+                assertThrows(ParsingException.class, () -> ItagItem.getItag(unsupportedItag));
+                continue;
+            }
+
+            assertTrue(ItagItem.isSupported(itag));
+            final ItagItem item = ItagItem.getItag(itag);
+            assertEquals(itag, item.id);
+            assertEquals(legacyItem.itagType, item.itagType);
+            assertEquals(legacyItem.getMediaFormat(), item.getMediaFormat());
+            assertEquals(legacyItem.getResolutionString(), item.getResolutionString());
+            assertEquals(legacyItem.getFps(), item.getFps());
+            assertEquals(legacyItem.getAverageBitrate(), item.getAverageBitrate());
+            for (final ItagItem.ItagType type : ItagItem.ItagType.values()) {
+                assertEquals(type == item.itagType, ItagItem.isSupported(itag, type));
+            }
+        }
+    }
+
+    @Test
+    void itagItemsAreCopies() throws Exception {
+        final ItagItem item = ItagItem.getItag(137);
+        item.setBitrate(4_500_000);
+        item.setHeight(1080);
+
+        final ItagItem otherItem = ItagItem.getItag(137);
+        assertNotSame(item, otherItem);
+        assertEquals(0, otherItem.getBitrate());
+        assertEquals(0, otherItem.getHeight());
+    }
+
+    /**
+     * Get the {@link ItagItem}s of the formats of a player response for each
+     * {@link ItagItem.ItagType}, as {@code YoutubeStreamExtractor} does when building its lists of
+     * streams, and compare them with the ones found by scanning the previous list.
+     */
+    @Test
+    void streamListsAreTheSameAsBefore() {
+        assertEquals(buildLegacyStreamLists(), buildStreamLists());
+    }
+
+    @Nonnull
+    static List<String> buildStreamLists() {
+        final List<String> items = new ArrayList<>();
+        for (final ItagItem.ItagType type : ItagItem.ItagType.values()) {
+            for (final JsonObject format : FORMATS) {
+                final int itag = format.getInt("itag");
+                if (!ItagItem.isSupported(itag, type)) {
+                    continue;
+                }
+                try {
+                    items.add(type + ":" + ItagItem.getItag(itag).id);
+                } catch (final ParsingException ignored) {
+                    // Unsupported itag
+                }
+            }
+        }
+        return items;
+    }
+
+    @Nonnull
+    static List<String> buildLegacyStreamLists() {
+        final List<String> items = new ArrayList<>();
+        for (final ItagItem.ItagType type : ItagItem.ItagType.values()) {
+            for (final JsonObject format : FORMATS) {
+                try {
+                    final ItagItem itagItem = getLegacyItag(format.getInt("itag"));
+                    if (itagItem.itagType == type) {
+                        items.add(type + ":" + itagItem.id);
+                    }
+                } catch (final ParsingException ignored) {
+                    // Unsupported itag
+                }
+            }
+        }
+        return items;
+    }
+
+    @Nonnull
+    private static ItagItem getLegacyItag(final int itag) throws ParsingException {
+        final ItagItem item = findLegacyItag(itag);
+        if (item == null) {
+            throw new ParsingException("itag " + itag + " is not supported");
+        }
+        return new ItagItem(item);
+    }
+
+    private static ItagItem findLegacyItag(final int itag) {
+        for (final ItagItem item : LEGACY_ITAG_LIST) {
+            if (itag == item.id) {
+                return item;
+            }
+        }
+        return null;
+    }
+}
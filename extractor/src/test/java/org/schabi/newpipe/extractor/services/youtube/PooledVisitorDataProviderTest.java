@@ -0,0 +1,122 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ExtractionSupplier;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PooledVisitorDataProviderTest {
+    // Background fetches are run synchronously, so that results are deterministic
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+    private static final Localization FRENCH = new Localization("fr", "FR");
+    private static final ContentCountry FRANCE = new ContentCountry("FR");
+
+    @Test
+    void visitorDataIsReusedUpToMaximumUses() throws Exception {
+        final PooledVisitorDataProvider provider = new PooledVisitorDataProvider(1,
+                PooledVisitorDataProvider.DEFAULT_TTL_MILLIS, 3, DIRECT_EXECUTOR);
+        final ExtractionSupplier<String> fetcher = new CountingFetcher("visitor");
+
+        // The pool is empty, the first visitorData is fetched for the request and kept in the
+        // pool, which is then full
+        assertEquals("visitor1", getVisitorData(provider, "ANDROID", fetcher));
+        assertEquals(1, provider.getFetchCount());
+        assertEquals("visitor1", getVisitorData(provider, "ANDROID", fetcher));
+        // Its last use, a new one is fetched in the background
+        assertEquals("visitor1", getVisitorData(provider, "ANDROID", fetcher));
+        assertEquals("visitor2", getVisitorData(provider, "ANDROID", fetcher));
+        assertEquals("visitor2", getVisitorData(provider, "ANDROID", fetcher));
+        assertEquals(2, provider.getFetchCount());
+    }
+
+    @Test
+    void expiredVisitorDataIsNotUsed() throws Exception {
+        final PooledVisitorDataProvider provider = new PooledVisitorDataProvider(1, 1, 100,
+                DIRECT_EXECUTOR);
+        final ExtractionSupplier<String> fetcher = new CountingFetcher("visitor");
+
+        assertEquals("visitor1", getVisitorData(provider, "IOS", fetcher));
+        Thread.sleep(10);
+        // visitor1 expired, visitor2 is fetched for the request
+        assertEquals("visitor2", getVisitorData(provider, "IOS", fetcher));
+        assertEquals(2, provider.getFetchCount());
+    }
+
+    @Test
+    void poolsAreSeparatedByClientAndLocalization() throws Exception {
+        final PooledVisitorDataProvider provider = new PooledVisitorDataProvider(1,
+                PooledVisitorDataProvider.DEFAULT_TTL_MILLIS, 100, DIRECT_EXECUTOR);
+        provider.warmUp("ANDROID", Localization.DEFAULT, ContentCountry.DEFAULT,
+                new CountingFetcher("android"));
+        provider.warmUp("IOS", Localization.DEFAULT, ContentCountry.DEFAULT,
+                new CountingFetcher("ios"));
+        provider.warmUp("IOS", FRENCH, FRANCE, new CountingFetcher("iosFrench"));
+        assertEquals(3, provider.getFetchCount());
+
+        final ExtractionSupplier<String> failingFetcher = () -> {
+            throw new IOException("No visitorData should be fetched");
+        };
+        assertEquals("android1", provider.getVisitorData("ANDROID", Localization.DEFAULT,
+                ContentCountry.DEFAULT, failingFetcher));
+        assertEquals("ios1", provider.getVisitorData("IOS", Localization.DEFAULT,
+                ContentCountry.DEFAULT, failingFetcher));
+        assertEquals("iosFrench1", provider.getVisitorData("IOS", FRENCH, FRANCE,
+                failingFetcher));
+        assertEquals(3, provider.getFetchCount());
+    }
+
+    @Test
+    void fetchFailuresArePropagatedWhenPoolIsEmpty() throws Exception {
+        final PooledVisitorDataProvider provider = new PooledVisitorDataProvider(2,
+                PooledVisitorDataProvider.DEFAULT_TTL_MILLIS, 100, DIRECT_EXECUTOR);
+        assertThrows(IOException.class, () -> provider.getVisitorData("ANDROID",
+                Localization.DEFAULT, ContentCountry.DEFAULT, () -> {
+                    throw new IOException("Network error");
+                }));
+
+        assertEquals(1, provider.getFetchCount());
+
+        // visitor1 is fetched for the request and visitor2 in the background
+        final ExtractionSupplier<String> fetcher = new CountingFetcher("visitor");
+        assertEquals("visitor1", getVisitorData(provider, "ANDROID", fetcher));
+        assertEquals("visitor2", getVisitorData(provider, "ANDROID", fetcher));
+        assertEquals("visitor1", getVisitorData(provider, "ANDROID", fetcher));
+        assertEquals(3, provider.getFetchCount());
+
+        // The pool is empty again, visitor3 is fetched for the request and visitor4 in the
+        // background
+        provider.clear();
+        assertEquals("visitor3", getVisitorData(provider, "ANDROID", fetcher));
+        assertEquals("visitor4", getVisitorData(provider, "ANDROID", fetcher));
+        assertEquals(5, provider.getFetchCount());
+    }
+
+    private static String getVisitorData(final PooledVisitorDataProvider provider,
+                                         final String clientName,
+                                         final ExtractionSupplier<String> fetcher)
+            throws Exception {
+        return provider.getVisitorData(clientName, Localization.DEFAULT, ContentCountry.DEFAULT,
+                fetcher);
+    }
+
+    private static final class CountingFetcher implements ExtractionSupplier<String> {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingFetcher(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public String get() {
+            return prefix + count.incrementAndGet();
+        }
+    }
+}
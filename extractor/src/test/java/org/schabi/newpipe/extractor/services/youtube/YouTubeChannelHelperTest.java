@@ -9,6 +9,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 
+import java.util.List;
+import java.util.Map;
+
 class YouTubeChannelHelperTest implements InitYoutubeTest {
 
     @ParameterizedTest
@@ -42,4 +45,38 @@ class YouTubeChannelHelperTest implements InitYoutubeTest {
         assertThrows(ExtractionException.class, () -> YoutubeChannelHelper.resolveChannelId(
             "@nonExistingHandleThatWillNeverExist15464"));
     }
+
+    @Test
+    void resolveChannelIdsInBulk() {
+        final YoutubeChannelIdCache cache = new YoutubeChannelIdCache();
+        YoutubeChannelHelper.setChannelIdCache(cache);
+        try {
+            resolveChannelIdsInBulkWithCache(cache);
+        } finally {
+            YoutubeChannelHelper.setChannelIdCache(null);
+        }
+    }
+
+    private static void resolveChannelIdsInBulkWithCache(final YoutubeChannelIdCache cache) {
+        final Map<String, String> channelIds = YoutubeChannelHelper.resolveChannelIds(List.of(
+                "@TheDailyShow",
+                "thedailyshow",
+                "@Gronkh",
+                "channel/UCYJ61XIK64sp6ZFFS8sctxw",
+                "@nonExistingHandleThatWillNeverExist15464",
+                "@TheDailyShow"));
+
+        assertEquals(Map.of(
+                "@TheDailyShow", "UCwWhs_6x42TyRM4Wstoq8HA",
+                "thedailyshow", "UCwWhs_6x42TyRM4Wstoq8HA",
+                "@Gronkh", "UCYJ61XIK64sp6ZFFS8sctxw",
+                "channel/UCYJ61XIK64sp6ZFFS8sctxw", "UCYJ61XIK64sp6ZFFS8sctxw"), channelIds);
+
+        // Resolutions are cached, including the one of the handle which doesn't exist
+        final long missCount = cache.getStats().getMissCount();
+        assertEquals(channelIds, YoutubeChannelHelper.resolveChannelIds(channelIds.keySet()));
+        assertThrows(ExtractionException.class, () -> YoutubeChannelHelper.resolveChannelId(
+                "@nonExistingHandleThatWillNeverExist15464"));
+        assertEquals(missCount, cache.getStats().getMissCount());
+    }
 }
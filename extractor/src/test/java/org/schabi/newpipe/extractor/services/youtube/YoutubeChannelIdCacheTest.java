@@ -0,0 +1,146 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.exceptions.ContentNotAvailableException;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class YoutubeChannelIdCacheTest {
+    private static final String HANDLE_URL = "https://www.youtube.com/@TheDailyShow";
+    private static final String CHANNEL_ID = "UCwWhs_6x42TyRM4Wstoq8HA";
+
+    @Test
+    void resolutionsAreCached() throws Exception {
+        final YoutubeChannelIdCache cache = new YoutubeChannelIdCache();
+        assertNull(cache.get(HANDLE_URL));
+
+        cache.put(HANDLE_URL, CHANNEL_ID);
+        cache.put("https://www.youtube.com/c/unknown", YoutubeChannelIdCache.UNRESOLVED);
+        assertEquals(CHANNEL_ID, cache.get(HANDLE_URL));
+        assertEquals(YoutubeChannelIdCache.UNRESOLVED,
+                cache.get("https://www.youtube.com/c/unknown"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void unavailableChannelsAreCached() {
+        final YoutubeChannelIdCache cache = new YoutubeChannelIdCache();
+        cache.putUnavailable(HANDLE_URL,
+                new ContentNotAvailableException("This channel doesn't exist."));
+
+        final ContentNotAvailableException exception = assertThrows(
+                ContentNotAvailableException.class, () -> cache.get(HANDLE_URL));
+        assertEquals("This channel doesn't exist.", exception.getMessage());
+    }
+
+    @Test
+    void negativeResolutionsExpireFirst() throws Exception {
+        final YoutubeChannelIdCache cache = new YoutubeChannelIdCache(10,
+                YoutubeChannelIdCache.DEFAULT_TTL_MILLIS, 0, null);
+        cache.put(HANDLE_URL, CHANNEL_ID);
+        cache.put("https://www.youtube.com/c/unknown", YoutubeChannelIdCache.NOT_A_CHANNEL);
+        cache.putUnavailable("https://www.youtube.com/@unknown",
+                new ContentNotAvailableException("This channel doesn't exist."));
+
+        assertEquals(CHANNEL_ID, cache.get(HANDLE_URL));
+        assertNull(cache.get("https://www.youtube.com/c/unknown"));
+        assertNull(cache.get("https://www.youtube.com/@unknown"));
+    }
+
+    @Test
+    void storeIsUsedWhenResolutionIsNotInMemory() throws Exception {
+        final Map<String, YoutubeChannelIdCache.Entry> entries = new HashMap<>();
+        final YoutubeChannelIdCache.Store store = new YoutubeChannelIdCache.Store() {
+            @Override
+            public YoutubeChannelIdCache.Entry load(final String url) {
+                return entries.get(url);
+            }
+
+            @Override
+            public void save(final String url, final YoutubeChannelIdCache.Entry entry) {
+                entries.put(url, entry);
+            }
+        };
+
+        final YoutubeChannelIdCache cache = new YoutubeChannelIdCache(10,
+                YoutubeChannelIdCache.DEFAULT_TTL_MILLIS,
+                YoutubeChannelIdCache.DEFAULT_NEGATIVE_TTL_MILLIS, store);
+        cache.put(HANDLE_URL, CHANNEL_ID);
+        assertEquals(CHANNEL_ID, entries.get(HANDLE_URL).getValue());
+
+        cache.clear();
+        assertEquals(CHANNEL_ID, cache.get(HANDLE_URL));
+        assertEquals(1, cache.size());
+
+        // Expired entries of the store are ignored
+        entries.put("https://www.youtube.com/@expired", new YoutubeChannelIdCache.Entry(
+                CHANNEL_ID, System.currentTimeMillis() - 1));
+        assertNull(cache.get("https://www.youtube.com/@expired"));
+    }
+
+    @Test
+    void fileStoreKeepsResolutions() throws Exception {
+        final File file = File.createTempFile("youtube_channel_ids", ".tsv");
+        file.deleteOnExit();
+
+        final YoutubeChannelIdCache cache = new YoutubeChannelIdCache(10,
+                YoutubeChannelIdCache.DEFAULT_TTL_MILLIS,
+                YoutubeChannelIdCache.DEFAULT_NEGATIVE_TTL_MILLIS,
+                new YoutubeChannelIdCache.FileStore(file));
+        cache.put(HANDLE_URL, "UCoutdated");
+        cache.put(HANDLE_URL, CHANNEL_ID);
+        cache.putUnavailable("https://www.youtube.com/@unknown",
+                new ContentNotAvailableException("Got error:\"NOT_FOUND\":\nnot found"));
+
+        final YoutubeChannelIdCache otherCache = new YoutubeChannelIdCache(10,
+                YoutubeChannelIdCache.DEFAULT_TTL_MILLIS,
+                YoutubeChannelIdCache.DEFAULT_NEGATIVE_TTL_MILLIS,
+                new YoutubeChannelIdCache.FileStore(file));
+        assertEquals(CHANNEL_ID, otherCache.get(HANDLE_URL));
+        assertThrows(ContentNotAvailableException.class,
+                () -> otherCache.get("https://www.youtube.com/@unknown"));
+
+        // The replaced entry has been removed from the file
+        final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+    }
+
+    @Test
+    void fileStoreIsBoundedAndCompactedWhenWritten() throws Exception {
+        final File file = File.createTempFile("youtube_channel_ids", ".tsv");
+        file.deleteOnExit();
+        final long expirationTime = System.currentTimeMillis() + 60_000;
+
+        final YoutubeChannelIdCache.FileStore store = new YoutubeChannelIdCache.FileStore(file, 3);
+        for (int i = 0; i < 7; i++) {
+            store.save("https://www.youtube.com/@" + i,
+                    new YoutubeChannelIdCache.Entry(CHANNEL_ID, expirationTime));
+        }
+
+        // The entries saved first have been removed
+        assertEquals(3, store.size());
+        assertNull(store.load("https://www.youtube.com/@3"));
+        assertEquals(CHANNEL_ID, store.load("https://www.youtube.com/@4").getValue());
+
+        // The file has been rewritten when it reached twice the maximum size
+        assertEquals(List.of(
+                "https://www.youtube.com/@4\t" + expirationTime + "\t" + CHANNEL_ID,
+                "https://www.youtube.com/@5\t" + expirationTime + "\t" + CHANNEL_ID,
+                "https://www.youtube.com/@6\t" + expirationTime + "\t" + CHANNEL_ID),
+                Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+
+        final YoutubeChannelIdCache.FileStore otherStore =
+                new YoutubeChannelIdCache.FileStore(file, 3);
+        assertEquals(3, otherStore.size());
+        assertEquals(CHANNEL_ID, otherStore.load("https://www.youtube.com/@6").getValue());
+    }
+}
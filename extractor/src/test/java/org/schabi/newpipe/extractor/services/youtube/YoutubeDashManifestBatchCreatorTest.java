@@ -0,0 +1,146 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.CreationException;
+import org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeDashManifestBatchCreator;
+import org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeOtfDashManifestCreator;
+import org.schabi.newpipe.extractor.stream.AudioStream;
+import org.schabi.newpipe.extractor.stream.DeliveryMethod;
+import org.schabi.newpipe.extractor.stream.Stream;
+import org.schabi.newpipe.extractor.stream.StreamType;
+import org.schabi.newpipe.extractor.stream.VideoStream;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+class YoutubeDashManifestBatchCreatorTest {
+    private static final String STREAMING_HOST = "rr1---sn-4g5e6nzz.googlevideo.com";
+    private static final String REDIRECTED_HOST = "rr5---sn-4g5lzned.googlevideo.com";
+
+    private static final RedirectingDownloader DOWNLOADER = new RedirectingDownloader();
+
+    @BeforeAll
+    static void setUp() {
+        NewPipe.init(DOWNLOADER);
+    }
+
+    @BeforeEach
+    void clearCache() {
+        YoutubeOtfDashManifestCreator.getCache().clear();
+        DOWNLOADER.streamingHostRequests.set(0);
+    }
+
+    @Test
+    void manifestsAreCreatedForAllOtfStreams() throws Exception {
+        final List<Stream> streams = List.of(
+                createVideoStream(137, false),
+                createVideoStream(136, false),
+                createAudioStream(140),
+                // Its redirection fails
+                createAudioStream(251),
+                // Already seen
+                createVideoStream(137, false),
+                // Progressive, its manifest can be generated without any request
+                createVideoStream(22, true));
+
+        final YoutubeDashManifestBatchCreator.Result result = YoutubeDashManifestBatchCreator
+                .fromStreams(streams, StreamType.VIDEO_STREAM, 255,
+                        ConcurrencyUtils.getDefaultExecutor());
+
+        final Map<Integer, String> manifests = result.getManifests();
+        assertEquals(List.of(137, 136, 140), List.copyOf(manifests.keySet()));
+        for (final String manifest : manifests.values()) {
+            assertTrue(manifest.contains(REDIRECTED_HOST), manifest);
+        }
+
+        assertEquals(Set.of(251), result.getErrors().keySet());
+        assertInstanceOf(CreationException.class, result.getErrors().get(251));
+
+        // Only the first stream and the one whose redirection failed are requested from the
+        // original host
+        assertEquals(2, DOWNLOADER.streamingHostRequests.get());
+    }
+
+    @Nonnull
+    private static String createStreamingUrl(final int itag) {
+        return "https://" + STREAMING_HOST + "/videoplayback?expire=1700000000&itag=" + itag
+                + "&c=WEB&sig=AOq0QJ8wRQIh";
+    }
+
+    @Nonnull
+    private static VideoStream createVideoStream(final int itag,
+                                                 final boolean isUrl) throws Exception {
+        final ItagItem itagItem = new ItagItem(ItagItem.getItag(itag));
+        itagItem.setCodec("avc1.640028");
+        itagItem.setBitrate(2_000_000);
+        itagItem.setHeight(720);
+        return new VideoStream.Builder()
+                .setId(String.valueOf(itag))
+                .setContent(createStreamingUrl(itag), isUrl)
+                .setMediaFormat(itagItem.getMediaFormat())
+                .setDeliveryMethod(isUrl ? DeliveryMethod.PROGRESSIVE_HTTP : DeliveryMethod.DASH)
+                .setIsVideoOnly(true)
+                .setResolution("720p")
+                .setItagItem(itagItem)
+                .build();
+    }
+
+    @Nonnull
+    private static AudioStream createAudioStream(final int itag) throws Exception {
+        final ItagItem itagItem = new ItagItem(ItagItem.getItag(itag));
+        itagItem.setCodec("mp4a.40.2");
+        itagItem.setBitrate(130_000);
+        itagItem.setAudioChannels(2);
+        return new AudioStream.Builder()
+                .setId(String.valueOf(itag))
+                .setContent(createStreamingUrl(itag), false)
+                .setMediaFormat(itagItem.getMediaFormat())
+                .setDeliveryMethod(DeliveryMethod.DASH)
+                .setItagItem(itagItem)
+                .build();
+    }
+
+    /**
+     * Downloader which redirects all streams from {@link #STREAMING_HOST} to
+     * {@link #REDIRECTED_HOST}, except the stream with itag 251, whose requests always fail.
+     */
+    private static final class RedirectingDownloader extends Downloader {
+        private final AtomicInteger streamingHostRequests = new AtomicInteger();
+
+        @Override
+        public Response execute(@Nonnull final Request request) {
+            final String url = request.url();
+            if (url.contains("&itag=251")) {
+                if (url.contains(STREAMING_HOST)) {
+                    streamingHostRequests.incrementAndGet();
+                }
+                return new Response(403, "Forbidden", null, "", url);
+            }
+
+            if (url.contains(STREAMING_HOST)) {
+                streamingHostRequests.incrementAndGet();
+                return new Response(200, "OK", Map.of("Content-Type", List.of("text/plain")),
+                        url.replace(STREAMING_HOST, REDIRECTED_HOST), url);
+            }
+
+            final String mimeType = url.contains("&itag=140") ? "audio/mp4" : "video/mp4";
+            return new Response(200, "OK", Map.of("Content-Type", List.of(mimeType)),
+                    "Segment-Durations-Ms: 5120(r=48),2438,\n", url);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.schabi.newpipe.FileUtils.resolveTestResource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeOtfDashManifestCreator;
+import org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubePostLiveStreamDvrDashManifestCreator;
+import org.schabi.newpipe.extractor.services.youtube.dashmanifestcreators.YoutubeProgressiveDashManifestCreator;
+import org.schabi.newpipe.extractor.stream.AudioTrackType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Compare the DASH manifests generated by YouTube DASH manifest creators with the ones generated
+ * by the previous implementation, which built them as DOM documents and serialized them with a
+ * {@link javax.xml.transform.Transformer}.
+ *
+ * <p>
+ * The expected manifests are stored in {@code youtube_dash_manifest_*.mpd} test resources.
+ * Requests of OTF and post-live-DVR manifest creators are answered by a fake downloader.
+ * </p>
+ */
+class YoutubeDashManifestGoldenTest {
+    // Characters which need to be escaped are used to check that escaping is not changed
+    private static final String BASE_URL = "https://rr1---sn-4g5e6nzz.googlevideo.com/"
+            + "videoplayback?expire=1700000000&ei=abc&id=o-ABC&mime=video%2Fmp4&dur=254.880"
+            + "&sparams=expire%2Cei&sig=AOq0QJ8wRQIh<a>\"b'c&title=Café 🎵";
+
+    @BeforeAll
+    static void setUp() {
+        NewPipe.init(new FakeStreamingDownloader());
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        YoutubeOtfDashManifestCreator.getCache().clear();
+        YoutubePostLiveStreamDvrDashManifestCreator.getCache().clear();
+        YoutubeProgressiveDashManifestCreator.getCache().clear();
+    }
+
+    @Test
+    void manifestsAreTheSameAsBefore() throws Exception {
+        for (final Map.Entry<String, String> manifest : createManifests().entrySet()) {
+            assertEquals(readGoldenManifest(manifest.getKey()), manifest.getValue(),
+                    manifest.getKey());
+        }
+    }
+
+    @Nonnull
+    static Map<String, String> createManifests() {
+        final Map<String, String> manifests = new LinkedHashMap<>();
+
+        final ItagItem video = createItagItem(137);
+        video.setCodec("avc1.640028");
+        video.setBitrate(4_500_000);
+        video.setWidth(1920);
+        video.setHeight(1080);
+        video.setFps(30);
+        video.setInitStart(0);
+        video.setInitEnd(740);
+        video.setIndexStart(741);
+        video.setIndexEnd(1380);
+        video.setApproxDurationMs(254_880);
+        manifests.put("progressive_video", YoutubeProgressiveDashManifestCreator
+                .fromProgressiveStreamingUrl(BASE_URL + "&itag=137", video, 255));
+
+        final ItagItem audio = createItagItem(251);
+        audio.setCodec("opus");
+        audio.setBitrate(160_000);
+        audio.setSampleRate(48_000);
+        audio.setAudioChannels(2);
+        audio.setAudioLocale(Locale.FRENCH);
+        audio.setAudioTrackType(AudioTrackType.DUBBED);
+        audio.setInitStart(0);
+        audio.setInitEnd(265);
+        audio.setIndexStart(266);
+        audio.setIndexEnd(700);
+        manifests.put("progressive_audio", YoutubeProgressiveDashManifestCreator
+                .fromProgressiveStreamingUrl(BASE_URL + "&itag=251", audio, 255));
+
+        final ItagItem otfVideo = createItagItem(398);
+        otfVideo.setCodec("av01.0.05M.08");
+        otfVideo.setBitrate(1_200_000);
+        otfVideo.setHeight(720);
+        manifests.put("otf_video", YoutubeOtfDashManifestCreator.fromOtfStreamingUrl(
+                BASE_URL + "&itag=398&otf=1", otfVideo, 255));
+
+        final ItagItem otfAudio = createItagItem(140);
+        otfAudio.setCodec("mp4a.40.2");
+        otfAudio.setBitrate(130_000);
+        otfAudio.setAudioChannels(2);
+        otfAudio.setAudioTrackType(AudioTrackType.DESCRIPTIVE);
+        manifests.put("otf_audio", YoutubeOtfDashManifestCreator.fromOtfStreamingUrl(
+                BASE_URL + "&itag=140&otf=1", otfAudio, 255));
+
+        final ItagItem postLiveVideo = createItagItem(136);
+        postLiveVideo.setCodec("avc1.4d401f");
+        postLiveVideo.setBitrate(2_300_000);
+        postLiveVideo.setWidth(1280);
+        postLiveVideo.setHeight(720);
+        postLiveVideo.setFps(60);
+        manifests.put("post_live_dvr_video", YoutubePostLiveStreamDvrDashManifestCreator
+                .fromPostLiveStreamDvrStreamingUrl(BASE_URL + "&itag=136&live=1",
+                        postLiveVideo, 5, 255));
+
+        return manifests;
+    }
+
+    @Nonnull
+    private static ItagItem createItagItem(final int id) {
+        try {
+            return new ItagItem(ItagItem.getItag(id));
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nonnull
+    private static String readGoldenManifest(final String name) throws IOException {
+        return new String(Files.readAllBytes(resolveTestResource(
+                "youtube_dash_manifest_" + name + ".mpd").toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static final class FakeStreamingDownloader extends Downloader {
+        @Override
+        public Response execute(@Nonnull final Request request) {
+            final String url = request.url();
+            if (url.contains("&otf=1")) {
+                return new Response(200, "OK", null,
+                        "Content-Type: video/mp4\nSegment-Durations-Ms: 5120(r=48),5119,"
+                                + "5121(r=2),2438,\nSegment-Count: 53\n", url);
+            }
+            return new Response(200, "OK", Map.of("X-Head-Time-Millis", List.of("254880"),
+                    "X-Head-Seqnum", List.of("51")), "", url);
+        }
+    }
+}
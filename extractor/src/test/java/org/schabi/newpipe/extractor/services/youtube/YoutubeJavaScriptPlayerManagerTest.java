@@ -0,0 +1,129 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+class YoutubeJavaScriptPlayerManagerTest {
+    private static final int CALLERS = 8;
+
+    private FakePlayerDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        YoutubeJavaScriptPlayerManager.clearAllCaches();
+        downloader = new FakePlayerDownloader();
+        NewPipe.init(downloader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        YoutubeJavaScriptPlayerManager.clearAllCaches();
+    }
+
+    @Test
+    void playerIsFetchedOnceUnderContention() throws Exception {
+        final long fetchCount = YoutubeJavaScriptPlayerManager.getExtractionMetrics()
+                .getPlayerCodeFetchCount();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return YoutubeJavaScriptPlayerManager.getSignatureTimestamp("");
+                }));
+            }
+            start.countDown();
+
+            for (final Future<Integer> result : results) {
+                assertEquals(19000, result.get(10, TimeUnit.SECONDS).intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, downloader.iframeRequestCount.get());
+        assertEquals(1, downloader.playerRequestCount.get());
+        assertEquals(fetchCount + 1, YoutubeJavaScriptPlayerManager.getExtractionMetrics()
+                .getPlayerCodeFetchCount());
+    }
+
+    @Test
+    void playerVersionsAreCachedAndEvicted() throws Exception {
+        final long evictedCount = YoutubeJavaScriptPlayerManager.getExtractionMetrics()
+                .getEvictedPlayerVersionCount();
+
+        for (int i = 0; i < 5; i++) {
+            downloader.playerHash = "0000000" + i;
+            YoutubeJavaScriptPlayerManager.clearCurrentPlayerVersion();
+            assertEquals(19000 + i,
+                    YoutubeJavaScriptPlayerManager.getSignatureTimestamp("").intValue());
+        }
+        assertEquals(5, downloader.playerRequestCount.get());
+        assertEquals(4, YoutubeJavaScriptPlayerManager.getCachedPlayerVersionsCount());
+        assertEquals(evictedCount + 1, YoutubeJavaScriptPlayerManager.getExtractionMetrics()
+                .getEvictedPlayerVersionCount());
+
+        // A rollback to a cached version does not fetch it again
+        downloader.playerHash = "00000002";
+        YoutubeJavaScriptPlayerManager.clearCurrentPlayerVersion();
+        assertEquals(19002, YoutubeJavaScriptPlayerManager.getSignatureTimestamp("").intValue());
+        assertEquals(5, downloader.playerRequestCount.get());
+
+        // The first version has been evicted
+        downloader.playerHash = "00000000";
+        YoutubeJavaScriptPlayerManager.clearCurrentPlayerVersion();
+        assertEquals(19000, YoutubeJavaScriptPlayerManager.getSignatureTimestamp("").intValue());
+        assertEquals(6, downloader.playerRequestCount.get());
+        assertTrue(YoutubeJavaScriptPlayerManager.getExtractionMetrics()
+                .getFunctionExtractionCount() >= 6);
+    }
+
+    private static final class FakePlayerDownloader extends Downloader {
+        private final AtomicInteger iframeRequestCount = new AtomicInteger();
+        private final AtomicInteger playerRequestCount = new AtomicInteger();
+        private volatile String playerHash = "00000000";
+
+        @Override
+        public Response execute(@Nonnull final Request request) {
+            final String url = request.url();
+            final String body;
+            if (url.equals("https://www.youtube.com/iframe_api")) {
+                iframeRequestCount.incrementAndGet();
+                body = "var scriptUrl = 'https:\\/\\/www.youtube.com\\/s\\/player\\/"
+                        + playerHash + "\\/www-widgetapi.vflset\\/www-widgetapi.js';";
+            } else {
+                playerRequestCount.incrementAndGet();
+                try {
+                    // Let other threads try to get the player while it is being fetched
+                    Thread.sleep(50);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                final String hash = url.split("/")[5];
+                body = "var a={signatureTimestamp:1900" + hash.charAt(hash.length() - 1) + "};";
+            }
+            return new Response(200, "OK", null, body, url);
+        }
+    }
+}
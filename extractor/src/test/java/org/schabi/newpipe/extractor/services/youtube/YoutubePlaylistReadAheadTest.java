@@ -0,0 +1,110 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderFactory;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Compares the pages of a playlist got with {@link PlaylistInfo#readAhead(
+ * org.schabi.newpipe.extractor.StreamingService, String, Page, Executor)} with the ones got with
+ * {@link PlaylistInfo#getMoreItems(org.schabi.newpipe.extractor.StreamingService, String, Page)},
+ * using the mocks of {@link YoutubePlaylistExtractorTest.HugePlaylist}.
+ */
+class YoutubePlaylistReadAheadTest {
+    private static final String URL =
+            "https://www.youtube.com/watch?v=8SbUC-UaAxE&list=PLWwAypAcFRgKAIIFqBr9oy-ZYZnixa_Fj";
+    // The number of pages after the first one which have been recorded
+    private static final int PAGE_COUNT = 2;
+    // Pages are fetched on the calling thread, so that requests are made in a known order
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private CountingDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        YoutubeTestsUtils.ensureStateless();
+        downloader = new CountingDownloader(
+                DownloaderFactory.getDownloader(YoutubePlaylistExtractorTest.HugePlaylist.class));
+        NewPipe.init(downloader);
+    }
+
+    @Test
+    void readAheadPagesAreTheSameAsSequentialOnes() throws Exception {
+        final PlaylistInfo info = PlaylistInfo.getInfo(YouTube, URL);
+
+        final List<List<String>> expected = new ArrayList<>();
+        Page page = info.getNextPage();
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            final InfoItemsPage<StreamInfoItem> itemsPage =
+                    PlaylistInfo.getMoreItems(YouTube, info.getUrl(), page);
+            expected.add(getUrls(itemsPage));
+            page = itemsPage.getNextPage();
+        }
+
+        downloader.requestCount.set(0);
+        final List<List<String>> actual = new ArrayList<>();
+        PlaylistInfo.ReadAheadPage readAheadPage =
+                PlaylistInfo.readAhead(YouTube, info.getUrl(), info.getNextPage(),
+                        DIRECT_EXECUTOR);
+        assertEquals(1, downloader.requestCount.get());
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            assertNotNull(readAheadPage);
+            actual.add(getUrls(readAheadPage.getPage()));
+            // Getting a page only starts fetching the next one: the page itself was already
+            // fetched in advance and is not requested again
+            assertEquals(i + 2, downloader.requestCount.get());
+            readAheadPage = readAheadPage.getNext();
+        }
+        assertNotNull(readAheadPage);
+        readAheadPage.cancel();
+
+        assertEquals(expected, actual);
+    }
+
+    @Nonnull
+    private static List<String> getUrls(@Nonnull final InfoItemsPage<StreamInfoItem> page) {
+        return page.getItems().stream()
+                .map(InfoItem::getUrl)
+                .collect(Collectors.toList());
+    }
+
+    private static final class CountingDownloader extends Downloader {
+        @Nonnull
+        private final Downloader delegate;
+        private final AtomicInteger requestCount = new AtomicInteger();
+
+        CountingDownloader(@Nonnull final Downloader delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Response execute(@Nonnull final Request request)
+                throws IOException, ReCaptchaException {
+            requestCount.incrementAndGet();
+            return delegate.execute(request);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ExtractionSupplier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Checks that player requests use the {@code visitorData}s of the
+ * {@link YoutubeStreamHelper#setVisitorDataProvider(VisitorDataProvider) visitorData provider}.
+ */
+class YoutubeStreamHelperVisitorDataTest {
+    private static final String VIDEO_ID = "dQw4w9WgXcQ";
+    private static final String PROVIDED_VISITOR_DATA = "CgtQcm92aWRlZERhdGE%3D";
+
+    private RecordingDownloader downloader;
+    private final List<String> clientNames = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        YoutubeTestsUtils.ensureStateless();
+        downloader = new RecordingDownloader();
+        NewPipe.init(downloader);
+        YoutubeStreamHelper.setVisitorDataProvider(new VisitorDataProvider() {
+            @Nonnull
+            @Override
+            public String getVisitorData(@Nonnull final String clientName,
+                                         @Nonnull final Localization localization,
+                                         @Nonnull final ContentCountry contentCountry,
+                                         @Nonnull final ExtractionSupplier<String> fetcher) {
+                clientNames.add(clientName);
+                return PROVIDED_VISITOR_DATA;
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        YoutubeStreamHelper.setVisitorDataProvider(null);
+    }
+
+    @Test
+    void playerRequestsUseVisitorDataOfProvider() throws Exception {
+        YoutubeStreamHelper.getVisionOsPlayerResponse(ContentCountry.DEFAULT,
+                Localization.DEFAULT, VIDEO_ID, "cpn");
+        YoutubeStreamHelper.getIosPlayerResponse(ContentCountry.DEFAULT, Localization.DEFAULT,
+                VIDEO_ID, "cpn", null);
+
+        assertEquals(List.of("VISIONOS", "IOS"), clientNames);
+        // No visitorData has been fetched: the only requests are the player ones
+        assertEquals(2, downloader.requests.size());
+        for (final Request request : downloader.requests) {
+            assertTrue(request.url().contains("/youtubei/v1/player"), request.url());
+            final String body = new String(request.dataToSend(), StandardCharsets.UTF_8);
+            assertTrue(body.contains("\"visitorData\":\"" + PROVIDED_VISITOR_DATA + "\""), body);
+        }
+    }
+
+    private static final class RecordingDownloader extends Downloader {
+        private final List<Request> requests = new ArrayList<>();
+
+        @Override
+        public Response execute(@Nonnull final Request request) {
+            requests.add(request);
+            return new Response(200, "OK", null, "{\"playabilityStatus\":{\"status\":\"OK\"},"
+                    + "\"videoDetails\":{\"videoId\":\"" + VIDEO_ID + "\"}}", request.url());
+        }
+    }
+}
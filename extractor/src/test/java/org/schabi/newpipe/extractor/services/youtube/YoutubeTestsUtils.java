@@ -29,6 +29,10 @@ public final class YoutubeTestsUtils {
         YoutubeParsingHelper.resetClientVersion();
         YoutubeParsingHelper.setNumberGenerator(new Random(1));
         YoutubeJavaScriptPlayerManager.clearAllCaches();
+        final YoutubeChannelIdCache channelIdCache = YoutubeChannelHelper.getChannelIdCache();
+        if (channelIdCache != null) {
+            channelIdCache.clear();
+        }
     }
 
     /**
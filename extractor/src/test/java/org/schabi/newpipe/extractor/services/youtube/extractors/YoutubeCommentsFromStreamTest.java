@@ -0,0 +1,120 @@
+package org.schabi.newpipe.extractor.services.youtube.extractors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.schabi.newpipe.FileUtils.resolveTestResource;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonParser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderFactory;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.comments.CommentsInfo;
+import org.schabi.newpipe.extractor.comments.CommentsInfoItem;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.services.youtube.YoutubeCommentsExtractorTest;
+import org.schabi.newpipe.extractor.services.youtube.YoutubeTestsUtils;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Checks that comments built from the <b>/next</b> response of a {@link YoutubeStreamExtractor}
+ * don't need this response to be fetched again, and are the same as the ones got from their URL.
+ */
+class YoutubeCommentsFromStreamTest {
+    private static final String URL = "https://www.youtube.com/watch?v=D00Au7k3i6o";
+    // The mocks of YoutubeCommentsExtractorTest.Thomas, whose initial next response is this one
+    private static final String NEXT_RESPONSE_MOCK = "mocks/v1/org/schabi/newpipe/extractor/"
+            + "services/youtube/youtubecommentsextractor/thomas/generated_mock_2.json";
+
+    private NextCountingDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        YoutubeTestsUtils.ensureStateless();
+        downloader = new NextCountingDownloader(
+                DownloaderFactory.getDownloader(YoutubeCommentsExtractorTest.Thomas.class));
+        NewPipe.init(downloader);
+    }
+
+    @Test
+    void commentsOfStreamExtractorReuseItsNextResponse() throws Exception {
+        final CommentsInfo expected = CommentsInfo.getInfo(URL);
+        // The next response of the video and the one of the comments continuation
+        assertEquals(2, downloader.nextRequestCount.get());
+        assertFalse(expected.getRelatedItems().isEmpty());
+
+        downloader.nextRequestCount.set(0);
+        final CommentsInfo actual = CommentsInfo.getInfo(getStreamExtractorWithNextResponse());
+        assertNotNull(actual);
+        // Only the comments continuation is requested
+        assertEquals(1, downloader.nextRequestCount.get());
+
+        assertEquals(expected.getNextPage().getId(), actual.getNextPage().getId());
+        assertEquals(getCommentIds(expected), getCommentIds(actual));
+        assertEquals(expected.getCommentsCount(), actual.getCommentsCount());
+    }
+
+    /**
+     * Fetching the whole page of a stream extractor needs the player requests of the video,
+     * which are not recorded in the comments mocks, so only its next response is set.
+     */
+    @Nonnull
+    private static StreamExtractor getStreamExtractorWithNextResponse() throws Exception {
+        final JsonObject mock;
+        try (FileInputStream inputStream =
+                     new FileInputStream(resolveTestResource(NEXT_RESPONSE_MOCK))) {
+            mock = JsonParser.object().from(inputStream);
+        }
+        final JsonObject nextResponse = JsonParser.object().from(
+                mock.getObject("response").getString("responseBody"));
+
+        final StreamExtractor extractor = YouTube.getStreamExtractor(URL);
+        final Field nextResponseField =
+                YoutubeStreamExtractor.class.getDeclaredField("nextResponse");
+        nextResponseField.setAccessible(true);
+        nextResponseField.set(extractor, nextResponse);
+        return extractor;
+    }
+
+    @Nonnull
+    private static List<String> getCommentIds(@Nonnull final CommentsInfo info) {
+        return info.getRelatedItems().stream()
+                .map(CommentsInfoItem::getCommentId)
+                .collect(Collectors.toList());
+    }
+
+    private static final class NextCountingDownloader extends Downloader {
+        @Nonnull
+        private final Downloader delegate;
+        private final AtomicInteger nextRequestCount = new AtomicInteger();
+
+        NextCountingDownloader(@Nonnull final Downloader delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Response execute(@Nonnull final Request request)
+                throws IOException, ReCaptchaException {
+            if (request.url().contains("/youtubei/v1/next")) {
+                nextRequestCount.incrementAndGet();
+            }
+            return delegate.execute(request);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.schabi.newpipe.extractor.services.youtube.extractors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.schabi.newpipe.FileUtils.resolveTestResource;
+
+import com.grack.nanojson.JsonArray;
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonParser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FileInputStream;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Compares the lookups of comment mutation payloads through their index with the scan of the
+ * mutations which was done before for each comment, on a recorded comments page.
+ */
+class YoutubeCommentsMutationPayloadsTest {
+    private static final String COMMENTS_PAGE_MOCK = "mocks/v1/org/schabi/newpipe/extractor/"
+            + "services/youtube/youtubecommentsextractor/thomas/generated_mock_3.json";
+
+    @Test
+    void indexReturnsSamePayloadsAsScan() throws Exception {
+        final JsonObject mock;
+        try (FileInputStream inputStream =
+                     new FileInputStream(resolveTestResource(COMMENTS_PAGE_MOCK))) {
+            mock = JsonParser.object().from(inputStream);
+        }
+        final JsonObject page = JsonParser.object().from(
+                mock.getObject("response").getString("responseBody"));
+        final JsonArray mutations = page.getObject("frameworkUpdates")
+                .getObject("entityBatchUpdate")
+                .getArray("mutations");
+
+        final Set<String> keys = new LinkedHashSet<>();
+        collectCommentViewModelKeys(page, keys);
+        assertFalse(keys.isEmpty());
+        for (final Object mutation : mutations) {
+            keys.add(((JsonObject) mutation).getString("entityKey"));
+        }
+        keys.add("missing");
+
+        final Map<String, JsonObject> index =
+                YoutubeCommentsExtractor.getMutationPayloadsByEntityKey(mutations);
+        for (final String key : keys) {
+            assertSame(scan(mutations, key), index.get(key), key);
+        }
+        assertNull(index.get("missing"));
+        assertEquals(mutations.size(), index.size());
+    }
+
+    /**
+     * The lookup done before mutation payloads were indexed.
+     */
+    @Nullable
+    private static JsonObject scan(@Nonnull final JsonArray mutations,
+                                   @Nonnull final String key) {
+        return mutations.streamAsJsonObjects()
+                .filter(mutation -> key.equals(mutation.getString("entityKey")))
+                .findFirst()
+                .map(mutation -> mutation.getObject("payload"))
+                .orElse(null);
+    }
+
+    private static void collectCommentViewModelKeys(@Nullable final Object json,
+                                                    @Nonnull final Set<String> keys) {
+        if (json instanceof JsonObject) {
+            final JsonObject object = (JsonObject) json;
+            final JsonObject commentViewModel = object.getObject("commentViewModel");
+            if (commentViewModel.has("commentKey")) {
+                keys.add(commentViewModel.getString("commentKey"));
+                keys.add(commentViewModel.getString("toolbarStateKey"));
+            }
+            for (final Object value : object.values()) {
+                collectCommentViewModelKeys(value, keys);
+            }
+        } else if (json instanceof JsonArray) {
+            for (final Object value : (JsonArray) json) {
+                collectCommentViewModelKeys(value, keys);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package org.schabi.newpipe.extractor.services.youtube.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonWriter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper;
+import org.schabi.newpipe.extractor.services.youtube.YoutubeTestsUtils;
+import org.schabi.newpipe.extractor.services.youtube.extractors.YoutubeStreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Test of {@link YoutubeStreamExtractor#setFetchConcurrently(boolean) concurrent client
+ * fetching}, run against a {@link Downloader} which answers every request with a fake response
+ * after a fixed delay, and which counts the requests in flight.
+ */
+class YoutubeStreamExtractorConcurrentFetchTest {
+    private static final String ID = "dQw4w9WgXcQ";
+    private static final String URL = YoutubeStreamExtractorDefaultTest.BASE_URL + ID;
+    private static final String TITLE = "Concurrent fetch test video";
+    private static final long DELAY_MS = 200;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        YoutubeTestsUtils.ensureStateless();
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        YoutubeStreamExtractor.setFetchConcurrently(false);
+        YoutubeStreamExtractor.setConcurrentFetchExecutor(null);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentFetchOverlapsRequests() throws Exception {
+        final DelayedYoutubeDownloader downloader =
+                new DelayedYoutubeDownloader(0, request -> false);
+        NewPipe.init(downloader);
+        // Fetch the client version first, as it is cached after the first extraction
+        YoutubeParsingHelper.getClientVersion();
+
+        YoutubeStreamExtractor.setFetchConcurrently(false);
+        downloader.requestCount.set(0);
+        fetch();
+        final int sequentialRequestCount = downloader.requestCount.get();
+
+        YoutubeStreamExtractor.setFetchConcurrently(true);
+        YoutubeStreamExtractor.setConcurrentFetchExecutor(executor);
+        downloader.requestCount.set(0);
+        downloader.maxInFlightCount.set(0);
+        // The next and ANDROID player requests are only answered once both of them are in
+        // flight, which never happens if they are made one after the other
+        downloader.holdUntilInFlight(request -> request.url().contains("/next")
+                || request.url().contains("reel_item_watch"), 2);
+        fetch();
+
+        assertFalse(downloader.holdTimedOut,
+                "The next and ANDROID player requests were not in flight at the same time");
+        assertTrue(downloader.maxInFlightCount.get() >= 2);
+        assertEquals(sequentialRequestCount, downloader.requestCount.get(),
+                "Concurrent fetching made a different number of requests");
+    }
+
+    @Test
+    void concurrentFetchPropagatesAndroidClientFailure() {
+        NewPipe.init(new DelayedYoutubeDownloader(DELAY_MS,
+                request -> request.url().contains("reel_item_watch")));
+        YoutubeStreamExtractor.setFetchConcurrently(true);
+        YoutubeStreamExtractor.setConcurrentFetchExecutor(executor);
+
+        assertThrows(ExtractionException.class,
+                () -> YouTube.getStreamExtractor(URL).fetchPage());
+    }
+
+    @Test
+    void concurrentFetchIgnoresVisionOsClientFailure() throws Exception {
+        NewPipe.init(new DelayedYoutubeDownloader(DELAY_MS,
+                request -> getUserAgent(request).contains("visionos")));
+        YoutubeStreamExtractor.setFetchConcurrently(true);
+        YoutubeStreamExtractor.setConcurrentFetchExecutor(executor);
+
+        final StreamExtractor extractor = YouTube.getStreamExtractor(URL);
+        extractor.fetchPage();
+        assertEquals(TITLE, extractor.getName());
+        assertNotNull(extractor.getThumbnails());
+    }
+
+    @Test
+    void concurrentFetchWithDefaultExecutor() throws Exception {
+        NewPipe.init(new DelayedYoutubeDownloader(DELAY_MS, request -> false));
+        YoutubeStreamExtractor.setFetchConcurrently(true);
+
+        final StreamExtractor extractor = YouTube.getStreamExtractor(URL);
+        extractor.fetchPage();
+        assertEquals(TITLE, extractor.getName());
+    }
+
+    private static void fetch() throws Exception {
+        final StreamExtractor extractor = YouTube.getStreamExtractor(URL);
+        extractor.fetchPage();
+        assertEquals(TITLE, extractor.getName());
+    }
+
+    @Nonnull
+    private static String getUserAgent(@Nonnull final Request request) {
+        final List<String> userAgent = request.headers().get("User-Agent");
+        return userAgent == null || userAgent.isEmpty() ? "" : userAgent.get(0).toLowerCase();
+    }
+
+    /**
+     * A {@link Downloader} answering YouTube requests with minimal valid responses after a fixed
+     * delay, in order to simulate network latency.
+     */
+    private static final class DelayedYoutubeDownloader extends Downloader {
+        // Long enough to pass the minimal response length check of the extractor
+        private static final String PADDING = "x".repeat(64);
+
+        private final long delayMs;
+        private final Predicate<Request> failingRequests;
+        private final AtomicInteger requestCount = new AtomicInteger();
+        private final AtomicInteger inFlightCount = new AtomicInteger();
+        private final AtomicInteger maxInFlightCount = new AtomicInteger();
+        private volatile Predicate<Request> heldRequests = request -> false;
+        private volatile CountDownLatch heldRequestsInFlight = new CountDownLatch(0);
+        private volatile boolean holdTimedOut;
+
+        DelayedYoutubeDownloader(final long delayMs,
+                                 @Nonnull final Predicate<Request> failingRequests) {
+            this.delayMs = delayMs;
+            this.failingRequests = failingRequests;
+        }
+
+        /**
+         * Hold the requests matching the given predicate until the given number of them are in
+         * flight, or until a timeout, in which case {@link #holdTimedOut} is set.
+         */
+        void holdUntilInFlight(@Nonnull final Predicate<Request> requests, final int count) {
+            heldRequestsInFlight = new CountDownLatch(count);
+            heldRequests = requests;
+        }
+
+        @Override
+        public Response execute(@Nonnull final Request request) {
+            requestCount.incrementAndGet();
+            maxInFlightCount.accumulateAndGet(inFlightCount.incrementAndGet(), Math::max);
+            try {
+                return respond(request);
+            } finally {
+                inFlightCount.decrementAndGet();
+            }
+        }
+
+        @Nonnull
+        private Response respond(@Nonnull final Request request) {
+            try {
+                if (heldRequests.test(request)) {
+                    final CountDownLatch latch = heldRequestsInFlight;
+                    latch.countDown();
+                    if (!latch.await(10, TimeUnit.SECONDS)) {
+                        holdTimedOut = true;
+                    }
+                }
+                Thread.sleep(delayMs);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            final String url = request.url();
+            if (failingRequests.test(request)) {
+                return new Response(500, "Internal Server Error", Map.of(), "", url);
+            }
+
+            final String body;
+            if (url.contains("sw.js")) {
+                body = "{\"INNERTUBE_CONTEXT_CLIENT_VERSION\":\"2.20250101.01.00\"}";
+            } else if (url.contains("visitor_id")) {
+                body = JsonWriter.string(JsonObject.builder()
+                        .object("responseContext")
+                        .value("visitorData", "Cgt2aXNpdG9yRGF0YQ%3D%3D")
+                        .end()
+                        .value("padding", PADDING)
+                        .done());
+            } else if (url.contains("reel_item_watch")) {
+                final JsonObject reelResponse = new JsonObject();
+                reelResponse.put("playerResponse", createPlayerResponse());
+                body = JsonWriter.string(reelResponse);
+            } else if (url.contains("/player")) {
+                body = JsonWriter.string(createPlayerResponse());
+            } else if (url.contains("/next")) {
+                body = JsonWriter.string(JsonObject.builder()
+                        .object("contents")
+                        .end()
+                        .value("padding", PADDING)
+                        .done());
+            } else {
+                return new Response(404, "Not Found", Map.of(), "", url);
+            }
+
+            return new Response(200, "OK", Map.of(), body, url);
+        }
+
+        @Nonnull
+        private static JsonObject createPlayerResponse() {
+            return JsonObject.builder()
+                    .object("playabilityStatus")
+                        .value("status", "OK")
+                    .end()
+                    .object("videoDetails")
+                        .value("videoId", ID)
+                        .value("title", TITLE)
+                        .object("thumbnail")
+                            .array("thumbnails")
+                            .end()
+                        .end()
+                    .end()
+                    .object("streamingData")
+                        .array("formats")
+                        .end()
+                        .array("adaptiveFormats")
+                        .end()
+                    .end()
+                    .done();
+        }
+    }
+}
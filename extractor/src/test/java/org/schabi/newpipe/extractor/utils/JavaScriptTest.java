@@ -0,0 +1,60 @@
+package org.schabi.newpipe.extractor.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class JavaScriptTest {
+    private static final String REVERSE_FUNCTION =
+            "var helper={r:function(a){return a.reverse()}};"
+                    + "var reverse=function(a){a=a.split(\"\");helper.r(a);return a.join(\"\")};";
+
+    @Test
+    void compiledFunctionCanBeCalledManyTimes() {
+        final JavaScript.CompiledFunction function =
+                JavaScript.compile(REVERSE_FUNCTION, "reverse");
+
+        assertEquals("cba", function.call("abc"));
+        assertEquals(List.of("cba", "", "fed"), function.callForEach(List.of("abc", "", "def")));
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    void runCallsTheFunctionOnce() {
+        assertEquals("cba", JavaScript.run(REVERSE_FUNCTION, "reverse", "abc"));
+    }
+
+    @Test
+    void compileThrowsIfFunctionIsMissing() {
+        assertThrows(IllegalArgumentException.class,
+                () -> JavaScript.compile(REVERSE_FUNCTION, "missing"));
+    }
+
+    @Test
+    void compiledFunctionCanBeCalledConcurrently() throws Exception {
+        final JavaScript.CompiledFunction function =
+                JavaScript.compile(REVERSE_FUNCTION, "reverse");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final String parameter = "abc" + i;
+                results.add(executor.submit(() -> function.call(parameter)));
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals(new StringBuilder("abc" + i).reverse().toString(),
+                        results.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
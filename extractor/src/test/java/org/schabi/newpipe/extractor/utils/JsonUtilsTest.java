@@ -10,10 +10,18 @@ import org.schabi.newpipe.extractor.exceptions.ParsingException;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 public class JsonUtilsTest {
+    static final String ITEM_JSON = "{\"account\":{\"name\":\"john\","
+            + "\"host\":\"framatube.org\",\"displayName\":\"John\"},\"views\":42,"
+            + "\"isLive\":false,\"tags\":[\"a\",\"b\"]}";
+    static final JsonPath ACCOUNT_NAME = JsonPath.compile("account.name");
+    static final JsonPath ACCOUNT_HOST = JsonPath.compile("account.host");
+    static final JsonPath ACCOUNT_DISPLAY_NAME = JsonPath.compile("account.displayName");
 
     @Test
     public void testGetValueFlat() throws JsonParserException, ParsingException {
@@ -43,4 +51,34 @@ public class JsonUtilsTest {
 
     }
 
+    @Test
+    public void testJsonPathGetsSameValuesAsStringPath()
+            throws JsonParserException, ParsingException {
+        final JsonObject obj = JsonParser.object().from(ITEM_JSON);
+        assertEquals(JsonUtils.getString(obj, "account.name"),
+                JsonUtils.getString(obj, ACCOUNT_NAME));
+        assertEquals(JsonUtils.getString(obj, "account.host"),
+                JsonUtils.getString(obj, ACCOUNT_HOST));
+        assertEquals(JsonUtils.getString(obj, "account.displayName"),
+                JsonUtils.getString(obj, ACCOUNT_DISPLAY_NAME));
+        assertEquals(JsonUtils.getObject(obj, "account"),
+                JsonUtils.getObject(obj, JsonPath.compile("account")));
+        assertEquals(JsonUtils.getNumber(obj, "views"),
+                JsonUtils.getNumber(obj, JsonPath.compile("views")));
+        assertEquals(JsonUtils.getBoolean(obj, "isLive"),
+                JsonUtils.getBoolean(obj, JsonPath.compile("isLive")));
+        assertEquals(JsonUtils.getArray(obj, "tags"),
+                JsonUtils.getArray(obj, JsonPath.compile("tags")));
+    }
+
+    @Test
+    public void testJsonPathThrowsOnMissingValueOrWrongType() throws JsonParserException {
+        final JsonObject obj = JsonParser.object().from(ITEM_JSON);
+        assertThrows(ParsingException.class,
+                () -> JsonUtils.getString(obj, JsonPath.compile("account.avatar")));
+        assertThrows(ParsingException.class,
+                () -> JsonUtils.getString(obj, JsonPath.compile("channel.name")));
+        assertThrows(ParsingException.class,
+                () -> JsonUtils.getString(obj, JsonPath.compile("views")));
+    }
 }
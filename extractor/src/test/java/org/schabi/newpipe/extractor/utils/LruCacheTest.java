@@ -0,0 +1,79 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LruCacheTest {
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedFirst() {
+        final LruCache<String, String> cache = new LruCache<>();
+        cache.setMaximumSize(4);
+        cache.setClearFactor(0.5);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        cache.put("d", "D");
+
+        assertEquals("A", cache.get("a"));
+        cache.put("e", "E");
+
+        // 4 entries -> cache resized to 2 -> 1 new entry -> 3
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertNull(cache.get("c"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("D", cache.get("d"));
+        assertEquals("E", cache.get("e"));
+        assertEquals(2, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    void snapshotIsOrderedByLastAccessAndDoesNotChangeIt() {
+        final LruCache<String, String> cache = new LruCache<>();
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        assertEquals("A", cache.get("a"));
+
+        final Map<String, String> snapshot = cache.snapshot();
+        assertEquals(List.of("b", "c", "a"), List.copyOf(snapshot.keySet()));
+        assertEquals("B", snapshot.get("b"));
+        assertEquals(List.of("b", "c", "a"), List.copyOf(cache.snapshot().keySet()));
+        assertEquals(1, cache.getStats().getHitCount());
+        assertEquals(0, cache.getStats().getMissCount());
+    }
+
+    @Test
+    void weightIsNotBoundedByDefault() {
+        final LruCache<String, String> cache = new LruCache<>(String::length);
+        assertEquals(LruCache.DEFAULT_MAXIMUM_WEIGHT, cache.getMaximumWeight());
+        cache.put("a", "A".repeat(10_000));
+        assertEquals(10_000, cache.weight());
+    }
+
+    @Test
+    void resetClearsEntriesStatisticsAndSettings() {
+        final LruCache<String, String> cache = new LruCache<>();
+        cache.setMaximumSize(10);
+        cache.setMaximumWeight(10);
+        final long now = System.currentTimeMillis();
+        cache.put("expired", "V", now - 1);
+        cache.put("valid", "V", now + 60_000);
+        assertFalse(cache.containsKey("expired"));
+        assertNull(cache.get("expired"));
+        assertEquals("V", cache.get("valid"));
+
+        cache.reset();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getStats().getHitCount());
+        assertEquals(0, cache.getStats().getMissCount());
+        assertEquals(LruCache.DEFAULT_MAXIMUM_SIZE, cache.getMaximumSize());
+        assertEquals(LruCache.DEFAULT_MAXIMUM_WEIGHT, cache.getMaximumWeight());
+    }
+}
@@ -2,7 +2,20 @@ package org.schabi.newpipe.extractor.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ManifestCreatorCacheTest {
     @Test
@@ -53,6 +66,144 @@ class ManifestCreatorCacheTest {
                         + "call");
     }
 
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedFirst() {
+        final ManifestCreatorCache<String, String> cache = new ManifestCreatorCache<>();
+        cache.setMaximumSize(4);
+        cache.setClearFactor(0.5);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        cache.put("d", "D");
+
+        // Access a and c, so that b and d are the least recently used entries
+        assertEquals("A", cache.getValue("a"));
+        assertEquals("C", cache.getValue("c"));
+        cache.put("e", "E");
+
+        assertEquals(3, cache.size());
+        assertNull(cache.getValue("b"));
+        assertNull(cache.getValue("d"));
+        assertEquals("A", cache.getValue("a"));
+        assertEquals("C", cache.getValue("c"));
+        assertEquals("E", cache.getValue("e"));
+        assertEquals(2, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    void cacheIsBoundedByWeight() {
+        final ManifestCreatorCache<String, String> cache =
+                new ManifestCreatorCache<>(String::length);
+        cache.setMaximumWeight(10);
+        cache.put("a", "1234");
+        cache.put("b", "1234");
+        assertEquals(8, cache.weight());
+
+        cache.put("c", "123");
+        assertEquals(2, cache.size());
+        assertEquals(7, cache.weight());
+        assertFalse(cache.containsKey("a"));
+
+        // Values heavier than the maximum weight are not cached
+        cache.put("d", "12345678901");
+        assertFalse(cache.containsKey("d"));
+        assertEquals(2, cache.size());
+
+        // Replacing a value updates the weight
+        cache.put("c", "1");
+        assertEquals(5, cache.weight());
+    }
+
+    @Test
+    void expiredEntriesAreNotReturned() {
+        final ManifestCreatorCache<String, String> cache = new ManifestCreatorCache<>();
+        final long now = System.currentTimeMillis();
+        cache.put("expired", "V", now - 1);
+        cache.put("valid", "V", now + 60_000);
+        cache.put("old", "V");
+
+        assertFalse(cache.containsKey("expired"));
+        assertNull(cache.getValue("expired"));
+        assertEquals("V", cache.getValue("valid"));
+        assertEquals("V", cache.getValue("old"));
+
+        final ManifestCreatorCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(0, stats.getEvictionCount());
+    }
+
+    @Test
+    void serializedCacheKeepsItsEntriesAndSettings() throws Exception {
+        final ManifestCreatorCache<String, String> cache =
+                new ManifestCreatorCache<>(String::length);
+        cache.setMaximumSize(3);
+        cache.setMaximumWeight(100);
+        cache.put("a", "A");
+        cache.put("b", "BB");
+        cache.put("c", "CCC");
+        // Make a the most recently used entry
+        cache.getValue("a");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(cache);
+        }
+        @SuppressWarnings("unchecked")
+        final ManifestCreatorCache<String, String> copy;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (ManifestCreatorCache<String, String>) in.readObject();
+        }
+
+        assertEquals(3, copy.getMaximumSize());
+        assertEquals(100, copy.getMaximumWeight());
+        assertEquals(6, copy.weight());
+
+        // The order of last access is kept: b is evicted first
+        copy.setClearFactor(0.5);
+        copy.put("d", "D");
+        assertFalse(copy.containsKey("b"));
+        assertTrue(copy.containsKey("a"));
+    }
+
+    @Test
+    void concurrentAccessKeepsCacheConsistent() throws Exception {
+        final ManifestCreatorCache<String, String> cache =
+                new ManifestCreatorCache<>(String::length);
+        cache.setMaximumSize(50);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                final int offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        final String key = String.valueOf((i * 7 + offset) % 200);
+                        if (cache.getValue(key) == null) {
+                            cache.put(key, "manifest " + key);
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(cache.size() <= 50);
+        long expectedWeight = 0;
+        for (int i = 0; i < 200; i++) {
+            final String value = cache.getValue(String.valueOf(i));
+            if (value != null) {
+                expectedWeight += value.length();
+            }
+        }
+        assertEquals(expectedWeight, cache.weight());
+    }
+
     /**
      * Adds sample strings to the provided manifest creator cache, in order to test clear factor and
      * maximum size.